@@ -2,6 +2,7 @@ package com.linkedin.datahub.graphql.resolvers.policy;
 
 import com.datahub.authorization.AuthorizerChain;
 import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.datahub.graphql.QueryContext;
 import com.linkedin.datahub.graphql.exception.AuthorizationException;
 import com.linkedin.datahub.graphql.generated.PolicyUpdateInput;
@@ -72,7 +73,7 @@ public class UpsertPolicyResolver implements DataFetcher<CompletableFuture<Strin
           // TODO: We should also provide SystemMetadata.
           String urn = _entityClient.ingestProposal(proposal, context.getAuthentication());
           if (context.getAuthorizer() instanceof AuthorizerChain) {
-            ((AuthorizerChain) context.getAuthorizer()).getDefaultAuthorizer().invalidateCache();
+            ((AuthorizerChain) context.getAuthorizer()).getDefaultAuthorizer().updatePolicy(UrnUtils.getUrn(urn), info);
           }
           return urn;
         } catch (Exception e) {
@@ -122,6 +122,9 @@ public class ListRecommendationsResolver implements DataFetcher<CompletableFutur
     }
     mappedModule.setContent(
         module.getContent().stream().map(this::mapRecommendationContent).collect(Collectors.toList()));
+    if (module.hasLastRefreshed()) {
+      mappedModule.setLastRefreshed(module.getLastRefreshed());
+    }
     return Optional.of(mappedModule);
   }
 
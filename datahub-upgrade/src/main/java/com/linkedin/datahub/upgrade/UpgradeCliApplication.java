@@ -1,5 +1,8 @@
 package com.linkedin.datahub.upgrade;
 
+import com.linkedin.gms.factory.auth.AuthorizationCacheInvalidationListener;
+import com.linkedin.gms.factory.graphql.GraphQLEngineFactory;
+import com.linkedin.gms.factory.recommendation.RecommendationServiceFactory;
 import com.linkedin.gms.factory.telemetry.ScheduledAnalyticsFactory;
 import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -16,7 +19,13 @@ import org.springframework.context.annotation.FilterType;
         "com.linkedin.datahub.upgrade.config",
         "com.linkedin.metadata.dao.producer"
 }, excludeFilters = {
-    @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ScheduledAnalyticsFactory.class)
+    @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = {
+        ScheduledAnalyticsFactory.class,
+        AuthorizationCacheInvalidationListener.class,
+        // Imports the recommendation service, whose module cache refreshes in the background
+        GraphQLEngineFactory.class,
+        RecommendationServiceFactory.class
+    })
 })
 public class UpgradeCliApplication {
   public static void main(String[] args) {
@@ -6,7 +6,9 @@ import com.linkedin.gms.factory.search.BaseElasticSearchComponentsFactory;
 import com.linkedin.metadata.graph.GraphService;
 import com.linkedin.metadata.search.EntitySearchService;
 import com.linkedin.metadata.systemmetadata.SystemMetadataService;
+import com.linkedin.metadata.timeline.materialized.ChangeTransactionService;
 import com.linkedin.metadata.timeseries.TimeseriesAspectService;
+import com.linkedin.metadata.timeseries.rollup.UsageRollupService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -16,10 +18,12 @@ public class BuildIndicesConfig {
   @Bean(name = "buildIndices")
   public BuildIndices buildIndices(final SystemMetadataService systemMetadataService, final TimeseriesAspectService timeseriesAspectService,
                                    final EntitySearchService entitySearchService, final GraphService graphService,
+                                   final UsageRollupService usageRollupService,
+                                   final ChangeTransactionService changeTransactionService,
                                    final BaseElasticSearchComponentsFactory.BaseElasticSearchComponents baseElasticSearchComponents,
                                    final ConfigurationProvider configurationProvider) {
 
     return new BuildIndices(systemMetadataService, timeseriesAspectService, entitySearchService, graphService,
-        baseElasticSearchComponents, configurationProvider);
+        usageRollupService, changeTransactionService, baseElasticSearchComponents, configurationProvider);
   }
 }
@@ -6,6 +6,7 @@ import com.linkedin.datahub.upgrade.UpgradeStepResult;
 import com.linkedin.datahub.upgrade.impl.DefaultUpgradeStepResult;
 import com.linkedin.metadata.entity.ebean.EbeanAspectV2;
 import io.ebean.EbeanServer;
+import java.util.Optional;
 import java.util.function.Function;
 
 
@@ -25,6 +26,22 @@ public class ClearAspectV2TableStep implements UpgradeStep {
     return "ClearAspectV2TableStep";
   }
 
+  @Override
+  public boolean skip(UpgradeContext context) {
+    // Only the bulk restore records checkpoints, so a checkpoint file is ignored otherwise
+    if (!RestoreStorageStep.isBulkInsert(context.parsedArgs())) {
+      return false;
+    }
+    final String checkpointFile = context.parsedArgs()
+        .getOrDefault(RestoreBackup.CHECKPOINT_FILE_ARG_NAME, Optional.empty())
+        .orElse(null);
+    if (RestoreCheckpoint.exists(checkpointFile)) {
+      context.report().addLine(String.format("Resuming restore from checkpoint %s, keeping restored rows.", checkpointFile));
+      return true;
+    }
+    return false;
+  }
+
   @Override
   public Function<UpgradeContext, UpgradeStepResult> executable() {
     return (context) -> {
@@ -21,6 +21,11 @@ import java.util.List;
 
 public class RestoreBackup implements Upgrade {
 
+  public static final String BULK_INSERT_ARG_NAME = "BULK_INSERT";
+  public static final String BATCH_SIZE_ARG_NAME = "BATCH_SIZE";
+  public static final String MAX_IN_FLIGHT_BATCHES_ARG_NAME = "MAX_IN_FLIGHT_BATCHES";
+  public static final String CHECKPOINT_FILE_ARG_NAME = "CHECKPOINT_FILE";
+
   private final List<UpgradeStep> _steps;
 
   public RestoreBackup(
@@ -57,7 +62,7 @@ public class RestoreBackup implements Upgrade {
     steps.add(new ClearSearchServiceStep(searchClient, true));
     steps.add(new ClearGraphServiceStep(graphClient, true));
     steps.add(new ClearAspectV2TableStep(server));
-    steps.add(new RestoreStorageStep(entityService, entityRegistry));
+    steps.add(new RestoreStorageStep(server, entityService, entityRegistry));
     steps.add(new GMSEnableWriteModeStep(systemAuthentication, entityClient));
     return steps;
   }
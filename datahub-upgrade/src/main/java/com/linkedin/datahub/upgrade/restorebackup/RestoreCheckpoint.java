@@ -0,0 +1,142 @@
+package com.linkedin.datahub.upgrade.restorebackup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Tracks the progress of a bulk restore per backup file, as the number of leading batches that have been committed.
+ *
+ * Batches of a file may be committed out of order, so a file only advances once every batch before it has been committed
+ * too. When a checkpoint file is configured, the progress is written to it after every advance, so that an interrupted
+ * restore resumes after the last fully committed batch of each file.
+ */
+@Slf4j
+public class RestoreCheckpoint {
+
+  private static final String BATCH_SIZE_KEY = "batchSize";
+  private static final String FILE_KEY_PREFIX = "file.";
+
+  private final Path _path;
+  private final int _batchSize;
+  private final boolean _resumed;
+  private final Map<String, Long> _committedBatches = new HashMap<>();
+  private final Map<String, TreeSet<Long>> _pendingBatches = new HashMap<>();
+
+  private RestoreCheckpoint(@Nullable Path path, int batchSize, boolean resumed) {
+    _path = path;
+    _batchSize = batchSize;
+    _resumed = resumed;
+  }
+
+  /**
+   * Loads the progress of a previous run from the checkpoint file if it exists, or starts from scratch otherwise.
+   */
+  @Nonnull
+  public static RestoreCheckpoint load(@Nullable String checkpointFile, int batchSize) throws IOException {
+    if (checkpointFile == null) {
+      return new RestoreCheckpoint(null, batchSize, false);
+    }
+    final Path path = Paths.get(checkpointFile);
+    if (!Files.exists(path)) {
+      return new RestoreCheckpoint(path, batchSize, false);
+    }
+    final Properties properties = new Properties();
+    try (InputStream in = Files.newInputStream(path)) {
+      properties.load(in);
+    }
+    final int previousBatchSize = Integer.parseInt(properties.getProperty(BATCH_SIZE_KEY, String.valueOf(batchSize)));
+    if (previousBatchSize != batchSize) {
+      throw new IllegalArgumentException(String.format(
+          "Checkpoint %s was written with a batch size of %d, resume with the same batch size instead of %d",
+          checkpointFile, previousBatchSize, batchSize));
+    }
+    final RestoreCheckpoint checkpoint = new RestoreCheckpoint(path, batchSize, true);
+    for (String key : properties.stringPropertyNames()) {
+      if (key.startsWith(FILE_KEY_PREFIX)) {
+        checkpoint._committedBatches.put(key.substring(FILE_KEY_PREFIX.length()),
+            Long.parseLong(properties.getProperty(key)));
+      }
+    }
+    return checkpoint;
+  }
+
+  /**
+   * Returns whether a previous run has left progress to resume from.
+   */
+  public static boolean exists(@Nullable String checkpointFile) {
+    return checkpointFile != null && Files.exists(Paths.get(checkpointFile));
+  }
+
+  /**
+   * Returns whether this run resumes a previous one, in which case batches after the checkpoint may already be written.
+   */
+  public boolean isResumed() {
+    return _resumed;
+  }
+
+  public int getBatchSize() {
+    return _batchSize;
+  }
+
+  /**
+   * Returns the number of leading batches of the file that have been committed, which is the index of the next batch.
+   */
+  public synchronized long getCommittedBatches(@Nonnull String fileName) {
+    return _committedBatches.getOrDefault(fileName, 0L);
+  }
+
+  /**
+   * Records that a batch of the file has been committed, and persists the progress if the file advanced.
+   */
+  public synchronized void commit(@Nonnull String fileName, long batchIndex) throws IOException {
+    final TreeSet<Long> pending = _pendingBatches.computeIfAbsent(fileName, name -> new TreeSet<>());
+    pending.add(batchIndex);
+    long committed = getCommittedBatches(fileName);
+    final long previous = committed;
+    while (pending.remove(committed)) {
+      committed++;
+    }
+    if (committed != previous) {
+      _committedBatches.put(fileName, committed);
+      persist();
+    }
+  }
+
+  /**
+   * Removes the checkpoint file once the restore has completed, so that the next restore starts from scratch.
+   */
+  public synchronized void delete() throws IOException {
+    if (_path != null) {
+      Files.deleteIfExists(_path);
+    }
+  }
+
+  private void persist() throws IOException {
+    if (_path == null) {
+      return;
+    }
+    final Properties properties = new Properties();
+    properties.setProperty(BATCH_SIZE_KEY, String.valueOf(_batchSize));
+    _committedBatches.forEach((fileName, batches) -> properties.setProperty(FILE_KEY_PREFIX + fileName,
+        String.valueOf(batches)));
+    final Path tempPath = _path.resolveSibling(_path.getFileName() + ".tmp");
+    try (OutputStream out = Files.newOutputStream(tempPath)) {
+      properties.store(out, "RestoreBackup checkpoint");
+    }
+    Files.move(tempPath, _path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    log.debug("Checkpointed restore progress {}", _committedBatches);
+  }
+}
@@ -20,8 +20,14 @@ import com.linkedin.metadata.entity.ebean.EbeanAspectV2;
 import com.linkedin.metadata.models.AspectSpec;
 import com.linkedin.metadata.models.EntitySpec;
 import com.linkedin.metadata.models.registry.EntityRegistry;
+import io.ebean.EbeanServer;
+import io.ebean.Transaction;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URISyntaxException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -30,22 +36,41 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
 
 
+/**
+ * Restores the aspect table from a backup. By default every latest version aspect is written through the
+ * {@link EntityService}, producing an MAE. With BULK_INSERT, the aspects are instead validated and inserted in batches
+ * directly into the aspect table, and progress can be checkpointed to resume an interrupted restore.
+ */
 public class RestoreStorageStep implements UpgradeStep {
 
   private static final int REPORT_BATCH_SIZE = 1000;
   private static final int DEFAULT_THREAD_POOL = 4;
+  private static final int DEFAULT_BULK_BATCH_SIZE = 5000;
+  private static final int REPORT_INTERVAL_BATCHES = 20;
+  private static final String INSERT_ASPECT_SQL = "INSERT INTO metadata_aspect_v2 "
+      + "(urn, aspect, version, metadata, systemmetadata, createdon, createdby, createdfor) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+  private static final String DELETE_ASPECT_SQL =
+      "DELETE FROM metadata_aspect_v2 WHERE urn = ? AND aspect = ? AND version = ?";
+
+  private final EbeanServer _server;
 
   private final EntityService _entityService;
   private final EntityRegistry _entityRegistry;
   private final Map<String, Class<? extends BackupReader<? extends ReaderWrapper<?>>>> _backupReaders;
   private final ExecutorService _fileReaderThreadPool;
   private final ExecutorService _gmsThreadPool;
+  private final int _gmsPoolSize;
 
-  public RestoreStorageStep(final EntityService entityService, final EntityRegistry entityRegistry) {
+  public RestoreStorageStep(final EbeanServer server, final EntityService entityService,
+      final EntityRegistry entityRegistry) {
+    _server = server;
     _entityService = entityService;
     _entityRegistry = entityRegistry;
     _backupReaders = ImmutableBiMap.of(LocalParquetReader.READER_NAME, LocalParquetReader.class);
@@ -65,6 +90,7 @@ public class RestoreStorageStep implements UpgradeStep {
     }
     _fileReaderThreadPool = Executors.newFixedThreadPool(filePoolSize);
     _gmsThreadPool = Executors.newFixedThreadPool(gmsPoolSize);
+    _gmsPoolSize = gmsPoolSize;
   }
 
   @Override
@@ -82,7 +108,7 @@ public class RestoreStorageStep implements UpgradeStep {
     return (context) -> {
 
       context.report().addLine("Starting backup restore...");
-      int numRows = 0;
+      long numRows = 0;
       Optional<String> backupReaderName = context.parsedArgs().get("BACKUP_READER");
       context.report().addLine("Inputs!: " + context.parsedArgs());
       context.report().addLine("BACKUP_READER: " + backupReaderName.toString());
@@ -104,11 +130,27 @@ public class RestoreStorageStep implements UpgradeStep {
         throw new IllegalArgumentException("Invalid BackupReader: " + clazz.getSimpleName() + ", need to implement proper constructor.");
       }
       EbeanAspectBackupIterator<? extends ReaderWrapper> iterator = backupReader.getBackupIterator(context);
+      final boolean bulkInsert = isBulkInsert(context.parsedArgs());
+      final BulkRestore bulkRestore;
+      if (bulkInsert) {
+        try {
+          bulkRestore = new BulkRestore(context);
+        } catch (IOException | IllegalArgumentException e) {
+          context.report().addLine(String.format("Failed to load the restore checkpoint: %s", e));
+          return new DefaultUpgradeStepResult(id(), UpgradeStepResult.Result.FAILED);
+        }
+      } else {
+        bulkRestore = null;
+      }
       ReaderWrapper reader;
       List<Future<?>> futureList = new ArrayList<>();
       while ((reader = iterator.getNextReader()) != null) {
         final ReaderWrapper readerRef = reader;
-        futureList.add(_fileReaderThreadPool.submit(() -> readerExecutable(readerRef, context)));
+        if (bulkInsert) {
+          futureList.add(_fileReaderThreadPool.submit(() -> bulkReaderExecutable(readerRef, context, bulkRestore)));
+        } else {
+          futureList.add(_fileReaderThreadPool.submit(() -> readerExecutable(readerRef, context)));
+        }
       }
       for (Future<?> future : futureList) {
         try {
@@ -119,6 +161,16 @@ public class RestoreStorageStep implements UpgradeStep {
         }
       }
 
+      if (bulkInsert) {
+        numRows = bulkRestore.rowsWritten.get();
+        try {
+          bulkRestore.checkpoint.delete();
+        } catch (IOException e) {
+          context.report().addLine(String.format("Failed to remove the restore checkpoint: %s", e));
+        }
+        context.report().addLine("Bulk restore does not produce MAEs, run RestoreIndices to rebuild the search and graph "
+            + "indices.");
+      }
       context.report().addLine(String.format("Added %d rows to the aspect v2 table", numRows));
       return new DefaultUpgradeStepResult(id(), UpgradeStepResult.Result.SUCCEEDED);
     };
@@ -131,49 +183,8 @@ public class RestoreStorageStep implements UpgradeStep {
     while ((aspect = reader.next()) != null) {
       numRows++;
 
-      // 1. Extract an Entity type from the entity Urn
-      final Urn urn;
-      try {
-        urn = Urn.createFromString(aspect.getKey().getUrn());
-      } catch (Exception e) {
-        context.report()
-            .addLine(
-                String.format("Failed to bind Urn with value %s into Urn object: %s", aspect.getKey().getUrn(), e));
-        continue;
-      }
-
-      // 2. Verify that the entity associated with the aspect is found in the registry.
-      final String entityName = urn.getEntityType();
-      final EntitySpec entitySpec;
-      try {
-        entitySpec = _entityRegistry.getEntitySpec(entityName);
-      } catch (Exception e) {
-        context.report()
-            .addLine(String.format("Failed to find Entity with name %s in Entity Registry: %s", entityName, e));
-        continue;
-      }
-      final String aspectName = aspect.getKey().getAspect();
-
-      // 3. Create record from json aspect
-      final RecordTemplate aspectRecord;
-      try {
-        aspectRecord =
-            EntityUtils.toAspectRecord(entityName, aspectName, aspect.getMetadata(), _entityRegistry);
-      } catch (Exception e) {
-        context.report()
-            .addLine(String.format("Failed to create aspect record with name %s associated with entity named %s: %s",
-                aspectName, entityName, e));
-        continue;
-      }
-
-      // 4. Verify that the aspect is a valid aspect associated with the entity
-      final AspectSpec aspectSpec;
-      try {
-        aspectSpec = entitySpec.getAspectSpec(aspectName);
-      } catch (Exception e) {
-        context.report()
-            .addLine(String.format("Failed to find aspect spec with name %s associated with entity named %s: %s",
-                aspectName, entityName, e));
+      final RestoredAspect restored = validate(aspect, context);
+      if (restored == null) {
         continue;
       }
 
@@ -181,8 +192,8 @@ public class RestoreStorageStep implements UpgradeStep {
       final long version = aspect.getKey().getVersion();
       final AuditStamp auditStamp = toAuditStamp(aspect);
       futureList.add(_gmsThreadPool.submit(() ->
-          _entityService.updateAspect(urn, entityName, aspectName, aspectSpec, aspectRecord, auditStamp,
-              version, version == 0L)));
+          _entityService.updateAspect(restored.urn, restored.entityName, restored.aspectName, restored.aspectSpec,
+              restored.aspectRecord, auditStamp, version, version == 0L)));
       if (numRows % REPORT_BATCH_SIZE == 0) {
         for (Future<?> future : futureList) {
           try {
@@ -198,6 +209,212 @@ public class RestoreStorageStep implements UpgradeStep {
     }
   }
 
+  /**
+   * Reads the file in batches, which are validated and inserted in parallel by the writer pool. At most
+   * MAX_IN_FLIGHT_BATCHES batches are held in memory across all files, beyond which reading waits for a batch to finish.
+   */
+  private void bulkReaderExecutable(ReaderWrapper<?> reader, UpgradeContext context, BulkRestore bulkRestore) {
+    final String fileName = reader.getFileName();
+    final int batchSize = bulkRestore.checkpoint.getBatchSize();
+    long batchIndex = bulkRestore.checkpoint.getCommittedBatches(fileName);
+    if (batchIndex > 0) {
+      try {
+        final long skipped = reader.skip(batchIndex * batchSize);
+        context.report().addLine(String.format("Resuming %s after %d restored rows", fileName, skipped));
+      } catch (IOException e) {
+        throw new RuntimeException(String.format("Failed to skip the restored rows of %s", fileName), e);
+      }
+    }
+
+    final List<Future<?>> futureList = new ArrayList<>();
+    List<EbeanAspectV2> batch;
+    while (!(batch = reader.nextBatch(batchSize)).isEmpty()) {
+      try {
+        bulkRestore.inFlightBatches.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Reading interrupted, not able to finish processing.", e);
+      }
+      final List<EbeanAspectV2> rows = batch;
+      final long index = batchIndex++;
+      futureList.add(_gmsThreadPool.submit(() -> {
+        try {
+          writeBatch(rows, context, bulkRestore);
+          bulkRestore.checkpoint.commit(fileName, index);
+        } finally {
+          bulkRestore.inFlightBatches.release();
+        }
+        return null;
+      }));
+      // Surface failed batches early, and keep the list from growing with the number of batches in the file.
+      futureList.removeIf(future -> future.isDone() && getResult(future, context));
+    }
+    futureList.forEach(future -> getResult(future, context));
+  }
+
+  private boolean getResult(Future<?> future, UpgradeContext context) {
+    try {
+      future.get();
+      return true;
+    } catch (InterruptedException | ExecutionException e) {
+      context.report().addLine(String.format("Failed to restore a batch, not able to finish processing: %s", e));
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Validates the rows of a batch and inserts the valid ones into the aspect table with a single JDBC batch in its own
+   * transaction. When resuming, rows of the batch may have been committed before the checkpoint caught up with them, so
+   * any existing rows with the same keys are deleted first.
+   */
+  private void writeBatch(List<EbeanAspectV2> rows, UpgradeContext context, BulkRestore bulkRestore)
+      throws SQLException {
+    final List<EbeanAspectV2> validRows = new ArrayList<>(rows.size());
+    for (EbeanAspectV2 row : rows) {
+      if (validate(row, context) != null) {
+        validRows.add(row);
+      }
+    }
+    if (validRows.isEmpty()) {
+      return;
+    }
+
+    try (Transaction transaction = _server.beginTransaction()) {
+      final Connection connection = transaction.getConnection();
+      if (bulkRestore.checkpoint.isResumed()) {
+        try (PreparedStatement delete = connection.prepareStatement(DELETE_ASPECT_SQL)) {
+          for (EbeanAspectV2 row : validRows) {
+            delete.setString(1, row.getKey().getUrn());
+            delete.setString(2, row.getKey().getAspect());
+            delete.setLong(3, row.getKey().getVersion());
+            delete.addBatch();
+          }
+          delete.executeBatch();
+        }
+      }
+      try (PreparedStatement insert = connection.prepareStatement(INSERT_ASPECT_SQL)) {
+        for (EbeanAspectV2 row : validRows) {
+          insert.setString(1, row.getKey().getUrn());
+          insert.setString(2, row.getKey().getAspect());
+          insert.setLong(3, row.getKey().getVersion());
+          insert.setString(4, row.getMetadata());
+          insert.setString(5, row.getSystemMetadata());
+          insert.setTimestamp(6, row.getCreatedOn());
+          insert.setString(7, row.getCreatedBy());
+          insert.setString(8, row.getCreatedFor());
+          insert.addBatch();
+        }
+        insert.executeBatch();
+      }
+      transaction.commit();
+    }
+
+    final long total = bulkRestore.rowsWritten.addAndGet(validRows.size());
+    if (bulkRestore.batchesWritten.incrementAndGet() % REPORT_INTERVAL_BATCHES == 0) {
+      final long elapsedMs = Math.max(1, System.currentTimeMillis() - bulkRestore.startTimeMs);
+      context.report().addLine(String.format("Successfully inserted %d rows (%d rows/s)", total,
+          total * 1000 / elapsedMs));
+    }
+  }
+
+  /**
+   * Checks that the row can be bound to an entity and aspect of the registry, and returns the parsed aspect, or null if
+   * it cannot be restored.
+   */
+  private RestoredAspect validate(EbeanAspectV2 aspect, UpgradeContext context) {
+    // 1. Extract an Entity type from the entity Urn
+    final Urn urn;
+    try {
+      urn = Urn.createFromString(aspect.getKey().getUrn());
+    } catch (Exception e) {
+      context.report()
+          .addLine(
+              String.format("Failed to bind Urn with value %s into Urn object: %s", aspect.getKey().getUrn(), e));
+      return null;
+    }
+
+    // 2. Verify that the entity associated with the aspect is found in the registry.
+    final String entityName = urn.getEntityType();
+    final EntitySpec entitySpec;
+    try {
+      entitySpec = _entityRegistry.getEntitySpec(entityName);
+    } catch (Exception e) {
+      context.report()
+          .addLine(String.format("Failed to find Entity with name %s in Entity Registry: %s", entityName, e));
+      return null;
+    }
+    final String aspectName = aspect.getKey().getAspect();
+
+    // 3. Create record from json aspect
+    final RecordTemplate aspectRecord;
+    try {
+      aspectRecord =
+          EntityUtils.toAspectRecord(entityName, aspectName, aspect.getMetadata(), _entityRegistry);
+    } catch (Exception e) {
+      context.report()
+          .addLine(String.format("Failed to create aspect record with name %s associated with entity named %s: %s",
+              aspectName, entityName, e));
+      return null;
+    }
+
+    // 4. Verify that the aspect is a valid aspect associated with the entity
+    final AspectSpec aspectSpec;
+    try {
+      aspectSpec = entitySpec.getAspectSpec(aspectName);
+    } catch (Exception e) {
+      context.report()
+          .addLine(String.format("Failed to find aspect spec with name %s associated with entity named %s: %s",
+              aspectName, entityName, e));
+      return null;
+    }
+    return new RestoredAspect(urn, entityName, aspectName, aspectSpec, aspectRecord);
+  }
+
+  static boolean isBulkInsert(final Map<String, Optional<String>> parsedArgs) {
+    return parsedArgs.containsKey(RestoreBackup.BULK_INSERT_ARG_NAME) && !"false".equalsIgnoreCase(
+        parsedArgs.get(RestoreBackup.BULK_INSERT_ARG_NAME).orElse("true"));
+  }
+
+  private static int getIntArg(final Map<String, Optional<String>> parsedArgs, String argName, int defaultValue) {
+    final Optional<String> value = parsedArgs.getOrDefault(argName, Optional.empty());
+    return value.isPresent() ? Integer.parseInt(value.get()) : defaultValue;
+  }
+
+  @AllArgsConstructor
+  private static class RestoredAspect {
+    private final Urn urn;
+    private final String entityName;
+    private final String aspectName;
+    private final AspectSpec aspectSpec;
+    private final RecordTemplate aspectRecord;
+  }
+
+  /**
+   * State of a bulk restore shared by the readers of all backup files.
+   */
+  private class BulkRestore {
+    private final RestoreCheckpoint checkpoint;
+    private final Semaphore inFlightBatches;
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong batchesWritten = new AtomicLong();
+    private final long startTimeMs = System.currentTimeMillis();
+
+    private BulkRestore(UpgradeContext context) throws IOException {
+      final int batchSize = getIntArg(context.parsedArgs(), RestoreBackup.BATCH_SIZE_ARG_NAME, DEFAULT_BULK_BATCH_SIZE);
+      final int maxInFlightBatches =
+          getIntArg(context.parsedArgs(), RestoreBackup.MAX_IN_FLIGHT_BATCHES_ARG_NAME, 2 * _gmsPoolSize);
+      if (batchSize <= 0 || maxInFlightBatches <= 0) {
+        throw new IllegalArgumentException("BATCH_SIZE and MAX_IN_FLIGHT_BATCHES must be positive");
+      }
+      final String checkpointFile =
+          context.parsedArgs().getOrDefault(RestoreBackup.CHECKPOINT_FILE_ARG_NAME, Optional.empty()).orElse(null);
+      checkpoint = RestoreCheckpoint.load(checkpointFile, batchSize);
+      inFlightBatches = new Semaphore(maxInFlightBatches);
+      context.report().addLine(String.format("Bulk restoring in batches of %d rows, with at most %d batches in flight%s",
+          batchSize, maxInFlightBatches, checkpoint.isResumed() ? ", resuming from " + checkpointFile : ""));
+    }
+  }
+
   private AuditStamp toAuditStamp(final EbeanAspectV2 aspect) {
     final AuditStamp auditStamp = new AuditStamp();
     auditStamp.setTime(aspect.getCreatedOn().getTime());
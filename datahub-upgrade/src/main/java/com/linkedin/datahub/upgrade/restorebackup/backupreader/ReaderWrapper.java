@@ -3,6 +3,8 @@ package com.linkedin.datahub.upgrade.restorebackup.backupreader;
 import com.linkedin.metadata.entity.ebean.EbeanAspectV2;
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 
 
@@ -20,12 +22,16 @@ public abstract class ReaderWrapper<T> implements Closeable {
   private int recordsProcessed = 0;
   private long totalTimeSpentInConvert = 0L;
   private final String _fileName;
+  private boolean _exhausted = false;
 
   ReaderWrapper(String fileName) {
     this._fileName = fileName;
   }
 
   public EbeanAspectV2 next() {
+    if (_exhausted) {
+      return null;
+    }
     try {
       long readStart = System.nanoTime();
       T record = read();
@@ -45,6 +51,7 @@ public abstract class ReaderWrapper<T> implements Closeable {
         lastTimeLogged = readEnd;
       }
       if (record == null) {
+        _exhausted = true;
         printStat("Closing: ");
         close();
         return null;
@@ -62,6 +69,36 @@ public abstract class ReaderWrapper<T> implements Closeable {
     }
   }
 
+  /**
+   * Reads up to maxRows latest version aspects, so that they can be validated and written together.
+   * @return the aspects read, empty once the reader is exhausted
+   */
+  public List<EbeanAspectV2> nextBatch(int maxRows) {
+    final List<EbeanAspectV2> batch = new ArrayList<>(maxRows);
+    EbeanAspectV2 aspect;
+    while (batch.size() < maxRows && (aspect = next()) != null) {
+      batch.add(aspect);
+    }
+    return batch;
+  }
+
+  /**
+   * Skips latest version records without converting them, e.g. to resume after the batches already restored.
+   * @return the number of latest version records skipped
+   */
+  public long skip(long rows) throws IOException {
+    long skipped = 0;
+    T record;
+    while (skipped < rows && (record = read()) != null) {
+      if (isLatestVersion(record)) {
+        skipped++;
+      } else {
+        recordsSkipped++;
+      }
+    }
+    return skipped;
+  }
+
   abstract T read() throws IOException;
 
   abstract boolean isLatestVersion(T record);
@@ -1,39 +1,85 @@
 package com.linkedin.datahub.upgrade.restoreindices;
 
+import com.google.common.collect.ImmutableList;
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.data.template.StringMap;
 import com.linkedin.datahub.upgrade.UpgradeContext;
 import com.linkedin.datahub.upgrade.UpgradeStep;
 import com.linkedin.datahub.upgrade.UpgradeStepResult;
 import com.linkedin.datahub.upgrade.impl.DefaultUpgradeStepResult;
+import com.linkedin.datahub.upgrade.nocode.NoCodeUpgrade;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.metadata.Constants;
 import com.linkedin.metadata.entity.EntityService;
 import com.linkedin.metadata.entity.ebean.EbeanAspectV2;
 import com.linkedin.metadata.entity.restoreindices.RestoreIndicesArgs;
 import com.linkedin.metadata.entity.restoreindices.RestoreIndicesResult;
+import com.linkedin.metadata.key.DataHubUpgradeKey;
 import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.utils.EntityKeyUtils;
+import com.linkedin.metadata.utils.GenericRecordUtils;
+import com.linkedin.mxe.MetadataChangeProposal;
+import com.linkedin.upgrade.DataHubUpgradeResult;
 import io.ebean.EbeanServer;
 import io.ebean.ExpressionList;
+import io.ebean.SqlRow;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeSet;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import static com.linkedin.metadata.Constants.ASPECT_LATEST_VERSION;
 
 
+/**
+ * Produces MAEs for the latest version of every aspect, in batches sent by a pool of numThreads workers. A bounded
+ * number of batches is submitted ahead of the workers, and completed batches are consumed as they finish.
+ *
+ * Progress is checkpointed to the upgrade history as the number of leading rows sent, and a failed run resumes from the
+ * checkpoint when run again with the same arguments. Passing clean, which clears the indices first, starts over.
+ */
+@Slf4j
 public class SendMAEStep implements UpgradeStep {
 
   private static final int DEFAULT_BATCH_SIZE = 1000;
   private static final long DEFAULT_BATCH_DELAY_MS = 250;
   private static final int DEFAULT_THREADS = 1;
+  private static final int BATCHES_IN_FLIGHT_PER_THREAD = 2;
+  private static final long REPORT_INTERVAL_MS = 30 * 1000;
+  private static final long CHECKPOINT_INTERVAL_MS = 60 * 1000;
+  private static final String UPGRADE_ID = "restore-indices";
+  private static final String STATUS_KEY = "status";
+  private static final String ARGS_KEY = "args";
+  private static final String COMPLETED_ROWS_KEY = "completedRows";
+  private static final String STATUS_IN_PROGRESS = "IN_PROGRESS";
+  private static final String STATUS_SUCCEEDED = "SUCCEEDED";
+  private static final List<String> ROW_ESTIMATE_QUERIES = ImmutableList.of(
+      // MySQL and MariaDB
+      "SELECT TABLE_ROWS AS estimate FROM INFORMATION_SCHEMA.TABLES "
+          + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'metadata_aspect_v2'",
+      // Postgres
+      "SELECT CAST(reltuples AS BIGINT) AS estimate FROM pg_class WHERE relname = 'metadata_aspect_v2'");
 
   private final EbeanServer _server;
   private final EntityService _entityService;
+  private final Urn _upgradeUrn = EntityKeyUtils.convertEntityKeyToUrn(new DataHubUpgradeKey().setId(UPGRADE_ID),
+      Constants.DATA_HUB_UPGRADE_ENTITY_NAME);
 
   public class KafkaJob implements Callable<RestoreIndicesResult> {
       UpgradeContext context;
@@ -63,21 +109,6 @@ public class SendMAEStep implements UpgradeStep {
     return 0;
   }
 
-  private List<RestoreIndicesResult> iterateFutures(List<Future<RestoreIndicesResult>> futures) {
-    List<RestoreIndicesResult> result = new ArrayList<>();
-    for (Future<RestoreIndicesResult> future: new ArrayList<>(futures)) {
-      if (future.isDone()) {
-        try {
-          result.add(future.get());
-          futures.remove(future);
-        } catch (InterruptedException | ExecutionException e) {
-          e.printStackTrace();
-        }
-      }
-    }
-    return result;
-  }
-
   private RestoreIndicesArgs getArgs(UpgradeContext context) {
     RestoreIndicesArgs result = new RestoreIndicesArgs();
     result.batchSize = getBatchSize(context.parsedArgs());
@@ -112,50 +143,164 @@ public class SendMAEStep implements UpgradeStep {
     return countExp.findCount();
   }
 
+  /**
+   * Estimates the number of rows to send for progress reporting. Filtered runs count the matching rows, which the urn and
+   * aspect indexes keep cheap. Full runs read the table statistics instead of scanning the whole table; these include
+   * older versions, so progress is underestimated until the last batch.
+   * @return the estimate, or -1 when the database keeps no statistics that can be read
+   */
+  private long estimateRowCount(RestoreIndicesArgs args) {
+    if (args.aspectName != null || args.urn != null || args.urnLike != null) {
+      return getRowCount(args);
+    }
+    for (String query : ROW_ESTIMATE_QUERIES) {
+      try {
+        final SqlRow row = _server.createSqlQuery(query).findOne();
+        if (row != null && row.getLong("estimate") != null) {
+          return row.getLong("estimate");
+        }
+      } catch (Exception e) {
+        log.debug("Row estimate query is not supported by this database: {}", query, e);
+      }
+    }
+    return -1;
+  }
+
   @Override
   public Function<UpgradeContext, UpgradeStepResult> executable() {
     return (context) -> {
       RestoreIndicesResult finalJobResult = new RestoreIndicesResult();
       RestoreIndicesArgs args = getArgs(context);
-      ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(args.numThreads);
+      ExecutorService executor = Executors.newFixedThreadPool(args.numThreads);
+      CompletionService<BatchResult> completionService = new ExecutorCompletionService<>(executor);
 
       context.report().addLine("Sending MAE from local DB");
       long startTime = System.currentTimeMillis();
-      final int rowCount = getRowCount(args);
-      context.report().addLine(String.format("Found %s latest aspects in aspects table in %.2f minutes.",
-              rowCount, (float) (System.currentTimeMillis() - startTime) / 1000 / 60));
-      int start = 0;
+      final long rowEstimate = estimateRowCount(args);
+      context.report().addLine(String.format("Estimated %s latest aspects in aspects table in %.2f minutes.",
+              rowEstimate, (float) (System.currentTimeMillis() - startTime) / 1000 / 60));
 
-      List<Future<RestoreIndicesResult>> futures = new ArrayList<>();
+      final Progress progress = new Progress(args, getResumeRow(context, args));
+      final int maxInFlight = args.numThreads * BATCHES_IN_FLIGHT_PER_THREAD;
+      int nextStart = progress.completedRows;
+      int inFlight = 0;
+      boolean exhausted = false;
       startTime = System.currentTimeMillis();
-      while (start < rowCount) {
-        args = args.clone();
-        args.start = start;
-        futures.add(executor.submit(new KafkaJob(context, args)));
-        start = start + args.batchSize;
-      }
-      while (futures.size() > 0) {
-        List<RestoreIndicesResult> tmpResults = iterateFutures(futures);
-        for (RestoreIndicesResult tmpResult: tmpResults) {
-          reportStats(context, finalJobResult, tmpResult, rowCount, startTime);
+      long lastReportTime = startTime;
+      long lastCheckpointTime = startTime;
+      try {
+        while (!exhausted || inFlight > 0) {
+          // Submit ahead of the workers only up to a bound, so that batches are not queued for the whole table.
+          while (!exhausted && inFlight < maxInFlight) {
+            final RestoreIndicesArgs batchArgs = args.clone();
+            batchArgs.start = nextStart;
+            final KafkaJob job = new KafkaJob(context, batchArgs);
+            completionService.submit(() -> new BatchResult(batchArgs.start, job.call()));
+            nextStart += args.batchSize;
+            inFlight++;
+          }
+          final Future<BatchResult> done = completionService.poll(REPORT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+          if (done != null) {
+            inFlight--;
+            final BatchResult batchResult = done.get();
+            addStats(finalJobResult, batchResult.result);
+            // Every row read is either sent or ignored, so a short batch is the end of the table.
+            if (batchResult.result.rowsMigrated + batchResult.result.ignored < args.batchSize) {
+              exhausted = true;
+            }
+            progress.complete(batchResult.start);
+          }
+          final long currentTime = System.currentTimeMillis();
+          if (currentTime - lastReportTime >= REPORT_INTERVAL_MS) {
+            reportStats(context, finalJobResult, progress, rowEstimate, startTime);
+            lastReportTime = currentTime;
+          }
+          if (currentTime - lastCheckpointTime >= CHECKPOINT_INTERVAL_MS) {
+            writeCheckpoint(context, progress, STATUS_IN_PROGRESS);
+            lastCheckpointTime = currentTime;
+          }
         }
+      } catch (InterruptedException | ExecutionException e) {
+        if (e instanceof InterruptedException) {
+          Thread.currentThread().interrupt();
+        }
+        executor.shutdownNow();
+        writeCheckpoint(context, progress, STATUS_IN_PROGRESS);
+        context.report().addLine(String.format("Failed to send MAEs after %d rows, the next run resumes from there: %s",
+            progress.completedRows, e));
+        return new DefaultUpgradeStepResult(id(), UpgradeStepResult.Result.FAILED);
       }
       executor.shutdown();
-      if (finalJobResult.rowsMigrated != rowCount) {
-        float percentFailed = 0.0f;
-        if (rowCount > 0) {
-          percentFailed = (float) (rowCount - finalJobResult.rowsMigrated) * 100 / rowCount;
-        }
-        context.report().addLine(String.format(
-                "Failed to send MAEs for %d rows (%.2f%% of total).",
-                rowCount - finalJobResult.rowsMigrated, percentFailed));
+      reportStats(context, finalJobResult, progress, progress.completedRows, startTime);
+      writeCheckpoint(context, progress, STATUS_SUCCEEDED);
+      if (finalJobResult.ignored > 0) {
+        context.report().addLine(String.format("Failed to send MAEs for %d rows.", finalJobResult.ignored));
       }
       return new DefaultUpgradeStepResult(id(), UpgradeStepResult.Result.SUCCEEDED);
     };
   }
 
-  private static void reportStats(UpgradeContext context, RestoreIndicesResult finalResult, RestoreIndicesResult tmpResult,
-                                  int rowCount, long startTime) {
+  /**
+   * Returns the row to start from: the checkpoint of a previous run with the same arguments that did not finish, unless
+   * the indices are being cleaned.
+   */
+  private int getResumeRow(UpgradeContext context, RestoreIndicesArgs args) {
+    if (context.parsedArgs().containsKey(NoCodeUpgrade.CLEAN_ARG_NAME)) {
+      return 0;
+    }
+    final Map<String, String> checkpoint;
+    try {
+      final RecordTemplate aspect = _entityService.getLatestAspectsForUrn(_upgradeUrn,
+          Collections.singleton(Constants.DATA_HUB_UPGRADE_RESULT_ASPECT_NAME))
+          .get(Constants.DATA_HUB_UPGRADE_RESULT_ASPECT_NAME);
+      if (aspect == null || !new DataHubUpgradeResult(aspect.data()).hasResult()) {
+        return 0;
+      }
+      checkpoint = new DataHubUpgradeResult(aspect.data()).getResult();
+    } catch (Exception e) {
+      context.report().addLine(String.format("Failed to read the restore indices checkpoint, starting over: %s", e));
+      return 0;
+    }
+    if (!STATUS_IN_PROGRESS.equals(checkpoint.get(STATUS_KEY)) || !toArgsKey(args).equals(checkpoint.get(ARGS_KEY))) {
+      return 0;
+    }
+    final int resumeRow = Integer.parseInt(checkpoint.getOrDefault(COMPLETED_ROWS_KEY, "0"));
+    context.report().addLine(String.format("Resuming from row %d of a previous run with the same arguments.", resumeRow));
+    return resumeRow;
+  }
+
+  private void writeCheckpoint(UpgradeContext context, Progress progress, String status) {
+    try {
+      final Map<String, String> result = new HashMap<>();
+      result.put(STATUS_KEY, status);
+      result.put(ARGS_KEY, progress.argsKey);
+      result.put(COMPLETED_ROWS_KEY, String.valueOf(progress.completedRows));
+      final DataHubUpgradeResult upgradeResult = new DataHubUpgradeResult()
+          .setTimestampMs(System.currentTimeMillis())
+          .setResult(new StringMap(result));
+
+      final MetadataChangeProposal upgradeProposal = new MetadataChangeProposal();
+      upgradeProposal.setEntityUrn(_upgradeUrn);
+      upgradeProposal.setEntityType(Constants.DATA_HUB_UPGRADE_ENTITY_NAME);
+      upgradeProposal.setAspectName(Constants.DATA_HUB_UPGRADE_RESULT_ASPECT_NAME);
+      upgradeProposal.setAspect(GenericRecordUtils.serializeAspect(upgradeResult));
+      upgradeProposal.setChangeType(ChangeType.UPSERT);
+
+      final AuditStamp auditStamp = new AuditStamp()
+          .setActor(Urn.createFromString(Constants.SYSTEM_ACTOR))
+          .setTime(System.currentTimeMillis());
+      _entityService.ingestProposal(upgradeProposal, auditStamp, false);
+    } catch (Exception e) {
+      context.report().addLine(String.format("Failed to checkpoint restore indices progress: %s", e));
+    }
+  }
+
+  private static String toArgsKey(RestoreIndicesArgs args) {
+    return String.format("batchSize=%d,aspectName=%s,urn=%s,urnLike=%s", args.batchSize, args.aspectName, args.urn,
+        args.urnLike);
+  }
+
+  private static void addStats(RestoreIndicesResult finalResult, RestoreIndicesResult tmpResult) {
     finalResult.ignored += tmpResult.ignored;
     finalResult.rowsMigrated += tmpResult.rowsMigrated;
     finalResult.timeSqlQueryMs += tmpResult.timeSqlQueryMs;
@@ -164,22 +309,67 @@ public class SendMAEStep implements UpgradeStep {
     finalResult.aspectCheckMs += tmpResult.aspectCheckMs;
     finalResult.createRecordMs += tmpResult.createRecordMs;
     finalResult.sendMessageMs += tmpResult.sendMessageMs;
+  }
+
+  private static void reportStats(UpgradeContext context, RestoreIndicesResult finalResult, Progress progress,
+                                  long rowEstimate, long startTime) {
     context.report().addLine(String.format("metrics so far %s", finalResult));
 
-    long currentTime = System.currentTimeMillis();
-    float timeSoFarMinutes = (float) (currentTime - startTime) / 1000 / 60;
-    float percentSent = (float) finalResult.rowsMigrated * 100 / rowCount;
-    float percentIgnored = (float) finalResult.ignored * 100 / rowCount;
-    float estimatedTimeMinutesComplete = -1;
-    if (percentSent > 0) {
-      estimatedTimeMinutesComplete = timeSoFarMinutes * (100 - percentSent) / percentSent;
+    final long currentTime = System.currentTimeMillis();
+    final float timeSoFarMinutes = (float) (currentTime - startTime) / 1000 / 60;
+    final int rowsProcessed = finalResult.rowsMigrated + finalResult.ignored;
+    final float rowsPerSecond = timeSoFarMinutes > 0 ? rowsProcessed / (timeSoFarMinutes * 60) : 0;
+    // Rows sent by a previous run count towards the total, but not towards the rate of this one.
+    final long rowsDone = progress.resumedRows + rowsProcessed;
+    final long rowsTotal = Math.max(rowEstimate, rowsDone);
+    context.report().addLine(String.format(
+            "Successfully sent MAEs for %s rows, %s rows ignored. %.0f rows/s.",
+            finalResult.rowsMigrated, finalResult.ignored, rowsPerSecond));
+    if (rowEstimate < 0 || rowsPerSecond <= 0) {
+      context.report().addLine(String.format("%.2f mins taken.", timeSoFarMinutes));
+      return;
     }
-    float totalTimeComplete = timeSoFarMinutes + estimatedTimeMinutesComplete;
+    final float percentDone = rowsTotal > 0 ? (float) rowsDone * 100 / rowsTotal : 100;
+    final float estimatedTimeMinutesComplete = (rowsTotal - rowsDone) / rowsPerSecond / 60;
     context.report().addLine(String.format(
-            "Successfully sent MAEs for %s/%s rows (%.2f%% of total). %s rows ignored (%.2f%% of total)",
-            finalResult.rowsMigrated, rowCount, percentSent, finalResult.ignored, percentIgnored));
-    context.report().addLine(String.format("%.2f mins taken. %.2f est. mins to completion. Total mins est. = %.2f.",
-            timeSoFarMinutes, estimatedTimeMinutesComplete, totalTimeComplete));
+            "%.2f%% of ~%s rows done. %.2f mins taken. %.2f est. mins to completion. Total mins est. = %.2f.",
+            percentDone, rowsTotal, timeSoFarMinutes, estimatedTimeMinutesComplete,
+            timeSoFarMinutes + estimatedTimeMinutesComplete));
+  }
+
+  /**
+   * The result of the batch starting at a row.
+   */
+  @AllArgsConstructor
+  private static class BatchResult {
+    private final int start;
+    private final RestoreIndicesResult result;
+  }
+
+  /**
+   * Tracks the rows sent by leading batches, which is where a failed run resumes. Batches complete out of order, so a
+   * batch only counts once every batch before it has completed too.
+   */
+  private static class Progress {
+    private final String argsKey;
+    private final int batchSize;
+    private final int resumedRows;
+    private final TreeSet<Integer> completedStarts = new TreeSet<>();
+    private int completedRows;
+
+    private Progress(RestoreIndicesArgs args, int resumedRows) {
+      this.argsKey = toArgsKey(args);
+      this.batchSize = args.batchSize;
+      this.resumedRows = resumedRows;
+      this.completedRows = resumedRows;
+    }
+
+    private void complete(int start) {
+      completedStarts.add(start);
+      while (completedStarts.remove(completedRows)) {
+        completedRows += batchSize;
+      }
+    }
   }
 
   private int getBatchSize(final Map<String, Optional<String>> parsedArgs) {
@@ -11,7 +11,9 @@ import com.linkedin.metadata.graph.GraphService;
 import com.linkedin.metadata.search.EntitySearchService;
 import com.linkedin.metadata.shared.ElasticSearchIndexed;
 import com.linkedin.metadata.systemmetadata.SystemMetadataService;
+import com.linkedin.metadata.timeline.materialized.ChangeTransactionService;
 import com.linkedin.metadata.timeseries.TimeseriesAspectService;
+import com.linkedin.metadata.timeseries.rollup.UsageRollupService;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -24,13 +26,16 @@ public class BuildIndices implements Upgrade {
 
     public BuildIndices(final SystemMetadataService systemMetadataService, final TimeseriesAspectService timeseriesAspectService,
                         final EntitySearchService entitySearchService, final GraphService graphService,
+                        final UsageRollupService usageRollupService,
+                        final ChangeTransactionService changeTransactionService,
                         final BaseElasticSearchComponentsFactory.BaseElasticSearchComponents baseElasticSearchComponents,
 
                         final ConfigurationProvider configurationProvider) {
 
 
         List<ElasticSearchIndexed> indexedServices = Stream.of(
-                        graphService, entitySearchService, systemMetadataService, timeseriesAspectService)
+                        graphService, entitySearchService, systemMetadataService, timeseriesAspectService,
+                        usageRollupService, changeTransactionService)
                 .filter(service -> service instanceof ElasticSearchIndexed)
                 .map(service -> (ElasticSearchIndexed) service)
                 .collect(Collectors.toList());
@@ -55,7 +60,8 @@ public class BuildIndices implements Upgrade {
       final List<UpgradeStep> steps = new ArrayList<>();
       // Disable ES write mode/change refresh rate and clone indices
       steps.add(new BuildIndicesPreStep(baseElasticSearchComponents, indexedServices, configurationProvider));
-      // Configure graphService, entitySearchService, systemMetadataService, timeseriesAspectService
+      // Configure graphService, entitySearchService, systemMetadataService, timeseriesAspectService, usageRollupService,
+      // changeTransactionService
       steps.add(new BuildIndicesStep(indexedServices));
       // Reset configuration (and delete clones? Or just do this regularly? Or delete clone in pre-configure step if it already exists?
       steps.add(new BuildIndicesPostStep(baseElasticSearchComponents, indexedServices));
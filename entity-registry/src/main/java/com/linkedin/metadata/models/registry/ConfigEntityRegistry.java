@@ -47,6 +47,7 @@ public class ConfigEntityRegistry implements EntityRegistry {
   private final List<EntitySpec> entitySpecs;
   private final String identifier;
   private final Map<String, AspectSpec> _aspectNameToSpec;
+  private final EntityRegistryIndex _index;
 
   private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper(new YAMLFactory());
 
@@ -136,6 +137,8 @@ public class ConfigEntityRegistry implements EntityRegistry {
     }
     entitySpecs = new ArrayList<>(entityNameToSpec.values());
     _aspectNameToSpec = populateAspectMap(entitySpecs);
+
+    _index = new EntityRegistryIndex(entityNameToSpec);
   }
 
   @Override
@@ -163,12 +166,13 @@ public class ConfigEntityRegistry implements EntityRegistry {
   @Nonnull
   @Override
   public EntitySpec getEntitySpec(@Nonnull String entityName) {
-    String lowercaseEntityName = entityName.toLowerCase();
-    if (!entityNameToSpec.containsKey(lowercaseEntityName)) {
+    final EntityRegistryIndex index = getIndex();
+    final int entityId = index.getEntityId(entityName);
+    if (entityId == EntityRegistryIndex.NOT_FOUND) {
       throw new IllegalArgumentException(
           String.format("Failed to find entity with name %s in EntityRegistry", entityName));
     }
-    return entityNameToSpec.get(lowercaseEntityName);
+    return index.getEntitySpec(entityId);
   }
 
   @Nonnull
@@ -207,4 +211,10 @@ public class ConfigEntityRegistry implements EntityRegistry {
     //TODO: add support for config based aspect templates
     return new AspectTemplateEngine();
   }
+
+  @Nonnull
+  @Override
+  public EntityRegistryIndex getIndex() {
+    return _index;
+  }
 }
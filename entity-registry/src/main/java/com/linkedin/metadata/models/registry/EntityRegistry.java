@@ -65,4 +65,15 @@ public interface EntityRegistry {
    */
   @Nonnull
   AspectTemplateEngine getAspectTemplateEngine();
+
+  /**
+   * Returns an {@link EntityRegistryIndex} over the specs of this registry, for hot paths that resolve specs repeatedly.
+   * Registries are expected to build it once and rebuild it only if their specs change, so callers should not hold on
+   * to the index across changes of a mutable registry.
+   * @return an index over the current entity and aspect specs of this registry
+   */
+  @Nonnull
+  default EntityRegistryIndex getIndex() {
+    return new EntityRegistryIndex(this);
+  }
 }
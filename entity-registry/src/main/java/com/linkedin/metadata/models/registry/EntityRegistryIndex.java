@@ -0,0 +1,169 @@
+package com.linkedin.metadata.models.registry;
+
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.EntitySpec;
+import com.linkedin.metadata.models.RelationshipFieldSpec;
+import com.linkedin.metadata.models.SearchScoreFieldSpec;
+import com.linkedin.metadata.models.SearchableFieldSpec;
+import com.linkedin.metadata.models.TimeseriesFieldCollectionSpec;
+import com.linkedin.metadata.models.TimeseriesFieldSpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Getter;
+
+
+/**
+ * A frozen snapshot of an {@link EntityRegistry} for hot paths that resolve the same entity and aspect specs over and
+ * over, e.g. while processing MCLs or restoring indices.
+ *
+ * Entities are assigned dense ids in name order, and the aspects of each entity dense ids in aspect name order, so that
+ * callers can resolve a name once and then address the specs by id through array lookups. Entity names are matched as
+ * declared first and case insensitively otherwise, like {@link EntityRegistry#getEntitySpec(String)}, but without
+ * lowercasing names that are already spelled as declared. The field spec lists of every aspect are computed once, and
+ * are unmodifiable.
+ *
+ * The index does not follow later changes of the registry, see {@link EntityRegistry#getIndex()}.
+ */
+public class EntityRegistryIndex {
+
+  public static final int NOT_FOUND = -1;
+
+  private final Map<String, Integer> _entityIds;
+  private final EntitySpec[] _entitySpecs;
+  private final List<Map<String, Integer>> _aspectIds;
+  private final IndexedAspect[][] _aspects;
+
+  public EntityRegistryIndex(@Nonnull final EntityRegistry entityRegistry) {
+    this(entityRegistry.getEntitySpecs());
+  }
+
+  /**
+   * Indexes entity specs keyed by name, as returned by {@link EntityRegistry#getEntitySpecs()}.
+   */
+  public EntityRegistryIndex(@Nonnull final Map<String, EntitySpec> entitySpecs) {
+    final List<Map.Entry<String, EntitySpec>> entries = new ArrayList<>(entitySpecs.entrySet());
+    entries.sort(Comparator.comparing(entry -> entry.getValue().getName()));
+
+    _entityIds = new HashMap<>();
+    _entitySpecs = new EntitySpec[entries.size()];
+    _aspectIds = new ArrayList<>(_entitySpecs.length);
+    _aspects = new IndexedAspect[_entitySpecs.length][];
+    for (int entityId = 0; entityId < _entitySpecs.length; entityId++) {
+      final EntitySpec entitySpec = entries.get(entityId).getValue();
+      _entitySpecs[entityId] = entitySpec;
+      // Registries key their specs by lowercased name, which is also accepted as is.
+      _entityIds.put(entitySpec.getName(), entityId);
+      _entityIds.putIfAbsent(entries.get(entityId).getKey(), entityId);
+      _entityIds.putIfAbsent(entitySpec.getName().toLowerCase(), entityId);
+
+      final List<AspectSpec> aspectSpecs = new ArrayList<>(entitySpec.getAspectSpecMap().values());
+      aspectSpecs.sort(Comparator.comparing(AspectSpec::getName));
+      final Map<String, Integer> aspectIds = new HashMap<>();
+      final IndexedAspect[] aspects = new IndexedAspect[aspectSpecs.size()];
+      for (int aspectId = 0; aspectId < aspects.length; aspectId++) {
+        aspects[aspectId] = new IndexedAspect(entityId, aspectId, entitySpec, aspectSpecs.get(aspectId));
+        aspectIds.put(aspectSpecs.get(aspectId).getName(), aspectId);
+      }
+      _aspectIds.add(aspectIds);
+      _aspects[entityId] = aspects;
+    }
+  }
+
+  /**
+   * Returns the id of the entity with the given name, or {@link #NOT_FOUND} if the registry has no such entity.
+   */
+  public int getEntityId(@Nonnull final String entityName) {
+    Integer entityId = _entityIds.get(entityName);
+    if (entityId == null) {
+      entityId = _entityIds.get(entityName.toLowerCase());
+    }
+    return entityId == null ? NOT_FOUND : entityId;
+  }
+
+  /**
+   * Returns the id of the aspect with the given name within the entity, or {@link #NOT_FOUND} if the entity has no such
+   * aspect.
+   */
+  public int getAspectId(final int entityId, @Nonnull final String aspectName) {
+    final Integer aspectId = _aspectIds.get(entityId).get(aspectName);
+    return aspectId == null ? NOT_FOUND : aspectId;
+  }
+
+  public int getEntityCount() {
+    return _entitySpecs.length;
+  }
+
+  public int getAspectCount(final int entityId) {
+    return _aspects[entityId].length;
+  }
+
+  @Nonnull
+  public EntitySpec getEntitySpec(final int entityId) {
+    return _entitySpecs[entityId];
+  }
+
+  @Nonnull
+  public IndexedAspect getAspect(final int entityId, final int aspectId) {
+    return _aspects[entityId][aspectId];
+  }
+
+  /**
+   * Returns the indexed aspects of the entity, in aspect id order.
+   */
+  @Nonnull
+  public List<IndexedAspect> getAspects(final int entityId) {
+    return Collections.unmodifiableList(Arrays.asList(_aspects[entityId]));
+  }
+
+  /**
+   * Resolves both names at once, returning null if the registry has no such entity, or the entity no such aspect.
+   */
+  @Nullable
+  public IndexedAspect getAspect(@Nonnull final String entityName, @Nonnull final String aspectName) {
+    final int entityId = getEntityId(entityName);
+    if (entityId == NOT_FOUND) {
+      return null;
+    }
+    final int aspectId = getAspectId(entityId, aspectName);
+    return aspectId == NOT_FOUND ? null : _aspects[entityId][aspectId];
+  }
+
+  /**
+   * An aspect of an entity along with its precomputed field spec lists.
+   */
+  @Getter
+  public static class IndexedAspect {
+    private final int entityId;
+    private final int aspectId;
+    private final EntitySpec entitySpec;
+    private final AspectSpec aspectSpec;
+    private final List<SearchableFieldSpec> searchableFieldSpecs;
+    private final List<SearchScoreFieldSpec> searchScoreFieldSpecs;
+    private final List<RelationshipFieldSpec> relationshipFieldSpecs;
+    private final List<TimeseriesFieldSpec> timeseriesFieldSpecs;
+    private final List<TimeseriesFieldCollectionSpec> timeseriesFieldCollectionSpecs;
+
+    private IndexedAspect(int entityId, int aspectId, EntitySpec entitySpec, AspectSpec aspectSpec) {
+      this.entityId = entityId;
+      this.aspectId = aspectId;
+      this.entitySpec = entitySpec;
+      this.aspectSpec = aspectSpec;
+      this.searchableFieldSpecs = Collections.unmodifiableList(aspectSpec.getSearchableFieldSpecs());
+      this.searchScoreFieldSpecs = Collections.unmodifiableList(aspectSpec.getSearchScoreFieldSpecs());
+      this.relationshipFieldSpecs = Collections.unmodifiableList(aspectSpec.getRelationshipFieldSpecs());
+      this.timeseriesFieldSpecs = Collections.unmodifiableList(aspectSpec.getTimeseriesFieldSpecs());
+      this.timeseriesFieldCollectionSpecs = Collections.unmodifiableList(aspectSpec.getTimeseriesFieldCollectionSpecs());
+    }
+
+    public String getAspectName() {
+      return aspectSpec.getName();
+    }
+  }
+}
@@ -2,7 +2,6 @@ package com.linkedin.metadata.models.registry;
 
 import com.google.common.collect.Streams;
 import com.linkedin.metadata.graph.LineageDirection;
-import com.linkedin.metadata.models.EntitySpec;
 import com.linkedin.metadata.models.annotation.RelationshipAnnotation;
 import com.linkedin.metadata.query.filter.RelationshipDirection;
 import java.util.ArrayList;
@@ -13,6 +12,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -27,6 +27,8 @@ import org.apache.commons.lang3.tuple.Triple;
 public class LineageRegistry {
 
   private final Map<String, LineageSpec> _lineageSpecMap;
+  // Specs by entity name as callers spell it, so that each hop does not need to lowercase the name again
+  private final Map<String, LineageSpec> _lineageSpecByName = new ConcurrentHashMap<>();
   private final EntityRegistry _entityRegistry;
 
   public LineageRegistry(EntityRegistry entityRegistry) {
@@ -87,15 +89,22 @@ public class LineageRegistry {
   }
 
   public LineageSpec getLineageSpec(String entityName) {
-    return _lineageSpecMap.get(entityName.toLowerCase());
+    LineageSpec spec = _lineageSpecByName.get(entityName);
+    if (spec == null) {
+      spec = _lineageSpecMap.get(entityName.toLowerCase());
+      if (spec != null) {
+        _lineageSpecByName.put(entityName, spec);
+      }
+    }
+    return spec;
   }
 
   public Set<String> getEntitiesWithLineageToEntityType(String entityType) {
-    Map<String, EntitySpec> specs = _entityRegistry.getEntitySpecs();
-    Set<String> result = Streams.concat(_lineageSpecMap.get(entityType.toLowerCase()).getDownstreamEdges().stream(),
-            _lineageSpecMap.get(entityType.toLowerCase()).getUpstreamEdges().stream())
+    final LineageSpec lineageSpec = getLineageSpec(entityType);
+    Set<String> result = Streams.concat(lineageSpec.getDownstreamEdges().stream(),
+            lineageSpec.getUpstreamEdges().stream())
         .map(EdgeInfo::getOpposingEntityType)
-        .map(entity -> specs.get(entity.toLowerCase()).getName())
+        .map(entity -> _entityRegistry.getEntitySpec(entity).getName())
         .collect(Collectors.toSet());
     result.add(entityType);
     return result;
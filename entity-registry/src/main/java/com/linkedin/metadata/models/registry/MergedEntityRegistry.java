@@ -25,10 +25,12 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class MergedEntityRegistry implements EntityRegistry {
 
-  private final Map<String, EntitySpec> entityNameToSpec;
-  private final Map<String, EventSpec> eventNameToSpec;
+  // Replaced rather than modified by apply, so that readers never see a partially merged registry.
+  private volatile Map<String, EntitySpec> entityNameToSpec;
+  private volatile Map<String, EventSpec> eventNameToSpec;
   private final AspectTemplateEngine _aspectTemplateEngine;
   private final Map<String, AspectSpec> _aspectNameToSpec;
+  private volatile EntityRegistryIndex _index;
 
   public MergedEntityRegistry(EntityRegistry baseEntityRegistry) {
     // baseEntityRegistry.get*Specs() can return immutable Collections.emptyMap() which fails
@@ -38,6 +40,7 @@ public class MergedEntityRegistry implements EntityRegistry {
     baseEntityRegistry.getAspectTemplateEngine();
     _aspectTemplateEngine = baseEntityRegistry.getAspectTemplateEngine();
     _aspectNameToSpec = baseEntityRegistry.getAspectSpecs();
+    _index = new EntityRegistryIndex(entityNameToSpec);
   }
 
   private void validateEntitySpec(EntitySpec entitySpec, final ValidationResult validationResult) {
@@ -47,7 +50,7 @@ public class MergedEntityRegistry implements EntityRegistry {
     }
   }
 
-  public MergedEntityRegistry apply(EntityRegistry patchEntityRegistry) throws EntityRegistryException {
+  public synchronized MergedEntityRegistry apply(EntityRegistry patchEntityRegistry) throws EntityRegistryException {
 
     ValidationResult validationResult = validatePatch(patchEntityRegistry);
     if (!validationResult.isValid()) {
@@ -56,21 +59,28 @@ public class MergedEntityRegistry implements EntityRegistry {
     }
 
     // Merge Entity Specs
+    final Map<String, EntitySpec> mergedEntityNameToSpec = new HashMap<>(entityNameToSpec);
     for (Map.Entry<String, EntitySpec> e2Entry : patchEntityRegistry.getEntitySpecs().entrySet()) {
-      if (entityNameToSpec.containsKey(e2Entry.getKey())) {
-        EntitySpec mergeEntitySpec = mergeEntitySpecs(entityNameToSpec.get(e2Entry.getKey()), e2Entry.getValue());
-        entityNameToSpec.put(e2Entry.getKey(), mergeEntitySpec);
+      if (mergedEntityNameToSpec.containsKey(e2Entry.getKey())) {
+        EntitySpec mergeEntitySpec = mergeEntitySpecs(mergedEntityNameToSpec.get(e2Entry.getKey()), e2Entry.getValue());
+        mergedEntityNameToSpec.put(e2Entry.getKey(), mergeEntitySpec);
       } else {
         // We are inserting a new entity into the registry
-        entityNameToSpec.put(e2Entry.getKey(), e2Entry.getValue());
+        mergedEntityNameToSpec.put(e2Entry.getKey(), e2Entry.getValue());
       }
     }
 
     // Merge Event Specs
+    final Map<String, EventSpec> mergedEventNameToSpec = new HashMap<>(eventNameToSpec);
     if (patchEntityRegistry.getEventSpecs().size() > 0) {
-      eventNameToSpec.putAll(patchEntityRegistry.getEventSpecs());
+      mergedEventNameToSpec.putAll(patchEntityRegistry.getEventSpecs());
     }
     //TODO: Validate that the entity registries don't have conflicts among each other
+    final EntityRegistryIndex mergedIndex = new EntityRegistryIndex(mergedEntityNameToSpec);
+    entityNameToSpec = mergedEntityNameToSpec;
+    eventNameToSpec = mergedEventNameToSpec;
+    // Spec lookups go through the index, so they switch to the merged specs all at once.
+    _index = mergedIndex;
     return this;
   }
 
@@ -115,12 +125,13 @@ public class MergedEntityRegistry implements EntityRegistry {
   @Nonnull
   @Override
   public EntitySpec getEntitySpec(@Nonnull String entityName) {
-    String lowercaseEntityName = entityName.toLowerCase();
-    if (!entityNameToSpec.containsKey(lowercaseEntityName)) {
+    final EntityRegistryIndex index = getIndex();
+    final int entityId = index.getEntityId(entityName);
+    if (entityId == EntityRegistryIndex.NOT_FOUND) {
       throw new IllegalArgumentException(
           String.format("Failed to find entity with name %s in EntityRegistry", entityName));
     }
-    return entityNameToSpec.get(lowercaseEntityName);
+    return index.getEntitySpec(entityId);
   }
 
   @Nonnull
@@ -158,6 +169,12 @@ public class MergedEntityRegistry implements EntityRegistry {
     return _aspectTemplateEngine;
   }
 
+  @Nonnull
+  @Override
+  public EntityRegistryIndex getIndex() {
+    return _index;
+  }
+
   @Setter
   @Getter
   private class ValidationResult {
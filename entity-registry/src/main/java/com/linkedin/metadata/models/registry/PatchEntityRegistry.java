@@ -45,6 +45,7 @@ public class PatchEntityRegistry implements EntityRegistry {
   private final Map<String, EntitySpec> entityNameToSpec;
   private final Map<String, EventSpec> eventNameToSpec;
   private final Map<String, AspectSpec> _aspectNameToSpec;
+  private final EntityRegistryIndex _index;
 
   private final String registryName;
   private final ComparableVersion registryVersion;
@@ -169,6 +170,8 @@ public class PatchEntityRegistry implements EntityRegistry {
       }
     }
     _aspectNameToSpec = populateAspectMap(new ArrayList<>(entityNameToSpec.values()));
+
+    _index = new EntityRegistryIndex(entityNameToSpec);
   }
 
   @Override
@@ -179,12 +182,13 @@ public class PatchEntityRegistry implements EntityRegistry {
   @Nonnull
   @Override
   public EntitySpec getEntitySpec(@Nonnull String entityName) {
-    String lowercaseEntityName = entityName.toLowerCase();
-    if (!entityNameToSpec.containsKey(lowercaseEntityName)) {
+    final EntityRegistryIndex index = getIndex();
+    final int entityId = index.getEntityId(entityName);
+    if (entityId == EntityRegistryIndex.NOT_FOUND) {
       throw new IllegalArgumentException(
           String.format("Failed to find entity with name %s in EntityRegistry", entityName));
     }
-    return entityNameToSpec.get(lowercaseEntityName);
+    return index.getEntitySpec(entityId);
   }
 
   @Nonnull
@@ -224,6 +228,12 @@ public class PatchEntityRegistry implements EntityRegistry {
     return new AspectTemplateEngine();
   }
 
+  @Nonnull
+  @Override
+  public EntityRegistryIndex getIndex() {
+    return _index;
+  }
+
   private AspectSpec buildAspectSpec(String aspectName, EntitySpecBuilder entitySpecBuilder) {
     Optional<DataSchema> aspectSchema = dataSchemaFactory.getAspectSchema(aspectName);
     Optional<Class> aspectClass = dataSchemaFactory.getAspectClass(aspectName);
@@ -37,6 +37,7 @@ public class SnapshotEntityRegistry implements EntityRegistry {
   private final List<EntitySpec> entitySpecs;
   private final AspectTemplateEngine _aspectTemplateEngine;
   private final Map<String, AspectSpec> _aspectNameToSpec;
+  private final EntityRegistryIndex _index;
 
   private static final SnapshotEntityRegistry INSTANCE = new SnapshotEntityRegistry();
 
@@ -47,6 +48,7 @@ public class SnapshotEntityRegistry implements EntityRegistry {
     entitySpecs = new ArrayList<>(entityNameToSpec.values());
     _aspectNameToSpec = populateAspectMap(entitySpecs);
     _aspectTemplateEngine = populateTemplateEngine(_aspectNameToSpec);
+    _index = new EntityRegistryIndex(entityNameToSpec);
   }
 
   public SnapshotEntityRegistry(UnionTemplate snapshot) {
@@ -56,6 +58,7 @@ public class SnapshotEntityRegistry implements EntityRegistry {
     entitySpecs = new ArrayList<>(entityNameToSpec.values());
     _aspectNameToSpec = populateAspectMap(entitySpecs);
     _aspectTemplateEngine = populateTemplateEngine(_aspectNameToSpec);
+    _index = new EntityRegistryIndex(entityNameToSpec);
   }
 
   private AspectTemplateEngine populateTemplateEngine(Map<String, AspectSpec> aspectSpecs) {
@@ -74,12 +77,13 @@ public class SnapshotEntityRegistry implements EntityRegistry {
   @Nonnull
   @Override
   public EntitySpec getEntitySpec(@Nonnull final String entityName) {
-    String lowercaseEntityName = entityName.toLowerCase();
-    if (!entityNameToSpec.containsKey(lowercaseEntityName)) {
+    final EntityRegistryIndex index = getIndex();
+    final int entityId = index.getEntityId(entityName);
+    if (entityId == EntityRegistryIndex.NOT_FOUND) {
       throw new IllegalArgumentException(
           String.format("Failed to find entity with name %s in EntityRegistry", entityName));
     }
-    return entityNameToSpec.get(lowercaseEntityName);
+    return index.getEntitySpec(entityId);
   }
 
   @Nonnull
@@ -100,6 +104,12 @@ public class SnapshotEntityRegistry implements EntityRegistry {
     return _aspectTemplateEngine;
   }
 
+  @Nonnull
+  @Override
+  public EntityRegistryIndex getIndex() {
+    return _index;
+  }
+
   @Override
   public EventSpec getEventSpec(final String ignored) {
     return null;
@@ -0,0 +1,96 @@
+package com.linkedin.metadata.models.registry;
+
+import com.datahub.test.TestEntityProfile;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.EntitySpec;
+import com.linkedin.metadata.models.registry.EntityRegistryIndex.IndexedAspect;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * Measures resolving the specs that processing an MCL needs, i.e. the entity spec, the aspect spec and the searchable,
+ * search score and relationship field specs of the aspect, from the entity type and aspect name of the event.
+ *
+ * {@link #lowercaseMapLookup} resolves the entity spec the way registries did before they were backed by an
+ * {@link EntityRegistryIndex}. Run with ./gradlew :entity-registry:jmh, and add -prof gc to the JMH arguments to
+ * compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityRegistryBenchmark {
+
+  @Param({"dataset:datasetProperties", "chart:chartInfo"})
+  public String entityAndAspect;
+
+  private ConfigEntityRegistry _registry;
+  private EntityRegistryIndex _index;
+  private String _entityName;
+  private String _aspectName;
+  private int _entityId;
+  private int _aspectId;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    _registry = new ConfigEntityRegistry(
+        TestEntityProfile.class.getClassLoader().getResourceAsStream("test-entity-registry.yml"));
+    _index = _registry.getIndex();
+    final String[] names = entityAndAspect.split(":");
+    _entityName = names[0];
+    _aspectName = names[1];
+    _entityId = _index.getEntityId(_entityName);
+    _aspectId = _index.getAspectId(_entityId, _aspectName);
+  }
+
+  @Benchmark
+  public void lowercaseMapLookup(Blackhole blackhole) {
+    final EntitySpec entitySpec = _registry.getEntitySpecs().get(_entityName.toLowerCase());
+    consume(blackhole, entitySpec, entitySpec.getAspectSpec(_aspectName));
+  }
+
+  @Benchmark
+  public void registryLookup(Blackhole blackhole) {
+    final EntitySpec entitySpec = _registry.getEntitySpec(_entityName);
+    consume(blackhole, entitySpec, entitySpec.getAspectSpec(_aspectName));
+  }
+
+  @Benchmark
+  public void indexLookup(Blackhole blackhole) {
+    consume(blackhole, _index.getAspect(_entityName, _aspectName));
+  }
+
+  @Benchmark
+  public void indexLookupById(Blackhole blackhole) {
+    consume(blackhole, _index.getAspect(_entityId, _aspectId));
+  }
+
+  private static void consume(Blackhole blackhole, EntitySpec entitySpec, AspectSpec aspectSpec) {
+    blackhole.consume(entitySpec);
+    blackhole.consume(aspectSpec.getSearchableFieldSpecs());
+    blackhole.consume(aspectSpec.getSearchScoreFieldSpecs());
+    blackhole.consume(aspectSpec.getRelationshipFieldSpecs());
+  }
+
+  private static void consume(Blackhole blackhole, IndexedAspect indexedAspect) {
+    blackhole.consume(indexedAspect.getEntitySpec());
+    blackhole.consume(indexedAspect.getSearchableFieldSpecs());
+    blackhole.consume(indexedAspect.getSearchScoreFieldSpecs());
+    blackhole.consume(indexedAspect.getRelationshipFieldSpecs());
+  }
+}
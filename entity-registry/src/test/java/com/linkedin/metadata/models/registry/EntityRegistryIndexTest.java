@@ -0,0 +1,107 @@
+package com.linkedin.metadata.models.registry;
+
+import com.datahub.test.TestEntityProfile;
+import com.linkedin.data.schema.annotation.PathSpecBasedSchemaAnnotationVisitor;
+import com.linkedin.metadata.models.AspectSpec;
+import com.linkedin.metadata.models.EntitySpec;
+import com.linkedin.metadata.models.registry.EntityRegistryIndex.IndexedAspect;
+import java.util.HashSet;
+import java.util.Map;
+import org.mockito.Mockito;
+import org.testng.annotations.BeforeTest;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class EntityRegistryIndexTest {
+
+  @BeforeTest
+  public void disableAssert() {
+    PathSpecBasedSchemaAnnotationVisitor.class.getClassLoader()
+        .setClassAssertionStatus(PathSpecBasedSchemaAnnotationVisitor.class.getName(), false);
+  }
+
+  private static ConfigEntityRegistry createRegistry() {
+    return new ConfigEntityRegistry(
+        TestEntityProfile.class.getClassLoader().getResourceAsStream("test-entity-registry.yml"));
+  }
+
+  @Test
+  public void testIndexMatchesRegistry() {
+    ConfigEntityRegistry registry = createRegistry();
+    EntityRegistryIndex index = registry.getIndex();
+
+    assertEquals(index.getEntityCount(), registry.getEntitySpecs().size());
+    for (EntitySpec entitySpec : registry.getEntitySpecs().values()) {
+      int entityId = index.getEntityId(entitySpec.getName());
+      assertNotEquals(entityId, EntityRegistryIndex.NOT_FOUND);
+      assertSame(index.getEntitySpec(entityId), entitySpec);
+      assertEquals(index.getAspectCount(entityId), entitySpec.getAspectSpecs().size());
+
+      for (AspectSpec aspectSpec : entitySpec.getAspectSpecs()) {
+        int aspectId = index.getAspectId(entityId, aspectSpec.getName());
+        assertNotEquals(aspectId, EntityRegistryIndex.NOT_FOUND);
+        IndexedAspect indexedAspect = index.getAspect(entityId, aspectId);
+        assertSame(index.getAspect(entitySpec.getName(), aspectSpec.getName()), indexedAspect);
+        assertEquals(indexedAspect.getEntityId(), entityId);
+        assertEquals(indexedAspect.getAspectId(), aspectId);
+        assertSame(indexedAspect.getEntitySpec(), entitySpec);
+        assertSame(indexedAspect.getAspectSpec(), aspectSpec);
+        assertEquals(new HashSet<>(indexedAspect.getSearchableFieldSpecs()),
+            new HashSet<>(aspectSpec.getSearchableFieldSpecs()));
+        assertEquals(new HashSet<>(indexedAspect.getRelationshipFieldSpecs()),
+            new HashSet<>(aspectSpec.getRelationshipFieldSpecs()));
+        assertEquals(new HashSet<>(indexedAspect.getTimeseriesFieldSpecs()),
+            new HashSet<>(aspectSpec.getTimeseriesFieldSpecs()));
+      }
+    }
+  }
+
+  @Test
+  public void testLookupIsCaseInsensitive() {
+    EntityRegistryIndex index = createRegistry().getIndex();
+    int entityId = index.getEntityId("dataset");
+    assertEquals(index.getEntityId("DataSet"), entityId);
+    assertEquals(index.getEntityId("DATASET"), entityId);
+    assertNotNull(index.getAspect("DATASET", "datasetProperties"));
+  }
+
+  @Test
+  public void testMissingNames() {
+    EntityRegistryIndex index = createRegistry().getIndex();
+    assertEquals(index.getEntityId("unknownEntity"), EntityRegistryIndex.NOT_FOUND);
+    assertEquals(index.getAspectId(index.getEntityId("chart"), "datasetProperties"), EntityRegistryIndex.NOT_FOUND);
+    assertNull(index.getAspect("unknownEntity", "status"));
+    assertNull(index.getAspect("chart", "datasetProperties"));
+  }
+
+  @Test
+  public void testIndexIsBuiltOnce() {
+    ConfigEntityRegistry registry = createRegistry();
+    assertSame(registry.getIndex(), registry.getIndex());
+  }
+
+  @Test(expectedExceptions = UnsupportedOperationException.class)
+  public void testFieldSpecListsAreUnmodifiable() {
+    EntityRegistryIndex index = createRegistry().getIndex();
+    index.getAspect("dataset", "datasetProperties").getSearchableFieldSpecs().clear();
+  }
+
+  @Test
+  public void testMergedRegistryRebuildsIndexOnApply() throws EntityRegistryException {
+    MergedEntityRegistry mergedRegistry = new MergedEntityRegistry(Mockito.mock(EntityRegistry.class));
+    EntityRegistryIndex index = mergedRegistry.getIndex();
+    assertSame(mergedRegistry.getIndex(), index);
+    assertEquals(index.getEntityCount(), 0);
+
+    Map<String, EntitySpec> entitySpecs = mergedRegistry.getEntitySpecs();
+    mergedRegistry.apply(createRegistry());
+    assertNotSame(mergedRegistry.getIndex(), index);
+    assertNotNull(mergedRegistry.getIndex().getAspect("chart", "chartInfo"));
+    assertEquals(mergedRegistry.getIndex().getEntityCount(), mergedRegistry.getEntitySpecs().size());
+    // The previous specs and index are left as they were for readers still holding them
+    assertEquals(index.getEntityCount(), 0);
+    assertTrue(entitySpecs.isEmpty());
+  }
+}
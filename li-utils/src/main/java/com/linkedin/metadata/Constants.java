@@ -17,6 +17,9 @@ public class Constants {
   public static final String UNKNOWN_DATA_PLATFORM = "urn:li:dataPlatform:unknown";
 
   public static final String DEFAULT_RUN_ID = "no-run-id-provided";
+  // Kafka header of the change log emitted when a rollback restores an earlier version of an aspect, holding the creation
+  // time of the restored version.
+  public static final String ROLLBACK_RESTORED_CREATED_ON = "rollbackRestoredCreatedOn";
 
   /**
    * Entities
@@ -105,6 +108,7 @@ public class Constants {
   public static final String EDITABLE_SCHEMA_METADATA_ASPECT_NAME = "editableSchemaMetadata";
   public static final String VIEW_PROPERTIES_ASPECT_NAME = "viewProperties";
   public static final String DATASET_PROFILE_ASPECT_NAME = "datasetProfile";
+  public static final String DATASET_USAGE_STATISTICS_ASPECT_NAME = "datasetUsageStatistics";
 
   // Chart
   public static final String CHART_KEY_ASPECT_NAME = "chartKey";
@@ -180,6 +184,7 @@ public class Constants {
   public static final String ML_PRIMARY_KEY_EDITABLE_PROPERTIES_ASPECT_NAME = "editableMlPrimaryKeyProperties";
 
   // Policy
+  public static final String DATAHUB_POLICY_KEY_ASPECT_NAME = "dataHubPolicyKey";
   public static final String DATAHUB_POLICY_INFO_ASPECT_NAME = "dataHubPolicyInfo";
 
   // Role
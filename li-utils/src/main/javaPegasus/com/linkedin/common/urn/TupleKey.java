@@ -7,6 +7,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import javax.annotation.Nullable;
 
 
 /**
@@ -19,10 +20,25 @@ public class TupleKey {
   public static final char END_TUPLE = ')';
   public static final char DELIMITER = ',';
 
+  private static final int[] NO_DELIMITERS = new int[0];
+
+  // For keys parsed by fromString, the parts are only materialized from the source string on first use, so that urns
+  // that are only compared, hashed or printed never copy their parts. This is safe to publish without synchronization
+  // for the same reason as Urn#toString: every thread materializes the same immutable list.
+  @Nullable
   private List<String> _tuple;
+  @Nullable
+  private final String _source;
+  // Bounds of the parts within _source: the first part starts at _start, the last one ends at _end, and parts are
+  // separated by the top level delimiters at the positions in _delimiters.
+  private final int _start;
+  private final int _end;
+  private final int[] _delimiters;
+  private final int _size;
+  private int _hash;
 
   public TupleKey(String... tuple) {
-    _tuple = Arrays.asList(checkStringsNotNull(tuple));
+    this(Arrays.asList(checkStringsNotNull(tuple)), false);
   }
 
   public TupleKey(List<String> tuple) {
@@ -55,6 +71,20 @@ public class TupleKey {
    */
   private TupleKey(List<String> tuple, boolean calledFromExternal) {
     _tuple = calledFromExternal ? Collections.unmodifiableList(checkStringsNotNull(tuple)) : tuple;
+    _source = null;
+    _start = 0;
+    _end = 0;
+    _delimiters = NO_DELIMITERS;
+    _size = _tuple.size();
+  }
+
+  private TupleKey(String source, int start, int end, int[] delimiters, int size) {
+    _tuple = null;
+    _source = source;
+    _start = start;
+    _end = end;
+    _delimiters = delimiters;
+    _size = size;
   }
 
   // This constructor is intentionally made non-public and should only be
@@ -63,10 +93,14 @@ public class TupleKey {
   // creates needless garbage in the case of a single element. That vararg
   // methods allocates an array for the call, then copies that into a list.
   private TupleKey(String oneElement) {
+    this(Collections.singletonList(requireNotNull(oneElement)), false);
+  }
+
+  private static String requireNotNull(String oneElement) {
     if (oneElement == null) {
       throw new NullPointerException("Cannot create URN with null part.");
     }
-    _tuple = Collections.singletonList(oneElement);
+    return oneElement;
   }
 
   public static TupleKey createWithOneKeyPart(String input) {
@@ -119,11 +153,11 @@ public class TupleKey {
   }
 
   public String getFirst() {
-    return _tuple.get(0);
+    return getParts().get(0);
   }
 
   public String get(int index) {
-    return _tuple.get(index);
+    return getParts().get(index);
   }
 
   /**
@@ -176,23 +210,51 @@ public class TupleKey {
   }
 
   public int size() {
-    return _tuple.size();
+    return _size;
   }
 
   public List<String> getParts() {
-    return _tuple;
+    List<String> tuple = _tuple;
+    if (tuple == null) {
+      tuple = materializeParts();
+      _tuple = tuple;
+    }
+    return tuple;
+  }
+
+  private List<String> materializeParts() {
+    if (_size == 0) {
+      return Collections.emptyList();
+    }
+    if (_size == 1) {
+      return Collections.singletonList(_source.substring(_start, _end));
+    }
+    final List<String> parts = new ArrayList<>(_size);
+    for (int i = 0; i < _size; i++) {
+      parts.add(_source.substring(partStart(i), partEnd(i)));
+    }
+    return Collections.unmodifiableList(parts);
+  }
+
+  private int partStart(int index) {
+    return index == 0 ? _start : _delimiters[index - 1] + 1;
+  }
+
+  private int partEnd(int index) {
+    return index == _size - 1 ? _end : _delimiters[index];
   }
 
   @Override
   public String toString() {
-    if (_tuple.size() == 1) {
-      return _tuple.get(0);
+    final List<String> tuple = getParts();
+    if (tuple.size() == 1) {
+      return tuple.get(0);
     } else {
       StringBuilder result = new StringBuilder();
 
       result.append(START_TUPLE);
       boolean delimit = false;
-      for (String value : _tuple) {
+      for (String value : tuple) {
         if (delimit) {
           result.append(DELIMITER);
         }
@@ -204,9 +266,28 @@ public class TupleKey {
     }
   }
 
+  /**
+   * Same as the hash code of {@link #getParts()}, computed from the source string for parsed keys.
+   */
   @Override
   public int hashCode() {
-    return _tuple.hashCode();
+    int hash = _hash;
+    if (hash == 0) {
+      if (_source == null) {
+        hash = _tuple.hashCode();
+      } else {
+        hash = 1;
+        for (int i = 0; i < _size; i++) {
+          int partHash = 0;
+          for (int c = partStart(i); c < partEnd(i); c++) {
+            partHash = 31 * partHash + _source.charAt(c);
+          }
+          hash = 31 * hash + partHash;
+        }
+      }
+      _hash = hash;
+    }
+    return hash;
   }
 
   @Override
@@ -219,11 +300,27 @@ public class TupleKey {
       return false;
     }
 
-    return _tuple.equals(((TupleKey) obj)._tuple);
+    final TupleKey other = (TupleKey) obj;
+    if (_size != other._size) {
+      return false;
+    }
+    if (_source != null && other._source != null) {
+      for (int i = 0; i < _size; i++) {
+        final int start = partStart(i);
+        final int length = partEnd(i) - start;
+        final int otherStart = other.partStart(i);
+        if (length != other.partEnd(i) - otherStart
+            || !_source.regionMatches(start, other._source, otherStart, length)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return getParts().equals(other.getParts());
   }
 
   public static TupleKey fromString(String s) throws URISyntaxException {
-    return new TupleKey(parseKeyParts(s, 0), false);
+    return parseKey(s, 0);
   }
 
   /**
@@ -234,12 +331,15 @@ public class TupleKey {
    * @throws URISyntaxException if type specific string format is invalid.
    */
   public static TupleKey fromString(String s, int startIndex) throws URISyntaxException {
-    return new TupleKey(parseKeyParts(s, startIndex), false);
+    return parseKey(s, startIndex);
   }
 
-  private static List<String> parseKeyParts(String input, int startIndex) throws URISyntaxException {
+  /**
+   * Validates the key in a single scan, recording where its parts are instead of copying them out of the input.
+   */
+  private static TupleKey parseKey(String input, int startIndex) throws URISyntaxException {
     if (startIndex >= input.length()) {
-      return Collections.emptyList();
+      return new TupleKey(Collections.emptyList(), false);
     }
 
     // If there's no opening paren, there's only one tuple part. This is a very
@@ -249,7 +349,7 @@ public class TupleKey {
       if (!hasBalancedParens(input, startIndex)) {
         throw new URISyntaxException(input, "mismatched paren nesting");
       }
-      return Collections.singletonList(input.substring(startIndex));
+      return new TupleKey(input, startIndex, input.length(), NO_DELIMITERS, 1);
     }
 
     /* URNs with multiple-part ids overwhelmingly have just two or three parts.  As of May 5, a check of
@@ -263,11 +363,11 @@ public class TupleKey {
      *    1 seven-part URN id
      *
      * One-part URN ids should not even reach this point.
-     * Specifying an initial capacity of three limits the wasted space for two-part URNs to one slot rather than
-     * eight (as it would be for a default ArrayList capacity of 10) while providing enough slots for the 97.5%
-     * of URN types which use three parts or fewer -- the rest will require some array expansion.
+     * Room for two delimiters covers the 97.5% of URN types which use three parts or fewer -- the rest will require
+     * some array expansion.
      */
-    List<String> parts = new ArrayList<>(3);
+    int[] delimiters = new int[2];
+    int numDelimiters = 0;
 
     int numStartedParenPairs = 1; // We know we have at least one starting paren
     int partStart = startIndex + 1;  // +1 to skip opening paren
@@ -293,7 +393,10 @@ public class TupleKey {
         if (i - partStart <= 0) {
           throw new URISyntaxException(input, "empty part disallowed");
         }
-        parts.add(input.substring(partStart, i));
+        if (numDelimiters == delimiters.length) {
+          delimiters = Arrays.copyOf(delimiters, delimiters.length * 2);
+        }
+        delimiters[numDelimiters++] = i;
         partStart = i + 1;
       }
     }
@@ -308,8 +411,7 @@ public class TupleKey {
       throw new URISyntaxException(input, "empty part disallowed");
     }
 
-    parts.add(input.substring(partStart, lastPartEnd));
-    return Collections.unmodifiableList(parts);
+    return new TupleKey(input, startIndex + 1, lastPartEnd, delimiters, numDelimiters + 1);
   }
 
   private static boolean hasBalancedParens(String input, int startIndex) {
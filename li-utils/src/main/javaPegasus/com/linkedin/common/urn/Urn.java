@@ -66,6 +66,7 @@ public class Urn {
    * but for a small set of canonical strings it doesn't matter.
    */
   private static final Map<String, String> ENTITY_TYPE_INTERNER = new ConcurrentHashMap<>();
+  private static final String[] ENTITY_TYPE_SLOTS = new String[256];
 
   /**
    * Create a Urn given its raw String representation.
@@ -98,18 +99,17 @@ public class Urn {
 
     // Case: urn:li:foo
     if (thirdColonIndex == -1) {
-      _entityType = rawUrn.substring(secondColonIndex + 1);
-      if (!charsAreWordClass(_entityType)) {
+      if (!charsAreWordClass(rawUrn, secondColonIndex + 1, rawUrn.length())) {
         throw new URISyntaxException(
             rawUrn,
             "entityType must have only [a-zA-Z0-9] chars. Urn: " + rawUrn);
       }
+      _entityType = internEntityType(rawUrn, secondColonIndex + 1, rawUrn.length());
       _entityKey = new TupleKey();
       return;
     }
 
-    String entityType = rawUrn.substring(secondColonIndex + 1, thirdColonIndex);
-    if (!charsAreWordClass(entityType)) {
+    if (!charsAreWordClass(rawUrn, secondColonIndex + 1, thirdColonIndex)) {
       throw new URISyntaxException(
           rawUrn,
           "entityType must have only [a-zA-Z_0-9] chars. Urn: " + rawUrn);
@@ -122,7 +122,7 @@ public class Urn {
           "Urns with empty entityKey are not allowed. Urn: " + rawUrn);
     }
 
-    _entityType = internEntityType(entityType);
+    _entityType = internEntityType(rawUrn, secondColonIndex + 1, thirdColonIndex);
     _entityKey = TupleKey.fromString(rawUrn, thirdColonIndex + 1);
 
     // For the sake of backwards compatibility, we must ensure that
@@ -223,12 +223,12 @@ public class Urn {
   }
 
   /**
-   * Create a Urn given its raw String representation.
+   * Create a Urn given its raw String representation. Urns are served from the {@link UrnCache} when it is enabled.
    * @param rawUrn - the String representation of a Urn.
    * @throws URISyntaxException - if the String is not a valid Urn.
    */
   public static Urn createFromString(String rawUrn) throws URISyntaxException {
-    return new Urn(rawUrn);
+    return UrnCache.getOrParse(rawUrn);
   }
 
   /**
@@ -409,8 +409,8 @@ public class Urn {
 
   // Regex word class (\w) is defined as: [a-zA-Z_0-9]
   // Source: https://docs.oracle.com/javase/8/docs/api/java/util/regex/Pattern.html
-  private static boolean charsAreWordClass(String input) {
-    for (int index = 0; index < input.length(); index++) {
+  private static boolean charsAreWordClass(String input, int start, int end) {
+    for (int index = start; index < end; index++) {
       char c = input.charAt(index);
       // Not using Character.isLowerCase etc on purpose because that is
       // unicode-aware and we only need ASCII. Handling only ASCII is faster.
@@ -422,6 +422,26 @@ public class Urn {
     return true;
   }
 
+  /**
+   * Intern the entity type found between start and end of the raw urn, without copying it out of the urn when it has
+   * been seen recently. The slots hold recently interned entity types by hash; like {@link #toString()} they can be
+   * written by multiple threads, since every thread writes a canonical, immutable String.
+   */
+  private static String internEntityType(String rawUrn, int start, int end) {
+    int hash = 0;
+    for (int index = start; index < end; index++) {
+      hash = 31 * hash + rawUrn.charAt(index);
+    }
+    final int slot = (hash ^ (hash >>> 16)) & (ENTITY_TYPE_SLOTS.length - 1);
+    final String cached = ENTITY_TYPE_SLOTS[slot];
+    if (cached != null && cached.length() == end - start && rawUrn.regionMatches(start, cached, 0, end - start)) {
+      return cached;
+    }
+    final String canonicalET = internEntityType(rawUrn.substring(start, end));
+    ENTITY_TYPE_SLOTS[slot] = canonicalET;
+    return canonicalET;
+  }
+
   /**
    * Intern a string to be assigned to the _entityType field.
    */
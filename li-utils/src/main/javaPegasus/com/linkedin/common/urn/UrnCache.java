@@ -0,0 +1,90 @@
+package com.linkedin.common.urn;
+
+import java.net.URISyntaxException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+
+/**
+ * An optional, bounded cache from raw urn strings to parsed {@link Urn}s, for processes that parse the same hot urns
+ * over and over, e.g. when restoring indices or processing MCLs. Urns are immutable, so cached instances are shared by
+ * all callers of {@link Urn#createFromString(String)}.
+ *
+ * <p>The cache is disabled unless the {@value #CACHE_SIZE_PROPERTY} system property, or {@link #setMaxSize(int)}, sets
+ * a positive number of urns. It is split into segments that each evict their least recently used urn, so that parsing
+ * threads rarely contend on the same lock.
+ */
+public final class UrnCache {
+  public static final String CACHE_SIZE_PROPERTY = "datahub.urn.cacheSize";
+
+  private static final int SEGMENTS = 16;
+
+  @Nullable
+  private static volatile Segment[] _segments = createSegments(Integer.getInteger(CACHE_SIZE_PROPERTY, 0));
+
+  private UrnCache() {
+  }
+
+  /**
+   * Sets the maximum number of cached urns, dropping the urns cached so far. A size of 0 disables the cache.
+   */
+  public static void setMaxSize(int maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("Urn cache size must not be negative: " + maxSize);
+    }
+    _segments = createSegments(maxSize);
+  }
+
+  /**
+   * Returns the cached urn for the raw string, parsing and caching it on a miss. Invalid urns are never cached.
+   * @throws URISyntaxException - if the String is not a valid Urn.
+   */
+  static Urn getOrParse(String rawUrn) throws URISyntaxException {
+    final Segment[] segments = _segments;
+    if (segments == null || rawUrn == null) {
+      return new Urn(rawUrn);
+    }
+    final int hash = rawUrn.hashCode();
+    final Segment segment = segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+    Urn urn;
+    synchronized (segment) {
+      urn = segment.get(rawUrn);
+    }
+    if (urn == null) {
+      // Parse outside of the lock; racing threads may both parse, and either instance is fine to keep.
+      urn = new Urn(rawUrn);
+      synchronized (segment) {
+        segment.put(rawUrn, urn);
+      }
+    }
+    return urn;
+  }
+
+  @Nullable
+  private static Segment[] createSegments(int maxSize) {
+    if (maxSize <= 0) {
+      return null;
+    }
+    final int segmentSize = Math.max(1, maxSize / SEGMENTS);
+    final Segment[] segments = new Segment[SEGMENTS];
+    for (int i = 0; i < SEGMENTS; i++) {
+      segments[i] = new Segment(segmentSize);
+    }
+    return segments;
+  }
+
+  private static final class Segment extends LinkedHashMap<String, Urn> {
+    private final int _maxSize;
+
+    private Segment(int maxSize) {
+      super(16, 0.75f, true);
+      _maxSize = maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Urn> eldest) {
+      return size() > _maxSize;
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package com.linkedin.common.urn;
+
+import java.net.URISyntaxException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * Measures parsing urns of increasing key complexity, with and without reading their parts, and through the urn cache.
+ *
+ * Run with ./gradlew :li-utils:jmh, and add -prof gc to the JMH arguments to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrnBenchmark {
+
+  @Param({
+      "urn:li:dataset:(urn:li:dataPlatform:hive,db.schema.table,PROD)",
+      "urn:li:schemaField:(urn:li:dataset:(urn:li:dataPlatform:hive,db.schema.table,PROD),struct.nested.field)",
+      "urn:li:dataJob:(urn:li:dataFlow:(airflow,daily_etl_dag,prod),load_table_task)"
+  })
+  public String rawUrn;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    UrnCache.setMaxSize(0);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    UrnCache.setMaxSize(0);
+  }
+
+  @Benchmark
+  public Urn parse() throws URISyntaxException {
+    return Urn.createFromString(rawUrn);
+  }
+
+  @Benchmark
+  public int parseAndHash() throws URISyntaxException {
+    return Urn.createFromString(rawUrn).hashCode();
+  }
+
+  @Benchmark
+  public void parseAndReadParts(Blackhole blackhole) throws URISyntaxException {
+    final TupleKey key = Urn.createFromString(rawUrn).getEntityKey();
+    for (int i = 0; i < key.size(); i++) {
+      blackhole.consume(key.get(i));
+    }
+  }
+
+  @Benchmark
+  public Urn parseCached(CacheState cacheState) throws URISyntaxException {
+    return Urn.createFromString(rawUrn);
+  }
+
+  /**
+   * Enables the urn cache for the benchmarks that take it as a parameter.
+   */
+  @State(Scope.Benchmark)
+  public static class CacheState {
+    @Setup(Level.Trial)
+    public void setUp() {
+      UrnCache.setMaxSize(10000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      UrnCache.setMaxSize(0);
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package com.linkedin.common.urn;
+
+import java.net.URISyntaxException;
+import java.util.Arrays;
+import org.assertj.core.api.Assertions;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+
+public class UrnTest {
+
+  private static final String DATASET_URN = "urn:li:dataset:(urn:li:dataPlatform:hive,db.table,PROD)";
+  private static final String SCHEMA_FIELD_URN = "urn:li:schemaField:(" + DATASET_URN + ",field.path)";
+
+  @AfterMethod
+  public void disableCache() {
+    UrnCache.setMaxSize(0);
+  }
+
+  @Test
+  public void testParseTupleParts() throws URISyntaxException {
+    final Urn urn = Urn.createFromString(SCHEMA_FIELD_URN);
+
+    Assertions.assertThat(urn.getEntityType()).isEqualTo("schemaField");
+    Assertions.assertThat(urn.getEntityKey().size()).isEqualTo(2);
+    Assertions.assertThat(urn.getEntityKey().getParts()).containsExactly(DATASET_URN, "field.path");
+    Assertions.assertThat(urn.getEntityKey().getAs(0, Urn.class).getEntityKey().getParts())
+        .containsExactly("urn:li:dataPlatform:hive", "db.table", "PROD");
+    Assertions.assertThat(urn.toString()).isEqualTo(SCHEMA_FIELD_URN);
+  }
+
+  @Test
+  public void testParsedKeyEqualsCreatedKey() throws URISyntaxException {
+    final Urn parsed = Urn.createFromString(DATASET_URN);
+    final Urn created = Urn.createFromTuple("dataset", "urn:li:dataPlatform:hive", "db.table", "PROD");
+
+    // Hash before the parts of the parsed key are materialized, then compare both ways.
+    Assertions.assertThat(parsed.hashCode()).isEqualTo(created.hashCode());
+    Assertions.assertThat(parsed).isEqualTo(created);
+    Assertions.assertThat(created).isEqualTo(parsed);
+    Assertions.assertThat(parsed.getEntityKey().hashCode())
+        .isEqualTo(Arrays.asList("urn:li:dataPlatform:hive", "db.table", "PROD").hashCode());
+    Assertions.assertThat(parsed).isNotEqualTo(Urn.createFromString("urn:li:dataset:(urn:li:dataPlatform:hive,db.table,DEV)"));
+  }
+
+  @Test
+  public void testNestedTupleParts() throws URISyntaxException {
+    final Urn urn = Urn.createFromString("urn:li:dataJob:(urn:li:dataFlow:(airflow,dag,prod),task)");
+
+    Assertions.assertThat(urn.getEntityKey().getParts()).containsExactly("urn:li:dataFlow:(airflow,dag,prod)", "task");
+    Assertions.assertThat(Urn.createFromString("urn:li:x:(a,b,c,d,e,f,g)").getEntityKey().getParts())
+        .containsExactly("a", "b", "c", "d", "e", "f", "g");
+  }
+
+  @Test
+  public void testSinglePartInParens() throws URISyntaxException {
+    final Urn urn = Urn.createFromString("urn:li:y:(urn:li:z:1)");
+
+    Assertions.assertThat(urn.getEntityKey().getParts()).containsExactly("urn:li:z:1");
+    Assertions.assertThat(urn.toString()).isEqualTo("urn:li:y:urn:li:z:1");
+  }
+
+  @Test
+  public void testInvalidUrns() {
+    for (String invalidUrn : Arrays.asList("urn:li:x:(,a)", "urn:li:x:(a,)", "urn:li:x:(a", "urn:li:x:a)", "urn:li:x:",
+        "urn:li:X:1", "urn:li:x-y:1", "urn:li:x:()")) {
+      Assertions.assertThatThrownBy(() -> Urn.createFromString(invalidUrn))
+          .describedAs(invalidUrn)
+          .isInstanceOf(URISyntaxException.class);
+    }
+  }
+
+  @Test
+  public void testEntityTypeIsInterned() throws URISyntaxException {
+    final Urn first = Urn.createFromString(new String("urn:li:corpuser:first"));
+    final Urn second = Urn.createFromString(new String("urn:li:corpuser:second"));
+
+    Assertions.assertThat(first.getEntityType()).isSameAs(second.getEntityType());
+  }
+
+  @Test
+  public void testUrnCache() throws URISyntaxException {
+    Assertions.assertThat(Urn.createFromString(DATASET_URN)).isNotSameAs(Urn.createFromString(DATASET_URN));
+
+    UrnCache.setMaxSize(32);
+    final Urn cached = Urn.createFromString(DATASET_URN);
+    Assertions.assertThat(Urn.createFromString(DATASET_URN)).isSameAs(cached);
+
+    for (int i = 0; i < 1000; i++) {
+      Urn.createFromString("urn:li:corpuser:user" + i);
+    }
+    Assertions.assertThat(Urn.createFromString(DATASET_URN)).isNotSameAs(cached).isEqualTo(cached);
+    Assertions.assertThatThrownBy(() -> Urn.createFromString("urn:li:x:(a")).isInstanceOf(URISyntaxException.class);
+  }
+}
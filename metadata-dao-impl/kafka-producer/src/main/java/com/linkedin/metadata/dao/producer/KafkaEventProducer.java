@@ -19,7 +19,10 @@ import com.linkedin.mxe.TopicConventionImpl;
 import com.linkedin.mxe.Topics;
 import io.opentelemetry.extension.annotations.WithSpan;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
@@ -97,6 +100,13 @@ public class KafkaEventProducer implements EventProducer {
   @WithSpan
   public void produceMetadataChangeLog(@Nonnull final Urn urn, @Nonnull AspectSpec aspectSpec,
       @Nonnull final MetadataChangeLog metadataChangeLog) {
+    produceMetadataChangeLog(urn, aspectSpec, metadataChangeLog, Collections.emptyMap());
+  }
+
+  @Override
+  @WithSpan
+  public void produceMetadataChangeLog(@Nonnull final Urn urn, @Nonnull AspectSpec aspectSpec,
+      @Nonnull final MetadataChangeLog metadataChangeLog, @Nonnull final Map<String, String> headers) {
     GenericRecord record;
     try {
       log.debug(String.format("Converting Pegasus snapshot to Avro snapshot urn %s\nMetadataChangeLog: %s",
@@ -112,8 +122,9 @@ public class KafkaEventProducer implements EventProducer {
     if (aspectSpec.isTimeseries()) {
       topic = _topicConvention.getMetadataChangeLogTimeseriesTopicName();
     }
-    _producer.send(new ProducerRecord(topic, urn.toString(), record),
-            _kafkaHealthChecker.getKafkaCallBack("MCL", urn.toString()));
+    ProducerRecord producerRecord = new ProducerRecord(topic, urn.toString(), record);
+    headers.forEach((key, value) -> producerRecord.headers().add(key, value.getBytes(StandardCharsets.UTF_8)));
+    _producer.send(producerRecord, _kafkaHealthChecker.getKafkaCallBack("MCL", urn.toString()));
   }
 
   @Override
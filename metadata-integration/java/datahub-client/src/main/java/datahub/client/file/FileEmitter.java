@@ -1,15 +1,22 @@
 package datahub.client.file;
 
-import java.io.BufferedWriter;
-import java.io.FileWriter;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPOutputStream;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.util.DefaultIndenter;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -25,6 +32,14 @@ import datahub.event.UpsertAspectRequest;
 import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Writes metadata change proposals to files that can later be ingested with the File source, or read back with
+ * {@link MetadataFileReader}.
+ *
+ * Proposals are streamed through a single {@link JsonGenerator} over a large buffer, optionally gzip compressed, and
+ * may be written as newline-delimited JSON and spread over several files of bounded size. The emitter can be shared
+ * by concurrent threads.
+ */
 @Slf4j
 public class FileEmitter implements Emitter {
 
@@ -33,12 +48,17 @@ public class FileEmitter implements Emitter {
   private final ObjectMapper objectMapper = new ObjectMapper()
       .setSerializationInclusion(JsonInclude.Include.NON_NULL);
   private final JacksonDataTemplateCodec dataTemplateCodec = new JacksonDataTemplateCodec(objectMapper.getFactory());
+  private final DefaultPrettyPrinter prettyPrinter;
 
-  private final BufferedWriter writer;
+  private final Object writeLock = new Object();
+  private final List<String> fileNames = new ArrayList<>();
+  private CountingOutputStream output;
+  private JsonGenerator generator;
+  private long recordsInFile;
   private final Future<MetadataWriteResponse> cachedSuccessFuture;
   private final AtomicBoolean closed;
-  private boolean wroteSomething;
   private static final String INDENT_4 = "    ";
+  private static final int GZIP_BUFFER_SIZE = 64 * 1024;
 
   /**
    * The default constructor
@@ -49,22 +69,20 @@ public class FileEmitter implements Emitter {
 
     this.config = config;
     this.eventFormatter = this.config.getEventFormatter();
+    if (config.getBufferSize() <= 0 || config.getMaxFileSizeBytes() < 0) {
+      throw new IllegalArgumentException("Buffer size must be positive and max file size must not be negative");
+    }
 
-    DefaultPrettyPrinter pp = new DefaultPrettyPrinter()
+    this.prettyPrinter = new DefaultPrettyPrinter()
         .withObjectIndenter(new DefaultIndenter(FileEmitter.INDENT_4, DefaultIndenter.SYS_LF))
         .withArrayIndenter(new DefaultIndenter(FileEmitter.INDENT_4, DefaultIndenter.SYS_LF));
-    this.dataTemplateCodec.setPrettyPrinter(pp);
 
     try {
-      FileWriter fw = new FileWriter(config.getFileName(), false);
-      this.writer = new BufferedWriter(fw);
-      this.writer.append("[");
-      this.writer.newLine();
+      openFile();
       this.closed = new AtomicBoolean(false);
     } catch (IOException e) {
       throw new RuntimeException("Error while creating file", e);
     }
-    this.wroteSomething = false;
     log.debug("Emitter created successfully for " + this.config.getFileName());
 
     this.cachedSuccessFuture = new Future<MetadataWriteResponse>() {
@@ -98,13 +116,24 @@ public class FileEmitter implements Emitter {
 
   @Override
   public void close() throws IOException {
-    this.writer.newLine();
-    this.writer.append("]");
-    this.writer.close();
-    this.closed.set(true);
+    synchronized (this.writeLock) {
+      if (this.closed.getAndSet(true)) {
+        return;
+      }
+      closeFile();
+    }
     log.debug("Emitter closed for {}", this.config.getFileName());
   }
 
+  /**
+   * Returns the names of the files written so far, in order.
+   */
+  public List<String> getFileNames() {
+    synchronized (this.writeLock) {
+      return Collections.unmodifiableList(new ArrayList<>(this.fileNames));
+    }
+  }
+
   @Override
   public Future<MetadataWriteResponse> emit(@SuppressWarnings("rawtypes") MetadataChangeProposalWrapper mcpw,
       Callback callback) throws IOException {
@@ -123,14 +152,8 @@ public class FileEmitter implements Emitter {
       return response;
     }
     try {
-      String serializedMCP = this.dataTemplateCodec.mapToString(mcp.data());
-      if (wroteSomething) {
-        this.writer.append(",");
-        this.writer.newLine();
-      }
-      this.writer.append(serializedMCP);
-      wroteSomething = true;
-      log.debug("MCP written successfully: {}", serializedMCP);
+      write(mcp);
+      log.debug("MCP written successfully for {}", mcp.getEntityUrn());
       Future<MetadataWriteResponse> response = this.cachedSuccessFuture;
       if (callback != null) {
         try {
@@ -163,6 +186,91 @@ public class FileEmitter implements Emitter {
     throw new UnsupportedOperationException("UpsertAspectRequest not relevant for File Emitter");
   }
 
+  private void write(MetadataChangeProposal mcp) throws IOException {
+    synchronized (this.writeLock) {
+      if (this.closed.get()) {
+        throw new IOException("File Emitter is already closed.");
+      }
+      if (this.config.getMaxFileSizeBytes() > 0 && this.recordsInFile > 0
+          && getBytesWritten() >= this.config.getMaxFileSizeBytes()) {
+        closeFile();
+        openFile();
+      }
+      this.dataTemplateCodec.objectToJsonGenerator(mcp.data(), this.generator);
+      if (this.config.getFormat() == FileEmitterConfig.Format.JSON_LINES) {
+        this.generator.writeRaw('\n');
+      }
+      this.recordsInFile++;
+    }
+  }
+
+  private void openFile() throws IOException {
+    String fileName = getFileName(this.config.getFileName(), this.fileNames.size());
+    OutputStream out = new FileOutputStream(fileName, false);
+    if (this.config.getCompression() == FileEmitterConfig.Compression.GZIP) {
+      out = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+    }
+    this.output = new CountingOutputStream(new BufferedOutputStream(out, this.config.getBufferSize()));
+    this.generator = this.objectMapper.getFactory().createGenerator(this.output, JsonEncoding.UTF8);
+    if (this.config.getFormat() == FileEmitterConfig.Format.JSON_ARRAY) {
+      this.generator.setPrettyPrinter(this.prettyPrinter.createInstance());
+      this.generator.writeStartArray();
+    } else {
+      this.generator.setRootValueSeparator(null);
+    }
+    this.fileNames.add(fileName);
+    this.recordsInFile = 0;
+  }
+
+  private void closeFile() throws IOException {
+    if (this.config.getFormat() == FileEmitterConfig.Format.JSON_ARRAY) {
+      this.generator.writeEndArray();
+    }
+    // Also finishes the compression and closes the file.
+    this.generator.close();
+  }
+
+  private long getBytesWritten() {
+    return this.output.count + Math.max(0, this.generator.getOutputBuffered());
+  }
+
+  /**
+   * Returns the name of the file with the given index, inserting the index before the extension of the configured
+   * file name, e.g. mcps.1.json.gz. The first file uses the configured name.
+   */
+  static String getFileName(String fileName, int index) {
+    if (index == 0) {
+      return fileName;
+    }
+    int nameStart = Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1;
+    int extension = fileName.indexOf('.', nameStart + 1);
+    return extension < 0 ? fileName + "." + index
+        : fileName.substring(0, extension) + "." + index + fileName.substring(extension);
+  }
+
+  /**
+   * Counts the bytes written before compression, to decide when to continue in a new file.
+   */
+  private static class CountingOutputStream extends FilterOutputStream {
+    private long count;
+
+    private CountingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      count += len;
+    }
+  }
+
   private Future<MetadataWriteResponse> createFailureFuture(String message) {
     return new Future<MetadataWriteResponse>() {
 
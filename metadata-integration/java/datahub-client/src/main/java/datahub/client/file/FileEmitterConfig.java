@@ -7,10 +7,40 @@ import lombok.Value;
 @Value
 @Builder
 public class FileEmitterConfig {
+
+  public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+  /**
+   * Layout of the metadata change proposals in the file.
+   */
+  public enum Format {
+    /** A single JSON array, as read by the Python File source. */
+    JSON_ARRAY,
+    /** One JSON object per line. */
+    JSON_LINES
+  }
+
+  public enum Compression {
+    NONE,
+    GZIP
+  }
+
   @Builder.Default
   @lombok.NonNull
   private final String fileName = null;
   @Builder.Default
   private final EventFormatter eventFormatter = new EventFormatter(EventFormatter.Format.PEGASUS_JSON);
-  
+  @Builder.Default
+  private final Format format = Format.JSON_ARRAY;
+  @Builder.Default
+  private final Compression compression = Compression.NONE;
+  @Builder.Default
+  private final int bufferSize = DEFAULT_BUFFER_SIZE;
+  /**
+   * Uncompressed size after which the emitter continues in a new file, or 0 to write a single file. Files are named
+   * after {@link #fileName} with the file index inserted before the extension, e.g. mcps.json, mcps.1.json, ...
+   */
+  @Builder.Default
+  private final long maxFileSizeBytes = 0;
+
 }
@@ -0,0 +1,159 @@
+package datahub.client.file;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkedin.data.Data;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.mxe.MetadataChangeProposal;
+
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Streams the metadata change proposals of files written by {@link FileEmitter}, one proposal at a time.
+ *
+ * Both a JSON array and newline-delimited JSON are accepted, and gzip compressed files are detected from their content.
+ * Several files, such as the rotated files of an emitter, are read in order.
+ */
+@Slf4j
+public class MetadataFileReader implements Iterator<MetadataChangeProposal>, Closeable {
+
+  private static final int BUFFER_SIZE = 1024 * 1024;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Iterator<String> fileNames;
+  private JsonParser parser;
+  private boolean inArray;
+  // Whether the current token of the parser has not been read yet.
+  private boolean tokenPending;
+  private MetadataChangeProposal next;
+
+  public MetadataFileReader(String fileName) {
+    this(Collections.singletonList(fileName));
+  }
+
+  public MetadataFileReader(List<String> fileNames) {
+    this.fileNames = fileNames.iterator();
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (this.next == null) {
+      try {
+        this.next = readNext();
+      } catch (IOException e) {
+        throw new UncheckedIOException("Error while reading metadata file", e);
+      }
+    }
+    return this.next != null;
+  }
+
+  @Override
+  public MetadataChangeProposal next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    MetadataChangeProposal mcp = this.next;
+    this.next = null;
+    return mcp;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (this.parser != null) {
+      this.parser.close();
+      this.parser = null;
+    }
+  }
+
+  private MetadataChangeProposal readNext() throws IOException {
+    while (true) {
+      if (this.parser == null && !openNextFile()) {
+        return null;
+      }
+      JsonToken token = this.tokenPending ? this.parser.currentToken() : this.parser.nextToken();
+      this.tokenPending = false;
+      if (token == JsonToken.START_OBJECT) {
+        JsonNode node = this.objectMapper.readTree(this.parser);
+        return new MetadataChangeProposal((DataMap) toData(node));
+      }
+      if (token == null || (token == JsonToken.END_ARRAY && this.inArray)) {
+        close();
+        continue;
+      }
+      throw new IOException("Unexpected token " + token + " at " + this.parser.getCurrentLocation());
+    }
+  }
+
+  private boolean openNextFile() throws IOException {
+    if (!this.fileNames.hasNext()) {
+      return false;
+    }
+    String fileName = this.fileNames.next();
+    log.debug("Reading metadata change proposals from {}", fileName);
+    InputStream in = new BufferedInputStream(new FileInputStream(fileName), BUFFER_SIZE);
+    if (isGzip(in)) {
+      in = new BufferedInputStream(new GZIPInputStream(in, BUFFER_SIZE), BUFFER_SIZE);
+    }
+    this.parser = this.objectMapper.getFactory().createParser(in);
+    this.inArray = this.parser.nextToken() == JsonToken.START_ARRAY;
+    // Without an enclosing array the first token already starts the first proposal.
+    this.tokenPending = !this.inArray;
+    return true;
+  }
+
+  private static boolean isGzip(InputStream in) throws IOException {
+    in.mark(2);
+    int first = in.read();
+    int second = in.read();
+    in.reset();
+    return first == (GZIPInputStream.GZIP_MAGIC & 0xff) && second == (GZIPInputStream.GZIP_MAGIC >> 8);
+  }
+
+  /**
+   * Converts a JSON tree to the Pegasus data representation, mapping numbers as the Pegasus JSON codec does.
+   */
+  private static Object toData(JsonNode node) {
+    if (node.isObject()) {
+      DataMap map = new DataMap();
+      Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+      while (fields.hasNext()) {
+        Map.Entry<String, JsonNode> field = fields.next();
+        map.put(field.getKey(), toData(field.getValue()));
+      }
+      return map;
+    } else if (node.isArray()) {
+      DataList list = new DataList();
+      node.forEach(element -> list.add(toData(element)));
+      return list;
+    } else if (node.isTextual()) {
+      return node.textValue();
+    } else if (node.isBoolean()) {
+      return node.booleanValue();
+    } else if (node.isInt()) {
+      return node.intValue();
+    } else if (node.isIntegralNumber()) {
+      return node.longValue();
+    } else if (node.isNumber()) {
+      return node.doubleValue();
+    } else {
+      return Data.NULL;
+    }
+  }
+}
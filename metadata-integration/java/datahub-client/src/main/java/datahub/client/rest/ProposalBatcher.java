@@ -0,0 +1,321 @@
+package datahub.client.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import datahub.client.Callback;
+import datahub.client.MetadataWriteResponse;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpResponse;
+import org.apache.http.concurrent.FutureCallback;
+
+
+/**
+ * Accumulates serialized proposals and sends them to the batch ingest endpoint from a background thread.
+ *
+ * A batch is sent once it reaches the configured number of proposals or bytes, or once its first proposal has waited
+ * for the linger time. At most `maxInFlightRequests` batches are sent concurrently, and at most one batch per request in
+ * flight is buffered, after which {@link #add} blocks until a batch completes.
+ */
+@Slf4j
+class ProposalBatcher implements Closeable {
+
+  private static final long POLL_INTERVAL_MS = 100;
+  private static final String BATCH_PREFIX = "{\"proposals\":[";
+  private static final String BATCH_SUFFIX = "]}";
+
+  /**
+   * Sends a serialized batch and reports the http response to the callback.
+   */
+  @FunctionalInterface
+  interface BatchSender {
+    void send(@Nonnull String payload, @Nonnull FutureCallback<HttpResponse> callback) throws IOException;
+  }
+
+  private static class PendingProposal {
+    private final String serializedProposal;
+    // The size of the proposal in the UTF-8 encoded payload.
+    private final int serializedBytes;
+    private final Callback callback;
+    private final CompletableFuture<MetadataWriteResponse> future = new CompletableFuture<>();
+
+    private PendingProposal(String serializedProposal, Callback callback) {
+      this.serializedProposal = serializedProposal;
+      this.serializedBytes = serializedProposal.getBytes(StandardCharsets.UTF_8).length;
+      this.callback = callback;
+    }
+  }
+
+  private final BatchSender sender;
+  private final Function<HttpResponse, MetadataWriteResponse> responseMapper;
+  private final ObjectMapper objectMapper;
+  private final int maxBatchSize;
+  private final int maxBatchBytes;
+  private final long lingerMs;
+  private final int maxInFlightRequests;
+  private final BlockingQueue<PendingProposal> queue;
+  private final Semaphore inFlightRequests;
+  private final AtomicInteger pendingProposals = new AtomicInteger();
+  private final AtomicInteger flushRequests = new AtomicInteger();
+  private final Object pendingLock = new Object();
+  private final Thread flushThread;
+  private volatile boolean closed = false;
+
+  ProposalBatcher(@Nonnull RestEmitterConfig config, @Nonnull BatchSender sender,
+      @Nonnull Function<HttpResponse, MetadataWriteResponse> responseMapper, @Nonnull ObjectMapper objectMapper) {
+    if (config.getMaxBatchSize() <= 0 || config.getMaxBatchBytes() <= 0 || config.getMaxInFlightRequests() <= 0) {
+      throw new IllegalArgumentException("Batch size, batch bytes and in flight requests must be positive");
+    }
+    this.sender = sender;
+    this.responseMapper = responseMapper;
+    this.objectMapper = objectMapper;
+    this.maxBatchSize = config.getMaxBatchSize();
+    this.maxBatchBytes = config.getMaxBatchBytes();
+    this.lingerMs = config.getBatchLingerMs();
+    this.maxInFlightRequests = config.getMaxInFlightRequests();
+    this.queue = new LinkedBlockingQueue<>(maxBatchSize * maxInFlightRequests);
+    this.inFlightRequests = new Semaphore(maxInFlightRequests);
+    this.flushThread = new Thread(this::run, "datahub-rest-emitter-batcher");
+    this.flushThread.setDaemon(true);
+    this.flushThread.start();
+  }
+
+  /**
+   * Adds a serialized proposal to the next batch, blocking while the buffer is full.
+   */
+  Future<MetadataWriteResponse> add(@Nonnull String serializedProposal, @Nullable Callback callback) throws IOException {
+    if (closed) {
+      throw new IOException("Emitter is closed");
+    }
+    PendingProposal proposal = new PendingProposal(serializedProposal, callback);
+    pendingProposals.incrementAndGet();
+    try {
+      queue.put(proposal);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      complete(Collections.singletonList(proposal));
+      throw new InterruptedIOException("Interrupted while waiting to buffer a proposal");
+    }
+    // If the emitter was closed meanwhile, the batcher may have stopped before taking the proposal. Closing fails the
+    // proposals it drains, so the proposal is only failed here if it is still buffered.
+    if (closed && queue.remove(proposal)) {
+      complete(Collections.singletonList(proposal));
+      throw new IOException("Emitter is closed");
+    }
+    return proposal.future;
+  }
+
+  /**
+   * Sends the buffered proposals without waiting for the linger time, and blocks until no proposal is pending, including
+   * proposals added concurrently with the flush.
+   */
+  void flush() throws InterruptedException {
+    flushRequests.incrementAndGet();
+    try {
+      synchronized (pendingLock) {
+        while (pendingProposals.get() > 0) {
+          pendingLock.wait(POLL_INTERVAL_MS);
+        }
+      }
+    } finally {
+      flushRequests.decrementAndGet();
+    }
+  }
+
+  /**
+   * Stops accepting proposals, then sends the buffered ones and waits for all requests in flight to complete.
+   */
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    try {
+      flushThread.join();
+      // Fail the proposals added concurrently with closing, after the batcher stopped.
+      List<PendingProposal> remaining = new ArrayList<>();
+      queue.drainTo(remaining);
+      if (!remaining.isEmpty()) {
+        fail(remaining, new IOException("Emitter is closed"));
+      }
+      inFlightRequests.acquire(maxInFlightRequests);
+      inFlightRequests.release(maxInFlightRequests);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while flushing buffered proposals");
+    }
+  }
+
+  private void run() {
+    List<PendingProposal> batch = new ArrayList<>();
+    int batchBytes = 0;
+    long deadline = 0;
+    try {
+      while (true) {
+        PendingProposal next;
+        if (batch.isEmpty()) {
+          if (closed && queue.isEmpty()) {
+            return;
+          }
+          next = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+          if (next == null) {
+            continue;
+          }
+          deadline = System.currentTimeMillis() + lingerMs;
+        } else {
+          long waitMs = closed || flushRequests.get() > 0 ? 0 : deadline - System.currentTimeMillis();
+          next = waitMs > 0 ? queue.poll(waitMs, TimeUnit.MILLISECONDS) : queue.poll();
+          if (next == null) {
+            send(batch);
+            batch = new ArrayList<>();
+            batchBytes = 0;
+            continue;
+          }
+        }
+        if (!batch.isEmpty() && batchBytes + next.serializedBytes > maxBatchBytes) {
+          send(batch);
+          batch = new ArrayList<>();
+          batchBytes = 0;
+          deadline = System.currentTimeMillis() + lingerMs;
+        }
+        batch.add(next);
+        batchBytes += next.serializedBytes;
+        if (batch.size() >= maxBatchSize || batchBytes >= maxBatchBytes) {
+          send(batch);
+          batch = new ArrayList<>();
+          batchBytes = 0;
+        }
+      }
+    } catch (InterruptedException e) {
+      log.error("Batcher interrupted, failing buffered proposals", e);
+      List<PendingProposal> remaining = new ArrayList<>(batch);
+      queue.drainTo(remaining);
+      fail(remaining, e);
+    }
+  }
+
+  private void send(@Nonnull List<PendingProposal> batch) throws InterruptedException {
+    inFlightRequests.acquire();
+    StringBuilder payload = new StringBuilder(BATCH_PREFIX);
+    for (int i = 0; i < batch.size(); i++) {
+      if (i > 0) {
+        payload.append(',');
+      }
+      payload.append(batch.get(i).serializedProposal);
+    }
+    payload.append(BATCH_SUFFIX);
+    log.debug("Sending batch of {} proposals", batch.size());
+
+    FutureCallback<HttpResponse> callback = new FutureCallback<HttpResponse>() {
+      @Override
+      public void completed(HttpResponse response) {
+        inFlightRequests.release();
+        onResponse(batch, response);
+      }
+
+      @Override
+      public void failed(Exception ex) {
+        inFlightRequests.release();
+        fail(batch, ex);
+      }
+
+      @Override
+      public void cancelled() {
+        inFlightRequests.release();
+        fail(batch, new RuntimeException("Cancelled"));
+      }
+    };
+    try {
+      sender.send(payload.toString(), callback);
+    } catch (Exception e) {
+      callback.failed(e);
+    }
+  }
+
+  private void onResponse(@Nonnull List<PendingProposal> batch, HttpResponse response) {
+    MetadataWriteResponse batchResponse = null;
+    List<String> urns = Collections.emptyList();
+    try {
+      batchResponse = responseMapper.apply(response);
+      if (batchResponse.isSuccess() && batchResponse.getResponseContent() != null) {
+        urns = parseUrns(batchResponse.getResponseContent());
+      }
+    } catch (Exception e) {
+      log.warn("Wasn't able to read the urns of the batch response", e);
+    }
+    for (int i = 0; i < batch.size(); i++) {
+      PendingProposal proposal = batch.get(i);
+      MetadataWriteResponse writeResponse = batchResponse;
+      if (batchResponse != null && i < urns.size()) {
+        // Mirror the response of a single ingestProposal request.
+        writeResponse = MetadataWriteResponse.builder()
+            .success(true)
+            .responseContent(toSingleResponseContent(urns.get(i)))
+            .underlyingResponse(response)
+            .build();
+      }
+      proposal.future.complete(writeResponse);
+      if (proposal.callback != null) {
+        try {
+          proposal.callback.onCompletion(writeResponse);
+        } catch (Exception e) {
+          log.error("Error executing user callback on completion.", e);
+        }
+      }
+    }
+    complete(batch);
+  }
+
+  private void fail(@Nonnull List<PendingProposal> batch, @Nonnull Exception ex) {
+    for (PendingProposal proposal : batch) {
+      proposal.future.completeExceptionally(ex);
+      if (proposal.callback != null) {
+        try {
+          proposal.callback.onFailure(ex);
+        } catch (Exception e) {
+          log.error("Error executing user callback on failure.", e);
+        }
+      }
+    }
+    complete(batch);
+  }
+
+  private void complete(@Nonnull List<PendingProposal> proposals) {
+    if (pendingProposals.addAndGet(-proposals.size()) == 0) {
+      synchronized (pendingLock) {
+        pendingLock.notifyAll();
+      }
+    }
+  }
+
+  private List<String> parseUrns(@Nonnull String responseContent) throws IOException {
+    JsonNode value = objectMapper.readTree(responseContent).get("value");
+    List<String> urns = new ArrayList<>();
+    if (value != null && value.isArray()) {
+      value.forEach(urn -> urns.add(urn.asText()));
+    }
+    return urns;
+  }
+
+  private String toSingleResponseContent(@Nonnull String urn) {
+    try {
+      return objectMapper.writeValueAsString(Collections.singletonMap("value", urn));
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to serialize response for " + urn, e);
+    }
+  }
+}
@@ -69,11 +69,20 @@ import java.security.NoSuchAlgorithmException;
  *                                                .extraHeaders(Collections.singletonMap("Custom-Header", "custom-val")
  *                                                .customizeHttpAsyncClient(c :: c.setConnectionTimeToLive(30, TimeUnit.SECONDS))
  *                                                );
+ * To send proposals to the server in batches instead of one request per proposal, enable batching on the builder.
+ * e.g.
+ * RestEmitter emitter = RestEmitter.create(b :: b
+ *                                                .server("http://localhost:8080")
+ *                                                .batchingEnabled(true)
+ *                                                .maxBatchSize(200)
+ *                                                .maxInFlightRequests(4)
+ *                                                );
  */
 public class RestEmitter implements Emitter {
 
   private final RestEmitterConfig config;
   private final String ingestProposalUrl;
+  private final String batchIngestProposalUrl;
   private final String ingestOpenApiUrl;
   private final String configUrl;
 
@@ -81,6 +90,7 @@ public class RestEmitter implements Emitter {
   private final JacksonDataTemplateCodec dataTemplateCodec = new JacksonDataTemplateCodec(objectMapper.getFactory());
   private final CloseableHttpAsyncClient httpClient;
   private final EventFormatter eventFormatter;
+  private final ProposalBatcher batcher;
 
   /**
    * The default constructor, prefer using the `create` factory method.
@@ -110,9 +120,13 @@ public class RestEmitter implements Emitter {
     this.httpClient = this.config.getAsyncHttpClientBuilder().build();
     this.httpClient.start();
     this.ingestProposalUrl = this.config.getServer() + "/aspects?action=ingestProposal";
+    this.batchIngestProposalUrl = this.config.getServer() + "/aspects?action=batchIngestProposal";
     this.ingestOpenApiUrl = config.getServer() + "/openapi/entities/v1/";
     this.configUrl = this.config.getServer() + "/config";
     this.eventFormatter = this.config.getEventFormatter();
+    this.batcher = this.config.isBatchingEnabled()
+        ? new ProposalBatcher(this.config, this::postBatch, RestEmitter::mapResponse, this.objectMapper)
+        : null;
   }
 
   private static MetadataWriteResponse mapResponse(HttpResponse response) {
@@ -185,6 +199,11 @@ public class RestEmitter implements Emitter {
   @Override
   public Future<MetadataWriteResponse> emit(MetadataChangeProposal mcp, Callback callback)
       throws IOException {
+    if (this.batcher != null) {
+      String serializedProposal = dataTemplateCodec.mapToString(mcp.data());
+      log.debug("Emit: buffering proposal for URL: {}, Payload: {}\n", this.batchIngestProposalUrl, serializedProposal);
+      return this.batcher.add(serializedProposal, callback);
+    }
     DataMap map = new DataMap();
     map.put("proposal", mcp.data());
     String serializedMCP = dataTemplateCodec.mapToString(map);
@@ -192,8 +211,7 @@ public class RestEmitter implements Emitter {
     return this.postGeneric(this.ingestProposalUrl, serializedMCP, mcp, callback);
   }
 
-  private Future<MetadataWriteResponse> postGeneric(String urlStr, String payloadJson, Object originalRequest,
-      Callback callback) throws IOException {
+  private HttpPost createRestliPost(String urlStr, String payloadJson) throws IOException {
     HttpPost httpPost = new HttpPost(urlStr);
     httpPost.setHeader("Content-Type", "application/json");
     httpPost.setHeader("X-RestLi-Protocol-Version", "2.0.0");
@@ -203,6 +221,17 @@ public class RestEmitter implements Emitter {
       httpPost.setHeader("Authorization", "Bearer " + this.config.getToken());
     }
     httpPost.setEntity(new StringEntity(payloadJson));
+    return httpPost;
+  }
+
+  private void postBatch(String payloadJson, FutureCallback<HttpResponse> callback) throws IOException {
+    log.debug("Emit: URL: {}, Payload: {}\n", this.batchIngestProposalUrl, payloadJson);
+    httpClient.execute(createRestliPost(this.batchIngestProposalUrl, payloadJson), callback);
+  }
+
+  private Future<MetadataWriteResponse> postGeneric(String urlStr, String payloadJson, Object originalRequest,
+      Callback callback) throws IOException {
+    HttpPost httpPost = createRestliPost(urlStr, payloadJson);
     AtomicReference<MetadataWriteResponse> responseAtomicReference = new AtomicReference<>();
     CountDownLatch responseLatch = new CountDownLatch(1);
     FutureCallback<HttpResponse> httpCallback = new FutureCallback<HttpResponse>() {
@@ -265,9 +294,25 @@ public class RestEmitter implements Emitter {
     return this.getGeneric(this.configUrl).get().isSuccess();
   }
 
+  /**
+   * Sends the proposals buffered for batching without waiting for the linger time, and blocks until they complete.
+   * A no-op unless batching is enabled.
+   */
+  public void flush() throws InterruptedException {
+    if (this.batcher != null) {
+      this.batcher.flush();
+    }
+  }
+
   @Override
   public void close() throws IOException {
-    this.httpClient.close();
+    try {
+      if (this.batcher != null) {
+        this.batcher.close();
+      }
+    } finally {
+      this.httpClient.close();
+    }
   }
 
   @Override
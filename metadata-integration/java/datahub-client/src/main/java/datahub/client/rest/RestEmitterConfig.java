@@ -23,6 +23,10 @@ public class RestEmitterConfig {
   public static final int DEFAULT_READ_TIMEOUT_SEC = 10;
   public static final String DEFAULT_AUTH_TOKEN = null;
   public static final String CLIENT_VERSION_PROPERTY = "clientVersion";
+  public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+  public static final int DEFAULT_MAX_BATCH_BYTES = 5 * 1024 * 1024;
+  public static final long DEFAULT_BATCH_LINGER_MS = 50;
+  public static final int DEFAULT_MAX_IN_FLIGHT_REQUESTS = 4;
 
   @Builder.Default
   private final String server = "http://localhost:8080";
@@ -43,6 +47,38 @@ public class RestEmitterConfig {
   @Builder.Default
   private final EventFormatter eventFormatter = new EventFormatter(EventFormatter.Format.PEGASUS_JSON);
 
+  /**
+   * If true, proposals are accumulated and sent to the server in batches instead of one request per proposal.
+   * The future and callback of each proposal still complete individually once its batch has been acknowledged.
+   */
+  @Builder.Default
+  private final boolean batchingEnabled = false;
+
+  /**
+   * The maximum number of proposals sent in a single batch.
+   */
+  @Builder.Default
+  private final int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+  /**
+   * The maximum size in bytes of the serialized proposals sent in a single batch.
+   */
+  @Builder.Default
+  private final int maxBatchBytes = DEFAULT_MAX_BATCH_BYTES;
+
+  /**
+   * How long to wait for more proposals before sending a batch that is not full.
+   */
+  @Builder.Default
+  private final long batchLingerMs = DEFAULT_BATCH_LINGER_MS;
+
+  /**
+   * The maximum number of batches being sent concurrently. Once reached, proposals are buffered up to one batch per
+   * request in flight, after which `emit` blocks until a batch completes.
+   */
+  @Builder.Default
+  private final int maxInFlightRequests = DEFAULT_MAX_IN_FLIGHT_REQUESTS;
+
   public static class RestEmitterConfigBuilder {
 
     private String getVersion() {
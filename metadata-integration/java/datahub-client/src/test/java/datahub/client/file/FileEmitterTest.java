@@ -4,8 +4,12 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -51,6 +55,56 @@ public class FileEmitterTest {
 
   }
 
+  @Test
+  public void testStreamingJsonLinesWithRotation() throws Exception {
+    List<MetadataChangeProposal> mcps =
+        this.getMCPs(ClassLoader.getSystemResourceAsStream("golden_files/mcps_golden.json"));
+
+    String outputFile = tempFolder.getRoot().toString() + "/test.json.gz";
+    FileEmitter emitter = new FileEmitter(FileEmitterConfig.builder()
+        .fileName(outputFile)
+        .format(FileEmitterConfig.Format.JSON_LINES)
+        .compression(FileEmitterConfig.Compression.GZIP)
+        .maxFileSizeBytes(4096)
+        .build());
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Future<Future<MetadataWriteResponse>>> results = new ArrayList<>();
+    for (MetadataChangeProposal mcp : mcps) {
+      results.add(executor.submit(() -> emitter.emit(mcp)));
+    }
+    for (Future<Future<MetadataWriteResponse>> result : results) {
+      Assert.assertTrue(result.get().get().isSuccess());
+    }
+    executor.shutdown();
+    emitter.close();
+
+    List<String> fileNames = emitter.getFileNames();
+    Assert.assertTrue(fileNames.size() > 1);
+    Assert.assertEquals(fileNames.get(0), outputFile);
+    Assert.assertEquals(fileNames.get(1), tempFolder.getRoot().toString() + "/test.1.json.gz");
+
+    Set<DataMap> written = new HashSet<>();
+    try (MetadataFileReader reader = new MetadataFileReader(fileNames)) {
+      reader.forEachRemaining(mcp -> written.add(mcp.data()));
+    }
+    Set<DataMap> expected = new HashSet<>();
+    mcps.forEach(mcp -> expected.add(mcp.data()));
+    Assert.assertEquals(expected, written);
+  }
+
+  @Test
+  public void testReadJsonArray() throws Exception {
+    List<MetadataChangeProposal> expected =
+        this.getMCPs(ClassLoader.getSystemResourceAsStream("golden_files/mcps_golden.json"));
+    String goldenFile = new File(ClassLoader.getSystemResource("golden_files/mcps_golden.json").toURI()).getPath();
+
+    List<MetadataChangeProposal> read = new ArrayList<>();
+    try (MetadataFileReader reader = new MetadataFileReader(goldenFile)) {
+      reader.forEachRemaining(read::add);
+    }
+    Assert.assertEquals(expected, read);
+  }
+
   private void assertEqualJsonFile(InputStream file1, String file2) throws StreamReadException, DatabindException,
       IOException {
     TypeReference<List<Map<String, Object>>> typeRef = new TypeReference<List<Map<String, Object>>>() {
@@ -0,0 +1,54 @@
+package datahub.client.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import datahub.client.MetadataWriteResponse;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class ProposalBatcherTest {
+
+  @Test
+  public void testBatchBytesCountEncodedBytes() throws Exception {
+    List<String> payloads = new CopyOnWriteArrayList<>();
+    // Each proposal is 12 chars long, but 22 bytes long once UTF-8 encoded.
+    String proposal = "\"" + String.join("", Collections.nCopies(10, "\u00e9")) + "\"";
+    ProposalBatcher batcher = createBatcher(30, payloads);
+
+    Future<MetadataWriteResponse> first = batcher.add(proposal, null);
+    Future<MetadataWriteResponse> second = batcher.add(proposal, null);
+    batcher.flush();
+
+    Assert.assertTrue(first.get(10, TimeUnit.SECONDS).isSuccess());
+    Assert.assertTrue(second.get(10, TimeUnit.SECONDS).isSuccess());
+    Assert.assertEquals(2, payloads.size());
+    batcher.close();
+  }
+
+  @Test(expected = IOException.class)
+  public void testAddAfterClose() throws Exception {
+    ProposalBatcher batcher = createBatcher(1024, new CopyOnWriteArrayList<>());
+    batcher.close();
+    batcher.add("{}", null);
+  }
+
+  private static ProposalBatcher createBatcher(int maxBatchBytes, List<String> payloads) {
+    RestEmitterConfig config = RestEmitterConfig.builder()
+        .batchingEnabled(true)
+        .maxBatchSize(10)
+        .maxBatchBytes(maxBatchBytes)
+        .batchLingerMs(TimeUnit.MINUTES.toMillis(1))
+        .maxInFlightRequests(1)
+        .build();
+    return new ProposalBatcher(config, (payload, callback) -> {
+      payloads.add(payload);
+      callback.completed(null);
+    }, response -> MetadataWriteResponse.builder().success(true).build(), new ObjectMapper());
+  }
+}
@@ -278,6 +278,67 @@ public class RestEmitterTest {
     }
   }
 
+  @Test
+  public void testBatching() throws Exception {
+    TestDataHubServer testDataHubServer = new TestDataHubServer();
+    Integer port = testDataHubServer.getMockServer().getPort();
+    // A long linger time, so that the last partial batch is only sent on flush.
+    RestEmitter emitter = RestEmitter.create(b -> b.server("http://localhost:" + port)
+        .batchingEnabled(true)
+        .maxBatchSize(10)
+        .batchLingerMs(TimeUnit.MINUTES.toMillis(1))
+        .maxInFlightRequests(2));
+
+    String batchResponse = "{\"value\":[" + String.join(",",
+        Collections.nCopies(10, "\"urn:li:dataset:(urn:li:dataPlatform:hive,foo.bar,PROD)\"")) + "]}";
+    testDataHubServer.getMockServer()
+        .when(request().withMethod("POST")
+            .withPath("/aspects")
+            .withQueryStringParameter("action", "batchIngestProposal")
+            .withHeader("Content-type", "application/json"), Times.unlimited())
+        .respond(org.mockserver.model.HttpResponse.response().withStatusCode(200).withBody(batchResponse));
+
+    int numRequests = 25;
+    List<Future<MetadataWriteResponse>> results = new ArrayList<>();
+    CountDownLatch callbackLatch = new CountDownLatch(numRequests);
+    for (int i = 0; i < numRequests; ++i) {
+      MetadataChangeProposalWrapper mcp = getMetadataChangeProposalWrapper("Test Dataset",
+          String.format("urn:li:dataset:(urn:li:dataPlatform:hive,foo.bar-%d,PROD)", i));
+      results.add(emitter.emit(mcp, new Callback() {
+        @Override
+        public void onCompletion(MetadataWriteResponse response) {
+          callbackLatch.countDown();
+        }
+
+        @Override
+        public void onFailure(Throwable exception) {
+          Assert.fail("Should not be called");
+        }
+      }));
+    }
+    emitter.flush();
+
+    Assert.assertTrue(callbackLatch.await(10, TimeUnit.SECONDS));
+    for (Future<MetadataWriteResponse> result : results) {
+      MetadataWriteResponse response = result.get();
+      Assert.assertTrue(response.isSuccess());
+      Assert.assertEquals("{\"value\":\"urn:li:dataset:(urn:li:dataPlatform:hive,foo.bar,PROD)\"}",
+          response.getResponseContent());
+    }
+
+    RequestDefinition[] recordedRequests = testDataHubServer.getMockServer()
+        .retrieveRecordedRequests(request().withPath("/aspects").withMethod("POST"));
+    Assert.assertEquals(3, recordedRequests.length);
+    ObjectMapper mapper = new ObjectMapper();
+    List<Integer> batchSizes = new ArrayList<>();
+    for (RequestDefinition recordedRequest : recordedRequests) {
+      batchSizes.add(mapper.readTree(((HttpRequest) recordedRequest).getBodyAsString()).get("proposals").size());
+    }
+    Collections.sort(batchSizes);
+    Assert.assertEquals(Arrays.asList(5, 10, 10), batchSizes);
+    emitter.close();
+  }
+
   @Test
   public void testCallback() throws Exception {
     TestDataHubServer testDataHubServer = new TestDataHubServer();
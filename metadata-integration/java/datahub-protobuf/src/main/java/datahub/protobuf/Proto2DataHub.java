@@ -4,18 +4,28 @@ import com.linkedin.common.FabricType;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.CorpuserUrn;
 import com.linkedin.common.urn.DataPlatformUrn;
+import datahub.client.Callback;
 import datahub.client.Emitter;
+import datahub.client.MetadataWriteResponse;
 import datahub.client.file.FileEmitter;
 import datahub.client.file.FileEmitterConfig;
 import datahub.client.rest.RestEmitter;
+import datahub.event.MetadataChangeProposalWrapper;
+import datahub.protobuf.model.ProtobufDescriptorSet;
 
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 import org.apache.commons.cli.CommandLine;
@@ -122,6 +132,19 @@ public class Proto2DataHub {
         .desc("[Required if using transport file] Filename to write output to.")
         .build();
 
+    private static final Option OPTION_PARALLELISM = Option.builder()
+        .longOpt("parallelism")
+        .hasArg()
+        .desc("[Optional] The number of source files to process in parallel. (defaults to 1)")
+        .build();
+
+    private static final Option OPTION_MAX_IN_FLIGHT = Option.builder()
+        .longOpt("max_in_flight")
+        .hasArg()
+        .desc("[Optional] The maximum number of events being emitted concurrently, "
+            + "without waiting for earlier events to be acknowledged. (defaults to 1)")
+        .build();
+
     private static final Option OPTION_HELP = Option.builder()
         .longOpt("help")
         .desc("Print this help message")
@@ -133,6 +156,8 @@ public class Proto2DataHub {
             + "(Default is schema)")
         .build();
 
+    private static final int SLOWEST_FILES_REPORTED = 10;
+
     enum TransportOptions {
         REST,
         KAFKA,
@@ -155,6 +180,8 @@ public class Proto2DataHub {
         private final String filename;
         private final String subType;
         private final String[] excludePatterns;
+        private final int parallelism;
+        private final int maxInFlight;
 
 
         AppConfig(CommandLine cli) {
@@ -174,9 +201,11 @@ public class Proto2DataHub {
             subType = cli.getOptionValue(OPTION_SUBTYPE, "schema").toLowerCase(Locale.ROOT);
             inputDir = cli.getOptionValue(OPTION_DIR, null);
             excludePatterns = cli.getOptionValues(OPTION_EXCLUDE_PATTERN);
+            parallelism = Integer.parseInt(cli.getOptionValue(OPTION_PARALLELISM, "1"));
+            maxInFlight = Integer.parseInt(cli.getOptionValue(OPTION_MAX_IN_FLIGHT, "1"));
         }
 
-        private AppConfig validate() throws Exception {
+        AppConfig validate() throws Exception {
             switch (transport) {
                 case FILE:
                     if (filename == null) {
@@ -198,6 +227,9 @@ public class Proto2DataHub {
             if ((this.inputFile == null) && (this.inputDir == null)) {
                 throw new Exception("Must provide either an input file or an input directory to read from");
             }
+            if (this.parallelism < 1 || this.maxInFlight < 1) {
+                throw new Exception("Parallelism and max in flight must be at least 1");
+            }
             if (this.slackId != null) {
                 if (!this.slackId.startsWith("T")) {
                     throw new Exception(String.format("Slack team id %s should start with the letter T. "
@@ -211,14 +243,13 @@ public class Proto2DataHub {
 
     }
 
-        private Proto2DataHub() {
+    private Proto2DataHub() {
 
     }
 
-        public static void main(String[] args) throws Exception {
-        Options options = new Options();
-
-        options.addOption(OPTION_DATAHUB_PLATFORM)
+    static Options createOptions() {
+        return new Options()
+            .addOption(OPTION_DATAHUB_PLATFORM)
             .addOption(OPTION_DATAHUB_API)
             .addOption(OPTION_DATAHUB_TOKEN)
             .addOption(OPTION_DESCRIPTOR)
@@ -232,7 +263,13 @@ public class Proto2DataHub {
             .addOption(OPTION_TRANSPORT)
             .addOption(OPTION_FILENAME)
             .addOption(OPTION_SUBTYPE)
+            .addOption(OPTION_PARALLELISM)
+            .addOption(OPTION_MAX_IN_FLIGHT)
             .addOption(OPTION_HELP);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = createOptions();
 
         Options firstPassOptions = new Options()
             .addOption(OPTION_HELP);
@@ -267,7 +304,6 @@ public class Proto2DataHub {
 
         AppConfig config = new AppConfig(cli).validate();
         Emitter emitter = null;
-        AtomicInteger totalEvents = new AtomicInteger();
 
         switch (config.transport) {
             case REST: {
@@ -287,12 +323,6 @@ public class Proto2DataHub {
             }
         }
 
-        AuditStamp auditStamp = new AuditStamp()
-                .setTime(System.currentTimeMillis())
-                .setActor(new CorpuserUrn(config.datahubUser));
-
-        InputStream protocStream = new FileInputStream(config.protoc);
-
         Stream<Path> filePathStream = Stream.empty();
         if (config.inputFile != null) {
             filePathStream = Stream.of(Path.of(config.inputFile));
@@ -301,61 +331,143 @@ public class Proto2DataHub {
             filePathStream = walker.walkFiles();
         }
 
-        Emitter finalEmitter = emitter;
-        AtomicInteger exitCode = new AtomicInteger(0);
+        AtomicInteger totalEvents = new AtomicInteger(0);
         AtomicInteger totalFiles = new AtomicInteger(0);
+        int exitCode;
+        try {
+            exitCode = emitFiles(config, emitter, filePathStream, totalEvents, totalFiles);
+        } finally {
+            if (emitter != null) {
+                emitter.close();
+            }
+        }
+        if (exitCode == 0) {
+            System.out.println(
+                String.format("✅ Successfully emitted %d events for %d files to DataHub %s", totalEvents.get(), totalFiles.get(), config.transport));
+        } else {
+            System.out.println(
+                String.format("‼️ Emitted %d events for %d files to DataHub %s", totalEvents.get(), totalFiles.get(), config.transport));
+        }
+        System.exit(exitCode);
+    }
+
+    /**
+     * Emits the events of the source files, processing {@code config.parallelism} files at a time. The files share the
+     * emitter, so with a parallelism above 1 it must be safe to call from several threads, as the REST and file
+     * emitters are.
+     * @return the exit code, 1 if any file or event failed
+     */
+    static int emitFiles(AppConfig config, Emitter emitter, Stream<Path> filePathStream, AtomicInteger totalEvents,
+                         AtomicInteger totalFiles) throws IOException, InterruptedException {
+        AuditStamp auditStamp = new AuditStamp()
+                .setTime(System.currentTimeMillis())
+                .setActor(new CorpuserUrn(config.datahubUser));
+
+        // The descriptors are shared by all source files, so they are only parsed once.
+        ProtobufDescriptorSet descriptorSet;
+        try (InputStream protocStream = new FileInputStream(config.protoc)) {
+            descriptorSet = ProtobufDescriptorSet.parseFrom(protocStream.readAllBytes());
+        }
+
+        AtomicInteger exitCode = new AtomicInteger(0);
+        Semaphore inFlight = new Semaphore(config.maxInFlight);
+        Map<Path, Long> fileTimings = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(config.parallelism);
+        long startTime = System.currentTimeMillis();
 
         try {
             filePathStream.forEach(filePath -> {
                 totalFiles.incrementAndGet();
-                try {
-                    String textSchema = Files.readString(filePath);
-
-                    ProtobufDataset dataset = ProtobufDataset.builder()
-                        .setDataPlatformUrn(new DataPlatformUrn(config.dataPlatform))
-                        .setProtocIn(new FileInputStream(config.protoc))
-                        .setFilename(filePath.toString())
-                        .setSchema(textSchema)
-                        .setAuditStamp(auditStamp)
-                        .setFabricType(config.fabricType)
-                        .setGithubOrganization(config.githubOrg)
-                        .setSlackTeamId(config.slackId)
-                        .setSubType(config.subType)
-                        .build();
-
-                    dataset.getAllMetadataChangeProposals().flatMap(Collection::stream).forEach(mcpw -> {
-                        try {
-                            finalEmitter.emit(mcpw, null).get();
-                            totalEvents.getAndIncrement();
-                        } catch (Exception e) {
-                            throw new RuntimeException(e);
+                executor.execute(() -> {
+                    long fileStartTime = System.currentTimeMillis();
+                    try {
+                        String textSchema = Files.readString(filePath);
+
+                        ProtobufDataset dataset = ProtobufDataset.builder()
+                            .setDataPlatformUrn(new DataPlatformUrn(config.dataPlatform))
+                            .setDescriptorSet(descriptorSet)
+                            .setFilename(filePath.toString())
+                            .setSchema(textSchema)
+                            .setAuditStamp(auditStamp)
+                            .setFabricType(config.fabricType)
+                            .setGithubOrganization(config.githubOrg)
+                            .setSlackTeamId(config.slackId)
+                            .setSubType(config.subType)
+                            .build();
+
+                        dataset.getAllMetadataChangeProposals().flatMap(Collection::stream).forEach(mcpw ->
+                            emit(emitter, mcpw, inFlight, totalEvents, exitCode, config));
+                    } catch (Exception e) {
+                        if (e.getMessage() != null && e.getMessage().equals("Cannot autodetect protobuf Message.")) {
+                            System.err.printf("WARN: Top-level schema not found in %s, no dataset emitted%n", filePath);
+                        } else {
+                            e.printStackTrace();
+                            System.err.println(String.format("‼️ Failed to emit to DataHub over %s. Num events emitted so far %d",
+                                config.transport, totalEvents.get()));
+                            exitCode.set(1);
                         }
-                    });
-                } catch (Exception e) {
-                    if (e.getMessage() != null && e.getMessage().equals("Cannot autodetect protobuf Message.")) {
-                        System.err.printf("WARN: Top-level schema not found in %s, no dataset emitted%n", args[1]);
+                    } finally {
+                        fileTimings.put(filePath, System.currentTimeMillis() - fileStartTime);
+                    }
+                });
+            });
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            // Wait for the events still in flight.
+            inFlight.acquire(config.maxInFlight);
+        } finally {
+            executor.shutdownNow();
+        }
+        printTimings(fileTimings, System.currentTimeMillis() - startTime);
+        return exitCode.get();
+    }
+
+    /**
+     * Emits the event without waiting for it to be acknowledged, once fewer than the max in flight events are pending.
+     */
+    private static void emit(Emitter emitter, MetadataChangeProposalWrapper<?> mcpw, Semaphore inFlight,
+                             AtomicInteger totalEvents, AtomicInteger exitCode, AppConfig config) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        try {
+            emitter.emit(mcpw, new Callback() {
+                @Override
+                public void onCompletion(MetadataWriteResponse response) {
+                    inFlight.release();
+                    if (response.isSuccess()) {
+                        totalEvents.getAndIncrement();
                     } else {
-                        e.printStackTrace();
-                        System.err.println(String.format("‼️ Failed to emit to DataHub over %s. Num events emitted so far %d",
-                            config.transport, totalEvents.get()));
+                        System.err.println(String.format("‼️ Failed to emit %s for %s to DataHub over %s: %s",
+                            mcpw.getAspectName(), mcpw.getEntityUrn(), config.transport, response.getResponseContent()));
                         exitCode.set(1);
                     }
                 }
+
+                @Override
+                public void onFailure(Throwable exception) {
+                    inFlight.release();
+                    System.err.println(String.format("‼️ Failed to emit %s for %s to DataHub over %s: %s",
+                        mcpw.getAspectName(), mcpw.getEntityUrn(), config.transport, exception));
+                    exitCode.set(1);
+                }
             });
-        } finally {
-        if (emitter != null) {
-            emitter.close();
+        } catch (Exception e) {
+            inFlight.release();
+            throw new RuntimeException(e);
         }
     }
-    if (exitCode.get() == 0) {
-        System.out.println(
-            String.format("✅ Successfully emitted %d events for %d files to DataHub %s", totalEvents.get(), totalFiles.get(), config.transport));
-    } else {
-        System.out.println(
-            String.format("‼️ Emitted %d events for %d files to DataHub %s", totalEvents.get(), totalFiles.get(), config.transport));
+
+    private static void printTimings(Map<Path, Long> fileTimings, long totalMillis) {
+        System.out.println(String.format("Processed %d files in %d ms", fileTimings.size(), totalMillis));
+        fileTimings.entrySet().stream()
+            .sorted(Map.Entry.<Path, Long>comparingByValue().reversed())
+            .limit(SLOWEST_FILES_REPORTED)
+            .forEach(e -> System.out.println(String.format("  %6d ms  %s", e.getValue(), e.getKey())));
     }
-    System.exit(exitCode.get());
-}
 
     private static String[] convertOldStyleArgsIfPossible(String[] args) {
         if (args.length == 2) {
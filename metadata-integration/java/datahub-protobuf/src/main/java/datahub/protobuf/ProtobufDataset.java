@@ -1,6 +1,5 @@
 package datahub.protobuf;
 
-import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.FabricType;
 import com.linkedin.common.Status;
@@ -15,6 +14,7 @@ import com.linkedin.schema.SchemaField;
 import com.linkedin.schema.SchemaFieldArray;
 import com.linkedin.schema.SchemaMetadata;
 import com.linkedin.util.Pair;
+import datahub.protobuf.model.ProtobufDescriptorSet;
 import datahub.protobuf.model.ProtobufGraph;
 import datahub.protobuf.visitors.ProtobufModelVisitor;
 import datahub.protobuf.visitors.VisitContext;
@@ -34,7 +34,6 @@ import datahub.protobuf.visitors.tags.TagVisitor;
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Base64;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Optional;
@@ -55,6 +54,7 @@ public class ProtobufDataset {
         private FabricType fabricType;
         private AuditStamp auditStamp;
         private byte[] protocBytes;
+        private ProtobufDescriptorSet descriptorSet;
         private String messageName;
         private String filename;
         private String schema;
@@ -91,6 +91,15 @@ public class ProtobufDataset {
             return this;
         }
 
+        /**
+         * Uses descriptors that were already parsed, instead of parsing the protoc bytes, to share them between the
+         * datasets of all the files of a descriptor.
+         */
+        public Builder setDescriptorSet(ProtobufDescriptorSet descriptorSet) {
+            this.descriptorSet = descriptorSet;
+            return this;
+        }
+
         public Builder setFabricType(FabricType fabricType) {
             this.fabricType = fabricType;
             return this;
@@ -121,13 +130,14 @@ public class ProtobufDataset {
         }
 
         public ProtobufDataset build() throws IOException {
-            FileDescriptorSet fileSet = FileDescriptorSet.parseFrom(protocBytes);
+            ProtobufDescriptorSet descriptors = descriptorSet != null ? descriptorSet
+                    : ProtobufDescriptorSet.parseFrom(protocBytes);
 
             return new ProtobufDataset(
                     this,
                     Optional.ofNullable(dataPlatformUrn).orElse(new DataPlatformUrn("kafka")),
                     datasetUrn,
-                    new ProtobufGraph(fileSet, messageName, filename), schema, auditStamp, fabricType)
+                    new ProtobufGraph(descriptors, messageName, filename, true), schema, auditStamp, fabricType)
                     .setMetadataChangeProposalVisitors(
                             List.of(
                                     new TagVisitor()
@@ -135,7 +145,7 @@ public class ProtobufDataset {
                     )
                     .setFieldVisitor(new ProtobufExtensionFieldVisitor())
                     .setDatasetVisitor(DatasetVisitor.builder()
-                            .protocBase64(Base64.getEncoder().encodeToString(protocBytes))
+                            .protocBase64(descriptors.getProtocBase64())
                             .datasetPropertyVisitors(
                                     List.of(
                                             new KafkaTopicPropertyVisitor(),
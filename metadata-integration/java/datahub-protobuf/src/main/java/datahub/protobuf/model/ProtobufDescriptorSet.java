@@ -0,0 +1,64 @@
+package datahub.protobuf.model;
+
+import com.google.protobuf.DescriptorProtos;
+import com.google.protobuf.ExtensionRegistry;
+import com.google.protobuf.InvalidProtocolBufferException;
+import datahub.protobuf.ProtobufUtils;
+
+import java.util.Base64;
+
+
+/**
+ * A descriptor set parsed together with the extensions it declares.
+ *
+ * Building the extension registry and re-parsing the descriptors with it is the costly part of building a
+ * {@link ProtobufGraph}, and does not depend on the source file, so a single instance can be shared by the graphs of
+ * all the files of a descriptor, including across threads.
+ */
+public class ProtobufDescriptorSet {
+    private final DescriptorProtos.FileDescriptorSet fileSet;
+    private final ExtensionRegistry registry;
+    private final byte[] protocBytes;
+    private volatile String protocBase64;
+
+    private ProtobufDescriptorSet(DescriptorProtos.FileDescriptorSet fileSet, ExtensionRegistry registry,
+                                  byte[] protocBytes) {
+        this.fileSet = fileSet;
+        this.registry = registry;
+        this.protocBytes = protocBytes;
+    }
+
+    public static ProtobufDescriptorSet parseFrom(byte[] protocBytes) throws InvalidProtocolBufferException {
+        return of(DescriptorProtos.FileDescriptorSet.parseFrom(protocBytes), protocBytes);
+    }
+
+    public static ProtobufDescriptorSet of(DescriptorProtos.FileDescriptorSet fileSet) throws InvalidProtocolBufferException {
+        return of(fileSet, fileSet.toByteArray());
+    }
+
+    private static ProtobufDescriptorSet of(DescriptorProtos.FileDescriptorSet fileSet, byte[] protocBytes)
+            throws InvalidProtocolBufferException {
+        ExtensionRegistry registry = ProtobufUtils.buildRegistry(fileSet);
+        DescriptorProtos.FileDescriptorSet fileSetExtended = DescriptorProtos.FileDescriptorSet
+                .parseFrom(protocBytes, registry);
+        return new ProtobufDescriptorSet(fileSetExtended, registry, protocBytes);
+    }
+
+    /**
+     * The descriptors, with their options parsed using the declared extensions.
+     */
+    public DescriptorProtos.FileDescriptorSet getFileSet() {
+        return fileSet;
+    }
+
+    public ExtensionRegistry getRegistry() {
+        return registry;
+    }
+
+    public String getProtocBase64() {
+        if (protocBase64 == null) {
+            protocBase64 = Base64.getEncoder().encodeToString(protocBytes);
+        }
+        return protocBase64;
+    }
+}
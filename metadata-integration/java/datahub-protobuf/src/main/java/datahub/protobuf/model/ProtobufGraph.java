@@ -3,14 +3,15 @@ package datahub.protobuf.model;
 import com.google.protobuf.DescriptorProtos;
 import com.google.protobuf.ExtensionRegistry;
 import com.google.protobuf.InvalidProtocolBufferException;
-import datahub.protobuf.ProtobufUtils;
 import datahub.protobuf.visitors.ProtobufModelVisitor;
 import datahub.protobuf.visitors.VisitContext;
 import org.jgrapht.GraphPath;
-import org.jgrapht.alg.shortestpath.AllDirectedPaths;
 import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.GraphWalk;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -22,7 +23,9 @@ import java.util.stream.Stream;
 
 public class ProtobufGraph extends DefaultDirectedGraph<ProtobufElement, FieldTypeEdge> {
     private final transient ProtobufMessage rootProtobufMessage;
-    private final transient AllDirectedPaths<ProtobufElement, FieldTypeEdge> directedPaths;
+    // All simple paths from a source vertex, keyed by target vertex, computed on first use.
+    private final transient Map<ProtobufElement, Map<ProtobufElement, List<GraphPath<ProtobufElement, FieldTypeEdge>>>> pathsBySource =
+            new HashMap<>();
     private final transient ExtensionRegistry registry;
 
     public ProtobufGraph(DescriptorProtos.FileDescriptorSet fileSet) throws InvalidProtocolBufferException {
@@ -39,10 +42,14 @@ public class ProtobufGraph extends DefaultDirectedGraph<ProtobufElement, FieldTy
 
     public ProtobufGraph(DescriptorProtos.FileDescriptorSet fileSet, String messageName, String filename,
                          boolean flattenGoogleWrapped) throws InvalidProtocolBufferException {
+        this(ProtobufDescriptorSet.of(fileSet), messageName, filename, flattenGoogleWrapped);
+    }
+
+    public ProtobufGraph(ProtobufDescriptorSet descriptorSet, String messageName, String filename,
+                         boolean flattenGoogleWrapped) {
         super(FieldTypeEdge.class);
-        this.registry = ProtobufUtils.buildRegistry(fileSet);
-        DescriptorProtos.FileDescriptorSet fileSetExtended = DescriptorProtos.FileDescriptorSet
-                .parseFrom(fileSet.toByteArray(), this.registry);
+        this.registry = descriptorSet.getRegistry();
+        DescriptorProtos.FileDescriptorSet fileSetExtended = descriptorSet.getFileSet();
         buildProtobufGraph(fileSetExtended);
         if (flattenGoogleWrapped) {
             flattenGoogleWrapped();
@@ -65,12 +72,43 @@ public class ProtobufGraph extends DefaultDirectedGraph<ProtobufElement, FieldTy
                         .orElseThrow(() -> new IllegalArgumentException("Cannot autodetect root protobuf Message."));
             }
         }
-
-        this.directedPaths = new AllDirectedPaths<>(this);
     }
 
+    /**
+     * Returns all simple paths from a to b. The paths from a to every vertex are enumerated together on the first call
+     * for a, with a single traversal that does not revisit vertices already on the path, and are reused by later calls.
+     */
     public List<GraphPath<ProtobufElement, FieldTypeEdge>> getAllPaths(ProtobufElement a, ProtobufElement b) {
-        return directedPaths.getAllPaths(a, b, true, null);
+        return getAllPathsFrom(a).getOrDefault(b, List.of());
+    }
+
+    private synchronized Map<ProtobufElement, List<GraphPath<ProtobufElement, FieldTypeEdge>>> getAllPathsFrom(ProtobufElement source) {
+        return pathsBySource.computeIfAbsent(source, this::computeAllPaths);
+    }
+
+    Map<ProtobufElement, List<GraphPath<ProtobufElement, FieldTypeEdge>>> computeAllPaths(ProtobufElement source) {
+        Map<ProtobufElement, List<GraphPath<ProtobufElement, FieldTypeEdge>>> paths = new HashMap<>();
+        Set<ProtobufElement> onPath = new HashSet<>();
+        onPath.add(source);
+        collectPaths(source, source, new ArrayList<>(), onPath, paths);
+        return paths;
+    }
+
+    private void collectPaths(ProtobufElement source, ProtobufElement vertex, List<FieldTypeEdge> edges,
+                              Set<ProtobufElement> onPath, Map<ProtobufElement, List<GraphPath<ProtobufElement, FieldTypeEdge>>> paths) {
+        for (FieldTypeEdge edge : outgoingEdgesOf(vertex)) {
+            ProtobufElement target = getEdgeTarget(edge);
+            // Recursive messages: only follow an edge if it does not close a cycle on the current path.
+            if (!onPath.add(target)) {
+                continue;
+            }
+            edges.add(edge);
+            paths.computeIfAbsent(target, t -> new ArrayList<>())
+                    .add(new GraphWalk<>(this, source, target, List.copyOf(edges), edges.size()));
+            collectPaths(source, target, edges, onPath, paths);
+            edges.remove(edges.size() - 1);
+            onPath.remove(target);
+        }
     }
 
     public ExtensionRegistry getRegistry() {
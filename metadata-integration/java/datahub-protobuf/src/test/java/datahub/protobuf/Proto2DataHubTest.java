@@ -0,0 +1,88 @@
+package datahub.protobuf;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import datahub.client.Emitter;
+import datahub.client.file.FileEmitter;
+import datahub.client.file.FileEmitterConfig;
+import org.apache.commons.cli.DefaultParser;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static datahub.protobuf.TestFixtures.getTestProtoSource;
+import static datahub.protobuf.TestFixtures.getTestProtoc;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+
+public class Proto2DataHubTest {
+
+    private static final int COPIES = 4;
+
+    @Test
+    public void parallelEmitFilesTest() throws Exception {
+        Path inputDir = Files.createTempDirectory("proto2datahub");
+        for (int i = 0; i < COPIES; i++) {
+            Path dir = Files.createDirectories(inputDir.resolve("copy" + i).resolve("protobuf"));
+            for (String name : List.of("messageA", "messageB")) {
+                Files.writeString(dir.resolve(name + ".proto"), getTestProtoSource("protobuf", name));
+            }
+        }
+        // messageB's descriptor includes messageA, which it imports
+        Path protoc = Files.createTempFile("messageB", ".protoc");
+        Files.write(protoc, getTestProtoc("protobuf", "messageB").readAllBytes());
+
+        List<String> sequential = emitFiles(inputDir, protoc, 1);
+        List<String> parallel = emitFiles(inputDir, protoc, COPIES);
+
+        assertFalse(sequential.isEmpty());
+        assertEquals(sequential, parallel);
+    }
+
+    /**
+     * Emits the files to a file emitter, which all the threads share, and returns the urn and aspect of every event
+     * written, once the output has been parsed back.
+     */
+    private static List<String> emitFiles(Path inputDir, Path protoc, int parallelism) throws Exception {
+        Path output = Files.createTempFile("proto2datahub", ".json");
+        Proto2DataHub.AppConfig config = new Proto2DataHub.AppConfig(new DefaultParser().parse(
+            Proto2DataHub.createOptions(), new String[]{
+                "--descriptor", protoc.toString(),
+                "--directory", inputDir.toString(),
+                "--transport", "file",
+                "--filename", output.toString(),
+                "--parallelism", String.valueOf(parallelism),
+                "--max_in_flight", "8"})).validate();
+
+        Emitter emitter = new FileEmitter(FileEmitterConfig.builder().fileName(output.toString()).build());
+        AtomicInteger totalEvents = new AtomicInteger();
+        AtomicInteger totalFiles = new AtomicInteger();
+        int exitCode;
+        try {
+            exitCode = Proto2DataHub.emitFiles(config, emitter,
+                new DirectoryWalker(inputDir.toString(), null).walkFiles(), totalEvents, totalFiles);
+        } finally {
+            emitter.close();
+        }
+
+        assertEquals(0, exitCode);
+        assertEquals(2 * COPIES, totalFiles.get());
+
+        // Interleaved writes would not parse back
+        List<String> events = new ArrayList<>();
+        for (JsonElement element : JsonParser.parseString(Files.readString(output)).getAsJsonArray()) {
+            JsonObject event = element.getAsJsonObject();
+            events.add(event.get("entityUrn").getAsString() + " " + event.get("aspectName").getAsString());
+        }
+        assertEquals(totalEvents.get(), events.size());
+        Collections.sort(events);
+        return events;
+    }
+}
@@ -53,6 +53,40 @@ public class TestFixtures {
                 .parseFrom(getTestProtoc(protoPackage, filename).readAllBytes());
     }
 
+    /**
+     * A synthetic descriptor set with a chain of message types, bench.Level0 to bench.Level{depth - 1}. Each level has
+     * scalar fields and fanout fields of the next level's type, and the last level refers to itself.
+     */
+    public static DescriptorProtos.FileDescriptorSet getSyntheticProtobufFileSet(int depth, int fanout, int scalarFields) {
+        DescriptorProtos.FileDescriptorProto.Builder file = DescriptorProtos.FileDescriptorProto.newBuilder()
+                .setName("bench/synthetic.proto")
+                .setPackage("bench")
+                .setSyntax("proto3");
+        for (int level = 0; level < depth; level++) {
+            DescriptorProtos.DescriptorProto.Builder message = DescriptorProtos.DescriptorProto.newBuilder()
+                    .setName("Level" + level);
+            int number = 1;
+            for (int i = 0; i < scalarFields; i++) {
+                message.addField(DescriptorProtos.FieldDescriptorProto.newBuilder()
+                        .setName("field_" + i)
+                        .setNumber(number++)
+                        .setType(DescriptorProtos.FieldDescriptorProto.Type.TYPE_STRING)
+                        .setLabel(DescriptorProtos.FieldDescriptorProto.Label.LABEL_OPTIONAL));
+            }
+            int childLevel = Math.min(level + 1, depth - 1);
+            for (int i = 0; i < (level + 1 < depth ? fanout : 1); i++) {
+                message.addField(DescriptorProtos.FieldDescriptorProto.newBuilder()
+                        .setName("child_" + i)
+                        .setNumber(number++)
+                        .setType(DescriptorProtos.FieldDescriptorProto.Type.TYPE_MESSAGE)
+                        .setTypeName(".bench.Level" + childLevel)
+                        .setLabel(DescriptorProtos.FieldDescriptorProto.Label.LABEL_OPTIONAL));
+            }
+            file.addMessageType(message);
+        }
+        return DescriptorProtos.FileDescriptorSet.newBuilder().addFile(file).build();
+    }
+
     public static VisitContext.VisitContextBuilder getVisitContextBuilder(String message) {
         return VisitContext.builder()
                 .datasetUrn(new DatasetUrn(TEST_DATA_PLATFORM, message, FabricType.TEST))
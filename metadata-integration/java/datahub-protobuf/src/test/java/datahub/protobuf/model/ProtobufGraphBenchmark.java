@@ -0,0 +1,71 @@
+package datahub.protobuf.model;
+
+import org.jgrapht.alg.shortestpath.AllDirectedPaths;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static datahub.protobuf.TestFixtures.getSyntheticProtobufFileSet;
+
+
+/**
+ * Compares enumerating the root to field paths of every field with a JGraphT search per field (the previous behavior of
+ * {@link ProtobufGraph#getAllPaths}) against the single traversal of {@link ProtobufGraph#computeAllPaths}, over
+ * synthetic nested and recursive message types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtobufGraphBenchmark {
+
+    @Param({"4", "8"})
+    public int depth;
+
+    @Param({"2"})
+    public int fanout;
+
+    @Param({"20"})
+    public int scalarFields;
+
+    private ProtobufGraph graph;
+    private List<ProtobufField> fields;
+
+    @Setup
+    public void setup() throws Exception {
+        graph = new ProtobufGraph(getSyntheticProtobufFileSet(depth, fanout, scalarFields), "bench.Level0");
+        fields = graph.vertexSet().stream()
+                .filter(v -> v instanceof ProtobufField)
+                .map(ProtobufField.class::cast)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public int allDirectedPathsPerField() {
+        AllDirectedPaths<ProtobufElement, FieldTypeEdge> directedPaths = new AllDirectedPaths<>(graph);
+        int paths = 0;
+        for (ProtobufField field : fields) {
+            paths += directedPaths.getAllPaths(graph.root(), field, true, null).size();
+        }
+        return paths;
+    }
+
+    @Benchmark
+    public int singleTraversal() {
+        return graph.computeAllPaths(graph.root()).values().stream().mapToInt(List::size).sum();
+    }
+}
@@ -1,6 +1,7 @@
 package datahub.protobuf.model;
 
 import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
+import org.jgrapht.alg.shortestpath.AllDirectedPaths;
 import org.junit.Test;
 
 import java.io.IOException;
@@ -8,6 +9,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static datahub.protobuf.TestFixtures.getSyntheticProtobufFileSet;
 import static datahub.protobuf.TestFixtures.getTestProtobufFileSet;
 import static datahub.protobuf.TestFixtures.getTestProtobufGraph;
 import static org.junit.jupiter.api.Assertions.*;
@@ -47,6 +49,24 @@ public class ProtobufGraphTest {
         assertEquals(test, new ProtobufGraph(fileset, "protobuf.MessageB"));
     }
 
+    @Test
+    public void allPathsTest() throws IOException {
+        List<ProtobufGraph> graphs = List.of(
+                getTestProtobufGraph("protobuf", "messageA"),
+                getTestProtobufGraph("protobuf", "messageB"),
+                getTestProtobufGraph("protobuf", "messageC"),
+                getTestProtobufGraph("protobuf", "messageC2"),
+                new ProtobufGraph(getSyntheticProtobufFileSet(4, 2, 3), "bench.Level0"));
+
+        for (ProtobufGraph graph : graphs) {
+            AllDirectedPaths<ProtobufElement, FieldTypeEdge> expected = new AllDirectedPaths<>(graph);
+            for (ProtobufElement vertex : graph.vertexSet()) {
+                assertEquals(new HashSet<>(expected.getAllPaths(graph.root(), vertex, true, null)),
+                        new HashSet<>(graph.getAllPaths(graph.root(), vertex)), vertex.fullName());
+            }
+        }
+    }
+
     @Test
     public void commentTest() throws IOException {
         ProtobufGraph test = getTestProtobufGraph("protobuf", "messageC");
@@ -7,12 +7,26 @@ import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -31,6 +45,7 @@ import org.apache.spark.sql.execution.SQLExecution;
 import org.apache.spark.sql.execution.ui.SparkListenerSQLExecutionEnd;
 import org.apache.spark.sql.execution.ui.SparkListenerSQLExecutionStart;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Splitter;
 import com.typesafe.config.Config;
 
@@ -62,16 +77,55 @@ public class DatahubSparkListener extends SparkListener {
 
   public static final String COALESCE_KEY = "coalesce_jobs";
 
+  public static final String WORKER_THREADS_KEY = "lineage.worker_threads";
+  public static final String WORKER_QUEUE_SIZE_KEY = "lineage.queue_size";
+  public static final String SHUTDOWN_TIMEOUT_SEC_KEY = "lineage.shutdown_timeout_sec";
+  private static final int DEFAULT_WORKER_THREADS = 1;
+  private static final int DEFAULT_WORKER_QUEUE_SIZE = 1000;
+  private static final long DEFAULT_SHUTDOWN_TIMEOUT_SEC = 60;
+  private static final int MAX_CACHED_LINEAGES = 100;
+
   private final Map<String, AppStartEvent> appDetails = new ConcurrentHashMap<>();
   private final Map<String, Map<Long, SQLQueryExecStartEvent>> appSqlDetails = new ConcurrentHashMap<>();
   private final Map<String, McpEmitter> appEmitters = new ConcurrentHashMap<>();
   private final Map<String, Config> appConfig = new ConcurrentHashMap<>();
+  // Pending extraction tasks, so that the end of an execution is processed after its start, and the application end
+  // after all of its executions.
+  private final Map<String, Map<Long, Future<?>>> appSqlTasks = new ConcurrentHashMap<>();
+  private final Map<String, Queue<Future<?>>> appTasks = new ConcurrentHashMap<>();
+  // Lineage extracted from recent plans, reused when an application runs the same query again.
+  private final Map<String, Map<Integer, ExtractedLineage>> appLineageCache = new ConcurrentHashMap<>();
+  private final AtomicLong droppedEvents = new AtomicLong();
+  private volatile ThreadPoolExecutor workers;
 
   public DatahubSparkListener() {
     log.info("DatahubSparkListener initialised.");
   }
 
-  private class SqlStartTask {
+  @VisibleForTesting
+  DatahubSparkListener(ThreadPoolExecutor workers) {
+    this();
+    this.workers = workers;
+  }
+
+  private static class ExtractedLineage {
+
+    private final LogicalPlan plan;
+    private final SparkDataset sink;
+    private final Set<SparkDataset> sources;
+
+    private ExtractedLineage(LogicalPlan plan, DatasetLineage lineage) {
+      this.plan = plan;
+      this.sink = lineage.getSink();
+      this.sources = lineage.getSources();
+    }
+  }
+
+  /**
+   * Extracts the lineage of a SQL execution. Created on the listener thread with a reference to the already optimized
+   * plan, and run on a worker thread.
+   */
+  private class SqlStartTask implements Runnable {
 
     private final SparkListenerSQLExecutionStart sqlStart;
     private final SparkContext ctx;
@@ -81,14 +135,17 @@ public class DatahubSparkListener extends SparkListener {
       this.sqlStart = sqlStart;
       this.plan = plan;
       this.ctx = ctx;
-
-      String jsonPlan = (plan != null) ? plan.toJSON() : null;
-      String sqlStartJson =
-          (sqlStart != null) ? JsonMethods$.MODULE$.compact(JsonProtocol.sparkEventToJson(sqlStart)) : null;
-      log.debug("SqlStartTask with parameters: sqlStart: {}, plan: {}, ctx: {}", sqlStartJson, jsonPlan, ctx);
     }
 
+    @Override
     public void run() {
+      if (log.isDebugEnabled()) {
+        String jsonPlan = (plan != null) ? plan.toJSON() : null;
+        String sqlStartJson =
+            (sqlStart != null) ? JsonMethods$.MODULE$.compact(JsonProtocol.sparkEventToJson(sqlStart)) : null;
+        log.debug("SqlStartTask with parameters: sqlStart: {}, plan: {}, ctx: {}", sqlStartJson, jsonPlan, ctx);
+      }
+
       if (ctx == null) {
         log.error("Context is null skipping run");
         return;
@@ -104,19 +161,72 @@ public class DatahubSparkListener extends SparkListener {
         return;
       }
 
-      appSqlDetails.get(ctx.applicationId())
-          .put(sqlStart.executionId(),
-              new SQLQueryExecStartEvent(ctx.conf().get("spark.master"), getPipelineName(ctx), ctx.applicationId(),
-                  sqlStart.time(), sqlStart.executionId(), null));
+      // The application may have ended while this task was queued
+      Map<Long, SQLQueryExecStartEvent> sqlDetails = appSqlDetails.get(ctx.applicationId());
+      if (sqlDetails == null) {
+        log.warn("Application {} already ended, skipping lineage of execution id {}", ctx.applicationId(),
+            sqlStart.executionId());
+        return;
+      }
+      sqlDetails.put(sqlStart.executionId(),
+          new SQLQueryExecStartEvent(ctx.conf().get("spark.master"), getPipelineName(ctx), ctx.applicationId(),
+              sqlStart.time(), sqlStart.executionId(), null));
       log.debug("PLAN for execution id: " + getPipelineName(ctx) + ":" + sqlStart.executionId() + "\n");
-      log.debug(plan.toString());
+      log.debug("{}", plan);
 
-      Optional<? extends Collection<SparkDataset>> outputDS = DatasetExtractor.asDataset(plan, ctx, true);
-      if (!outputDS.isPresent() || outputDS.get().isEmpty()) {
+      DatasetLineage lineage = extractLineage();
+      if (lineage == null) {
         log.debug("Skipping execution as no output dataset present for execution id: " + ctx.applicationId() + ":"
             + sqlStart.executionId());
         return;
       }
+
+      SQLQueryExecStartEvent evt =
+          new SQLQueryExecStartEvent(ctx.conf().get("spark.master"), getPipelineName(ctx), ctx.applicationId(),
+              sqlStart.time(), sqlStart.executionId(), lineage);
+
+      sqlDetails.put(sqlStart.executionId(), evt);
+
+      McpEmitter emitter = appEmitters.get(ctx.applicationId());
+      if (emitter != null) {
+        emitter.accept(evt);
+      }
+      consumers().forEach(c -> c.accept(evt));
+
+      log.debug("LINEAGE \n{}\n", lineage);
+      log.debug("Parsed execution id {}:{}", ctx.appName(), sqlStart.executionId());
+    }
+
+    /**
+     * Returns the lineage of the plan, reusing the sources and sink of an earlier execution of the same query, or null
+     * if the plan has no output dataset.
+     */
+    private DatasetLineage extractLineage() {
+      Map<Integer, ExtractedLineage> cache = appLineageCache.get(ctx.applicationId());
+      Integer planHash = null;
+      ExtractedLineage cached = null;
+      try {
+        planHash = cache != null ? plan.semanticHash() : null;
+        cached = planHash != null ? cache.get(planHash) : null;
+        cached = cached != null && plan.sameResult(cached.plan) ? cached : null;
+      } catch (RuntimeException e) {
+        log.debug("Plan could not be canonicalized, lineage will not be reused", e);
+      }
+      if (cached != null) {
+        log.debug("Reusing lineage of an identical plan for execution id: {}", sqlStart.executionId());
+        DatasetLineage lineage = new DatasetLineage(sqlStart.description(), plan.toString(), cached.sink);
+        cached.sources.forEach(lineage::addSource);
+        return lineage;
+      }
+
+      Config datahubConfig = appConfig.computeIfAbsent(ctx.applicationId(), s -> LineageUtils.parseSparkConfig());
+      // Nested plans can share nodes with the main plan, so each node is only extracted once.
+      Map<LogicalPlan, Optional<? extends Collection<SparkDataset>>> extracted = new IdentityHashMap<>();
+
+      Optional<? extends Collection<SparkDataset>> outputDS = DatasetExtractor.asDataset(plan, ctx, true, datahubConfig);
+      if (!outputDS.isPresent() || outputDS.get().isEmpty()) {
+        return null;
+      }
       // Here assumption is that there will be only single target for single sql query
       DatasetLineage lineage =
           new DatasetLineage(sqlStart.description(), plan.toString(), outputDS.get().iterator().next());
@@ -126,8 +236,9 @@ public class DatahubSparkListener extends SparkListener {
 
         @Override
         public Void apply(LogicalPlan plan) {
-          log.debug("CHILD " + plan.getClass() + "\n" + plan + "\n-------------\n");
-          Optional<? extends Collection<SparkDataset>> inputDS = DatasetExtractor.asDataset(plan, ctx, false);
+          log.debug("CHILD {}\n{}\n-------------\n", plan.getClass(), plan);
+          Optional<? extends Collection<SparkDataset>> inputDS =
+              extracted.computeIfAbsent(plan, p -> DatasetExtractor.asDataset(p, ctx, false, datahubConfig));
           inputDS.ifPresent(x -> x.forEach(y -> lineage.addSource(y)));
           allInners.addAll(JavaConversions.asJavaCollection(plan.innerChildren()));
           return null;
@@ -149,8 +260,9 @@ public class DatahubSparkListener extends SparkListener {
 
           @Override
           public Void apply(LogicalPlan plan) {
-            log.debug("INNER CHILD " + plan.getClass() + "\n" + plan + "\n-------------\n");
-            Optional<? extends Collection<SparkDataset>> inputDS = DatasetExtractor.asDataset(plan, ctx, false);
+            log.debug("INNER CHILD {}\n{}\n-------------\n", plan.getClass(), plan);
+            Optional<? extends Collection<SparkDataset>> inputDS =
+                extracted.computeIfAbsent(plan, p -> DatasetExtractor.asDataset(p, ctx, false, datahubConfig));
             inputDS.ifPresent(
                 x -> log.debug("source added for " + ctx.appName() + "/" + sqlStart.executionId() + ": " + x));
             inputDS.ifPresent(x -> x.forEach(y -> lineage.addSource(y)));
@@ -164,20 +276,10 @@ public class DatahubSparkListener extends SparkListener {
         });
       }
 
-      SQLQueryExecStartEvent evt =
-          new SQLQueryExecStartEvent(ctx.conf().get("spark.master"), getPipelineName(ctx), ctx.applicationId(),
-              sqlStart.time(), sqlStart.executionId(), lineage);
-
-      appSqlDetails.get(ctx.applicationId()).put(sqlStart.executionId(), evt);
-
-      McpEmitter emitter = appEmitters.get(ctx.applicationId());
-      if (emitter != null) {
-        emitter.accept(evt);
+      if (planHash != null) {
+        cache.put(planHash, new ExtractedLineage(plan, lineage));
       }
-      consumers().forEach(c -> c.accept(evt));
-
-      log.debug("LINEAGE \n{}\n", lineage);
-      log.debug("Parsed execution id {}:{}", ctx.appName(), sqlStart.executionId());
+      return lineage;
     }
   }
 
@@ -212,8 +314,11 @@ public class DatahubSparkListener extends SparkListener {
         @Override
         public Void apply(SparkContext sc) {
           log.info("Application ended : {} {}", sc.appName(), sc.applicationId());
+          awaitTasks(sc.applicationId());
           AppStartEvent start = appDetails.remove(sc.applicationId());
           appSqlDetails.remove(sc.applicationId());
+          appSqlTasks.remove(sc.applicationId());
+          appLineageCache.remove(sc.applicationId());
           if (start == null) {
             log.error("Application end event received, but start event missing for appId " + sc.applicationId());
           } else {
@@ -280,30 +385,141 @@ public class DatahubSparkListener extends SparkListener {
 
       @Override
       public Void apply(SparkContext sc) {
-        SQLQueryExecStartEvent start = appSqlDetails.get(sc.applicationId()).remove(sqlEnd.executionId());
-        if (start == null) {
-          log.error(
-              "Execution end event received, but start event missing for appId/sql exec Id " + sc.applicationId() + ":"
-                  + sqlEnd.executionId());
-        } else if (start.getDatasetLineage() != null) {
-          SQLQueryExecEndEvent evt =
-              new SQLQueryExecEndEvent(LineageUtils.getMaster(sc), sc.appName(), sc.applicationId(), sqlEnd.time(),
-                  sqlEnd.executionId(), start);
-          McpEmitter emitter = appEmitters.get(sc.applicationId());
-          if (emitter != null) {
-            emitter.accept(evt);
+        Map<Long, Future<?>> sqlTasks = appSqlTasks.get(sc.applicationId());
+        Future<?> startTask = sqlTasks != null ? sqlTasks.remove(sqlEnd.executionId()) : null;
+        submit(sc.applicationId(), () -> {
+          if (startTask != null) {
+            // Tasks are taken in submission order, so the start task is running or done by now.
+            try {
+              startTask.get();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              return;
+            } catch (ExecutionException | CancellationException e) {
+              log.debug("Lineage extraction failed for sql exec Id {}", sqlEnd.executionId());
+            }
           }
-        }
+          processExecutionEnd(sqlEnd, sc);
+        });
         return null;
       }
     });
   }
 
-  private synchronized void checkOrCreateApplicationSetup(SparkContext ctx) {
-    ExecutorService pool = null;
+  private void processExecutionEnd(SparkListenerSQLExecutionEnd sqlEnd, SparkContext sc) {
+    Map<Long, SQLQueryExecStartEvent> sqlDetails = appSqlDetails.get(sc.applicationId());
+    SQLQueryExecStartEvent start = sqlDetails != null ? sqlDetails.remove(sqlEnd.executionId()) : null;
+    if (start == null) {
+      log.error("Execution end event received, but start event missing for appId/sql exec Id " + sc.applicationId() + ":"
+          + sqlEnd.executionId());
+    } else if (start.getDatasetLineage() != null) {
+      SQLQueryExecEndEvent evt =
+          new SQLQueryExecEndEvent(LineageUtils.getMaster(sc), sc.appName(), sc.applicationId(), sqlEnd.time(),
+              sqlEnd.executionId(), start);
+      McpEmitter emitter = appEmitters.get(sc.applicationId());
+      if (emitter != null) {
+        emitter.accept(evt);
+      }
+    }
+  }
+
+  /**
+   * Runs the task on the lineage worker pool. When the pool queue is full the task is dropped rather than blocking the
+   * listener bus.
+   */
+  @VisibleForTesting
+  Future<?> submit(String appId, Runnable task) {
+    try {
+      Future<?> future = getWorkers().submit(task);
+      Queue<Future<?>> tasks = appTasks.computeIfAbsent(appId, s -> new ConcurrentLinkedQueue<>());
+      tasks.removeIf(Future::isDone);
+      tasks.add(future);
+      return future;
+    } catch (RejectedExecutionException e) {
+      log.warn("Lineage worker queue is full, dropping lineage event. Dropped events so far: {}",
+          droppedEvents.incrementAndGet());
+      return null;
+    }
+  }
+
+  @VisibleForTesting
+  long getDroppedEvents() {
+    return droppedEvents.get();
+  }
+
+  /**
+   * Waits until the lineage of the application handed to the listener so far has been extracted and emitted.
+   * @return whether all of it was emitted before the timeouts
+   */
+  @VisibleForTesting
+  boolean flush(String appId) {
+    awaitTasks(appId);
+    McpEmitter emitter = appEmitters.get(appId);
+    return emitter == null || emitter.flush();
+  }
+
+  private ThreadPoolExecutor getWorkers() {
+    if (workers == null) {
+      synchronized (this) {
+        if (workers == null) {
+          Config datahubConf = LineageUtils.parseSparkConfig();
+          int threads = datahubConf.hasPath(WORKER_THREADS_KEY) ? datahubConf.getInt(WORKER_THREADS_KEY)
+              : DEFAULT_WORKER_THREADS;
+          int queueSize = datahubConf.hasPath(WORKER_QUEUE_SIZE_KEY) ? datahubConf.getInt(WORKER_QUEUE_SIZE_KEY)
+              : DEFAULT_WORKER_QUEUE_SIZE;
+          AtomicInteger threadCount = new AtomicInteger();
+          workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+              new ArrayBlockingQueue<>(queueSize), r -> {
+                Thread thread = new Thread(r, "datahub-lineage-worker-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+              });
+        }
+      }
+    }
+    return workers;
+  }
+
+  /**
+   * Waits for the pending lineage tasks of the application, up to the shutdown timeout.
+   */
+  private void awaitTasks(String appId) {
+    Queue<Future<?>> tasks = appTasks.remove(appId);
+    Config datahubConf = appConfig.computeIfAbsent(appId, s -> LineageUtils.parseSparkConfig());
+    long timeoutSec = datahubConf.hasPath(SHUTDOWN_TIMEOUT_SEC_KEY) ? datahubConf.getLong(SHUTDOWN_TIMEOUT_SEC_KEY)
+        : DEFAULT_SHUTDOWN_TIMEOUT_SEC;
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeoutSec);
+    if (tasks != null) {
+      for (Future<?> task : tasks) {
+        try {
+          task.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+          log.warn("Timed out waiting for lineage extraction of application {}", appId);
+          break;
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        } catch (ExecutionException | CancellationException e) {
+          log.warn("Lineage extraction failed", e);
+        }
+      }
+    }
+    if (droppedEvents.get() > 0) {
+      log.warn("{} lineage events were dropped because the lineage worker queue was full", droppedEvents.get());
+    }
+  }
+
+  private void checkOrCreateApplicationSetup(SparkContext ctx) {
+    String appId = ctx.applicationId();
+    if (appDetails.containsKey(appId)) {
+      return;
+    }
+    createApplicationSetup(ctx);
+  }
+
+  private synchronized void createApplicationSetup(SparkContext ctx) {
     String appId = ctx.applicationId();
-    Config datahubConfig = appConfig.get(appId);
-    if (datahubConfig == null) {
+    if (!appDetails.containsKey(appId)) {
       Config datahubConf = LineageUtils.parseSparkConfig();
       appConfig.put(appId, datahubConf);
       Config pipelineConfig = datahubConf.hasPath(PIPELINE_KEY) ? datahubConf.getConfig(PIPELINE_KEY)
@@ -316,8 +532,16 @@ public class DatahubSparkListener extends SparkListener {
           s -> datahubConf.hasPath(COALESCE_KEY) && datahubConf.getBoolean(COALESCE_KEY) ? new CoalesceJobsEmitter(
               datahubConf) : new McpEmitter(datahubConf)).accept(evt);
       consumers().forEach(c -> c.accept(evt));
-      appDetails.put(appId, evt);
       appSqlDetails.put(appId, new ConcurrentHashMap<>());
+      appSqlTasks.put(appId, new ConcurrentHashMap<>());
+      appLineageCache.put(appId, Collections.synchronizedMap(new LinkedHashMap<Integer, ExtractedLineage>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, ExtractedLineage> eldest) {
+          return size() > MAX_CACHED_LINEAGES;
+        }
+      }));
+      // Published last, as it marks the setup as complete for the lock free check.
+      appDetails.put(appId, evt);
     }
   }
 
@@ -347,7 +571,11 @@ public class DatahubSparkListener extends SparkListener {
     SparkSession sess = queryExec.sparkSession();
     SparkContext ctx = sess.sparkContext();
     checkOrCreateApplicationSetup(ctx);
-    (new SqlStartTask(sqlStart, plan, ctx)).run();
+    Future<?> task = submit(ctx.applicationId(), new SqlStartTask(sqlStart, plan, ctx));
+    Map<Long, Future<?>> sqlTasks = appSqlTasks.get(ctx.applicationId());
+    if (task != null && sqlTasks != null) {
+      sqlTasks.put(sqlStart.executionId(), task);
+    }
   }
 
   private List<LineageConsumer> consumers() {
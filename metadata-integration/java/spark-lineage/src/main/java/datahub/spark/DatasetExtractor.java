@@ -5,10 +5,12 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.apache.hadoop.conf.Configuration;
@@ -61,6 +63,17 @@ public class DatasetExtractor {
   private static final String TABLE_HIVE_PLATFORM_ALIAS = "metadata.table.hive_platform_alias";
   private static final String INCLUDE_SCHEME_KEY = "metadata.include_scheme";
   private static final String REMOVE_PARTITION_PATTERN = "metadata.remove_partition_pattern";
+  private static final int MAX_CACHED_DIRECTORY_PATHS = 10000;
+  // Plan node classes already reported as unsupported, so that each one is only logged once.
+  private static final Set<Class<?>> UNSUPPORTED_CLASSES = ConcurrentHashMap.newKeySet();
+  // Resolving the directory of an input path requires a file system call, while the same inputs are read repeatedly.
+  private static final Map<Path, Path> DIRECTORY_PATHS =
+      Collections.synchronizedMap(new LinkedHashMap<Path, Path>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, Path> eldest) {
+          return size() > MAX_CACHED_DIRECTORY_PATHS;
+        }
+      });
   // TODO InsertIntoHiveDirCommand, InsertIntoDataSourceDirCommand
 
   private DatasetExtractor() {
@@ -218,7 +231,7 @@ public class DatasetExtractor {
                 .fromSparkPlanNode(leafPlan, ctx, datahubConfig);
             dataset.ifPresent(x -> datasets.addAll(x));
           } else {
-            log.error(leafPlan.getClass() + " is not yet supported. Please contact datahub team for further support.");
+            logUnsupported(leafPlan.getClass());
           }
           return null;
         }
@@ -229,26 +242,44 @@ public class DatasetExtractor {
 
   static Optional<? extends Collection<SparkDataset>> asDataset(LogicalPlan logicalPlan, SparkContext ctx,
       boolean outputNode) {
+    return asDataset(logicalPlan, ctx, outputNode, LineageUtils.parseSparkConfig());
+  }
+
+  /**
+   * Same as {@link #asDataset(LogicalPlan, SparkContext, boolean)}, with the DataHub configuration parsed once by the
+   * caller instead of for every plan node.
+   */
+  static Optional<? extends Collection<SparkDataset>> asDataset(LogicalPlan logicalPlan, SparkContext ctx,
+      boolean outputNode, Config datahubConfig) {
 
     if (!outputNode && OUTPUT_CMD.contains(logicalPlan.getClass())) {
       return Optional.empty();
     }
 
     if (!PLAN_TO_DATASET.containsKey(logicalPlan.getClass())) {
-      log.error(logicalPlan.getClass() + " is not supported yet. Please contact datahub team for further support. ");
+      logUnsupported(logicalPlan.getClass());
       return Optional.empty();
     }
-    Config datahubconfig = LineageUtils.parseSparkConfig();
-    return PLAN_TO_DATASET.get(logicalPlan.getClass()).fromPlanNode(logicalPlan, ctx, datahubconfig);
+    return PLAN_TO_DATASET.get(logicalPlan.getClass()).fromPlanNode(logicalPlan, ctx, datahubConfig);
+  }
+
+  private static void logUnsupported(Class<?> planClass) {
+    if (UNSUPPORTED_CLASSES.add(planClass)) {
+      log.error(planClass + " is not supported yet. Please contact datahub team for further support. ");
+    } else {
+      log.debug(planClass + " is not supported yet.");
+    }
   }
 
   private static Path getDirectoryPath(Path p, Configuration hadoopConf) {
+    Path cached = DIRECTORY_PATHS.get(p);
+    if (cached != null) {
+      return cached;
+    }
     try {
-      if (p.getFileSystem(hadoopConf).getFileStatus(p).isFile()) {
-        return p.getParent();
-      } else {
-        return p;
-      }
+      Path directory = p.getFileSystem(hadoopConf).getFileStatus(p).isFile() ? p.getParent() : p;
+      DIRECTORY_PATHS.put(p, directory);
+      return directory;
     } catch (IOException e) {
       return p;
     }
@@ -2,14 +2,18 @@ package datahub.spark.consumer.impl;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.typesafe.config.Config;
 
+import datahub.client.Callback;
 import datahub.client.Emitter;
+import datahub.client.MetadataWriteResponse;
 import datahub.client.rest.RestEmitter;
 import datahub.client.rest.RestEmitterConfig;
 import datahub.event.MetadataChangeProposalWrapper;
@@ -18,61 +22,202 @@ import datahub.spark.model.LineageEvent;
 import lombok.extern.slf4j.Slf4j;
 
 
+/**
+ * Emits lineage events to DataHub through a single emitter per application.
+ *
+ * Events are added to a bounded queue and drained by a background thread, which emits them asynchronously without
+ * waiting for each response, so the Spark listener thread never waits on DataHub. The underlying emitter, and its
+ * connection pool, is created on first use and reused until {@link #close()}, which flushes the queued events.
+ */
 @Slf4j
 public class McpEmitter implements LineageConsumer {
 
   private String emitterType;
-  private Optional<RestEmitterConfig> restEmitterConfig;
+  private Optional<RestEmitterConfig> restEmitterConfig = Optional.empty();
   private static final String TRANSPORT_KEY = "transport";
   private static final String GMS_URL_KEY = "rest.server";
   private static final String GMS_AUTH_TOKEN = "rest.token";
   private static final String DISABLE_SSL_VERIFICATION_KEY = "rest.disable_ssl_verification";
-  private Optional<Emitter> getEmitter() {
-    Optional<Emitter> emitter = Optional.empty();
-    switch (emitterType) {
-    case "rest":
-      if (restEmitterConfig.isPresent()) {
-        emitter = Optional.of(new RestEmitter(restEmitterConfig.get()));
+  private static final String MAX_QUEUE_SIZE_KEY = "rest.max_queue_size";
+  private static final String ENQUEUE_TIMEOUT_MS_KEY = "rest.enqueue_timeout_ms";
+  private static final String FLUSH_TIMEOUT_SEC_KEY = "rest.flush_timeout_sec";
+  private static final int DEFAULT_MAX_QUEUE_SIZE = 10000;
+  private static final long DEFAULT_ENQUEUE_TIMEOUT_MS = 1000;
+  private static final long DEFAULT_FLUSH_TIMEOUT_SEC = 60;
+  private static final long POLL_INTERVAL_MS = 100;
+
+  private final BlockingQueue<MetadataChangeProposalWrapper> queue;
+  private final long enqueueTimeoutMs;
+  private final long flushTimeoutSec;
+  private final Object pendingLock = new Object();
+  private final AtomicLong pending = new AtomicLong();
+  private final AtomicLong queued = new AtomicLong();
+  private final AtomicLong emitted = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private Emitter emitter;
+  private Thread drainThread;
+  private volatile boolean closed = false;
+
+  private synchronized Optional<Emitter> getEmitter() {
+    if (emitter == null) {
+      switch (emitterType) {
+      case "rest":
+        if (restEmitterConfig.isPresent()) {
+          emitter = new RestEmitter(restEmitterConfig.get());
+        }
+        break;
+
+      default:
+        log.error("DataHub Transport {} not recognized. DataHub Lineage emission will not work", emitterType);
+        break;
+
       }
-      break;
-      
-    default:
-      log.error("DataHub Transport {} not recognized. DataHub Lineage emission will not work", emitterType);
-      break;
-      
     }
-    return emitter;
+    return Optional.ofNullable(emitter);
   }
 
+  /**
+   * Queues the events for emission, waiting up to the enqueue timeout for space in the queue. Events that cannot be
+   * queued in time are dropped and counted as failed.
+   */
   protected void emit(List<MetadataChangeProposalWrapper> mcpws) {
+    if (closed) {
+      log.error("Emitter is closed, dropping {} metadata events", mcpws.size());
+      failed.addAndGet(mcpws.size());
+      return;
+    }
+    startDrainThread();
+    for (MetadataChangeProposalWrapper mcpw : mcpws) {
+      pending.incrementAndGet();
+      boolean added;
+      try {
+        added = queue.offer(mcpw, enqueueTimeoutMs, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        added = false;
+      }
+      if (added) {
+        queued.incrementAndGet();
+      } else {
+        log.error("Emission queue is full, dropping metadata event for {}", mcpw.getEntityUrn());
+        onDone(false);
+      }
+    }
+  }
+
+  private synchronized void startDrainThread() {
+    if (drainThread == null) {
+      drainThread = new Thread(this::drain, "datahub-lineage-emitter");
+      drainThread.setDaemon(true);
+      drainThread.start();
+    }
+  }
+
+  private void drain() {
+    while (!closed || !queue.isEmpty()) {
+      MetadataChangeProposalWrapper mcpw;
+      try {
+        mcpw = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        log.warn("Emission thread interrupted, {} metadata events were not emitted", queue.size());
+        return;
+      }
+      if (mcpw != null) {
+        send(mcpw);
+      }
+    }
+  }
+
+  private void send(MetadataChangeProposalWrapper mcpw) {
     Optional<Emitter> emitter = getEmitter();
-    if (emitter.isPresent()) {
-      mcpws.stream().map(mcpw -> {
-        try {
-          log.debug("emitting mcpw: " + mcpw);
-          return emitter.get().emit(mcpw);
-        } catch (IOException ioException) {
-          log.error("Failed to emit metadata to DataHub", ioException);
-          return null;
+    if (!emitter.isPresent()) {
+      onDone(false);
+      return;
+    }
+    try {
+      log.debug("emitting mcpw: " + mcpw);
+      emitter.get().emit(mcpw, new Callback() {
+        @Override
+        public void onCompletion(MetadataWriteResponse response) {
+          if (response != null && response.isSuccess()) {
+            log.info(response.toString());
+            onDone(true);
+          } else {
+            log.error("Failed to emit metadata to DataHub: {}", response);
+            onDone(false);
+          }
         }
-      }).filter(Objects::nonNull).collect(Collectors.toList()).forEach(future -> {
-        try {
-          log.info(future.get().toString());
-        } catch (InterruptedException | ExecutionException e) {
-          // log error, but don't impact thread
-          log.error("Failed to emit metadata to DataHub", e);
+
+        @Override
+        public void onFailure(Throwable exception) {
+          log.error("Failed to emit metadata to DataHub", exception);
+          onDone(false);
         }
       });
-      try {
-        emitter.get().close();
-      } catch (IOException e) {
-        log.error("Issue while closing emitter" + e);
+    } catch (IOException ioException) {
+      log.error("Failed to emit metadata to DataHub", ioException);
+      onDone(false);
+    }
+  }
+
+  private void onDone(boolean success) {
+    if (success) {
+      emitted.incrementAndGet();
+    } else {
+      failed.incrementAndGet();
+    }
+    if (pending.decrementAndGet() == 0) {
+      synchronized (pendingLock) {
+        pendingLock.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Waits until every queued event has been emitted, or the flush timeout has elapsed.
+   * @return whether all events were emitted before the timeout
+   */
+  public boolean flush() {
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(flushTimeoutSec);
+    synchronized (pendingLock) {
+      while (pending.get() > 0) {
+        long waitMs = deadline - System.currentTimeMillis();
+        if (waitMs <= 0) {
+          log.warn("Timed out flushing {} metadata events to DataHub", pending.get());
+          return false;
+        }
+        try {
+          pendingLock.wait(Math.min(waitMs, POLL_INTERVAL_MS));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return false;
+        }
       }
     }
+    return true;
+  }
+
+  public long getQueuedCount() {
+    return queued.get();
+  }
+
+  public long getEmittedCount() {
+    return emitted.get();
+  }
+
+  public long getFailedCount() {
+    return failed.get();
   }
 
   public McpEmitter(Config datahubConf) {
       emitterType = datahubConf.hasPath(TRANSPORT_KEY) ? datahubConf.getString(TRANSPORT_KEY) : "rest";
+      int maxQueueSize = datahubConf.hasPath(MAX_QUEUE_SIZE_KEY) ? datahubConf.getInt(MAX_QUEUE_SIZE_KEY)
+          : DEFAULT_MAX_QUEUE_SIZE;
+      queue = new ArrayBlockingQueue<>(maxQueueSize);
+      enqueueTimeoutMs = datahubConf.hasPath(ENQUEUE_TIMEOUT_MS_KEY) ? datahubConf.getLong(ENQUEUE_TIMEOUT_MS_KEY)
+          : DEFAULT_ENQUEUE_TIMEOUT_MS;
+      flushTimeoutSec = datahubConf.hasPath(FLUSH_TIMEOUT_SEC_KEY) ? datahubConf.getLong(FLUSH_TIMEOUT_SEC_KEY)
+          : DEFAULT_FLUSH_TIMEOUT_SEC;
       switch (emitterType) {
       case "rest":
           String gmsUrl = datahubConf.hasPath(GMS_URL_KEY) ? datahubConf.getString(GMS_URL_KEY)
@@ -91,7 +236,7 @@ public class McpEmitter implements LineageConsumer {
           restEmitterConfig = Optional.of(RestEmitterConfig.builder()
               .server(gmsUrl).token(token)
               .disableSslVerification(disableSslVerification).build());
-          
+
           break;
       default:
           log.error("DataHub Transport {} not recognized. DataHub Lineage emission will not work", emitterType);
@@ -99,16 +244,42 @@ public class McpEmitter implements LineageConsumer {
       }
   }
 
+  @VisibleForTesting
+  McpEmitter(Config datahubConf, Emitter emitter) {
+    this(datahubConf);
+    this.emitter = emitter;
+  }
+
   @Override
   public void accept(LineageEvent evt) {
     emit(evt.asMetadataEvents());
   }
 
+  /**
+   * Flushes the queued events, then stops the emission thread and closes the underlying emitter.
+   */
   @Override
   public void close() throws IOException {
-    // Nothing to close at this point
-    
+    flush();
+    closed = true;
+    Thread thread;
+    synchronized (this) {
+      thread = drainThread;
+    }
+    if (thread != null) {
+      try {
+        thread.join(TimeUnit.SECONDS.toMillis(flushTimeoutSec));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    synchronized (this) {
+      log.info("DataHub lineage emitter closing. Queued: {}, emitted: {}, failed: {}", queued.get(), emitted.get(),
+          failed.get());
+      if (emitter != null) {
+        emitter.close();
+        emitter = null;
+      }
+    }
   }
-
- 
-}
\ No newline at end of file
+}
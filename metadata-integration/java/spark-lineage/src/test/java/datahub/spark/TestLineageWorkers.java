@@ -0,0 +1,59 @@
+package datahub.spark;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestLineageWorkers {
+
+  private static final String APP_ID = "app-1";
+
+  private ThreadPoolExecutor workers;
+  private DatahubSparkListener listener;
+
+  @Before
+  public void setup() {
+    workers = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+    listener = new DatahubSparkListener(workers);
+  }
+
+  @After
+  public void tearDown() {
+    workers.shutdownNow();
+  }
+
+  @Test
+  public void testEventDroppedWhenQueueFull() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Future<?> running = listener.submit(APP_ID, () -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+    Future<?> queued = listener.submit(APP_ID, () -> { });
+
+    // The only worker is busy and the queue is full, so the next event is dropped without blocking
+    Assert.assertNull(listener.submit(APP_ID, () -> { }));
+    Assert.assertEquals(1, listener.getDroppedEvents());
+
+    release.countDown();
+    running.get(10, TimeUnit.SECONDS);
+    queued.get(10, TimeUnit.SECONDS);
+
+    // Once the queue drains, events are accepted again
+    Assert.assertNotNull(listener.submit(APP_ID, () -> { }));
+    Assert.assertEquals(1, listener.getDroppedEvents());
+  }
+}
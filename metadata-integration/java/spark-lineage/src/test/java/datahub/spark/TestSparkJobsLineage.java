@@ -17,6 +17,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.apache.spark.sql.Dataset;
@@ -156,14 +157,14 @@ public class TestSparkJobsLineage {
   }
 
   @BeforeClass
-  public static void setup() {
+  public static void setup() throws Exception {
 
     acc = new DatasetLineageAccumulator();
     LineageUtils.registerConsumer("accumulator", acc);
     init();
 
     spark = SparkSession.builder().appName(APP_NAME).config("spark.master", MASTER)
-        .config("spark.extraListeners", "datahub.spark.DatahubSparkListener")
+        .config("spark.extraListeners", FlushableListener.class.getName())
         .config("spark.datahub.lineage.consumerTypes", "accumulator")
         .config("spark.datahub.rest.server", "http://localhost:" + mockServer.getPort())
         .config("spark.datahub.metadata.pipeline.platformInstance", PIPELINE_PLATFORM_INSTANCE)
@@ -178,11 +179,21 @@ public class TestSparkJobsLineage {
     jdbcConnnProperties.put("password", db.getPassword());
 
     if (VERIFY_EXPECTED) {
+      awaitLineage();
       verify(2);
       clear();
     }
   }
 
+  /**
+   * Lineage is extracted and emitted asynchronously, so wait until the listener has handled every posted event and
+   * the emitter has flushed what it produced.
+   */
+  private static void awaitLineage() throws Exception {
+    spark.sparkContext().listenerBus().waitUntilEmpty(TimeUnit.SECONDS.toMillis(60));
+    assertTrue(FlushableListener.instance.flush(spark.sparkContext().applicationId()));
+  }
+
   private static void clear() {
     mockServer
         .clear(request().withMethod("POST").withPath("/aspects").withQueryStringParameter("action", "ingestProposal"));
@@ -264,7 +275,7 @@ public class TestSparkJobsLineage {
 
     // InsertIntoHadoopFsRelationCommand
     df.write().mode(SaveMode.Overwrite).csv(DATA_DIR + "/out.csv");
-    Thread.sleep(5000);
+    awaitLineage();
     check(dsl(hdfsDs("out.csv"), hdfsDs("in1.csv"), hdfsDs("in2.csv")), acc.getLineages().get(0));
     if (VERIFY_EXPECTED) {
       verify(1 * N);
@@ -285,7 +296,7 @@ public class TestSparkJobsLineage {
     // SaveIntoDataSourceCommand
     // HadoopFsRelation input
     df.write().mode(SaveMode.Overwrite).jdbc(db.getJdbcUrl(), "foo1", jdbcConnnProperties);
-    Thread.sleep(5000);
+    awaitLineage();
     check(dsl(pgDs("foo1"), hdfsDs("in1.csv"), hdfsDs("in2.csv")), acc.getLineages().get(0));
     if (VERIFY_EXPECTED) {
       verify(1 * N);
@@ -310,7 +321,7 @@ public class TestSparkJobsLineage {
     // SaveIntoDataSourceCommand
     // JDBCRelation input
     df.write().mode(SaveMode.Overwrite).jdbc(db.getJdbcUrl(), "foo3", jdbcConnnProperties);
-    Thread.sleep(5000);
+    awaitLineage();
     check(dsl(pgDs("foo3"), hdfsDs("in1.csv"), pgDs("foo2")), acc.getLineages().get(0));
     if (VERIFY_EXPECTED) {
       verify(1 * N);
@@ -332,7 +343,7 @@ public class TestSparkJobsLineage {
     df.write().mode(SaveMode.Append).saveAsTable(tbl("foo4")); // CreateDataSourceTableAsSelectCommand
     df.write().insertInto(tbl("foo4")); // InsertIntoHadoopFsRelationCommand
 
-    Thread.sleep(5000);
+    awaitLineage();
     // TODO same data accessed as Hive Table or Path URI ??
 
     DatasetLineage exp = dsl(catTblDs("foo4"), hdfsDs("in1.csv"), hdfsDs("in2.csv"));
@@ -373,7 +384,7 @@ public class TestSparkJobsLineage {
 
     // InsertIntoHiveTable
     df.write().insertInto(tbl("hivetab"));
-    Thread.sleep(5000);
+    awaitLineage();
     check(dsl(catTblDs("hivetab"), catTblDs("foo5")), acc.getLineages().get(3));
     if (VERIFY_EXPECTED) {
       verify(4 * N);
@@ -401,7 +412,7 @@ public class TestSparkJobsLineage {
     // SaveIntoDataSourceCommand
     // JDBCRelation input
     df.write().mode(SaveMode.Overwrite).jdbc(db.getJdbcUrl(), "foo7", jdbcConnnProperties);
-    Thread.sleep(5000);
+    awaitLineage();
     check(dsl(pgDs("foo7"), hdfsDs("in1.csv"), hdfsDs("in2.csv"), pgDs("foo6")), acc.getLineages().get(0));
     if (VERIFY_EXPECTED) {
       verify(1 * N);
@@ -421,7 +432,7 @@ public class TestSparkJobsLineage {
     df.show();
     // InsertIntoHadoopFsRelationCommand
     df.write().mode(SaveMode.Overwrite).csv(DATA_DIR + "/out_persist.csv");
-    Thread.sleep(5000);
+    awaitLineage();
     check(dsl(hdfsDs("out_persist.csv"), hdfsDs("in3.csv"), hdfsDs("in4.csv")), acc.getLineages().get(0));
     if (VERIFY_EXPECTED) {
       verify(1 * N);
@@ -446,7 +457,7 @@ public class TestSparkJobsLineage {
     // SaveIntoDataSourceCommand
     // JDBCRelation input
     df.write().mode(SaveMode.Overwrite).jdbc(db.getJdbcUrl(), "foo9", jdbcConnnProperties);
-    Thread.sleep(5000);
+    awaitLineage();
     check(dsl(pgDs("foo9"), hdfsDs("in1.csv"), pgDs("foo8")), acc.getLineages().get(0));
     if (VERIFY_EXPECTED) {
       verify(1 * N);
@@ -466,13 +477,25 @@ public class TestSparkJobsLineage {
     Dataset<Row> df = df1.join(df2, "a");
     
     df.write().mode(SaveMode.Overwrite).csv(DATA_DIR + "/out_persist.csv");
-    Thread.sleep(5000);
+    awaitLineage();
     check(dsl(hdfsDs("out_persist.csv"), pgDs("foo2"), pgDs("foo3")), acc.getLineages().get(0));
     if (VERIFY_EXPECTED) {
       verify(1 * N);
     }
   }
   
+  /**
+   * Registered through spark.extraListeners, keeps hold of the instance Spark creates so the tests can flush it.
+   */
+  public static class FlushableListener extends DatahubSparkListener {
+
+    private static volatile FlushableListener instance;
+
+    public FlushableListener() {
+      instance = this;
+    }
+  }
+
   private static class DatasetLineageAccumulator implements LineageConsumer {
 
     boolean closed = false;
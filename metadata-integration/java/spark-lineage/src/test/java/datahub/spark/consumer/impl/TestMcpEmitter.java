@@ -0,0 +1,183 @@
+package datahub.spark.consumer.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.linkedin.dataset.DatasetProperties;
+import com.linkedin.mxe.MetadataChangeProposal;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import datahub.client.Callback;
+import datahub.client.Emitter;
+import datahub.client.MetadataWriteResponse;
+import datahub.event.MetadataChangeProposalWrapper;
+import datahub.event.UpsertAspectRequest;
+
+public class TestMcpEmitter {
+
+  private static final long TIMEOUT_SEC = 10;
+
+  @Test
+  public void testEventDroppedWhenQueueFull() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    StubEmitter stub = new StubEmitter((mcpw, callback) -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      callback.onCompletion(MetadataWriteResponse.builder().build());
+    });
+    McpEmitter emitter = new McpEmitter(config(1, 200, TIMEOUT_SEC), stub);
+
+    // The emission thread takes the first event and blocks on it, the second one fills the queue
+    emitter.emit(events(1));
+    Assert.assertTrue(started.await(TIMEOUT_SEC, TimeUnit.SECONDS));
+    emitter.emit(events(1));
+
+    long start = System.currentTimeMillis();
+    emitter.emit(events(1));
+    Assert.assertTrue(System.currentTimeMillis() - start >= 200);
+    Assert.assertEquals(2, emitter.getQueuedCount());
+    Assert.assertEquals(1, emitter.getFailedCount());
+
+    release.countDown();
+    Assert.assertTrue(emitter.flush());
+    Assert.assertEquals(2, emitter.getEmittedCount());
+    Assert.assertEquals(1, emitter.getFailedCount());
+    emitter.close();
+  }
+
+  @Test
+  public void testCloseFlushesQueuedEvents() throws Exception {
+    StubEmitter stub = new StubEmitter((mcpw, callback) -> CompletableFuture.runAsync(() -> {
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      callback.onCompletion(MetadataWriteResponse.builder().build());
+    }));
+    McpEmitter emitter = new McpEmitter(config(100, 1000, TIMEOUT_SEC), stub);
+
+    emitter.emit(events(20));
+    emitter.close();
+
+    Assert.assertEquals(20, emitter.getQueuedCount());
+    Assert.assertEquals(20, emitter.getEmittedCount());
+    Assert.assertEquals(0, emitter.getFailedCount());
+    Assert.assertTrue(stub.closed);
+
+    // Events emitted after close are dropped
+    emitter.emit(events(1));
+    Assert.assertEquals(1, emitter.getFailedCount());
+  }
+
+  @Test
+  public void testCloseGivesUpAfterFlushTimeout() throws Exception {
+    // The callbacks never complete
+    StubEmitter stub = new StubEmitter((mcpw, callback) -> { });
+    McpEmitter emitter = new McpEmitter(config(100, 1000, 1), stub);
+
+    emitter.emit(events(3));
+    long start = System.currentTimeMillis();
+    Assert.assertFalse(emitter.flush());
+    emitter.close();
+
+    Assert.assertTrue(System.currentTimeMillis() - start < TimeUnit.SECONDS.toMillis(TIMEOUT_SEC));
+    Assert.assertEquals(3, emitter.getQueuedCount());
+    Assert.assertEquals(0, emitter.getEmittedCount());
+    Assert.assertTrue(stub.closed);
+  }
+
+  @Test
+  public void testCountsEmittedAndFailedEvents() throws Exception {
+    StubEmitter stub = new StubEmitter((mcpw, callback) -> {
+      String urn = mcpw.getEntityUrn();
+      if (urn.endsWith("t1,PROD)")) {
+        callback.onCompletion(MetadataWriteResponse.builder().success(false).build());
+      } else if (urn.endsWith("t2,PROD)")) {
+        callback.onFailure(new IOException("Connection refused"));
+      } else {
+        callback.onCompletion(MetadataWriteResponse.builder().build());
+      }
+    });
+    McpEmitter emitter = new McpEmitter(config(100, 1000, TIMEOUT_SEC), stub);
+
+    emitter.emit(events(5));
+    Assert.assertTrue(emitter.flush());
+
+    Assert.assertEquals(5, emitter.getQueuedCount());
+    Assert.assertEquals(3, emitter.getEmittedCount());
+    Assert.assertEquals(2, emitter.getFailedCount());
+    emitter.close();
+  }
+
+  private static Config config(int maxQueueSize, long enqueueTimeoutMs, long flushTimeoutSec) {
+    Map<String, Object> conf = new HashMap<>();
+    conf.put("rest.max_queue_size", maxQueueSize);
+    conf.put("rest.enqueue_timeout_ms", enqueueTimeoutMs);
+    conf.put("rest.flush_timeout_sec", flushTimeoutSec);
+    return ConfigFactory.parseMap(conf);
+  }
+
+  private static List<MetadataChangeProposalWrapper> events(int count) {
+    List<MetadataChangeProposalWrapper> events = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      String urn = "urn:li:dataset:(urn:li:dataPlatform:hive,t" + i + ",PROD)";
+      events.add(MetadataChangeProposalWrapper.create(
+          b -> b.entityType("dataset").entityUrn(urn).upsert().aspect(new DatasetProperties())));
+    }
+    return events;
+  }
+
+  private static class StubEmitter implements Emitter {
+
+    private final BiConsumer<MetadataChangeProposalWrapper, Callback> responder;
+    private volatile boolean closed = false;
+
+    StubEmitter(BiConsumer<MetadataChangeProposalWrapper, Callback> responder) {
+      this.responder = responder;
+    }
+
+    @Override
+    public Future<MetadataWriteResponse> emit(MetadataChangeProposalWrapper mcpw, Callback callback) {
+      responder.accept(mcpw, callback);
+      return new CompletableFuture<>();
+    }
+
+    @Override
+    public Future<MetadataWriteResponse> emit(MetadataChangeProposal mcp, Callback callback) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean testConnection() {
+      return true;
+    }
+
+    @Override
+    public Future<MetadataWriteResponse> emit(List<UpsertAspectRequest> request, Callback callback) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
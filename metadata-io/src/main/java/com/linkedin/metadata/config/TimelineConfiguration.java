@@ -0,0 +1,24 @@
+package com.linkedin.metadata.config;
+
+import lombok.Data;
+
+/**
+ * POJO representing the "timeline" configuration block in application.yml.
+ */
+@Data
+public class TimelineConfiguration {
+  /**
+   * Maximum weight, in approximate characters, of the changes between aspect versions kept in memory to serve repeated
+   * timeline requests
+   */
+  public long diffCacheMaxWeight;
+  /**
+   * Whether the change transactions between aspect versions are materialized as aspects are written
+   */
+  public boolean materializationEnabled;
+  /**
+   * Whether timelines are served from the materialized change transactions. Should only be enabled once they cover the
+   * queried history
+   */
+  public boolean queryEnabled;
+}
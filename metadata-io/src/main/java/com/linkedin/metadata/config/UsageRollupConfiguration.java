@@ -0,0 +1,18 @@
+package com.linkedin.metadata.config;
+
+import lombok.Data;
+
+/**
+ * POJO representing the "usageRollups" configuration block in application.yml.
+ */
+@Data
+public class UsageRollupConfiguration {
+  /**
+   * Whether daily, weekly and monthly usage rollups are maintained as dataset usage statistics are ingested
+   */
+  public boolean enabled;
+  /**
+   * Whether usage queries are served from the rollups. Should only be enabled once the rollups cover the queried history
+   */
+  public boolean queryEnabled;
+}
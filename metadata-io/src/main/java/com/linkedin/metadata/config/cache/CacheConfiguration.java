@@ -8,4 +8,5 @@ public class CacheConfiguration {
   PrimaryCacheConfiguration primary;
   HomepageCacheConfiguration homepage;
   SearchCacheConfiguration search;
+  RecommendationsCacheConfiguration recommendations;
 }
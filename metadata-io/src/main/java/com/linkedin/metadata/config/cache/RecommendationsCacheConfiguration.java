@@ -0,0 +1,12 @@
+package com.linkedin.metadata.config.cache;
+
+import lombok.Data;
+
+
+@Data
+public class RecommendationsCacheConfiguration {
+  boolean enabled;
+  long refreshIntervalSeconds;
+  long userTtlSeconds;
+  long maxSize;
+}
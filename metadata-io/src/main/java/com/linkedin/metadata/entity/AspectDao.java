@@ -38,6 +38,31 @@ public interface AspectDao {
     @Nonnull
     Map<EntityAspectIdentifier, EntityAspect> batchGet(@Nonnull final Set<EntityAspectIdentifier> keys);
 
+    /**
+     * Returns the subset of the given urns that have at least one latest aspect, without reading the aspects themselves.
+     */
+    @Nonnull
+    Set<String> getExistingUrns(@Nonnull final Set<String> urns);
+
+    /**
+     * Returns the version of each of the given aspects of the urn that directly precedes the version given for it, keyed
+     * by aspect name, reading at most one row per aspect. The latest version (0) succeeds all others, so it is preceded
+     * by the highest numbered version. Aspects without a version in the map are read at their latest version instead.
+     * Aspects without such a version are left out.
+     */
+    @Nonnull
+    Map<String, EntityAspect> getPreviousAspects(
+        @Nonnull final String urn,
+        @Nonnull final Set<String> aspectNames,
+        @Nonnull final Map<String, Long> versions);
+
+    /**
+     * Returns every version of the given aspects of the urn with only their keys and creation times populated, so that
+     * versions can be located in time without reading the aspects themselves.
+     */
+    @Nonnull
+    List<EntityAspect> getAspectVersions(@Nonnull final String urn, @Nonnull final Set<String> aspectNames);
+
     @Nonnull
     List<EntityAspect> getAspectsInRange(@Nonnull Urn urn, Set<String> aspectNames, long startTimeMillis, long endTimeMillis);
 
@@ -0,0 +1,50 @@
+package com.linkedin.metadata.entity;
+
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * A job run in the background by an {@link AsyncJobRegistry}, which records when it started and finished and the
+ * first error it ran into. Subclasses add the progress they report.
+ */
+public abstract class AsyncJob {
+  private final long _startTimeMs = System.currentTimeMillis();
+  private final AtomicReference<String> _errorMessage = new AtomicReference<>();
+  @Nullable
+  private volatile Long _endTimeMs;
+
+  public boolean isRunning() {
+    return _endTimeMs == null;
+  }
+
+  public boolean hasFailed() {
+    return _errorMessage.get() != null;
+  }
+
+  /**
+   * Records an error of the job, which keeps running. Only the first error is kept.
+   */
+  public void fail(@Nonnull final Exception e) {
+    _errorMessage.compareAndSet(null, e.toString());
+  }
+
+  public void finish() {
+    _endTimeMs = System.currentTimeMillis();
+  }
+
+  public long getStartTimeMs() {
+    return _startTimeMs;
+  }
+
+  @Nullable
+  public Long getEndTimeMs() {
+    return _endTimeMs;
+  }
+
+  @Nullable
+  public String getErrorMessage() {
+    return _errorMessage.get();
+  }
+}
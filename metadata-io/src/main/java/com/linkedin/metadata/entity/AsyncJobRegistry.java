@@ -0,0 +1,81 @@
+package com.linkedin.metadata.entity;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Runs the background jobs of a service one at a time and keeps them by key so that their progress can be polled.
+ * Finished jobs are forgotten once they are older than the retention, and closing the registry interrupts the job
+ * that is running and drops the queued ones.
+ *
+ * Jobs only live in the memory of the instance that runs them. Their status is lost on restart and is not known to
+ * the other instances, so it has to be polled on the instance the job was submitted to.
+ */
+public class AsyncJobRegistry<K, J extends AsyncJob> implements AutoCloseable {
+
+  private final long _retentionMs;
+  private final ExecutorService _executor;
+  private final Map<K, J> _jobs = new ConcurrentHashMap<>();
+
+  /**
+   * @param name prefix of the name of the thread that runs the jobs
+   * @param retentionMs how long finished jobs are kept, in milliseconds
+   */
+  public AsyncJobRegistry(@Nonnull final String name, final long retentionMs) {
+    _retentionMs = retentionMs;
+    _executor = Executors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder().setNameFormat(name + "-%d").setDaemon(true).build());
+  }
+
+  /**
+   * Starts a job for a key, unless one is already running for it.
+   *
+   * @param key the key of the job
+   * @param jobSupplier creates the job, only called when no job is running for the key
+   * @param runner runs the job, which it has to finish
+   * @return the job running for the key
+   */
+  @Nonnull
+  public synchronized J submit(@Nonnull final K key, @Nonnull final Supplier<J> jobSupplier,
+      @Nonnull final Consumer<J> runner) {
+    evictExpiredJobs();
+    final J existingJob = _jobs.get(key);
+    if (existingJob != null && existingJob.isRunning()) {
+      return existingJob;
+    }
+    final J job = jobSupplier.get();
+    _jobs.put(key, job);
+    _executor.submit(() -> runner.accept(job));
+    return job;
+  }
+
+  /**
+   * Returns the last job of a key, if it is still running or finished within the retention.
+   */
+  @Nonnull
+  public Optional<J> get(@Nonnull final K key) {
+    evictExpiredJobs();
+    return Optional.ofNullable(_jobs.get(key));
+  }
+
+  @Override
+  public void close() {
+    _executor.shutdownNow();
+  }
+
+  private void evictExpiredJobs() {
+    final long now = System.currentTimeMillis();
+    _jobs.values().removeIf(job -> {
+      final Long endTimeMs = job.getEndTimeMs();
+      return endTimeMs != null && now - endTimeMs >= _retentionMs;
+    });
+  }
+}
@@ -1,8 +1,10 @@
 package com.linkedin.metadata.entity;
 
 import com.datahub.util.RecordUtils;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
@@ -11,48 +13,85 @@ import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.entity.Aspect;
 import com.linkedin.entity.EntityResponse;
 import com.linkedin.entity.EnvelopedAspect;
-import com.linkedin.events.metadata.ChangeType;
 import com.linkedin.metadata.Constants;
 import com.linkedin.metadata.graph.GraphService;
 import com.linkedin.metadata.graph.RelatedEntitiesResult;
+import com.linkedin.metadata.graph.RelatedEntitiesScrollResult;
 import com.linkedin.metadata.graph.RelatedEntity;
 import com.linkedin.metadata.models.AspectSpec;
 import com.linkedin.metadata.models.EntitySpec;
 import com.linkedin.metadata.models.RelationshipFieldSpec;
 import com.linkedin.metadata.models.extractor.FieldExtractor;
 import com.linkedin.metadata.query.filter.RelationshipDirection;
+import com.linkedin.metadata.run.DeleteReferencesJobStatus;
 import com.linkedin.metadata.run.DeleteReferencesResponse;
 import com.linkedin.metadata.run.RelatedAspect;
 import com.linkedin.metadata.run.RelatedAspectArray;
-import com.linkedin.metadata.utils.GenericRecordUtils;
-import com.linkedin.mxe.MetadataChangeProposal;
+import com.linkedin.util.Pair;
 
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import static com.linkedin.metadata.search.utils.QueryUtils.*;
 
 
 @Slf4j
-@RequiredArgsConstructor
-public class DeleteEntityService {
+public class DeleteEntityService implements AutoCloseable {
+
+    public static final String RUNNING_STATUS = "RUNNING";
+    public static final String COMPLETED_STATUS = "COMPLETED";
+    public static final String FAILED_STATUS = "FAILED";
 
     private final EntityService _entityService;
     private final GraphService _graphService;
+    private final int _batchSize;
+    private final ExecutorService _referenceExecutor;
+    private final AsyncJobRegistry<Urn, DeleteReferencesJob> _jobs;
 
     private static final Integer ELASTIC_BATCH_DELETE_SLEEP_SEC = 5;
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final int DEFAULT_CONCURRENCY = 4;
+    private static final long DEFAULT_JOB_RETENTION_MS = TimeUnit.DAYS.toMillis(1);
+
+    public DeleteEntityService(final EntityService entityService, final GraphService graphService) {
+        this(entityService, graphService, DEFAULT_BATCH_SIZE, DEFAULT_CONCURRENCY, DEFAULT_JOB_RETENTION_MS);
+    }
+
+    /**
+     * @param batchSize      The number of relationships to the deleted urn processed per page by background jobs.
+     * @param concurrency    The number of related entities whose references are deleted concurrently.
+     * @param jobRetentionMs How long the progress of finished background jobs is kept, in milliseconds.
+     */
+    public DeleteEntityService(final EntityService entityService, final GraphService graphService, final int batchSize,
+                               final int concurrency, final long jobRetentionMs) {
+        _entityService = entityService;
+        _graphService = graphService;
+        _batchSize = batchSize;
+        _referenceExecutor = Executors.newFixedThreadPool(concurrency,
+                new ThreadFactoryBuilder().setNameFormat("delete-references-%d").setDaemon(true).build());
+        _jobs = new AsyncJobRegistry<>("delete-references-job", jobRetentionMs);
+    }
 
     /**
      * Public endpoint that deletes references to a given urn across DataHub's metadata graph. This is the entrypoint for
@@ -63,6 +102,8 @@ public class DeleteEntityService {
      *               preview of the response.
      * @return A {@link DeleteReferencesResponse} instance detailing the response of deleting references to the provided
      * urn.
+     * @throws RuntimeException if the references could not be deleted from some of the related entities, once the
+     * references have been deleted from all the others.
      */
     public DeleteReferencesResponse deleteReferencesTo(final Urn urn, final boolean dryRun) {
         final DeleteReferencesResponse result = new DeleteReferencesResponse();
@@ -85,9 +126,10 @@ public class DeleteEntityService {
             return result;
         }
 
+        final DeleteReferencesJob job = new DeleteReferencesJob(urn, false);
         for (int processedEntities = 0; processedEntities < relatedEntities.getTotal(); processedEntities += relatedEntities.getCount()) {
             log.info("Processing batch {} of {} aspects", processedEntities, relatedEntities.getTotal());
-            relatedEntities.getEntities().forEach(entity -> deleteReference(urn, entity));
+            deleteReferences(urn, relatedEntities.getEntities(), false, job);
             if (processedEntities + relatedEntities.getEntities().size() < relatedEntities.getTotal()) {
                 sleep(ELASTIC_BATCH_DELETE_SLEEP_SEC);
                 relatedEntities = _graphService.findRelatedEntities(null, newFilter("urn", urn.toString()),
@@ -95,10 +137,212 @@ public class DeleteEntityService {
                         newRelationshipFilter(EMPTY_FILTER, RelationshipDirection.INCOMING), 0, 10000);
             }
         }
+        log.info("Deleted references to {}: {} aspects updated, {} aspects deleted, {} entities failed", urn,
+                job._aspectsUpdated.get(), job._aspectsDeleted.get(), job._entitiesFailed.get());
+        if (job.hasFailed()) {
+            throw new RuntimeException(String.format("Failed to delete references to %s from %d entities: %s", urn,
+                    job._entitiesFailed.get(), job.getErrorMessage()));
+        }
 
         return result;
     }
 
+    /**
+     * Starts deleting the references to a given urn in the background, unless they are already being deleted. Unlike
+     * {@link #deleteReferencesTo}, the related entities are paged through with a cursor, and their aspects are read in
+     * batches and rewritten concurrently.
+     *
+     * @param urn    The urn for which to delete references in DataHub's metadata graph.
+     * @param dryRun Specifies if the job should only count the aspects it would update or delete.
+     * @return A {@link DeleteReferencesJobStatus} instance detailing the progress of the job.
+     */
+    public DeleteReferencesJobStatus submitDeleteReferences(final Urn urn, final boolean dryRun) {
+        return _jobs.submit(urn, () -> new DeleteReferencesJob(urn, dryRun), this::deleteReferences).toStatus();
+    }
+
+    /**
+     * Returns the progress of the last background job deleting the references to a given urn, if it was started on this
+     * instance and is still running or finished within the job retention.
+     *
+     * @param urn The urn whose references are being deleted.
+     * @return A {@link DeleteReferencesJobStatus} instance detailing the progress of the job, if any.
+     */
+    public Optional<DeleteReferencesJobStatus> getDeleteReferencesStatus(final Urn urn) {
+        return _jobs.get(urn).map(DeleteReferencesJob::toStatus);
+    }
+
+    /**
+     * Interrupts the running background job, which records it as failed, and drops the queued ones.
+     */
+    @Override
+    public void close() {
+        _jobs.close();
+        _referenceExecutor.shutdownNow();
+    }
+
+    @VisibleForTesting
+    void deleteReferences(final DeleteReferencesJob job) {
+        try {
+            String scrollId = null;
+            do {
+                final RelatedEntitiesScrollResult relatedEntities = _graphService.scrollRelatedEntities(null,
+                        newFilter("urn", job._urn.toString()), null, EMPTY_FILTER, ImmutableList.of(),
+                        newRelationshipFilter(EMPTY_FILTER, RelationshipDirection.INCOMING), scrollId, _batchSize);
+                log.info("Processing batch {} of {} relationships to {}", job._relationshipsProcessed.get(),
+                        relatedEntities.getNumResults(), job._urn);
+                deleteReferences(job._urn, relatedEntities.getEntities(), job._dryRun, job);
+                scrollId = relatedEntities.getScrollId();
+            } while (scrollId != null);
+        } catch (RuntimeException e) {
+            log.error("Failed to delete references to {}", job._urn, e);
+            job.fail(0, e);
+        }
+        job.finish();
+        log.info("Finished deleting references to {} with status {}: {} aspects updated, {} aspects deleted, "
+                        + "{} entities failed", job._urn, job.getStatus(), job._aspectsUpdated.get(), job._aspectsDeleted.get(),
+                job._entitiesFailed.get());
+    }
+
+    /**
+     * Deletes the references to a given urn from a page of related entities. The aspects of the related entities are
+     * read in one batch per entity type, and the aspects of each related entity are rewritten in a single ingest,
+     * concurrently across entities.
+     *
+     * @param urn             The urn for which to delete references.
+     * @param relatedEntities The entities related to the urn.
+     * @param dryRun          Specifies if the aspects should only be counted rather than updated or deleted.
+     * @param job             The job in which to count the processed relationships and aspects.
+     */
+    private void deleteReferences(final Urn urn, final List<RelatedEntity> relatedEntities, final boolean dryRun,
+                                  final DeleteReferencesJob job) {
+        // An entity may refer to the urn through several relationships, whose references are removed together
+        final Map<Urn, List<String>> relationshipTypesByUrn = relatedEntities.stream()
+                .collect(Collectors.groupingBy(relatedEntity -> UrnUtils.getUrn(relatedEntity.getUrn()),
+                        LinkedHashMap::new, Collectors.mapping(RelatedEntity::getRelationshipType, Collectors.toList())));
+        final Map<Urn, EntityResponse> entityResponses = getEntityResponses(urn, relationshipTypesByUrn);
+
+        final List<Future<?>> futures = relationshipTypesByUrn.entrySet().stream()
+                .map(entry -> _referenceExecutor.submit(() -> deleteReferences(urn, entry.getKey(), entry.getValue(),
+                        entityResponses.get(entry.getKey()), dryRun, job)))
+                .collect(Collectors.toList());
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while deleting references to " + urn, e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Failed to delete references to " + urn, e.getCause());
+            }
+        }
+        job._relationshipsProcessed.addAndGet(relatedEntities.size());
+    }
+
+    /**
+     * Removes the references to a given urn from the aspects of a related entity, ingesting all the updated aspects at
+     * once.
+     *
+     * @param urn               The urn for which to delete references.
+     * @param relatedUrn        The urn of the entity referring to `urn`.
+     * @param relationshipTypes The names of the relationship types that link urn to relatedUrn.
+     * @param entityResponse    The aspects of the related entity that may refer to the urn.
+     * @param dryRun            Specifies if the aspects should only be counted rather than updated or deleted.
+     * @param job               The job in which to count the updated and deleted aspects.
+     */
+    private void deleteReferences(final Urn urn, final Urn relatedUrn, final List<String> relationshipTypes,
+                                  @Nullable final EntityResponse entityResponse, final boolean dryRun,
+                                  final DeleteReferencesJob job) {
+        try {
+            final Map<String, EnrichedAspect> previousAspects = new HashMap<>();
+            final Map<String, Aspect> updatedAspects = new HashMap<>();
+            for (String relationshipType : relationshipTypes) {
+                final List<EnrichedAspect> enrichedAspects =
+                        getAspects(urn, relatedUrn, relationshipType, entityResponse).collect(Collectors.toList());
+                for (EnrichedAspect enrichedAspect : enrichedAspects) {
+                    final String aspectName = enrichedAspect.getName();
+                    previousAspects.putIfAbsent(aspectName, enrichedAspect);
+                    // The same aspect may hold several of the relationships, so their references are removed in turn
+                    final Aspect aspect = updatedAspects.containsKey(aspectName)
+                            ? updatedAspects.get(aspectName) : enrichedAspect.getAspect();
+                    if (aspect == null) {
+                        continue;
+                    }
+                    try {
+                        updatedAspects.put(aspectName,
+                                getAspectWithReferencesRemoved(urn, relationshipType, aspect, enrichedAspect.getSpec()));
+                    } catch (CloneNotSupportedException e) {
+                        log.error("Failed to clone aspect {}", aspect);
+                        handleError(new DeleteEntityServiceError("Failed to clone aspect",
+                                DeleteEntityServiceErrorReason.CLONE_FAILED,
+                                ImmutableMap.of("aspect", aspect)));
+                    }
+                }
+            }
+
+            final List<Pair<String, RecordTemplate>> aspectsToUpdate = new ArrayList<>();
+            updatedAspects.forEach((aspectName, updatedAspect) -> {
+                final EnrichedAspect previousAspect = previousAspects.get(aspectName);
+                if (previousAspect.getAspect().equals(updatedAspect)) {
+                    return;
+                }
+                if (updatedAspect == null) {
+                    job._aspectsDeleted.incrementAndGet();
+                    if (!dryRun) {
+                        deleteAspect(relatedUrn, aspectName, previousAspect.getAspect());
+                    }
+                } else {
+                    job._aspectsUpdated.incrementAndGet();
+                    aspectsToUpdate.add(Pair.of(aspectName, RecordUtils.toRecordTemplate(
+                            previousAspect.getSpec().getDataTemplateClass(), updatedAspect.data())));
+                }
+            });
+            if (!dryRun && !aspectsToUpdate.isEmpty()) {
+                final AuditStamp auditStamp = new AuditStamp().setActor(UrnUtils.getUrn(Constants.SYSTEM_ACTOR))
+                        .setTime(System.currentTimeMillis());
+                _entityService.ingestAspects(relatedUrn, aspectsToUpdate, auditStamp, null);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to delete references to {} from {}", urn, relatedUrn, e);
+            handleError(new DeleteEntityServiceError("Failed to delete references",
+                    DeleteEntityServiceErrorReason.ENTITY_UPDATE_FAILED,
+                    ImmutableMap.of("urn", urn, "relatedUrn", relatedUrn)));
+            job.fail(1, e);
+        }
+    }
+
+    /**
+     * Reads the aspects of related entities that may refer to a given urn, in one batch per entity type.
+     *
+     * @param urn                    The urn for which to delete references.
+     * @param relationshipTypesByUrn The names of the relationship types linking each related entity to the urn.
+     * @return The aspects of the related entities that exist, by urn.
+     */
+    private Map<Urn, EntityResponse> getEntityResponses(final Urn urn,
+                                                        final Map<Urn, List<String>> relationshipTypesByUrn) {
+        final Map<Urn, EntityResponse> entityResponses = new HashMap<>();
+        relationshipTypesByUrn.entrySet().stream()
+                .collect(Collectors.groupingBy(entry -> entry.getKey().getEntityType()))
+                .forEach((entityName, entries) -> {
+                    final EntitySpec entitySpec = _entityService.getEntityRegistry().getEntitySpec(entityName);
+                    final Set<String> aspectNames = entries.stream()
+                            .flatMap(entry -> entry.getValue().stream())
+                            .distinct()
+                            .flatMap(relationshipType -> getAspectSpecsReferringTo(urn.getEntityType(), relationshipType,
+                                    entitySpec).keySet().stream())
+                            .collect(Collectors.toSet());
+                    if (aspectNames.isEmpty()) {
+                        return;
+                    }
+                    final Set<Urn> urns = entries.stream().map(Map.Entry::getKey).collect(Collectors.toSet());
+                    try {
+                        entityResponses.putAll(_entityService.getEntitiesV2(entityName, urns, aspectNames));
+                    } catch (URISyntaxException e) {
+                        log.error("Unable to retrieve entity data for {} {} entities", urns.size(), entityName, e);
+                    }
+                });
+        return entityResponses;
+    }
+
     /**
      * Gets a stream of relatedAspects Pojos (high-level, trimmed information) that relate an entity with urn `urn` to
      * another entity of urn `relatedUrn` via a concrete relationship type. Used to give users of this API a summary of
@@ -129,6 +373,23 @@ public class DeleteEntityService {
      * @return A stream of {@link EnrichedAspect} instances that have the relationship from urn to relatedUrn.
      */
     private Stream<EnrichedAspect> getAspects(Urn urn, Urn relatedUrn, String relationshipType) {
+        final EntitySpec relatedEntitySpec = _entityService.getEntityRegistry().getEntitySpec(relatedUrn.getEntityType());
+        final Map<String, AspectSpec> aspectSpecs = getAspectSpecsReferringTo(urn.getEntityType(), relationshipType, relatedEntitySpec);
+        final EntityResponse entityResponse = aspectSpecs.isEmpty() ? null : getEntityResponse(relatedUrn, aspectSpecs);
+        return getAspects(urn, relatedUrn, relationshipType, entityResponse);
+    }
+
+    /**
+     * Like {@link #getAspects(Urn, Urn, String)}, but reads the aspects from an already fetched entity response.
+     *
+     * @param urn               The identifier of the source entity.
+     * @param relatedUrn        The identifier of the destination entity.
+     * @param relationshipType  The name of the relationship type that links urn to relatedUrn.
+     * @param entityResponse    The aspects of the destination entity, if it exists.
+     * @return A stream of {@link EnrichedAspect} instances that have the relationship from urn to relatedUrn.
+     */
+    private Stream<EnrichedAspect> getAspects(Urn urn, Urn relatedUrn, String relationshipType,
+                                              @Nullable EntityResponse entityResponse) {
         final String relatedEntityName = relatedUrn.getEntityType();
         final EntitySpec relatedEntitySpec = _entityService.getEntityRegistry().getEntitySpec(relatedEntityName);
         final Map<String, AspectSpec> aspectSpecs = getAspectSpecsReferringTo(urn.getEntityType(), relationshipType, relatedEntitySpec);
@@ -147,7 +408,7 @@ public class DeleteEntityService {
             return Stream.empty();
         }
 
-        final List<EnvelopedAspect> aspectList = getAspectsReferringTo(relatedUrn, aspectSpecs)
+        final List<EnvelopedAspect> aspectList = getAspectsReferringTo(entityResponse, aspectSpecs)
                 .collect(Collectors.toList());
 
         // If we have an empty list it means that we have a graph edge that points to some aspect that we can't find in the
@@ -187,51 +448,26 @@ public class DeleteEntityService {
     }
 
     /**
-     * Processes an aspect of a given {@link RelatedEntity} instance that references a given {@link Urn}, removes said
-     * urn from the aspects and submits an MCP with the updated aspects.
+     * Removes the references to a given urn held by an aspect through a relationship of a given type.
      *
-     * @param urn           The urn to be found.
-     * @param relatedEntity The entity to be modified.
+     * @param urn              The urn to be removed.
+     * @param relationshipType The name of the relationship holding the references.
+     * @param aspect           The aspect to remove the references from, which is left untouched.
+     * @param aspectSpec       The spec of the aspect.
+     * @return A copy of the aspect with the references removed, or null if the aspect should be removed altogether.
      */
-    private void deleteReference(final Urn urn, final RelatedEntity relatedEntity) {
-        final Urn relatedUrn = UrnUtils.getUrn(relatedEntity.getUrn());
-        final String relationshipType = relatedEntity.getRelationshipType();
-        getAspects(urn, relatedUrn, relationshipType)
-                .forEach(enrichedAspect -> {
-                    final String aspectName = enrichedAspect.getName();
-                    final Aspect aspect = enrichedAspect.getAspect();
-                    final AspectSpec aspectSpec = enrichedAspect.getSpec();
-
-                    final AtomicReference<Aspect> updatedAspect;
-                    try {
-                        updatedAspect = new AtomicReference<>(aspect.copy());
-                    } catch (CloneNotSupportedException e) {
-                        log.error("Failed to clone aspect {}", aspect);
-                        handleError(new DeleteEntityServiceError("Failed to clone aspect",
-                                DeleteEntityServiceErrorReason.CLONE_FAILED,
-                                ImmutableMap.of("aspect", aspect)));
-                        return;
-                    }
-
-                    aspectSpec.getRelationshipFieldSpecs().stream()
-                            .filter(relationshipFieldSpec -> relationshipFieldSpec.getRelationshipAnnotation().getName().equals(relationshipType))
-                            .forEach(relationshipFieldSpec -> {
-                                final PathSpec path = relationshipFieldSpec.getPath();
-                                updatedAspect.set(DeleteEntityUtils.getAspectWithReferenceRemoved(urn.toString(),
-                                        updatedAspect.get(), aspectSpec.getPegasusSchema(), path));
-                            });
-
-                    // If there has been an update, then we produce an MCE.
-                    if (!aspect.equals(updatedAspect.get())) {
-                        if (updatedAspect.get() == null) {
-                            // Then we should remove the aspect.
-                            deleteAspect(relatedUrn, aspectName, aspect);
-                        } else {
-                            // Then we should update the aspect.
-                            updateAspect(relatedUrn, aspectName, aspect, updatedAspect.get());
-                        }
-                    }
+    @Nullable
+    private Aspect getAspectWithReferencesRemoved(final Urn urn, final String relationshipType, final Aspect aspect,
+                                                  final AspectSpec aspectSpec) throws CloneNotSupportedException {
+        final AtomicReference<Aspect> updatedAspect = new AtomicReference<>(aspect.copy());
+        aspectSpec.getRelationshipFieldSpecs().stream()
+                .filter(relationshipFieldSpec -> relationshipFieldSpec.getRelationshipAnnotation().getName().equals(relationshipType))
+                .forEach(relationshipFieldSpec -> {
+                    final PathSpec path = relationshipFieldSpec.getPath();
+                    updatedAspect.set(DeleteEntityUtils.getAspectWithReferenceRemoved(urn.toString(),
+                            updatedAspect.get(), aspectSpec.getPegasusSchema(), path));
                 });
+        return updatedAspect.get();
     }
 
     /**
@@ -254,52 +490,35 @@ public class DeleteEntityService {
     }
 
     /**
-     * Update an aspect for an urn.
+     * Utility method that fetches the aspects of a related entity that may hold relationships to another entity.
      *
-     * @param urn the urn of the entity to remove the aspect for
-     * @param aspectName the aspect to remove
-     * @param prevAspect the old value for the aspect
-     * @param newAspect the new value for the aspect
+     * @param relatedUrn   The urn of the related entity in which we want to find the aspects.
+     * @param aspectSpecs  The specs of the aspects to fetch.
+     * @return The {@link EntityResponse} of the related entity, or null if it could not be retrieved.
      */
-    private void updateAspect(Urn urn, String aspectName, RecordTemplate prevAspect, RecordTemplate newAspect) {
-        final MetadataChangeProposal proposal = new MetadataChangeProposal();
-        proposal.setEntityUrn(urn);
-        proposal.setChangeType(ChangeType.UPSERT);
-        proposal.setEntityType(urn.getEntityType());
-        proposal.setAspectName(aspectName);
-        proposal.setAspect(GenericRecordUtils.serializeAspect(newAspect));
-
-        final AuditStamp auditStamp = new AuditStamp().setActor(UrnUtils.getUrn(Constants.SYSTEM_ACTOR)).setTime(System.currentTimeMillis());
-        final EntityService.IngestProposalResult ingestProposalResult = _entityService.ingestProposal(proposal, auditStamp, false);
-
-        if (!ingestProposalResult.isDidUpdate()) {
-            log.error("Failed to ingest aspect with references removed. Before {}, after: {}, please check MCP processor"
-                + " logs for more information", prevAspect, newAspect);
-            handleError(new DeleteEntityServiceError("Failed to ingest new aspect",
-                DeleteEntityServiceErrorReason.MCP_PROCESSOR_FAILED,
-                ImmutableMap.of("proposal", proposal)));
+    @Nullable
+    private EntityResponse getEntityResponse(final Urn relatedUrn, final Map<String, AspectSpec> aspectSpecs) {
+        // FIXME: Can we not depend on entity service?
+        try {
+            return _entityService.getEntityV2(relatedUrn.getEntityType(), relatedUrn, aspectSpecs.keySet());
+        } catch (URISyntaxException e) {
+            log.error("Unable to retrieve entity data for relatedUrn " + relatedUrn, e);
+            return null;
         }
     }
 
-
     /**
      * Utility method that attempts to find Aspect information as well as the associated path spec for a given urn that
      * has a relationship of type `relationType` to another urn.
      *
-     * @param relatedUrn   The urn of the related entity in which we want to find the aspect that has a relationship
-     *                     to `urn`.
-     * @param aspectSpecs  The entity spec of the related entity.
+     * @param entityResponse The aspects of the related entity in which we want to find the aspect that has a
+     *                       relationship to `urn`.
+     * @param aspectSpecs    The entity spec of the related entity.
      * @return A {@link Stream} of {@link EnvelopedAspect} instances that contain relationships between `urn` & `relatedUrn`.
      */
-    private Stream<EnvelopedAspect> getAspectsReferringTo(final Urn relatedUrn,
+    private Stream<EnvelopedAspect> getAspectsReferringTo(@Nullable final EntityResponse entityResponse,
                                                           final Map<String, AspectSpec> aspectSpecs) {
-
-        // FIXME: Can we not depend on entity service?
-        final EntityResponse entityResponse;
-        try {
-            entityResponse = _entityService.getEntityV2(relatedUrn.getEntityType(), relatedUrn, aspectSpecs.keySet());
-        } catch (URISyntaxException e) {
-            log.error("Unable to retrieve entity data for relatedUrn " + relatedUrn, e);
+        if (entityResponse == null) {
             return Stream.empty();
         }
         // Find aspect which contains the relationship with the value we are looking for
@@ -395,7 +614,7 @@ public class DeleteEntityService {
     private enum DeleteEntityServiceErrorReason {
         ENTITY_SERVICE_ASPECT_NOT_FOUND,
         ENTITY_REGISTRY_SPEC_NOT_FOUND,
-        MCP_PROCESSOR_FAILED,
+        ENTITY_UPDATE_FAILED,
         ASPECT_DELETE_FAILED,
         CLONE_FAILED,
     }
@@ -407,4 +626,49 @@ public class DeleteEntityService {
         Aspect aspect;
         AspectSpec spec;
     }
+
+    @VisibleForTesting
+    static class DeleteReferencesJob extends AsyncJob {
+        private final Urn _urn;
+        private final boolean _dryRun;
+        private final AtomicLong _relationshipsProcessed = new AtomicLong();
+        private final AtomicLong _aspectsUpdated = new AtomicLong();
+        private final AtomicLong _aspectsDeleted = new AtomicLong();
+        private final AtomicLong _entitiesFailed = new AtomicLong();
+
+        DeleteReferencesJob(final Urn urn, final boolean dryRun) {
+            _urn = urn;
+            _dryRun = dryRun;
+        }
+
+        void fail(final long entities, final Exception e) {
+            _entitiesFailed.addAndGet(entities);
+            fail(e);
+        }
+
+        String getStatus() {
+            if (isRunning()) {
+                return RUNNING_STATUS;
+            }
+            return hasFailed() ? FAILED_STATUS : COMPLETED_STATUS;
+        }
+
+        DeleteReferencesJobStatus toStatus() {
+            final DeleteReferencesJobStatus status = new DeleteReferencesJobStatus().setUrn(_urn.toString())
+                    .setDryRun(_dryRun)
+                    .setStatus(getStatus())
+                    .setStartTimeMs(getStartTimeMs())
+                    .setRelationshipsProcessed(_relationshipsProcessed.get())
+                    .setAspectsUpdated(_aspectsUpdated.get())
+                    .setAspectsDeleted(_aspectsDeleted.get())
+                    .setEntitiesFailed(_entitiesFailed.get());
+            if (getEndTimeMs() != null) {
+                status.setEndTimeMs(getEndTimeMs());
+            }
+            if (getErrorMessage() != null) {
+                status.setErrorMessage(getErrorMessage());
+            }
+            return status;
+        }
+    }
 }
@@ -71,6 +71,7 @@ import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -902,6 +903,36 @@ public class EntityService {
     return new IngestProposalResult(entityUrn, didUpdate, false);
   }
 
+  /**
+   * Runs the checks of {@link #ingestProposal} that do not depend on the stored aspects, without writing anything. A
+   * proposal passing them can still fail to ingest, for instance when its patch does not apply to the stored aspect.
+   *
+   * @param mcp the proposal to validate
+   */
+  public void validateProposal(@Nonnull MetadataChangeProposal mcp) {
+    EntitySpec entitySpec = getEntityRegistry().getEntitySpec(mcp.getEntityType());
+    Urn entityUrn = EntityKeyUtils.getUrnFromProposal(mcp, entitySpec.getKeyAspectSpec());
+    AspectSpec aspectSpec = validateAspect(mcp, entitySpec);
+
+    if (!isValidChangeType(mcp.getChangeType(), aspectSpec)) {
+      throw new UnsupportedOperationException(
+          "ChangeType not supported: " + mcp.getChangeType() + " for aspect " + mcp.getAspectName());
+    }
+    if (mcp.getChangeType() == ChangeType.PATCH) {
+      if (!supportsPatch(aspectSpec)) {
+        throw new UnsupportedOperationException("Aspect: " + aspectSpec.getName() + " does not currently support patch "
+            + "operations.");
+      }
+      convertToJsonPatch(mcp);
+    } else {
+      RecordTemplate aspect = convertToRecordTemplate(mcp, aspectSpec);
+      if (!aspectSpec.isTimeseries()) {
+        validateUrn(entityUrn);
+        validateAspect(entityUrn, aspect);
+      }
+    }
+  }
+
   private AspectSpec validateAspect(MetadataChangeProposal mcp, EntitySpec entitySpec) {
     if (!mcp.hasAspectName() || !mcp.hasAspect()) {
       throw new UnsupportedOperationException("Aspect and aspect name is required for create and update operations");
@@ -1286,6 +1317,15 @@ public class EntityService {
       @Nonnull final AspectSpec aspectSpec, @Nullable final RecordTemplate oldAspectValue,
       @Nullable final RecordTemplate newAspectValue, @Nullable final SystemMetadata oldSystemMetadata,
       @Nullable final SystemMetadata newSystemMetadata, @Nonnull AuditStamp auditStamp, @Nonnull final ChangeType changeType) {
+    produceMetadataChangeLog(urn, aspectSpec, createMetadataChangeLog(urn, entityName, aspectName, oldAspectValue,
+        newAspectValue, oldSystemMetadata, newSystemMetadata, auditStamp, changeType));
+  }
+
+  @Nonnull
+  private static MetadataChangeLog createMetadataChangeLog(@Nonnull final Urn urn, @Nonnull String entityName,
+      @Nonnull String aspectName, @Nullable final RecordTemplate oldAspectValue,
+      @Nullable final RecordTemplate newAspectValue, @Nullable final SystemMetadata oldSystemMetadata,
+      @Nullable final SystemMetadata newSystemMetadata, @Nonnull AuditStamp auditStamp, @Nonnull final ChangeType changeType) {
     final MetadataChangeLog metadataChangeLog = new MetadataChangeLog();
     metadataChangeLog.setEntityType(entityName);
     metadataChangeLog.setEntityUrn(urn);
@@ -1304,7 +1344,7 @@ public class EntityService {
     if (oldSystemMetadata != null) {
       metadataChangeLog.setPreviousSystemMetadata(oldSystemMetadata);
     }
-    produceMetadataChangeLog(urn, aspectSpec, metadataChangeLog);
+    return metadataChangeLog;
   }
 
   public RecordTemplate getLatestAspect(@Nonnull final Urn urn, @Nonnull final String aspectName) {
@@ -1557,26 +1597,39 @@ public class EntityService {
 
       RollbackResult result = deleteAspect(aspectToRemove.getUrn(), aspectToRemove.getAspectName(),
           conditions, hardDelete);
-      if (result != null) {
-        Optional<AspectSpec> aspectSpec = getAspectSpec(result.entityName, result.aspectName);
-        if (!aspectSpec.isPresent()) {
-          log.error("Issue while rolling back: unknown aspect {} for entity {}", result.entityName, result.aspectName);
-          return;
-        }
-
+      if (result != null && produceRollbackChangeLog(result)) {
         rowsDeletedFromEntityDeletion.addAndGet(result.additionalRowsAffected);
         removedAspects.add(aspectToRemove);
-        produceMetadataChangeLog(result.getUrn(), result.getEntityName(), result.getAspectName(), aspectSpec.get(),
-            result.getOldValue(), result.getNewValue(), result.getOldSystemMetadata(), result.getNewSystemMetadata(),
-            // TODO: use properly attributed audit stamp.
-            createSystemAuditStamp(),
-            result.getChangeType());
       }
     });
 
     return new RollbackRunResult(removedAspects, rowsDeletedFromEntityDeletion.get());
   }
 
+  /**
+   * Emits the change log of a rolled back aspect, returning false if its aspect is unknown.
+   */
+  private boolean produceRollbackChangeLog(@Nonnull final RollbackResult result) {
+    Optional<AspectSpec> aspectSpec = getAspectSpec(result.entityName, result.aspectName);
+    if (!aspectSpec.isPresent()) {
+      log.error("Issue while rolling back: unknown aspect {} for entity {}", result.entityName, result.aspectName);
+      return false;
+    }
+    final MetadataChangeLog metadataChangeLog = createMetadataChangeLog(result.getUrn(), result.getEntityName(),
+        result.getAspectName(), result.getOldValue(), result.getNewValue(), result.getOldSystemMetadata(),
+        result.getNewSystemMetadata(),
+        // TODO: use properly attributed audit stamp.
+        createSystemAuditStamp(),
+        result.getChangeType());
+    // The restored version is told apart from a new one by a header rather than in the change log, which external
+    // consumers read as well.
+    _producer.produceMetadataChangeLog(result.getUrn(), aspectSpec.get(), metadataChangeLog,
+        result.getRestoredCreatedOn() == null ? Collections.emptyMap()
+            : Collections.singletonMap(Constants.ROLLBACK_RESTORED_CREATED_ON,
+                String.valueOf(result.getRestoredCreatedOn())));
+    return true;
+  }
+
   public RollbackRunResult deleteUrn(Urn urn) {
     List<AspectRowSummary> removedAspects = new ArrayList<>();
     Integer rowsDeletedFromEntityDeletion = 0;
@@ -1634,6 +1687,56 @@ public class EntityService {
     return aspects.values().stream().anyMatch(aspect -> aspect != null);
   }
 
+  /**
+   * Returns the subset of the urns whose entities exist (have materialized aspects), like {@link #exists(Urn)} but
+   * checking all urns in a few batched queries that do not read any aspect.
+   *
+   * @param urns the urns of the entities to check
+   * @return the urns of the entities that exist
+   */
+  @Nonnull
+  public Set<Urn> batchExists(@Nonnull final Collection<Urn> urns) {
+    if (urns.isEmpty()) {
+      return Collections.emptySet();
+    }
+    final Map<String, Urn> urnsByString = urns.stream()
+        .collect(Collectors.toMap(Urn::toString, Function.identity(), (urn1, urn2) -> urn1));
+    return _aspectDao.getExistingUrns(urnsByString.keySet())
+        .stream()
+        .map(urnsByString::get)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * Returns the subset of the urns whose entities exist and are not soft-deleted, like calling {@link #exists(Urn)} and
+   * {@link #isSoftDeleted(Urn)} for each urn, but only reading the status aspects of the entities that exist, in batches.
+   *
+   * @param urns the urns of the entities to check
+   * @return the urns of the entities that exist and are not soft-deleted
+   */
+  @Nonnull
+  public Set<Urn> existsAndNotRemoved(@Nonnull final Collection<Urn> urns) {
+    final Set<Urn> existingUrns = batchExists(urns);
+    if (existingUrns.isEmpty()) {
+      return existingUrns;
+    }
+    final Map<String, Urn> urnsByString = existingUrns.stream()
+        .collect(Collectors.toMap(Urn::toString, Function.identity()));
+    final Set<EntityAspectIdentifier> statusKeys = urnsByString.keySet()
+        .stream()
+        .map(urn -> new EntityAspectIdentifier(urn, STATUS_ASPECT_NAME, ASPECT_LATEST_VERSION))
+        .collect(Collectors.toSet());
+
+    final Set<Urn> result = new HashSet<>(existingUrns);
+    _aspectDao.batchGet(statusKeys).values().stream().filter(Objects::nonNull).forEach(statusAspect -> {
+      if (RecordUtils.toRecordTemplate(Status.class, statusAspect.getMetadata()).isRemoved()) {
+        result.remove(urnsByString.get(statusAspect.getUrn()));
+      }
+    });
+    return result;
+  }
+
   /**
    * Returns true if an entity is soft-deleted.
    *
@@ -1649,131 +1752,188 @@ public class EntityService {
   @Nullable
   public RollbackResult deleteAspect(String urn, String aspectName, @Nonnull Map<String, String> conditions, boolean hardDelete) {
     // Validate pre-conditions before running queries
-    Urn entityUrn;
-    EntitySpec entitySpec;
+    final EntitySpec entitySpec = getRollbackEntitySpec(urn);
+
+    return _aspectDao.runInTransactionWithRetry(
+        () -> deleteAspectWithoutTransaction(urn, entitySpec, aspectName, conditions, hardDelete),
+        DEFAULT_MAX_TRANSACTION_RETRY);
+  }
+
+  /**
+   * Rolls back a batch of aspect rows like {@link #rollbackWithConditions}, but deletes all non-key aspects in a single
+   * transaction and only emits their change logs once it has committed. Key aspects are rolled back afterwards in their
+   * own transactions, as soft deleting an entity writes its status in a separate one, and so that the change logs of an
+   * entity's aspects precede its deletion.
+   *
+   * @param aspectRows the aspect rows to roll back, ideally holding all the rows of the entities they touch
+   * @param conditions the system metadata conditions an aspect version must match to be rolled back
+   * @param hardDelete whether entities whose key aspect is rolled back should be hard deleted
+   * @return the rows that were rolled back
+   */
+  @Nonnull
+  public RollbackRunResult batchRollbackWithConditions(@Nonnull final List<AspectRowSummary> aspectRows,
+      @Nonnull final Map<String, String> conditions, final boolean hardDelete) {
+    final Map<Boolean, List<AspectRowSummary>> rowsByIsKeyAspect =
+        aspectRows.stream().collect(Collectors.partitioningBy(AspectRowSummary::isKeyAspect));
+    final List<AspectRowSummary> aspectRowsToDelete = rowsByIsKeyAspect.get(false);
+    // Validate pre-conditions before running queries
+    final List<EntitySpec> entitySpecs = aspectRowsToDelete.stream()
+        .map(row -> getRollbackEntitySpec(row.getUrn()))
+        .collect(Collectors.toList());
+
+    final List<RollbackResult> results = _aspectDao.runInTransactionWithRetry(() -> {
+      final List<RollbackResult> batchResults = new ArrayList<>(aspectRowsToDelete.size());
+      for (int i = 0; i < aspectRowsToDelete.size(); i++) {
+        final AspectRowSummary row = aspectRowsToDelete.get(i);
+        batchResults.add(
+            deleteAspectWithoutTransaction(row.getUrn(), entitySpecs.get(i), row.getAspectName(), conditions, hardDelete));
+      }
+      return batchResults;
+    }, DEFAULT_MAX_TRANSACTION_RETRY);
+
+    final List<AspectRowSummary> removedAspects = new ArrayList<>();
+    int rowsDeletedFromEntityDeletion = 0;
+    for (int i = 0; i < aspectRowsToDelete.size(); i++) {
+      final RollbackResult result = results.get(i);
+      if (result != null && produceRollbackChangeLog(result)) {
+        rowsDeletedFromEntityDeletion += result.additionalRowsAffected;
+        removedAspects.add(aspectRowsToDelete.get(i));
+      }
+    }
+
+    final RollbackRunResult keyAspectsResult = rollbackWithConditions(rowsByIsKeyAspect.get(true), conditions, hardDelete);
+    removedAspects.addAll(keyAspectsResult.getRowsRolledBack());
+    rowsDeletedFromEntityDeletion += keyAspectsResult.getRowsDeletedFromEntityDeletion();
+    return new RollbackRunResult(removedAspects, rowsDeletedFromEntityDeletion);
+  }
+
+  private EntitySpec getRollbackEntitySpec(String urn) {
     try {
-      entityUrn = Urn.createFromString(urn);
-      String entityName = PegasusUtils.urnToEntityName(entityUrn);
-      entitySpec = getEntityRegistry().getEntitySpec(entityName);
+      return getEntityRegistry().getEntitySpec(PegasusUtils.urnToEntityName(Urn.createFromString(urn)));
     } catch (URISyntaxException uriSyntaxException) {
       // don't expect this to happen, so raising RuntimeException here
       throw new RuntimeException(String.format("Failed to extract urn from %s", urn));
     }
+  }
 
-    final RollbackResult result = _aspectDao.runInTransactionWithRetry(() -> {
-      Integer additionalRowsDeleted = 0;
+  /**
+   * Rolls back the versions of an aspect matching the conditions. Must be called within a transaction.
+   */
+  @Nullable
+  private RollbackResult deleteAspectWithoutTransaction(String urn, EntitySpec entitySpec, String aspectName,
+      @Nonnull Map<String, String> conditions, boolean hardDelete) {
+    final Urn entityUrn = UrnUtils.getUrn(urn);
+    Integer additionalRowsDeleted = 0;
 
-      // 1. Fetch the latest existing version of the aspect.
-      final EntityAspect latest = _aspectDao.getLatestAspect(urn, aspectName);
+    // 1. Fetch the latest existing version of the aspect.
+    final EntityAspect latest = _aspectDao.getLatestAspect(urn, aspectName);
 
-      // 1.1 If no latest exists, skip this aspect
-      if (latest == null) {
-        return null;
-      }
+    // 1.1 If no latest exists, skip this aspect
+    if (latest == null) {
+      return null;
+    }
 
-      // 2. Compare the match conditions, if they don't match, ignore.
-      SystemMetadata latestSystemMetadata = EntityUtils.parseSystemMetadata(latest.getSystemMetadata());
-      if (!filterMatch(latestSystemMetadata, conditions)) {
-        return null;
-      }
-      String latestMetadata = latest.getMetadata();
+    // 2. Compare the match conditions, if they don't match, ignore.
+    SystemMetadata latestSystemMetadata = EntityUtils.parseSystemMetadata(latest.getSystemMetadata());
+    if (!filterMatch(latestSystemMetadata, conditions)) {
+      return null;
+    }
+    String latestMetadata = latest.getMetadata();
 
-      // 3. Check if this is a key aspect
-      Boolean isKeyAspect = false;
-      try {
-        isKeyAspect = getKeyAspectName(Urn.createFromString(urn)).equals(aspectName);
-      } catch (URISyntaxException e) {
-        log.error("Error occurred while parsing urn: {}", urn, e);
-      }
+    // 3. Check if this is a key aspect
+    Boolean isKeyAspect = false;
+    try {
+      isKeyAspect = getKeyAspectName(Urn.createFromString(urn)).equals(aspectName);
+    } catch (URISyntaxException e) {
+      log.error("Error occurred while parsing urn: {}", urn, e);
+    }
 
-      // 4. Fetch all preceding aspects, that match
-      List<EntityAspect> aspectsToDelete = new ArrayList<>();
-      long maxVersion = _aspectDao.getMaxVersion(urn, aspectName);
-      EntityAspect survivingAspect = null;
-      String previousMetadata = null;
-      boolean filterMatch = true;
-      while (maxVersion > 0 && filterMatch)  {
-        EntityAspect candidateAspect = _aspectDao.getAspect(urn, aspectName, maxVersion);
-        SystemMetadata previousSysMetadata = EntityUtils.parseSystemMetadata(candidateAspect.getSystemMetadata());
-        filterMatch = filterMatch(previousSysMetadata, conditions);
-        if (filterMatch) {
-          aspectsToDelete.add(candidateAspect);
-          maxVersion = maxVersion - 1;
-        } else {
-          survivingAspect = candidateAspect;
-          previousMetadata = survivingAspect.getMetadata();
-        }
+    // 4. Fetch all preceding aspects, that match
+    List<EntityAspect> aspectsToDelete = new ArrayList<>();
+    long maxVersion = _aspectDao.getMaxVersion(urn, aspectName);
+    EntityAspect survivingAspect = null;
+    String previousMetadata = null;
+    boolean filterMatch = true;
+    while (maxVersion > 0 && filterMatch)  {
+      EntityAspect candidateAspect = _aspectDao.getAspect(urn, aspectName, maxVersion);
+      SystemMetadata previousSysMetadata = EntityUtils.parseSystemMetadata(candidateAspect.getSystemMetadata());
+      filterMatch = filterMatch(previousSysMetadata, conditions);
+      if (filterMatch) {
+        aspectsToDelete.add(candidateAspect);
+        maxVersion = maxVersion - 1;
+      } else {
+        survivingAspect = candidateAspect;
+        previousMetadata = survivingAspect.getMetadata();
       }
+    }
 
-      // 5. Apply deletes and fix up latest row
-
-      aspectsToDelete.forEach(aspect -> _aspectDao.deleteAspect(aspect));
-
-      if (survivingAspect != null) {
-        // if there was a surviving aspect, copy its information into the latest row
-        // eBean does not like us updating a pkey column (version) for the surviving aspect
-        // as a result we copy information from survivingAspect to latest and delete survivingAspect
-        latest.setMetadata(survivingAspect.getMetadata());
-        latest.setSystemMetadata(survivingAspect.getSystemMetadata());
-        latest.setCreatedOn(survivingAspect.getCreatedOn());
-        latest.setCreatedBy(survivingAspect.getCreatedBy());
-        latest.setCreatedFor(survivingAspect.getCreatedFor());
-        _aspectDao.saveAspect(latest, false);
-        _aspectDao.deleteAspect(survivingAspect);
-      } else {
-        if (isKeyAspect) {
-          if (hardDelete) {
-            // If this is the key aspect, delete the entity entirely.
-            additionalRowsDeleted = _aspectDao.deleteUrn(urn);
-          } else if (entitySpec.hasAspect(Constants.STATUS_ASPECT_NAME)) {
-            // soft delete by setting status.removed=true (if applicable)
-            final Status statusAspect = new Status();
-            statusAspect.setRemoved(true);
-
-            final MetadataChangeProposal gmce = new MetadataChangeProposal();
-            gmce.setEntityUrn(entityUrn);
-            gmce.setChangeType(ChangeType.UPSERT);
-            gmce.setEntityType(entityUrn.getEntityType());
-            gmce.setAspectName(Constants.STATUS_ASPECT_NAME);
-            gmce.setAspect(GenericRecordUtils.serializeAspect(statusAspect));
-            final AuditStamp auditStamp = new AuditStamp().setActor(UrnUtils.getUrn(Constants.SYSTEM_ACTOR)).setTime(System.currentTimeMillis());
-
-            this.ingestProposal(gmce, auditStamp, false);
-          }
-        } else {
-          // Else, only delete the specific aspect.
-          _aspectDao.deleteAspect(latest);
+    // 5. Apply deletes and fix up latest row
+
+    aspectsToDelete.forEach(aspect -> _aspectDao.deleteAspect(aspect));
+
+    if (survivingAspect != null) {
+      // if there was a surviving aspect, copy its information into the latest row
+      // eBean does not like us updating a pkey column (version) for the surviving aspect
+      // as a result we copy information from survivingAspect to latest and delete survivingAspect
+      latest.setMetadata(survivingAspect.getMetadata());
+      latest.setSystemMetadata(survivingAspect.getSystemMetadata());
+      latest.setCreatedOn(survivingAspect.getCreatedOn());
+      latest.setCreatedBy(survivingAspect.getCreatedBy());
+      latest.setCreatedFor(survivingAspect.getCreatedFor());
+      _aspectDao.saveAspect(latest, false);
+      _aspectDao.deleteAspect(survivingAspect);
+    } else {
+      if (isKeyAspect) {
+        if (hardDelete) {
+          // If this is the key aspect, delete the entity entirely.
+          additionalRowsDeleted = _aspectDao.deleteUrn(urn);
+        } else if (entitySpec.hasAspect(Constants.STATUS_ASPECT_NAME)) {
+          // soft delete by setting status.removed=true (if applicable)
+          final Status statusAspect = new Status();
+          statusAspect.setRemoved(true);
+
+          final MetadataChangeProposal gmce = new MetadataChangeProposal();
+          gmce.setEntityUrn(entityUrn);
+          gmce.setChangeType(ChangeType.UPSERT);
+          gmce.setEntityType(entityUrn.getEntityType());
+          gmce.setAspectName(Constants.STATUS_ASPECT_NAME);
+          gmce.setAspect(GenericRecordUtils.serializeAspect(statusAspect));
+          final AuditStamp auditStamp = new AuditStamp().setActor(UrnUtils.getUrn(Constants.SYSTEM_ACTOR)).setTime(System.currentTimeMillis());
+
+          this.ingestProposal(gmce, auditStamp, false);
         }
+      } else {
+        // Else, only delete the specific aspect.
+        _aspectDao.deleteAspect(latest);
       }
+    }
 
-      // 6. Emit the Update
-      try {
-        final RecordTemplate latestValue = latest == null ? null
-            : EntityUtils.toAspectRecord(Urn.createFromString(latest.getUrn()), latest.getAspect(),
-                latestMetadata, getEntityRegistry());
-
-        final RecordTemplate previousValue = survivingAspect == null ? null
-            : EntityUtils.toAspectRecord(Urn.createFromString(survivingAspect.getUrn()),
-                survivingAspect.getAspect(), previousMetadata, getEntityRegistry());
-
-        final Urn urnObj = Urn.createFromString(urn);
-        // We are not deleting key aspect if hardDelete has not been set so do not return a rollback result
-        if (isKeyAspect && !hardDelete) {
-          return null;
-        }
-        return new RollbackResult(urnObj, urnObj.getEntityType(), latest.getAspect(), latestValue,
-            previousValue, latestSystemMetadata,
-            previousValue == null ? null : EntityUtils.parseSystemMetadata(survivingAspect.getSystemMetadata()),
-            survivingAspect == null ? ChangeType.DELETE : ChangeType.UPSERT, isKeyAspect, additionalRowsDeleted);
-      } catch (URISyntaxException e) {
-        throw new RuntimeException(String.format("Failed to emit the update for urn %s", urn));
-      } catch (IllegalStateException e) {
-        log.warn("Unable to find aspect, rollback result will not be sent. Error: {}", e.getMessage());
+    // 6. Emit the Update
+    try {
+      final RecordTemplate latestValue = latest == null ? null
+          : EntityUtils.toAspectRecord(Urn.createFromString(latest.getUrn()), latest.getAspect(),
+              latestMetadata, getEntityRegistry());
+
+      final RecordTemplate previousValue = survivingAspect == null ? null
+          : EntityUtils.toAspectRecord(Urn.createFromString(survivingAspect.getUrn()),
+              survivingAspect.getAspect(), previousMetadata, getEntityRegistry());
+
+      final Urn urnObj = Urn.createFromString(urn);
+      // We are not deleting key aspect if hardDelete has not been set so do not return a rollback result
+      if (isKeyAspect && !hardDelete) {
         return null;
       }
-    }, DEFAULT_MAX_TRANSACTION_RETRY);
-
-    return result;
+      return new RollbackResult(urnObj, urnObj.getEntityType(), latest.getAspect(), latestValue,
+          previousValue, latestSystemMetadata,
+          previousValue == null ? null : EntityUtils.parseSystemMetadata(survivingAspect.getSystemMetadata()),
+          survivingAspect == null ? ChangeType.DELETE : ChangeType.UPSERT, isKeyAspect, additionalRowsDeleted,
+          previousValue == null ? null : survivingAspect.getCreatedOn().getTime());
+    } catch (URISyntaxException e) {
+      throw new RuntimeException(String.format("Failed to emit the update for urn %s", urn));
+    } catch (IllegalStateException e) {
+      log.warn("Unable to find aspect, rollback result will not be sent. Error: {}", e.getMessage());
+      return null;
+    }
   }
 
   protected boolean filterMatch(SystemMetadata systemMetadata, Map<String, String> conditions) {
@@ -13,6 +13,10 @@ import com.linkedin.metadata.models.EntitySpec;
 import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.utils.PegasusUtils;
 import com.linkedin.mxe.SystemMetadata;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import javax.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 
@@ -95,4 +99,22 @@ public class EntityUtils {
       return false;
     }
   }
+
+  /**
+   * Returns the subset of the entities which exist and are removed (removed=true in Status aspect), like calling
+   * {@link #checkIfRemoved(EntityService, Urn)} for each urn, but in a few batched queries.
+   */
+  @Nonnull
+  public static Set<Urn> getRemovedUrns(EntityService entityService, Collection<Urn> entityUrns) {
+    try {
+      final Set<Urn> removedUrns = new HashSet<>(entityService.batchExists(entityUrns));
+      if (!removedUrns.isEmpty()) {
+        removedUrns.removeAll(entityService.existsAndNotRemoved(removedUrns));
+      }
+      return removedUrns;
+    } catch (Exception e) {
+      log.error("Error while checking if {} are removed", entityUrns, e);
+      return Collections.emptySet();
+    }
+  }
 }
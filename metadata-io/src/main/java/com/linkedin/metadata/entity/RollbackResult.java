@@ -20,4 +20,6 @@ public class RollbackResult {
   public ChangeType changeType;
   public Boolean keyAffected;
   public Integer additionalRowsAffected;
+  // Creation time of the version restored by the rollback, if any
+  public Long restoredCreatedOn;
 }
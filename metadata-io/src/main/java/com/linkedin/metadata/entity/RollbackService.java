@@ -0,0 +1,277 @@
+package com.linkedin.metadata.entity;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.entity.EnvelopedAspect;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.execution.ExecutionRequestResult;
+import com.linkedin.metadata.Constants;
+import com.linkedin.metadata.key.ExecutionRequestKey;
+import com.linkedin.metadata.run.AspectRowSummary;
+import com.linkedin.metadata.run.RollbackJobStatus;
+import com.linkedin.metadata.systemmetadata.SystemMetadataService;
+import com.linkedin.metadata.timeseries.TimeseriesAspectService;
+import com.linkedin.metadata.utils.EntityKeyUtils;
+import com.linkedin.metadata.utils.GenericRecordUtils;
+import com.linkedin.mxe.MetadataChangeProposal;
+import com.linkedin.timeseries.DeleteAspectValuesResult;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Rolls back ingestion runs asynchronously. The aspect rows of a run are streamed from the system metadata index in
+ * urn order and cut into batches that hold all the rows of the entities they touch, which are then rolled back in
+ * their own transactions by a bounded pool of workers. Since batches never share an entity, they can run in parallel.
+ * Each batch is authorized before it is submitted, and a batch that fails authorization stops the job.
+ *
+ * Jobs run one at a time, and their progress is kept in memory by run id for a while after they finish. It is only
+ * known to the instance that runs the job, while the status of the run's execution request is shared by all of them.
+ */
+@Slf4j
+public class RollbackService implements AutoCloseable {
+
+  public static final String ROLLING_BACK_STATUS = "ROLLING_BACK";
+  public static final String ROLLED_BACK_STATUS = "ROLLED_BACK";
+  public static final String ROLLBACK_FAILED_STATUS = "ROLLBACK_FAILED";
+  public static final long DEFAULT_JOB_RETENTION_MS = TimeUnit.DAYS.toMillis(1);
+
+  private final EntityService _entityService;
+  private final SystemMetadataService _systemMetadataService;
+  private final TimeseriesAspectService _timeseriesAspectService;
+  private final int _batchSize;
+  private final ExecutorService _batchExecutor;
+  private final AsyncJobRegistry<String, RollbackJob> _jobs;
+
+  public RollbackService(@Nonnull final EntityService entityService,
+      @Nonnull final SystemMetadataService systemMetadataService,
+      @Nonnull final TimeseriesAspectService timeseriesAspectService, final int batchSize, final int parallelism) {
+    this(entityService, systemMetadataService, timeseriesAspectService, batchSize, parallelism,
+        DEFAULT_JOB_RETENTION_MS);
+  }
+
+  public RollbackService(@Nonnull final EntityService entityService,
+      @Nonnull final SystemMetadataService systemMetadataService,
+      @Nonnull final TimeseriesAspectService timeseriesAspectService, final int batchSize, final int parallelism,
+      final long jobRetentionMs) {
+    _entityService = entityService;
+    _systemMetadataService = systemMetadataService;
+    _timeseriesAspectService = timeseriesAspectService;
+    _batchSize = batchSize;
+    // Once all workers are busy and a few batches are queued, the job rolls back the next batch itself, which stops it
+    // from streaming more rows than the workers can keep up with.
+    _batchExecutor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(parallelism),
+        new ThreadFactoryBuilder().setNameFormat("rollback-batch-%d").setDaemon(true).build(),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+    _jobs = new AsyncJobRegistry<>("rollback-job", jobRetentionMs);
+  }
+
+  /**
+   * Starts rolling back an ingestion run, unless it is already being rolled back.
+   *
+   * @param runId the run to roll back
+   * @param hardDelete whether entities created by the run should be hard deleted
+   * @param batchAuthorizer checks the rows of each batch before they are rolled back, throwing if they may not be
+   * @return the status of the rollback of the run
+   */
+  @Nonnull
+  public RollbackJobStatus submitRollback(@Nonnull final String runId, final boolean hardDelete,
+      @Nonnull final Consumer<List<AspectRowSummary>> batchAuthorizer) {
+    return _jobs.submit(runId, () -> {
+      updateExecutionRequestStatus(runId, ROLLING_BACK_STATUS);
+      return new RollbackJob(runId, hardDelete, batchAuthorizer);
+    }, this::rollback).toStatus();
+  }
+
+  /**
+   * Returns the status of the last rollback of an ingestion run started on this instance, if it is still running or
+   * finished within the job retention. Rollbacks started on other instances are only reflected in the status of the
+   * run's execution request.
+   */
+  @Nonnull
+  public Optional<RollbackJobStatus> getRollbackStatus(@Nonnull final String runId) {
+    return _jobs.get(runId).map(RollbackJob::toStatus);
+  }
+
+  /**
+   * Interrupts the running rollback, which records it as failed, and drops the queued ones.
+   */
+  @Override
+  public void close() {
+    _jobs.close();
+    _batchExecutor.shutdownNow();
+  }
+
+  /**
+   * Sets the status of the execution request of an ingestion run, if there is one.
+   */
+  public void updateExecutionRequestStatus(@Nonnull final String runId, @Nonnull final String status) {
+    try {
+      final Urn executionRequestUrn = EntityKeyUtils.convertEntityKeyToUrn(new ExecutionRequestKey().setId(runId),
+          Constants.EXECUTION_REQUEST_ENTITY_NAME);
+      EnvelopedAspect aspect = _entityService.getLatestEnvelopedAspect(executionRequestUrn.getEntityType(),
+          executionRequestUrn, Constants.EXECUTION_REQUEST_RESULT_ASPECT_NAME);
+      if (aspect == null) {
+        log.warn("Aspect for execution request with runId {} not found", runId);
+      } else {
+        final MetadataChangeProposal proposal = new MetadataChangeProposal();
+        ExecutionRequestResult requestResult = new ExecutionRequestResult(aspect.getValue().data());
+        requestResult.setStatus(status);
+        proposal.setEntityUrn(executionRequestUrn);
+        proposal.setEntityType(Constants.EXECUTION_REQUEST_ENTITY_NAME);
+        proposal.setAspectName(Constants.EXECUTION_REQUEST_RESULT_ASPECT_NAME);
+        proposal.setAspect(GenericRecordUtils.serializeAspect(requestResult));
+        proposal.setChangeType(ChangeType.UPSERT);
+
+        _entityService.ingestProposal(proposal,
+            new AuditStamp().setActor(UrnUtils.getUrn(Constants.SYSTEM_ACTOR)).setTime(System.currentTimeMillis()),
+            false);
+      }
+    } catch (Exception e) {
+      log.error(String.format("Not able to update execution result aspect with runId %s and new status %s.", runId,
+          status), e);
+    }
+  }
+
+  @VisibleForTesting
+  void rollback(@Nonnull final RollbackJob job) {
+    log.info("Rolling back run {}", job._runId);
+    final List<Future<?>> batches = new ArrayList<>();
+    boolean scrolled = false;
+    try {
+      submitBatches(job, batches);
+      scrolled = true;
+    } catch (RuntimeException e) {
+      log.error("Failed to read the rows of run {}", job._runId, e);
+      job.fail(0, e);
+    }
+
+    // Batches submitted before a failure still run, so the job only finishes once they are done
+    try {
+      for (Future<?> batch : batches) {
+        batch.get();
+      }
+      if (scrolled) {
+        final DeleteAspectValuesResult timeseriesRollbackResult =
+            _timeseriesAspectService.rollbackTimeseriesAspects(job._runId);
+        job._aspectsReverted.addAndGet(timeseriesRollbackResult.getNumDocsDeleted());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      job.fail(0, e);
+    } catch (ExecutionException | RuntimeException e) {
+      job.fail(0, e);
+    }
+
+    job.finish();
+    log.info("Finished rolling back run {} with status {}: {} rows processed, {} aspects reverted, {} rows failed",
+        job._runId, job.getStatus(), job._rowsProcessed.get(), job._aspectsReverted.get(), job._rowsFailed.get());
+    updateExecutionRequestStatus(job._runId, job.getStatus());
+  }
+
+  private void submitBatches(@Nonnull final RollbackJob job, @Nonnull final List<Future<?>> batches) {
+    final Iterator<List<AspectRowSummary>> pages =
+        _systemMetadataService.scrollByRunId(job._runId, job._hardDelete, _batchSize);
+    List<AspectRowSummary> pendingRows = new ArrayList<>();
+    while (pages.hasNext()) {
+      pendingRows.addAll(pages.next());
+      if (pendingRows.isEmpty()) {
+        continue;
+      }
+      // Rows come sorted by urn, so only the rows of the last urn may continue on the next page
+      int batchEnd = pendingRows.size();
+      if (pages.hasNext()) {
+        final String lastUrn = pendingRows.get(pendingRows.size() - 1).getUrn();
+        while (batchEnd > 0 && pendingRows.get(batchEnd - 1).getUrn().equals(lastUrn)) {
+          batchEnd--;
+        }
+      }
+      if (batchEnd > 0) {
+        final List<AspectRowSummary> batch = new ArrayList<>(pendingRows.subList(0, batchEnd));
+        pendingRows = new ArrayList<>(pendingRows.subList(batchEnd, pendingRows.size()));
+        job._batchAuthorizer.accept(batch);
+        batches.add(_batchExecutor.submit(() -> rollbackBatch(job, batch)));
+      }
+    }
+  }
+
+  private void rollbackBatch(@Nonnull final RollbackJob job, @Nonnull final List<AspectRowSummary> rows) {
+    try {
+      final RollbackRunResult result = _entityService.batchRollbackWithConditions(rows,
+          Collections.singletonMap("runId", job._runId), job._hardDelete);
+      job._aspectsReverted.addAndGet(result.getRowsRolledBack().size() + result.getRowsDeletedFromEntityDeletion());
+      job._entitiesAffected.addAndGet(
+          result.getRowsRolledBack().stream().map(AspectRowSummary::getUrn).distinct().count());
+    } catch (RuntimeException e) {
+      log.error("Failed to roll back {} rows of run {}", rows.size(), job._runId, e);
+      job.fail(rows.size(), e);
+    }
+    job._rowsProcessed.addAndGet(rows.size());
+  }
+
+  @VisibleForTesting
+  static class RollbackJob extends AsyncJob {
+    private final String _runId;
+    private final boolean _hardDelete;
+    private final Consumer<List<AspectRowSummary>> _batchAuthorizer;
+    private final AtomicLong _rowsProcessed = new AtomicLong();
+    private final AtomicLong _aspectsReverted = new AtomicLong();
+    private final AtomicLong _entitiesAffected = new AtomicLong();
+    private final AtomicLong _rowsFailed = new AtomicLong();
+
+    RollbackJob(@Nonnull final String runId, final boolean hardDelete,
+        @Nonnull final Consumer<List<AspectRowSummary>> batchAuthorizer) {
+      _runId = runId;
+      _hardDelete = hardDelete;
+      _batchAuthorizer = batchAuthorizer;
+    }
+
+    void fail(final long rows, @Nonnull final Exception e) {
+      _rowsFailed.addAndGet(rows);
+      fail(e);
+    }
+
+    @Nonnull
+    String getStatus() {
+      if (isRunning()) {
+        return ROLLING_BACK_STATUS;
+      }
+      return hasFailed() ? ROLLBACK_FAILED_STATUS : ROLLED_BACK_STATUS;
+    }
+
+    @Nonnull
+    RollbackJobStatus toStatus() {
+      final RollbackJobStatus status = new RollbackJobStatus().setRunId(_runId)
+          .setStatus(getStatus())
+          .setStartTimeMs(getStartTimeMs())
+          .setRowsProcessed(_rowsProcessed.get())
+          .setAspectsReverted(_aspectsReverted.get())
+          .setEntitiesAffected(_entitiesAffected.get())
+          .setRowsFailed(_rowsFailed.get());
+      if (getEndTimeMs() != null) {
+        status.setEndTimeMs(getEndTimeMs());
+      }
+      if (getErrorMessage() != null) {
+        status.setErrorMessage(getErrorMessage());
+      }
+      return status;
+    }
+  }
+}
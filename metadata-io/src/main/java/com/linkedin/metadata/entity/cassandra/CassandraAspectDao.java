@@ -33,6 +33,7 @@ import com.linkedin.metadata.query.ExtraInfoArray;
 import com.linkedin.metadata.query.ListResultMetadata;
 import java.net.URISyntaxException;
 import java.sql.Timestamp;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -166,6 +167,85 @@ public class CassandraAspectDao implements AspectDao, AspectMigrationsDao {
         .collect(Collectors.toMap(EntityAspect::toAspectIdentifier, aspect -> aspect));
   }
 
+  @Override
+  @Nonnull
+  public Set<String> getExistingUrns(@Nonnull final Set<String> urns) {
+    validateConnection();
+    if (urns.isEmpty()) {
+      return Collections.emptySet();
+    }
+    // Urns are the partition keys, so selecting them distinctly does not read any aspect
+    SimpleStatement ss = selectFrom(CassandraAspect.TABLE_NAME)
+        .distinct()
+        .column(CassandraAspect.URN_COLUMN)
+        .whereColumn(CassandraAspect.URN_COLUMN).in(urns.stream().map(QueryBuilder::literal).collect(Collectors.toList()))
+        .build();
+
+    ResultSet rs = _cqlSession.execute(ss);
+    return rs.all().stream().map(row -> row.getString(CassandraAspect.URN_COLUMN)).collect(Collectors.toSet());
+  }
+
+  @Override
+  @Nonnull
+  public List<EntityAspect> getAspectVersions(@Nonnull final String urn, @Nonnull final Set<String> aspectNames) {
+    validateConnection();
+    if (aspectNames.isEmpty()) {
+      return Collections.emptyList();
+    }
+    SimpleStatement ss = selectFrom(CassandraAspect.TABLE_NAME)
+        .column(CassandraAspect.ASPECT_COLUMN)
+        .column(CassandraAspect.VERSION_COLUMN)
+        .column(CassandraAspect.CREATED_ON_COLUMN)
+        .whereColumn(CassandraAspect.URN_COLUMN).isEqualTo(literal(urn))
+        .whereColumn(CassandraAspect.ASPECT_COLUMN).in(aspectNamesToLiterals(aspectNames))
+        .build();
+
+    ResultSet rs = _cqlSession.execute(ss);
+    return rs.all().stream()
+        .map(row -> new EntityAspect(urn, row.getString(CassandraAspect.ASPECT_COLUMN),
+            row.getLong(CassandraAspect.VERSION_COLUMN), null, null,
+            Timestamp.from(row.getInstant(CassandraAspect.CREATED_ON_COLUMN)), null, null))
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  @Nonnull
+  public Map<String, EntityAspect> getPreviousAspects(
+      @Nonnull final String urn,
+      @Nonnull final Set<String> aspectNames,
+      @Nonnull final Map<String, Long> versions) {
+    validateConnection();
+    if (aspectNames.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    // Cassandra has no subqueries, so the versions are resolved from the clustering keys of the urn's partition, which
+    // is read without the aspects themselves, and only the preceding versions are fetched.
+    SimpleStatement ss = selectFrom(CassandraAspect.TABLE_NAME)
+        .column(CassandraAspect.ASPECT_COLUMN)
+        .column(CassandraAspect.VERSION_COLUMN)
+        .whereColumn(CassandraAspect.URN_COLUMN).isEqualTo(literal(urn))
+        .whereColumn(CassandraAspect.ASPECT_COLUMN).in(aspectNamesToLiterals(aspectNames))
+        .build();
+
+    final Map<String, Long> previousVersions = new HashMap<>();
+    for (Row row : _cqlSession.execute(ss)) {
+      final String aspectName = row.getString(CassandraAspect.ASPECT_COLUMN);
+      final long version = row.getLong(CassandraAspect.VERSION_COLUMN);
+      final Long bound = versions.get(aspectName);
+      final boolean precedes = bound == null
+          ? version == ASPECT_LATEST_VERSION
+          : version != ASPECT_LATEST_VERSION && (bound == ASPECT_LATEST_VERSION || version < bound);
+      if (precedes) {
+        previousVersions.merge(aspectName, version, Math::max);
+      }
+    }
+
+    final Set<EntityAspectIdentifier> keys = previousVersions.entrySet().stream()
+        .map(entry -> new EntityAspectIdentifier(urn, entry.getKey(), entry.getValue()))
+        .collect(Collectors.toSet());
+    return batchGet(keys).values().stream().collect(Collectors.toMap(EntityAspect::getAspect, aspect -> aspect));
+  }
+
   @Override
   @Nullable
   public EntityAspect getAspect(@Nonnull EntityAspectIdentifier key) {
@@ -31,6 +31,7 @@ import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -263,6 +264,118 @@ public class EbeanAspectDao implements AspectDao, AspectMigrationsDao {
     return records.stream().collect(Collectors.toMap(record -> record.getKey().toAspectIdentifier(), EbeanAspectV2::toEntityAspect));
   }
 
+  @Override
+  @Nonnull
+  public Set<String> getExistingUrns(@Nonnull final Set<String> urns) {
+    validateConnection();
+    if (urns.isEmpty()) {
+      return Collections.emptySet();
+    }
+
+    // Only the ids of the latest aspects are fetched, so that the check can be served from the primary key index.
+    final List<String> urnList = new ArrayList<>(urns);
+    final int pageSize = _queryKeysCount == 0 ? urnList.size() : _queryKeysCount;
+    final Set<String> existingUrns = new HashSet<>();
+    for (int position = 0; position < urnList.size(); position += pageSize) {
+      final List<EbeanAspectV2.PrimaryKey> keys = _server.find(EbeanAspectV2.class)
+          .where()
+          .in(EbeanAspectV2.URN_COLUMN, urnList.subList(position, Math.min(urnList.size(), position + pageSize)))
+          .eq(EbeanAspectV2.VERSION_COLUMN, ASPECT_LATEST_VERSION)
+          .findIds();
+      keys.forEach(key -> existingUrns.add(key.getUrn()));
+    }
+    return existingUrns;
+  }
+
+  @Override
+  @Nonnull
+  public Map<String, EntityAspect> getPreviousAspects(
+      @Nonnull final String urn,
+      @Nonnull final Set<String> aspectNames,
+      @Nonnull final Map<String, Long> versions) {
+    validateConnection();
+    if (aspectNames.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    final List<String> aspectList = new ArrayList<>(aspectNames);
+    final int pageSize = _queryKeysCount == 0 ? aspectList.size() : _queryKeysCount;
+    final Map<String, EntityAspect> result = new HashMap<>();
+    for (int position = 0; position < aspectList.size(); position += pageSize) {
+      final int end = Math.min(aspectList.size(), position + pageSize);
+      previousAspectsUnion(urn, aspectList.subList(position, end), versions)
+          .forEach(record -> result.put(record.getKey().getAspect(), record.toEntityAspect()));
+    }
+    return result;
+  }
+
+  @Override
+  @Nonnull
+  public List<EntityAspect> getAspectVersions(@Nonnull final String urn, @Nonnull final Set<String> aspectNames) {
+    validateConnection();
+    if (aspectNames.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return _server.find(EbeanAspectV2.class)
+        .select(EbeanAspectV2.CREATED_ON_COLUMN)
+        .where()
+        .eq(EbeanAspectV2.URN_COLUMN, urn)
+        .in(EbeanAspectV2.ASPECT_COLUMN, aspectNames)
+        .findList()
+        .stream()
+        // Built from the loaded properties only, since converting the partially loaded bean would lazy load the rest.
+        .map(record -> new EntityAspect(record.getKey().getUrn(), record.getKey().getAspect(),
+            record.getKey().getVersion(), null, null, record.getCreatedOn(), null, null))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Like {@link #batchGetUnion}, builds one SELECT per aspect and UNION ALLs them. The preceding version of an aspect is
+   * resolved by a subquery on the primary key, so that the statement reads at most one row per aspect:
+   *   SELECT * FROM metadata_aspect_v2 WHERE urn = 'urn' AND aspect = 'aspect0' AND version = (
+   *     SELECT MAX(version) FROM metadata_aspect_v2 WHERE urn = 'urn' AND aspect = 'aspect0' AND version > 0 AND version < 5)
+   *   UNION ALL
+   *   SELECT * FROM metadata_aspect_v2 WHERE urn = 'urn' AND aspect = 'aspect1' AND version = 0
+   */
+  @Nonnull
+  private List<EbeanAspectV2> previousAspectsUnion(
+      @Nonnull final String urn,
+      @Nonnull final List<String> aspectNames,
+      @Nonnull final Map<String, Long> versions) {
+    final String table = EbeanAspectV2.class.getAnnotation(Table.class).name();
+    final Map<String, Object> params = new HashMap<>();
+    params.put("urn", urn);
+    final List<String> selects = new ArrayList<>(aspectNames.size());
+    for (int index = 0; index < aspectNames.size(); index++) {
+      final String aspectName = aspectNames.get(index);
+      final String aspectArg = "aspect" + index;
+      final String versionArg = "version" + index;
+      params.put(aspectArg, aspectName);
+
+      final String versionClause;
+      final Long version = versions.get(aspectName);
+      if (version == null) {
+        versionClause = "version = " + ASPECT_LATEST_VERSION;
+      } else {
+        params.put(versionArg, version == ASPECT_LATEST_VERSION ? Long.MAX_VALUE : version);
+        versionClause = String.format("version = (SELECT MAX(version) FROM %s WHERE urn = :urn AND aspect = :%s "
+            + "AND version > %d AND version < :%s)", table, aspectArg, ASPECT_LATEST_VERSION, versionArg);
+      }
+      selects.add(String.format("SELECT urn, aspect, version, metadata, systemMetadata, createdOn, createdBy, createdFor "
+          + "FROM %s WHERE urn = :urn AND aspect = :%s AND %s", table, aspectArg, versionClause));
+    }
+
+    final RawSql rawSql = RawSqlBuilder.parse(String.join(" UNION ALL ", selects))
+        .columnMapping(EbeanAspectV2.URN_COLUMN, "key.urn")
+        .columnMapping(EbeanAspectV2.ASPECT_COLUMN, "key.aspect")
+        .columnMapping(EbeanAspectV2.VERSION_COLUMN, "key.version")
+        .create();
+
+    final Query<EbeanAspectV2> query = _server.find(EbeanAspectV2.class).setRawSql(rawSql);
+    params.forEach(query::setParameter);
+    return query.findList();
+  }
+
   /**
    * BatchGet that allows pagination on keys to avoid large queries.
    * TODO: can further improve by running the sub queries in parallel
@@ -12,6 +12,7 @@ import com.linkedin.mxe.MetadataChangeProposal;
 import com.linkedin.mxe.PlatformEvent;
 import com.linkedin.mxe.SystemMetadata;
 import io.opentelemetry.extension.annotations.WithSpan;
+import java.util.Map;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -56,6 +57,22 @@ public interface EventProducer {
       @Nonnull final MetadataChangeLog metadataChangeLog
   );
 
+  /**
+   * Produces a {@link com.linkedin.mxe.MetadataChangeLog} like {@link #produceMetadataChangeLog(Urn, AspectSpec,
+   * MetadataChangeLog)}, along with headers meant for DataHub's own consumers, which are not part of the change log.
+   *
+   * @param urn the urn associated with the entity changed
+   * @param aspectSpec aspect spec of the aspect being updated
+   * @param metadataChangeLog metadata change log to push into MCL kafka topic
+   * @param headers headers to attach to the record of the change log
+   */
+  void produceMetadataChangeLog(
+      @Nonnull final Urn urn,
+      @Nonnull AspectSpec aspectSpec,
+      @Nonnull final MetadataChangeLog metadataChangeLog,
+      @Nonnull final Map<String, String> headers
+  );
+
   /**
    * Produces a {@link com.linkedin.mxe.MetadataChangeProposal}
    * as an async update to an entity
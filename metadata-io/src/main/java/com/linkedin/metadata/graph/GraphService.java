@@ -8,6 +8,7 @@ import com.linkedin.metadata.query.filter.RelationshipFilter;
 import com.linkedin.metadata.search.utils.QueryUtils;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -42,6 +43,27 @@ public interface GraphService {
    */
   void removeEdge(final Edge edge);
 
+  /**
+   * Adds the edges to the graph, see {@link #addEdge(Edge)}. Implementations may apply them in batches.
+   */
+  default void addEdges(@Nonnull final Collection<Edge> edges) {
+    edges.forEach(this::addEdge);
+  }
+
+  /**
+   * Adds or updates the edges in the graph, see {@link #upsertEdge(Edge)}. Implementations may apply them in batches.
+   */
+  default void upsertEdges(@Nonnull final Collection<Edge> edges) {
+    edges.forEach(this::upsertEdge);
+  }
+
+  /**
+   * Removes the edges from the graph, see {@link #removeEdge(Edge)}. Implementations may apply them in batches.
+   */
+  default void removeEdges(@Nonnull final Collection<Edge> edges) {
+    edges.forEach(this::removeEdge);
+  }
+
   /**
    * Find related entities (nodes) connected to a source entity via edges of given relationship types. Related entities
    * can be filtered by source and destination type (use `null` for any type), by source and destination entity filter
@@ -95,6 +117,23 @@ public interface GraphService {
       @Nonnull final List<String> relationshipTypes, @Nonnull final RelationshipFilter relationshipFilter,
       final int offset, final int count);
 
+  /**
+   * Scrolls through related entities like {@link #findRelatedEntities}, returning a scroll id to fetch the next page
+   * with as long as there may be more. Implementations should page with a cursor that is not shifted by edges removed
+   * while scrolling. Unless overridden, pages are fetched by offset, which skips edges when earlier ones are removed
+   * while scrolling.
+   */
+  @Nonnull
+  default RelatedEntitiesScrollResult scrollRelatedEntities(@Nullable final List<String> sourceTypes,
+      @Nonnull final Filter sourceEntityFilter, @Nullable final List<String> destinationTypes,
+      @Nonnull final Filter destinationEntityFilter, @Nonnull final List<String> relationshipTypes,
+      @Nonnull final RelationshipFilter relationshipFilter, @Nullable final String scrollId, final int count) {
+    final int offset = scrollId == null ? 0 : Integer.parseInt(scrollId);
+    final RelatedEntitiesResult result = findRelatedEntities(sourceTypes, sourceEntityFilter, destinationTypes,
+        destinationEntityFilter, relationshipTypes, relationshipFilter, offset, count);
+    final String nextScrollId = result.getEntities().size() < count ? null : String.valueOf(offset + count);
+    return new RelatedEntitiesScrollResult(result.getTotal(), count, nextScrollId, result.getEntities());
+  }
 
   /**
    * Traverse from the entityUrn towards the input direction up to maxHops number of hops
@@ -228,6 +267,32 @@ public interface GraphService {
     return result;
   }
 
+  /**
+   * Returns the entities one hop away from any of the given entities towards the input direction, up to count of them,
+   * for traversals that expand a whole level of the lineage at once.
+   *
+   * Unless overridden, it fetches the one hop lineage of each entity in turn
+   */
+  @Nonnull
+  default EntityLineageResult getOneHopLineage(@Nonnull Collection<Urn> entityUrns, @Nonnull LineageDirection direction,
+      int count, @Nullable Long startTimeMillis, @Nullable Long endTimeMillis) {
+    final LineageRelationshipArray relationships = new LineageRelationshipArray();
+    int total = 0;
+    for (Urn entityUrn : entityUrns) {
+      if (relationships.size() >= count) {
+        break;
+      }
+      final EntityLineageResult result =
+          getLineage(entityUrn, direction, 0, count - relationships.size(), 1, startTimeMillis, endTimeMillis);
+      total += result.getTotal();
+      relationships.addAll(result.getRelationships());
+    }
+    return new EntityLineageResult().setStart(0)
+        .setCount(relationships.size())
+        .setRelationships(relationships)
+        .setTotal(total);
+  }
+
   /**
    * Removes the given node (if it exists) as well as all edges (incoming and outgoing) of the node.
    */
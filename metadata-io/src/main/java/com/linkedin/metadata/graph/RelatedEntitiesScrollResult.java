@@ -0,0 +1,16 @@
+package com.linkedin.metadata.graph;
+
+import java.util.List;
+import javax.annotation.Nullable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@AllArgsConstructor
+@Data
+public class RelatedEntitiesScrollResult {
+  int numResults;
+  int pageSize;
+  @Nullable
+  String scrollId;
+  List<RelatedEntity> entities;
+}
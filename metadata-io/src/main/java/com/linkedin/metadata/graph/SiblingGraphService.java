@@ -8,42 +8,61 @@ import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.metadata.entity.EntityService;
 import com.linkedin.metadata.shared.ValidationUtils;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import static com.linkedin.metadata.Constants.*;
 
 
 @Slf4j
-@RequiredArgsConstructor
 public class SiblingGraphService {
 
+  // Match the default graph query timeout and max result size, see elasticsearch.search.graph
+  private static final long DEFAULT_TIMEOUT_SECONDS = 50;
+  private static final int DEFAULT_MAX_RELATIONSHIPS_PER_HOP = 10000;
+
   private final EntityService _entityService;
   private final GraphService _graphService;
+  private final long _timeoutMillis;
+  private final int _maxRelationshipsPerHop;
+
+  public SiblingGraphService(@Nonnull EntityService entityService, @Nonnull GraphService graphService) {
+    this(entityService, graphService, DEFAULT_TIMEOUT_SECONDS, DEFAULT_MAX_RELATIONSHIPS_PER_HOP);
+  }
+
+  public SiblingGraphService(@Nonnull EntityService entityService, @Nonnull GraphService graphService,
+      long timeoutSeconds, int maxRelationshipsPerHop) {
+    _entityService = entityService;
+    _graphService = graphService;
+    _timeoutMillis = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+    _maxRelationshipsPerHop = maxRelationshipsPerHop;
+  }
 
   @Nonnull
   public EntityLineageResult getLineage(@Nonnull Urn entityUrn, @Nonnull LineageDirection direction, int offset,
       int count, int maxHops) {
-    return ValidationUtils.validateEntityLineageResult(getLineage(
-            entityUrn,
-            direction,
-            offset,
-            count,
-            maxHops,
-            false,
-            new HashSet<>(),
-            null,
-            null),
-        _entityService);
+    return getLineage(
+        entityUrn,
+        direction,
+        offset,
+        count,
+        maxHops,
+        false,
+        new HashSet<>(),
+        null,
+        null);
   }
 
   /**
@@ -68,8 +87,8 @@ public class SiblingGraphService {
     }
 
     if (maxHops > 1) {
-      throw new UnsupportedOperationException(
-          String.format("More than 1 hop is not supported for %s", this.getClass().getSimpleName()));
+      return getMultiHopLineage(entityUrn, direction, offset, count, maxHops, visitedUrns, startTimeMillis,
+          endTimeMillis);
     }
 
     EntityLineageResult entityLineage =
@@ -124,11 +143,125 @@ public class SiblingGraphService {
 
         entityLineage = nextEntityLineage;
       };
+
+      // every merge step has already validated the combined result
+      return entityLineage;
     }
 
     return ValidationUtils.validateEntityLineageResult(entityLineage, _entityService);
   }
 
+  /**
+   * Traverses the lineage hop by hop, treating every sibling group as one node: the lineage of an entity is fetched
+   * together with the lineage of all its siblings, and siblings that are not primary are collapsed into their primary
+   * sibling when both are in the result.
+   *
+   * Sibling groups are resolved in batch for every hop, and the one hop lineage of all the entities of a hop is fetched
+   * with one batched graph call, bounded to the max relationships per hop. The traversal stops with the relationships
+   * found so far once the graph query timeout expires. Unlike single hop lineage, the whole result is computed before
+   * it is paged.
+   */
+  @Nonnull
+  private EntityLineageResult getMultiHopLineage(@Nonnull Urn entityUrn, @Nonnull LineageDirection direction,
+      int offset, int count, int maxHops, @Nonnull Set<Urn> visitedUrns, @Nullable Long startTimeMillis,
+      @Nullable Long endTimeMillis) {
+    final long timeoutTime = System.currentTimeMillis() + _timeoutMillis;
+    final Map<Urn, Siblings> siblingAspects = new HashMap<>();
+
+    // Your siblings are the source of the lineage as well, and never part of it
+    final Set<Urn> sourceGroup = resolveSiblingGroups(Collections.singleton(entityUrn), siblingAspects);
+    final Set<Urn> visited = new HashSet<>(visitedUrns);
+    visited.addAll(sourceGroup);
+    visitedUrns.addAll(sourceGroup);
+
+    final Map<Urn, LineageRelationship> relationships = new LinkedHashMap<>();
+    Set<Urn> currentLevel = sourceGroup;
+    for (int hop = 1; hop <= maxHops && !currentLevel.isEmpty(); hop++) {
+      final long remainingTime = timeoutTime - System.currentTimeMillis();
+      if (remainingTime <= 0) {
+        log.info("Timed out while fetching sibling lineage for {} with direction {}, maxHops {}. Returning results so far",
+            entityUrn, direction, maxHops);
+        break;
+      }
+
+      final EntityLineageResult oneHopResult = _graphService.getOneHopLineage(currentLevel, direction,
+          _maxRelationshipsPerHop, startTimeMillis, endTimeMillis);
+      if (oneHopResult.getTotal() > oneHopResult.getRelationships().size()) {
+        log.warn("Sibling lineage of {} with direction {} has {} relationships at hop {}, only {} are followed",
+            entityUrn, direction, oneHopResult.getTotal(), hop, oneHopResult.getRelationships().size());
+      }
+
+      final Set<Urn> nextLevel = new HashSet<>();
+      for (LineageRelationship relationship : oneHopResult.getRelationships()) {
+        if (visited.add(relationship.getEntity())) {
+          relationships.put(relationship.getEntity(), relationship.clone().setDegree(hop));
+          nextLevel.add(relationship.getEntity());
+        }
+      }
+
+      // Continue from the siblings of the new entities as well, unless they were reached already
+      currentLevel = resolveSiblingGroups(nextLevel, siblingAspects)
+          .stream()
+          .filter(urn -> nextLevel.contains(urn) || visited.add(urn))
+          .collect(Collectors.toSet());
+    }
+
+    // If you are not primary and your sibling is in the results, filter yourself out
+    final List<LineageRelationship> collapsedRelationships = relationships.values().stream()
+        .filter(relationship -> {
+          final Siblings siblings = siblingAspects.get(relationship.getEntity());
+          return siblings == null || siblings.isPrimary()
+              || siblings.getSiblings().stream().noneMatch(relationships::containsKey);
+        })
+        .collect(Collectors.toList());
+
+    final EntityLineageResult validatedResult = ValidationUtils.validateEntityLineageResult(new EntityLineageResult()
+        .setStart(offset)
+        .setTotal(collapsedRelationships.size())
+        .setCount(collapsedRelationships.size())
+        .setRelationships(new LineageRelationshipArray(collapsedRelationships)), _entityService);
+
+    final List<LineageRelationship> validatedRelationships = validatedResult.getRelationships();
+    final int total = validatedRelationships.size();
+    final List<LineageRelationship> page = offset >= total ? Collections.emptyList()
+        : validatedRelationships.subList(offset, (int) Math.min((long) offset + count, total));
+    return validatedResult.setTotal(total)
+        .setCount(page.size())
+        .setRelationships(new LineageRelationshipArray(page));
+  }
+
+  /**
+   * Returns the urns along with all their transitive siblings, fetching the siblings aspects of each round of newly
+   * found siblings in one batch. The aspects are collected into siblingAspects, which also caches them across calls.
+   */
+  @Nonnull
+  private Set<Urn> resolveSiblingGroups(@Nonnull Set<Urn> urns, @Nonnull Map<Urn, Siblings> siblingAspects) {
+    final Set<Urn> group = new HashSet<>(urns);
+    Set<Urn> currentRound = urns;
+    while (!currentRound.isEmpty()) {
+      final Set<Urn> unresolved =
+          currentRound.stream().filter(urn -> !siblingAspects.containsKey(urn)).collect(Collectors.toSet());
+      if (!unresolved.isEmpty()) {
+        final Map<Urn, List<RecordTemplate>> aspects =
+            _entityService.getLatestAspects(unresolved, ImmutableSet.of(SIBLINGS_ASPECT_NAME));
+        unresolved.forEach(urn -> siblingAspects.put(urn, aspects.getOrDefault(urn, Collections.emptyList())
+            .stream()
+            .filter(aspect -> aspect instanceof Siblings)
+            .map(aspect -> (Siblings) aspect)
+            .findAny()
+            .orElse(null)));
+      }
+
+      currentRound = currentRound.stream()
+          .map(siblingAspects::get)
+          .filter(siblings -> siblings != null && siblings.hasSiblings())
+          .flatMap(siblings -> siblings.getSiblings().stream())
+          .filter(group::add)
+          .collect(Collectors.toSet());
+    }
+    return group;
+  }
+
   // takes a lineage result and removes any nodes that are siblings of some other node already in the result
   private EntityLineageResult filterLineageResultFromSiblings(
       @Nonnull final Urn urn,
@@ -27,6 +27,7 @@ import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import com.linkedin.metadata.utils.metrics.MetricUtils;
 import io.opentelemetry.extension.annotations.WithSpan;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -53,6 +54,7 @@ import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortOrder;
 
 import static com.linkedin.metadata.graph.elastic.ElasticSearchGraphService.*;
 
@@ -129,9 +131,16 @@ public class ESGraphQueryDAO {
     ESUtils.setSearchAfter(searchSourceBuilder, sort, pitId, keepAlive);
     searchSourceBuilder.size(count);
     searchSourceBuilder.query(query);
+    // Edges are unique by source, destination and relationship type, which makes the search_after cursor stable
+    searchSourceBuilder.sort(SOURCE + ".urn", SortOrder.ASC);
+    searchSourceBuilder.sort(DESTINATION + ".urn", SortOrder.ASC);
+    searchSourceBuilder.sort(RELATIONSHIP_TYPE, SortOrder.ASC);
 
     searchRequest.source(searchSourceBuilder);
-    searchRequest.indices(indexConvention.getIndexName(INDEX_NAME));
+    // PIT specifies indices in creation so it doesn't support specifying indices on the request
+    if (pitId == null) {
+      searchRequest.indices(indexConvention.getIndexName(INDEX_NAME));
+    }
 
     try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "esQuery").time()) {
       MetricUtils.counter(this.getClass(), SEARCH_EXECUTIONS_METRIC).inc();
@@ -154,6 +163,17 @@ public class ESGraphQueryDAO {
     return executeSearchQuery(finalQuery, offset, count);
   }
 
+  public SearchResponse getSearchResponse(@Nullable final List<String> sourceTypes, @Nonnull final Filter sourceEntityFilter,
+      @Nullable final List<String> destinationTypes, @Nonnull final Filter destinationEntityFilter,
+      @Nonnull final List<String> relationshipTypes, @Nonnull final RelationshipFilter relationshipFilter,
+      @Nullable Object[] sort, @Nullable String pitId, @Nonnull String keepAlive, final int count) {
+    BoolQueryBuilder finalQuery =
+        buildQuery(sourceTypes, sourceEntityFilter, destinationTypes, destinationEntityFilter, relationshipTypes,
+            relationshipFilter);
+
+    return executeSearchQuery(finalQuery, sort, pitId, keepAlive, count);
+  }
+
   public static BoolQueryBuilder buildQuery(@Nullable final List<String> sourceTypes, @Nonnull final Filter sourceEntityFilter,
       @Nullable final List<String> destinationTypes, @Nonnull final Filter destinationEntityFilter,
       @Nonnull final List<String> relationshipTypes, @Nonnull final RelationshipFilter relationshipFilter) {
@@ -240,6 +260,29 @@ public class ESGraphQueryDAO {
     return new LineageResponse(response.getTotal(), subList);
   }
 
+  /**
+   * Returns up to count relationships one hop away from any of the entities, querying them in batches of the configured
+   * batch size rather than one entity at a time.
+   */
+  @WithSpan
+  public LineageResponse getOneHopLineage(@Nonnull Collection<Urn> entityUrns, @Nonnull LineageDirection direction,
+      GraphFilters graphFilters, int count, @Nullable Long startTimeMillis, @Nullable Long endTimeMillis) {
+    Set<Urn> visitedEntities = ConcurrentHashMap.newKeySet();
+    visitedEntities.addAll(entityUrns);
+    List<LineageRelationship> relationships =
+        getLineageRelationshipsInBatches(
+            new ArrayList<>(entityUrns),
+            direction,
+            graphFilters,
+            visitedEntities,
+            1,
+            graphQueryConfiguration.getTimeoutSeconds() * 1000,
+            new UrnArrayArray(),
+            startTimeMillis,
+            endTimeMillis);
+    return new LineageResponse(relationships.size(), relationships.subList(0, Math.min(count, relationships.size())));
+  }
+
   // Get 1-hop lineage relationships asynchronously in batches with timeout
   @WithSpan
   public List<LineageRelationship> getLineageRelationshipsInBatches(@Nonnull List<Urn> entityUrns,
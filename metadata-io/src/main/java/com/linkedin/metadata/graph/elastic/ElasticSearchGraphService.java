@@ -12,6 +12,7 @@ import com.linkedin.metadata.graph.GraphService;
 import com.linkedin.metadata.graph.LineageDirection;
 import com.linkedin.metadata.graph.LineageRelationshipArray;
 import com.linkedin.metadata.graph.RelatedEntitiesResult;
+import com.linkedin.metadata.graph.RelatedEntitiesScrollResult;
 import com.linkedin.metadata.graph.RelatedEntity;
 import com.linkedin.metadata.models.registry.LineageRegistry;
 import com.linkedin.metadata.query.filter.Condition;
@@ -24,6 +25,7 @@ import com.linkedin.metadata.query.filter.RelationshipDirection;
 import com.linkedin.metadata.query.filter.RelationshipFilter;
 import com.linkedin.metadata.search.elasticsearch.indexbuilder.ESIndexBuilder;
 import com.linkedin.metadata.search.elasticsearch.indexbuilder.ReindexConfig;
+import com.linkedin.metadata.search.elasticsearch.query.request.SearchAfterWrapper;
 import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
 import com.linkedin.metadata.shared.ElasticSearchIndexed;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
@@ -35,6 +37,7 @@ import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -47,6 +50,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
 
 
 @Slf4j
@@ -63,6 +67,7 @@ public class ElasticSearchGraphService implements GraphService, ElasticSearchInd
   private static final String DOC_DELIMETER = "--";
   public static final String INDEX_NAME = "graph_service_v1";
   private static final Map<String, Object> EMPTY_HASH = new HashMap<>();
+  private static final String SCROLL_KEEP_ALIVE = "5m";
 
   private String toDocument(@Nonnull final Edge edge) {
     final ObjectNode searchDocument = JsonNodeFactory.instance.objectNode();
@@ -183,7 +188,57 @@ public class ElasticSearchGraphService implements GraphService, ElasticSearchInd
     }
 
     int totalCount = (int) response.getHits().getTotalHits().value;
-    final List<RelatedEntity> relationships = Arrays.stream(response.getHits().getHits())
+    final List<RelatedEntity> relationships = extractRelatedEntities(response, destinationNode);
+
+    return new RelatedEntitiesResult(offset, relationships.size(), totalCount, relationships);
+  }
+
+  @Nonnull
+  @Override
+  public RelatedEntitiesScrollResult scrollRelatedEntities(
+      @Nullable final List<String> sourceTypes,
+      @Nonnull final Filter sourceEntityFilter,
+      @Nullable final List<String> destinationTypes,
+      @Nonnull final Filter destinationEntityFilter,
+      @Nonnull final List<String> relationshipTypes,
+      @Nonnull final RelationshipFilter relationshipFilter,
+      @Nullable final String scrollId,
+      final int count) {
+    if (sourceTypes != null && sourceTypes.isEmpty() || destinationTypes != null && destinationTypes.isEmpty()) {
+      return new RelatedEntitiesScrollResult(0, count, null, Collections.emptyList());
+    }
+
+    final RelationshipDirection relationshipDirection = relationshipFilter.getDirection();
+    String destinationNode = relationshipDirection == RelationshipDirection.OUTGOING ? "destination" : "source";
+
+    // Pages with search_after on the unique edge sort, without a point in time, so edges removed behind the cursor
+    // don't shift later pages
+    final Object[] sort = scrollId == null ? null : SearchAfterWrapper.fromScrollId(scrollId).getSort();
+    SearchResponse response = _graphReadDAO.getSearchResponse(
+        sourceTypes,
+        sourceEntityFilter,
+        destinationTypes,
+        destinationEntityFilter,
+        relationshipTypes,
+        relationshipFilter,
+        sort,
+        null,
+        SCROLL_KEEP_ALIVE,
+        count
+    );
+
+    final SearchHit[] hits = response.getHits().getHits();
+    // Only return a next scroll id if there may be more results, as indicated by a full page
+    final String nextScrollId = hits.length < count ? null
+        : new SearchAfterWrapper(hits[hits.length - 1].getSortValues(), null, 0L).toScrollId();
+    return new RelatedEntitiesScrollResult((int) response.getHits().getTotalHits().value, count, nextScrollId,
+        extractRelatedEntities(response, destinationNode));
+  }
+
+  @Nonnull
+  private static List<RelatedEntity> extractRelatedEntities(@Nonnull final SearchResponse response,
+      @Nonnull final String destinationNode) {
+    return Arrays.stream(response.getHits().getHits())
         .map(hit -> {
           final String urnStr =
               ((HashMap<String, String>) hit.getSourceAsMap().getOrDefault(destinationNode, EMPTY_HASH)).getOrDefault(
@@ -202,8 +257,6 @@ public class ElasticSearchGraphService implements GraphService, ElasticSearchInd
         })
         .filter(Objects::nonNull)
         .collect(Collectors.toList());
-
-    return new RelatedEntitiesResult(offset, relationships.size(), totalCount, relationships);
   }
 
   @Nonnull
@@ -254,6 +307,26 @@ public class ElasticSearchGraphService implements GraphService, ElasticSearchInd
         .setTotal(lineageResponse.getTotal());
   }
 
+  @Nonnull
+  @WithSpan
+  @Override
+  public EntityLineageResult getOneHopLineage(@Nonnull Collection<Urn> entityUrns, @Nonnull LineageDirection direction,
+      int count, @Nullable Long startTimeMillis, @Nullable Long endTimeMillis) {
+    final GraphFilters graphFilters = new GraphFilters(entityUrns.stream()
+        .map(Urn::getEntityType)
+        .distinct()
+        .flatMap(entityType -> getLineageRegistry().getEntitiesWithLineageToEntityType(entityType).stream())
+        .distinct()
+        .collect(Collectors.toList()));
+    ESGraphQueryDAO.LineageResponse lineageResponse =
+        _graphReadDAO.getOneHopLineage(entityUrns, direction, graphFilters, count, startTimeMillis, endTimeMillis);
+    return new EntityLineageResult().setRelationships(
+            new LineageRelationshipArray(lineageResponse.getLineageRelationships()))
+        .setStart(0)
+        .setCount(lineageResponse.getLineageRelationships().size())
+        .setTotal(lineageResponse.getTotal());
+  }
+
   private Filter createUrnFilter(@Nonnull final Urn urn) {
     Filter filter = new Filter();
     CriterionArray criterionArray = new CriterionArray();
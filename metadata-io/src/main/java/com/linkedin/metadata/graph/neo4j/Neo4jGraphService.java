@@ -4,6 +4,8 @@ import com.codahale.metrics.Timer;
 import com.datahub.util.Statement;
 import com.datahub.util.exception.RetryLimitReached;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableMap;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.metadata.graph.Edge;
@@ -14,6 +16,7 @@ import com.linkedin.metadata.graph.LineageDirection;
 import com.linkedin.metadata.graph.LineageRelationship;
 import com.linkedin.metadata.graph.LineageRelationshipArray;
 import com.linkedin.metadata.graph.RelatedEntitiesResult;
+import com.linkedin.metadata.graph.RelatedEntitiesScrollResult;
 import com.linkedin.metadata.graph.RelatedEntity;
 import com.linkedin.metadata.models.registry.LineageRegistry;
 import com.linkedin.metadata.query.filter.Condition;
@@ -22,16 +25,28 @@ import com.linkedin.metadata.query.filter.CriterionArray;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.query.filter.RelationshipDirection;
 import com.linkedin.metadata.query.filter.RelationshipFilter;
+import com.linkedin.metadata.search.elasticsearch.query.request.SearchAfterWrapper;
 import com.linkedin.metadata.utils.metrics.MetricUtils;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.AllArgsConstructor;
@@ -45,15 +60,33 @@ import org.neo4j.driver.Record;
 import org.neo4j.driver.Result;
 import org.neo4j.driver.Session;
 import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.Value;
 import org.neo4j.driver.exceptions.Neo4jException;
-import org.neo4j.driver.internal.InternalRelationship;
+import org.neo4j.driver.exceptions.ServiceUnavailableException;
+import org.neo4j.driver.exceptions.TransientException;
 
 @Slf4j
 public class Neo4jGraphService implements GraphService {
 
   private static final int MAX_TRANSACTION_RETRY = 3;
+  private static final long RETRY_BACKOFF_MS = 50;
+  private static final String DEADLOCK_DETECTED_CODE = "Neo.TransientError.Transaction.DeadlockDetected";
+  // Bounds the size of the parameters of a single UNWIND statement
+  private static final int MAX_EDGES_PER_STATEMENT = 1000;
+  private static final int MAX_HOP_BUCKET = 1024;
+  private static final Pattern SERVER_VERSION_PATTERN = Pattern.compile("^(\\d+)\\.(\\d+)");
+  private static final Comparator<Edge> EDGE_URN_COMPARATOR =
+      Comparator.comparing((Edge edge) -> edge.getSource().toString())
+          .thenComparing(edge -> edge.getDestination().toString());
   private final LineageRegistry _lineageRegistry;
   private final Driver _driver;
+  // Lineage statements by entity type, direction and hop bucket, see getLineageStatement
+  private final Map<String, Optional<String>> _lineageStatements = new ConcurrentHashMap<>();
+  // Node labels known to have a uniqueness constraint on urn, see ensureUrnConstraints
+  private final Map<String, Boolean> _constrainedLabels = new ConcurrentHashMap<>();
+  // Constraint syntax for the version of the server, looked up with the first constraint
+  private final Supplier<String> _urnConstraintTemplate =
+      Suppliers.memoize(() -> getUrnConstraintTemplate(getServerVersion()));
   private SessionConfig _sessionConfig;
 
   public Neo4jGraphService(@Nonnull LineageRegistry lineageRegistry, @Nonnull Driver driver) {
@@ -73,45 +106,191 @@ public class Neo4jGraphService implements GraphService {
 
   @Override
   public void addEdge(@Nonnull final Edge edge) {
+    addEdges(Collections.singletonList(edge));
+  }
 
-    log.debug(String.format("Adding Edge source: %s, destination: %s, type: %s",
-        edge.getSource(),
-        edge.getDestination(),
-        edge.getRelationshipType()));
+  @Override
+  public void upsertEdge(@Nonnull final Edge edge) {
+    upsertEdges(Collections.singletonList(edge));
+  }
 
-    final String sourceType = edge.getSource().getEntityType();
-    final String destinationType = edge.getDestination().getEntityType();
+  @Override
+  public void removeEdge(@Nonnull final Edge edge) {
+    removeEdges(Collections.singletonList(edge));
+  }
 
-    final List<Statement> statements = new ArrayList<>();
+  /**
+   * Adds the edges in batched transactions, replacing the properties of edges that already exist.
+   * This creates the source and destination nodes, if they do not exist.
+   */
+  @Override
+  public void addEdges(@Nonnull final Collection<Edge> edges) {
+    log.debug(String.format("Adding %d edges", edges.size()));
+
+    // Add/Update source & destination node first, then the relationship
+    final String mergeRelationshipTemplate = "UNWIND $edges AS edge "
+        + "MERGE (source:%s {urn: edge.sourceUrn}) MERGE (destination:%s {urn: edge.destinationUrn}) "
+        + "MERGE (source)-[r:%s]->(destination) SET r = edge.properties";
+    executeEdgeBatches(mergeRelationshipTemplate, edges, edge -> Collections.emptyMap());
+  }
 
-    // Add/Update source & destination node first
-    statements.add(getOrInsertNode(edge.getSource()));
-    statements.add(getOrInsertNode(edge.getDestination()));
+  /**
+   * Adds or updates the edges in batched transactions, merging their audit fields into the properties of edges that
+   * already exist. This creates the source and destination nodes, if they do not exist.
+   */
+  @Override
+  public void upsertEdges(@Nonnull final Collection<Edge> edges) {
+    log.debug(String.format("Upserting %d edges", edges.size()));
 
-    // Add/Update relationship
-    final String mergeRelationshipTemplate =
-        "MATCH (source:%s {urn: $sourceUrn}),(destination:%s {urn: $destinationUrn}) MERGE (source)-[r:%s]->(destination) SET r = $properties";
-    final String statement =
-        String.format(mergeRelationshipTemplate, sourceType, destinationType, edge.getRelationshipType());
+    final String upsertRelationshipTemplate = "UNWIND $edges AS edge "
+        + "MERGE (source:%s {urn: edge.sourceUrn}) MERGE (destination:%s {urn: edge.destinationUrn}) "
+        + "MERGE (source)-[r:%s]->(destination) SET r += edge.properties";
+    executeEdgeBatches(upsertRelationshipTemplate, edges, Neo4jGraphService::getEdgeProperties);
+  }
 
-    final Map<String, Object> paramsMerge = new HashMap<>();
-    paramsMerge.put("sourceUrn", edge.getSource().toString());
-    paramsMerge.put("destinationUrn", edge.getDestination().toString());
-    paramsMerge.put("properties", new HashMap<>());
+  /**
+   * Removes the edges in batched transactions. The source and destination nodes are kept.
+   */
+  @Override
+  public void removeEdges(@Nonnull final Collection<Edge> edges) {
+    log.debug(String.format("Removing %d edges", edges.size()));
 
-    statements.add(buildStatement(statement, paramsMerge));
+    final String deleteRelationshipTemplate = "UNWIND $edges AS edge "
+        + "MATCH (source:%s {urn: edge.sourceUrn}), (destination:%s {urn: edge.destinationUrn}) "
+        + "MATCH (source)-[r:%s]->(destination) DELETE r";
+    executeEdgeBatches(deleteRelationshipTemplate, edges, edge -> Collections.emptyMap());
+  }
 
+  /**
+   * Runs the template, formatted with the source type, destination type and relationship type of each group of edges,
+   * over all edges of the group, in one transaction.
+   */
+  private void executeEdgeBatches(@Nonnull final String template, @Nonnull final Collection<Edge> edges,
+      @Nonnull final Function<Edge, Map<String, Object>> propertiesFunction) {
+    final Map<List<String>, List<Edge>> edgesByTypes = groupEdgesByTypes(edges);
+    ensureUrnConstraints(edgesByTypes.keySet());
+    final List<Statement> statements = new ArrayList<>();
+    edgesByTypes.forEach((types, typedEdges) -> statements.addAll(
+        buildEdgeBatchStatements(String.format(template, types.get(0), types.get(1), types.get(2)), typedEdges,
+            propertiesFunction)));
     executeStatements(statements);
   }
 
-  @Override
-  public void upsertEdge(final Edge edge) {
-    throw new UnsupportedOperationException("Upsert edge not supported by Neo4JGraphService at this time.");
+  /**
+   * Creates a uniqueness constraint on the urn of the source and destination labels, the first time they are written.
+   * Without it, concurrent transactions merging the same node do not see each other's uncommitted node and both create
+   * it, which duplicates the node and splits its edges. Concurrent first writers of a label wait for the constraint.
+   */
+  private void ensureUrnConstraints(@Nonnull final Collection<List<String>> types) {
+    types.stream()
+        .flatMap(t -> Stream.of(t.get(0), t.get(1)))
+        .distinct()
+        .forEach(label -> _constrainedLabels.computeIfAbsent(label, this::createUrnConstraint));
   }
 
-  @Override
-  public void removeEdge(final Edge edge) {
-    throw new UnsupportedOperationException("Remove edge not supported by Neo4JGraphService at this time.");
+  @Nullable
+  private Boolean createUrnConstraint(@Nonnull final String label) {
+    try {
+      runQuery(new Statement(String.format(_urnConstraintTemplate.get(), label), Map.of()), Result::consume);
+      return true;
+    } catch (ServiceUnavailableException | TransientException e) {
+      // Not cached, so that the next write of the label tries again
+      log.warn(String.format("Could not create a uniqueness constraint on the urn of label %s yet", label), e);
+      return null;
+    } catch (Neo4jException e) {
+      // e.g. the label already has duplicate nodes. Writes still succeed, but concurrent writes may duplicate nodes of
+      // the label until the duplicates are removed and GMS restarted.
+      log.error(String.format("Failed to create a uniqueness constraint on the urn of label %s, concurrent writes may "
+          + "duplicate its nodes", label), e);
+      return false;
+    }
+  }
+
+  @Nonnull
+  private String getServerVersion() {
+    return runQuery(new Statement("CALL dbms.components() YIELD name, versions WHERE name = 'Neo4j Kernel' "
+        + "RETURN versions[0] AS version", Map.of()), result -> result.list().stream()
+        .findFirst()
+        .map(record -> record.get("version").asString())
+        .orElse(""));
+  }
+
+  /**
+   * Returns the template of the statement creating a uniqueness constraint on the urn of a label. The FOR ... REQUIRE
+   * syntax needs Neo4j 4.4, and IF NOT EXISTS 4.1. Without it, creating a constraint that already exists is a no-op.
+   */
+  @VisibleForTesting
+  @Nonnull
+  static String getUrnConstraintTemplate(@Nonnull final String serverVersion) {
+    final Matcher matcher = SERVER_VERSION_PATTERN.matcher(serverVersion);
+    if (!matcher.find()) {
+      log.warn("Unknown Neo4j server version {}, assuming 4.4 or later", serverVersion);
+      return "CREATE CONSTRAINT IF NOT EXISTS FOR (n:%s) REQUIRE n.urn IS UNIQUE";
+    }
+    final int major = Integer.parseInt(matcher.group(1));
+    final int minor = Integer.parseInt(matcher.group(2));
+    if (major > 4 || major == 4 && minor >= 4) {
+      return "CREATE CONSTRAINT IF NOT EXISTS FOR (n:%s) REQUIRE n.urn IS UNIQUE";
+    }
+    if (major == 4 && minor >= 1) {
+      return "CREATE CONSTRAINT IF NOT EXISTS ON (n:%s) ASSERT n.urn IS UNIQUE";
+    }
+    return "CREATE CONSTRAINT ON (n:%s) ASSERT n.urn IS UNIQUE";
+  }
+
+  /**
+   * Groups the edges by source type, destination type and relationship type, which Cypher cannot take as parameters.
+   * Edges are sorted by urns within each group so that concurrent batches lock common nodes in the same order, which
+   * avoids most deadlocks between them.
+   */
+  @Nonnull
+  private static Map<List<String>, List<Edge>> groupEdgesByTypes(@Nonnull final Collection<Edge> edges) {
+    return edges.stream()
+        .sorted(EDGE_URN_COMPARATOR)
+        .collect(Collectors.groupingBy(edge -> Arrays.asList(edge.getSource().getEntityType(),
+                edge.getDestination().getEntityType(), edge.getRelationshipType()),
+            () -> new TreeMap<>(Comparator.comparing(List::toString)), Collectors.toList()));
+  }
+
+  @Nonnull
+  private List<Statement> buildEdgeBatchStatements(@Nonnull final String statement, @Nonnull final List<Edge> edges,
+      @Nonnull final Function<Edge, Map<String, Object>> propertiesFunction) {
+    final List<Statement> statements = new ArrayList<>();
+    for (int start = 0; start < edges.size(); start += MAX_EDGES_PER_STATEMENT) {
+      final List<Map<String, Object>> edgeParams = edges.subList(start, Math.min(edges.size(), start + MAX_EDGES_PER_STATEMENT))
+          .stream()
+          .<Map<String, Object>>map(edge -> ImmutableMap.of(
+              "sourceUrn", edge.getSource().toString(),
+              "destinationUrn", edge.getDestination().toString(),
+              "properties", propertiesFunction.apply(edge)))
+          .collect(Collectors.toList());
+
+      final Map<String, Object> params = new HashMap<>();
+      params.put("edges", edgeParams);
+      statements.add(buildStatement(statement, params));
+    }
+    return statements;
+  }
+
+  /**
+   * Returns the audit fields of the edge that are set, as Neo4j relationship properties.
+   */
+  @Nonnull
+  private static Map<String, Object> getEdgeProperties(@Nonnull final Edge edge) {
+    final Map<String, Object> properties = new HashMap<>();
+    if (edge.getCreatedOn() != null) {
+      properties.put("createdOn", edge.getCreatedOn());
+    }
+    if (edge.getCreatedActor() != null) {
+      properties.put("createdActor", edge.getCreatedActor().toString());
+    }
+    if (edge.getUpdatedOn() != null) {
+      properties.put("updatedOn", edge.getUpdatedOn());
+    }
+    if (edge.getUpdatedActor() != null) {
+      properties.put("updatedActor", edge.getUpdatedActor().toString());
+    }
+    return properties;
   }
 
   @Nonnull
@@ -120,77 +299,194 @@ public class Neo4jGraphService implements GraphService {
       GraphFilters graphFilters, int offset, int count, int maxHops) {
     log.debug(String.format("Neo4j getLineage maxHops = %d", maxHops));
 
-    final String statement = generateLineageStatement(entityUrn, direction, graphFilters, maxHops);
-
-    List<Record> neo4jResult = statement != null ? runQuery(buildStatement(statement, new HashMap<>())).list() : new ArrayList<>();
+    final String statement = getLineageStatement(entityUrn.getEntityType(), direction, maxHops);
+    if (statement == null) {
+      return new EntityLineageResult().setStart(offset)
+          .setCount(0)
+          .setRelationships(new LineageRelationshipArray())
+          .setTotal(0);
+    }
 
-    // It is possible to have more than 1 path from node A to node B in the graph and previous query returns all the paths.
-    // We convert the List into Map with only the shortest paths. "item.get(i).size()" is the path size between two nodes in relation.
-    // The key for mapping is the destination node as the source node is always the same, and it is defined by parameter.
-    neo4jResult = neo4jResult.stream()
-            .collect(Collectors.toMap(item -> item.values().get(2).asNode().get("urn").asString(),
-                    Function.identity(),
-                    (item1, item2) -> item1.get(1).size() < item2.get(1).size() ? item1 : item2))
-            .values()
-            .stream()
-            .collect(Collectors.toList());
+    final Map<String, Object> params = new HashMap<>();
+    params.put("urn", entityUrn.toString());
+    params.put("allowedTypes", graphFilters.getAllowedEntityTypes());
+    params.put("maxHops", maxHops);
+    params.put("offset", offset);
+    params.put("end", offset + count);
+    final Record record = runQuery(buildStatement(statement, params), Result::single);
 
     LineageRelationshipArray relations = new LineageRelationshipArray();
-    neo4jResult.stream()
-            .skip(offset).limit(count)
-            .forEach(item -> {
-              String urn = item.values().get(2).asNode().get("urn").asString();
-              String relationType = ((InternalRelationship) item.get(1).asList().get(0)).type();
-              int numHops = item.get(1).size();
-              try {
-                relations.add(new LineageRelationship()
-                        .setEntity(Urn.createFromString(urn))
-                        .setType(relationType)
-                        .setDegree(numHops));
-              } catch (URISyntaxException ignored) {
-                log.warn(String.format("Can't convert urn = %s, Error = %s", urn, ignored.getMessage()));
-              }
-            });
+    record.get("relationships").asList(Value::asMap).forEach(item -> {
+      String urn = (String) item.get("urn");
+      try {
+        relations.add(new LineageRelationship()
+                .setEntity(Urn.createFromString(urn))
+                .setType((String) item.get("type"))
+                .setDegree(((Number) item.get("degree")).intValue()));
+      } catch (URISyntaxException ignored) {
+        log.warn(String.format("Can't convert urn = %s, Error = %s", urn, ignored.getMessage()));
+      }
+    });
 
     EntityLineageResult result = new EntityLineageResult().setStart(offset)
             .setCount(relations.size())
             .setRelationships(relations)
-            .setTotal(neo4jResult.size());
+            .setTotal(record.get("total").asInt());
 
     log.debug(String.format("Neo4j getLineage results = %s", result));
     return result;
   }
 
-  private String generateLineageStatement(@Nonnull Urn entityUrn, @Nonnull LineageDirection direction, GraphFilters graphFilters, int maxHops) {
-    final String multiHopTemplateDirect = "MATCH shortestPath((a {urn: '%s'})-[r:%s*1..%d]->(b)) WHERE (b:%s) AND b.urn <> '%s' RETURN a,r,b";
-    final String multiHopTemplateIndirect = "MATCH shortestPath((a {urn: '%s'})<-[r:%s*1..%d]-(b)) WHERE (b:%s) AND b.urn <> '%s' RETURN a,r,b";
+  /**
+   * Returns the lineage statement for the entity type, direction and hop bucket, or null if the entity type has no
+   * lineage relationships in that direction. Statements are built once per key and take the urn, the allowed entity
+   * types, the exact hop limit and the page as parameters, so that Neo4j plans each of them only once.
+   */
+  @Nullable
+  private String getLineageStatement(@Nonnull String entityType, @Nonnull LineageDirection direction, int maxHops) {
+    final int hopBucket = getHopBucket(maxHops);
+    return _lineageStatements.computeIfAbsent(String.join(":", entityType, direction.name(), String.valueOf(hopBucket)),
+        key -> Optional.ofNullable(generateLineageStatement(entityType, direction, hopBucket))).orElse(null);
+  }
+
+  /**
+   * Rounds the hop limit up to a power of two, up to 1024. Variable length patterns cannot take their bounds as
+   * parameters, so the statement matches paths up to the bucket and filters them by the exact limit.
+   */
+  @VisibleForTesting
+  static int getHopBucket(int maxHops) {
+    return maxHops <= 1 ? 1 : Math.min(Integer.highestOneBit(maxHops - 1) << 1, MAX_HOP_BUCKET);
+  }
 
+  @Nullable
+  private String generateLineageStatement(@Nonnull String entityType, @Nonnull LineageDirection direction, int hopBucket) {
+    final String multiHopTemplateDirect = "MATCH p = shortestPath((a:%s {urn: $urn})-[:%s*1..%d]->(b)) "
+        + "WHERE b.urn <> $urn AND any(label IN labels(b) WHERE label IN $allowedTypes) RETURN b, relationships(p) AS r";
+    final String multiHopTemplateIndirect = "MATCH p = shortestPath((a:%s {urn: $urn})<-[:%s*1..%d]-(b)) "
+        + "WHERE b.urn <> $urn AND any(label IN labels(b) WHERE label IN $allowedTypes) RETURN b, relationships(p) AS r";
+
+    final String paths = generateLineagePaths(entityType, direction,
+        relationshipTypes -> String.format(multiHopTemplateDirect, entityType, relationshipTypes, hopBucket),
+        relationshipTypes -> String.format(multiHopTemplateIndirect, entityType, relationshipTypes, hopBucket));
+    if (paths == null) {
+      return null;
+    }
+
+    // Keep the shortest path to every entity, and page through the entities ordered by degree and urn
+    return "CALL { " + paths + " } "
+        + "WITH b, r WHERE size(r) <= $maxHops "
+        + "WITH b, r ORDER BY size(r) "
+        + "WITH b, head(collect(r)) AS r "
+        + "WITH b, r ORDER BY size(r), b.urn "
+        + "WITH collect({urn: b.urn, type: type(r[0]), degree: size(r)}) AS rows "
+        + "RETURN size(rows) AS total, rows[$offset..$end] AS relationships";
+  }
+
+  /**
+   * Unions the outgoing and incoming lineage patterns of the entity type in the direction, built from the lineage
+   * relationship types joined with |, or returns null if the entity type has no lineage relationships in that direction.
+   */
+  @Nullable
+  private String generateLineagePaths(@Nonnull String entityType, @Nonnull LineageDirection direction,
+      @Nonnull Function<String, String> outgoingTemplate, @Nonnull Function<String, String> incomingTemplate) {
     List<LineageRegistry.EdgeInfo> edgesToFetch =
-            getLineageRegistry().getLineageRelationships(entityUrn.getEntityType(), direction);
+            getLineageRegistry().getLineageRelationships(entityType, direction);
 
     String upstreamRel = edgesToFetch.stream()
             .filter(item -> item.getDirection() == RelationshipDirection.OUTGOING)
             .map(item -> item.getType())
+            .distinct()
             .collect(Collectors.joining("|"));
     String dowStreamRel = edgesToFetch.stream()
             .filter(item -> item.getDirection() == RelationshipDirection.INCOMING)
             .map(item -> item.getType())
+            .distinct()
             .collect(Collectors.joining("|"));
 
-    final String allowedEntityTypes = String.join(" OR b:", graphFilters.getAllowedEntityTypes());
-
-    final String statementDirect = String.format(multiHopTemplateDirect, entityUrn, upstreamRel, maxHops, allowedEntityTypes, entityUrn);
-    final String statementIndirect = String.format(multiHopTemplateIndirect, entityUrn, dowStreamRel, maxHops, allowedEntityTypes, entityUrn);
-
-    String statement = null;
     if (upstreamRel.length() > 0 && dowStreamRel.length() > 0) {
-      statement = statementDirect + " UNION " + statementIndirect;
+      return outgoingTemplate.apply(upstreamRel) + " UNION ALL " + incomingTemplate.apply(dowStreamRel);
     } else if (upstreamRel.length() > 0) {
-      statement = statementDirect;
+      return outgoingTemplate.apply(upstreamRel);
     } else if (dowStreamRel.length() > 0) {
-      statement = statementIndirect;
+      return incomingTemplate.apply(dowStreamRel);
     }
-    return statement;
+    return null;
+  }
+
+  /**
+   * Fetches the one hop lineage of all the entities of each entity type in a single statement, instead of one
+   * statement per entity. Like {@link #getLineage}, time filters are not supported.
+   */
+  @Nonnull
+  @Override
+  public EntityLineageResult getOneHopLineage(@Nonnull Collection<Urn> entityUrns, @Nonnull LineageDirection direction,
+      int count, @Nullable Long startTimeMillis, @Nullable Long endTimeMillis) {
+    final List<String> sourceUrns = entityUrns.stream().map(Urn::toString).collect(Collectors.toList());
+    final Map<String, List<String>> urnsByEntityType = entityUrns.stream()
+        .collect(Collectors.groupingBy(Urn::getEntityType, Collectors.mapping(Urn::toString, Collectors.toList())));
+    final List<String> allowedTypes = urnsByEntityType.keySet()
+        .stream()
+        .flatMap(entityType -> getLineageRegistry().getEntitiesWithLineageToEntityType(entityType).stream())
+        .distinct()
+        .collect(Collectors.toList());
+
+    final Map<String, LineageRelationship> relationships = new LinkedHashMap<>();
+    int total = 0;
+    for (Map.Entry<String, List<String>> entry : urnsByEntityType.entrySet()) {
+      final String statement = _lineageStatements.computeIfAbsent(
+          String.join(":", "oneHop", entry.getKey(), direction.name()),
+          key -> Optional.ofNullable(generateOneHopLineageStatement(entry.getKey(), direction))).orElse(null);
+      if (statement == null || relationships.size() >= count) {
+        continue;
+      }
+
+      final Map<String, Object> params = new HashMap<>();
+      params.put("urns", entry.getValue());
+      params.put("sourceUrns", sourceUrns);
+      params.put("allowedTypes", allowedTypes);
+      params.put("end", count - relationships.size());
+      final Record record = runQuery(buildStatement(statement, params), Result::single);
+      total += record.get("total").asInt();
+      record.get("relationships").asList(Value::asMap).forEach(item -> {
+        String urn = (String) item.get("urn");
+        try {
+          relationships.putIfAbsent(urn, new LineageRelationship()
+              .setEntity(Urn.createFromString(urn))
+              .setType((String) item.get("type"))
+              .setDegree(1));
+        } catch (URISyntaxException ignored) {
+          log.warn(String.format("Can't convert urn = %s, Error = %s", urn, ignored.getMessage()));
+        }
+      });
+    }
+
+    return new EntityLineageResult().setStart(0)
+        .setCount(relationships.size())
+        .setRelationships(new LineageRelationshipArray(relationships.values()))
+        .setTotal(total);
+  }
+
+  @Nullable
+  private String generateOneHopLineageStatement(@Nonnull String entityType, @Nonnull LineageDirection direction) {
+    final String oneHopTemplateDirect = "UNWIND $urns AS sourceUrn MATCH (a:%s {urn: sourceUrn})-[r:%s]->(b) "
+        + "WHERE NOT b.urn IN $sourceUrns AND any(label IN labels(b) WHERE label IN $allowedTypes) "
+        + "RETURN b.urn AS urn, type(r) AS type";
+    final String oneHopTemplateIndirect = "UNWIND $urns AS sourceUrn MATCH (a:%s {urn: sourceUrn})<-[r:%s]-(b) "
+        + "WHERE NOT b.urn IN $sourceUrns AND any(label IN labels(b) WHERE label IN $allowedTypes) "
+        + "RETURN b.urn AS urn, type(r) AS type";
+
+    final String paths = generateLineagePaths(entityType, direction,
+        relationshipTypes -> String.format(oneHopTemplateDirect, entityType, relationshipTypes),
+        relationshipTypes -> String.format(oneHopTemplateIndirect, entityType, relationshipTypes));
+    if (paths == null) {
+      return null;
+    }
+
+    // Keep each entity once, whichever entity of the level it was reached from
+    return "CALL { " + paths + " } "
+        + "WITH urn, head(collect(type)) AS type ORDER BY urn "
+        + "WITH collect({urn: urn, type: type}) AS rows "
+        + "RETURN size(rows) AS total, rows[0..$end] AS relationships";
   }
 
   @Nonnull
@@ -256,14 +552,95 @@ public class Neo4jGraphService implements GraphService {
     final Statement countStatement =  new Statement(countStatementString, Collections.emptyMap());
 
     // Execute Queries
-    final List<RelatedEntity> relatedEntities = runQuery(resultStatement).list(record ->
+    final List<RelatedEntity> relatedEntities = runQuery(resultStatement, result -> result.list(record ->
         new RelatedEntity(
             record.values().get(1).asString(), // Relationship Type
-            record.values().get(0).asNode().get("urn").asString())); // Urn TODO: Validate this works against Neo4j.
-    final int totalCount = runQuery(countStatement).single().get(0).asInt();
+            record.values().get(0).asNode().get("urn").asString()))); // Urn TODO: Validate this works against Neo4j.
+    final int totalCount = runQuery(countStatement, result -> result.single().get(0).asInt());
     return new RelatedEntitiesResult(offset, relatedEntities.size(), totalCount, relatedEntities);
   }
 
+  /**
+   * Scrolls through related entities ordered by source urn, destination urn and relationship type, which identify an
+   * edge. Each page starts after the last edge of the previous one rather than at an offset, so edges removed while
+   * scrolling don't cause later edges to be skipped.
+   */
+  @Nonnull
+  @Override
+  public RelatedEntitiesScrollResult scrollRelatedEntities(
+      @Nullable final List<String> sourceTypes,
+      @Nonnull final Filter sourceEntityFilter,
+      @Nullable final List<String> destinationTypes,
+      @Nonnull final Filter destinationEntityFilter,
+      @Nonnull final List<String> relationshipTypes,
+      @Nonnull final RelationshipFilter relationshipFilter,
+      @Nullable final String scrollId,
+      final int count) {
+
+    if (sourceTypes != null && sourceTypes.isEmpty() || destinationTypes != null && destinationTypes.isEmpty()) {
+      return new RelatedEntitiesScrollResult(0, count, null, Collections.emptyList());
+    }
+
+    final String srcCriteria = filterToCriteria(sourceEntityFilter).trim();
+    final String destCriteria = filterToCriteria(destinationEntityFilter).trim();
+    final String edgeCriteria = relationshipFilterToCriteria(relationshipFilter);
+
+    final RelationshipDirection relationshipDirection = relationshipFilter.getDirection();
+
+    String matchTemplate = "MATCH (src %s)-[r%s %s]-(dest %s)%s";
+    if (relationshipDirection == RelationshipDirection.INCOMING) {
+      matchTemplate = "MATCH (src %s)<-[r%s %s]-(dest %s)%s";
+    } else if (relationshipDirection == RelationshipDirection.OUTGOING) {
+      matchTemplate = "MATCH (src %s)-[r%s %s]->(dest %s)%s";
+    }
+
+    String relationshipTypeFilter = "";
+    if (relationshipTypes.size() > 0) {
+      relationshipTypeFilter = ":" + StringUtils.join(relationshipTypes, "|");
+    }
+
+    String whereClause = computeEntityTypeWhereClause(sourceTypes, destinationTypes);
+
+    // Build Statement strings
+    String baseStatementString =
+        String.format(matchTemplate, srcCriteria, relationshipTypeFilter, edgeCriteria, destCriteria, whereClause);
+
+    final Map<String, Object> params = new HashMap<>();
+    params.put("count", count);
+    String cursorClause = "";
+    if (scrollId != null) {
+      final Object[] lastEdge = SearchAfterWrapper.fromScrollId(scrollId).getSort();
+      params.put("srcUrn", lastEdge[0]);
+      params.put("destUrn", lastEdge[1]);
+      params.put("type", lastEdge[2]);
+      cursorClause = " WITH src, r, dest WHERE src.urn > $srcUrn"
+          + " OR (src.urn = $srcUrn AND dest.urn > $destUrn)"
+          + " OR (src.urn = $srcUrn AND dest.urn = $destUrn AND type(r) > $type)";
+    }
+
+    final String resultStatementString = String.format(
+        "%s%s RETURN src.urn AS srcUrn, dest.urn AS destUrn, type(r) AS type ORDER BY srcUrn, destUrn, type LIMIT $count",
+        baseStatementString, cursorClause);
+    final String countStatementString = String.format("%s RETURN count(*)", baseStatementString);
+
+    // Execute Queries
+    final List<Record> records = runQuery(new Statement(resultStatementString, params), Result::list);
+    final List<RelatedEntity> relatedEntities = records.stream()
+        .map(record -> new RelatedEntity(record.get("type").asString(), record.get("destUrn").asString()))
+        .collect(Collectors.toList());
+    final int totalCount =
+        runQuery(new Statement(countStatementString, Collections.emptyMap()), result -> result.single().get(0).asInt());
+
+    // Only return a next scroll id if there may be more results, as indicated by a full page
+    String nextScrollId = null;
+    if (records.size() == count) {
+      final Record lastRecord = records.get(records.size() - 1);
+      nextScrollId = new SearchAfterWrapper(new Object[]{lastRecord.get("srcUrn").asString(),
+          lastRecord.get("destUrn").asString(), lastRecord.get("type").asString()}, null, 0L).toScrollId();
+    }
+    return new RelatedEntitiesScrollResult(totalCount, count, nextScrollId, relatedEntities);
+  }
+
   private String computeEntityTypeWhereClause(@Nonnull final List<String> sourceTypes,
       @Nonnull final List<String> destinationTypes) {
     String whereClause = "";
@@ -298,7 +675,7 @@ public class Neo4jGraphService implements GraphService {
     final Map<String, Object> params = new HashMap<>();
     params.put("urn", urn.toString());
 
-    runQuery(buildStatement(statement, params)).consume();
+    runQuery(buildStatement(statement, params), Result::consume);
   }
 
   public void removeEdgesFromNode(
@@ -330,7 +707,7 @@ public class Neo4jGraphService implements GraphService {
     final Map<String, Object> params = new HashMap<>();
     params.put("urn", urn.toString());
 
-    runQuery(buildStatement(statement, params)).consume();
+    runQuery(buildStatement(statement, params), Result::consume);
   }
 
   public void removeNodesMatchingLabel(@Nonnull String labelPattern) {
@@ -341,7 +718,7 @@ public class Neo4jGraphService implements GraphService {
 
     final Map<String, Object> params = new HashMap<>();
 
-    runQuery(buildStatement(statement, params)).consume();
+    runQuery(buildStatement(statement, params), Result::consume);
   }
 
   @Override
@@ -356,7 +733,7 @@ public class Neo4jGraphService implements GraphService {
 
   @VisibleForTesting
   public void wipe() {
-    runQuery(new Statement("MATCH (n) DETACH DELETE n", Map.of())).consume();
+    runQuery(new Statement("MATCH (n) DETACH DELETE n", Map.of()), Result::consume);
   }
 
   // visible for testing
@@ -388,15 +765,26 @@ public class Neo4jGraphService implements GraphService {
   /**
    * Executes a list of statements with parameters in one transaction.
    *
+   * Transactions of concurrent callers are not serialized. Transactions that fail on transient errors, e.g. a deadlock
+   * with another transaction, are retried after a randomized backoff, so that the conflicting transactions do not
+   * collide again.
+   *
    * @param statements List of statements with parameters to be executed in order
    */
-  private synchronized ExecutionResult executeStatements(@Nonnull List<Statement> statements) {
+  private ExecutionResult executeStatements(@Nonnull List<Statement> statements) {
     int retry = 0;
     final StopWatch stopWatch = new StopWatch();
     stopWatch.start();
-    Exception lastException;
+    Exception lastException = null;
+    if (statements.isEmpty()) {
+      stopWatch.stop();
+      return new ExecutionResult(stopWatch.getTime(), retry);
+    }
     try (final Session session = _driver.session(_sessionConfig)) {
       do {
+        if (lastException instanceof TransientException) {
+          backOff(retry);
+        }
         try {
           session.writeTransaction(tx -> {
             for (Statement statement : statements) {
@@ -407,6 +795,10 @@ public class Neo4jGraphService implements GraphService {
           lastException = null;
           break;
         } catch (Neo4jException e) {
+          if (DEADLOCK_DETECTED_CODE.equals(e.code())) {
+            log.warn(String.format("Neo4j write transaction deadlocked, attempt %d of %d", retry + 1,
+                MAX_TRANSACTION_RETRY + 1));
+          }
           lastException = e;
         }
       } while (++retry <= MAX_TRANSACTION_RETRY);
@@ -421,17 +813,28 @@ public class Neo4jGraphService implements GraphService {
     return new ExecutionResult(stopWatch.getTime(), retry);
   }
 
+  private static void backOff(int retry) {
+    final long maxBackOffMs = RETRY_BACKOFF_MS << Math.min(retry, 4);
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextLong(maxBackOffMs / 2, maxBackOffMs + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while retrying a Neo4j write transaction", e);
+    }
+  }
+
   /**
-   * Runs a query statement with parameters and return StatementResult.
+   * Runs a query statement with parameters in its own session, and maps the result before the session is closed.
    *
    * @param statement a statement with parameters to be executed
-   * @return list of elements in the query result
+   * @param resultMapper maps the query result, e.g. by listing or consuming it
+   * @return the mapped query result
    */
-  @Nonnull
-  private Result runQuery(@Nonnull Statement statement) {
+  private <T> T runQuery(@Nonnull Statement statement, @Nonnull Function<Result, T> resultMapper) {
     log.debug(String.format("Running Neo4j query %s", statement.toString()));
-    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "runQuery").time()) {
-      return _driver.session(_sessionConfig).run(statement.getCommandText(), statement.getParams());
+    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "runQuery").time();
+        Session session = _driver.session(_sessionConfig)) {
+      return resultMapper.apply(session.run(statement.getCommandText(), statement.getParams()));
     }
   }
 
@@ -504,22 +907,6 @@ public class Neo4jGraphService implements GraphService {
     return joiner.length() <= 2 ? "" : joiner.toString();
   }
 
-  /**
-   * Gets Node based on Urn, if not exist, creates placeholder node.
-   */
-  @Nonnull
-  private Statement getOrInsertNode(@Nonnull Urn urn) {
-    final String nodeType = urn.getEntityType();
-
-    final String mergeTemplate = "MERGE (node:%s {urn: $urn}) RETURN node";
-    final String statement = String.format(mergeTemplate, nodeType);
-
-    final Map<String, Object> params = new HashMap<>();
-    params.put("urn", urn.toString());
-
-    return buildStatement(statement, params);
-  }
-
   @Override
   public boolean supportsMultiHop() {
     return true;
@@ -1,6 +1,7 @@
 package com.linkedin.metadata.recommendation;
 
 import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.recommendation.cache.RecommendationModuleCache;
 import com.linkedin.metadata.recommendation.candidatesource.RecommendationSource;
 import com.linkedin.metadata.recommendation.ranker.RecommendationModuleRanker;
 import com.linkedin.metadata.utils.ConcurrencyUtils;
@@ -10,21 +11,42 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 
 
 @Slf4j
-public class RecommendationsService {
+public class RecommendationsService implements AutoCloseable {
 
   private final List<RecommendationSource> _candidateSources;
   private final RecommendationModuleRanker _moduleRanker;
+  @Nullable
+  private final RecommendationModuleCache _moduleCache;
 
   public RecommendationsService(
       final List<RecommendationSource> candidateSources,
       final RecommendationModuleRanker moduleRanker) {
+    this(candidateSources, moduleRanker, null);
+  }
+
+  public RecommendationsService(
+      final List<RecommendationSource> candidateSources,
+      final RecommendationModuleRanker moduleRanker,
+      @Nullable final RecommendationModuleCache moduleCache) {
     validateRecommendationSources(candidateSources);
     _candidateSources = candidateSources;
     _moduleRanker = moduleRanker;
+    _moduleCache = moduleCache;
+  }
+
+  /**
+   * Stops the background refresh of the module cache, if any.
+   */
+  @Override
+  public void close() {
+    if (_moduleCache != null) {
+      _moduleCache.close();
+    }
   }
 
   private void validateRecommendationSources(final List<RecommendationSource> candidateSources) {
@@ -55,10 +77,13 @@ public class RecommendationsService {
       @Nonnull Urn userUrn,
       @Nonnull RecommendationRequestContext requestContext,
       int limit) {
-    // Get recommendation candidates from sources which are eligible, in parallel
-    final List<RecommendationModule> candidateModules = ConcurrencyUtils.transformAndCollectAsync(_candidateSources.stream()
+    // Get recommendation candidates from sources which are eligible, in parallel. Cached modules already account for
+    // the eligibility of their source.
+    final List<RecommendationSource> sources = _moduleCache != null ? _candidateSources : _candidateSources.stream()
         .filter(source -> source.isEligible(userUrn, requestContext))
-        .collect(Collectors.toList()), source -> source.getRecommendationModule(userUrn, requestContext), (source, exception) -> {
+        .collect(Collectors.toList());
+    final List<RecommendationModule> candidateModules = ConcurrencyUtils.transformAndCollectAsync(sources,
+        source -> getRecommendationModule(source, userUrn, requestContext), (source, exception) -> {
       log.error("Error while fetching candidate modules from source {}", source, exception);
       return Optional.<RecommendationModule>empty();
     }).stream().filter(Optional::isPresent).map(Optional::get).collect(Collectors.toList());
@@ -66,4 +91,14 @@ public class RecommendationsService {
     // Rank recommendation modules, which determines their ordering during rendering
     return _moduleRanker.rank(candidateModules, userUrn, requestContext, limit);
   }
+
+  private Optional<RecommendationModule> getRecommendationModule(
+      @Nonnull RecommendationSource source,
+      @Nonnull Urn userUrn,
+      @Nonnull RecommendationRequestContext requestContext) {
+    if (_moduleCache != null) {
+      return _moduleCache.getRecommendationModule(source, userUrn, requestContext);
+    }
+    return source.getRecommendationModule(userUrn, requestContext);
+  }
 }
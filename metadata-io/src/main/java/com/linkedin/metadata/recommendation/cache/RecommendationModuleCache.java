@@ -0,0 +1,178 @@
+package com.linkedin.metadata.recommendation.cache;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.metadata.config.cache.RecommendationsCacheConfiguration;
+import com.linkedin.metadata.recommendation.RecommendationModule;
+import com.linkedin.metadata.recommendation.RecommendationRequestContext;
+import com.linkedin.metadata.recommendation.ScenarioType;
+import com.linkedin.metadata.recommendation.candidatesource.RecommendationSource;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import static com.linkedin.metadata.Constants.*;
+
+
+/**
+ * Caches the modules of the recommendation sources, so that they are not recomputed on every page load.
+ *
+ * Modules of sources which are not user specific are computed as the system actor and shared by all users. They only
+ * depend on the scenario of the request, so a single module is kept per scenario whatever the query or filters. They
+ * are precomputed for the home page, and recomputed in the background along with every other module requested since,
+ * so that requests are served from memory. Shared modules of other scenarios are dropped once they are not requested
+ * for a few refreshes. Modules of user specific sources are cached per user for a short time instead. Requests the source is not
+ * eligible for are not cached.
+ *
+ * Cached modules carry the time at which they were computed in {@link RecommendationModule#getLastRefreshed()}. The
+ * background refresh stops when the cache is closed.
+ */
+@Slf4j
+public class RecommendationModuleCache implements AutoCloseable {
+
+  private static final Urn SYSTEM_ACTOR_URN = UrnUtils.getUrn(SYSTEM_ACTOR);
+  // Shared modules which are not requested for this many refreshes are dropped rather than refreshed.
+  private static final int SHARED_MODULE_IDLE_REFRESHES = 3;
+
+  private final Map<String, RecommendationSource> _sharedSources;
+  private final Cache<ModuleKey, Optional<RecommendationModule>> _sharedModules;
+  // Time at which each shared module was last requested, kept apart since refreshing a module accesses the cache too.
+  private final Map<ModuleKey, Long> _sharedModuleAccessTimes = new ConcurrentHashMap<>();
+  private final Cache<ModuleKey, Optional<RecommendationModule>> _userModules;
+  private final long _sharedModuleIdleMillis;
+  private final LongSupplier _clock;
+  private final ScheduledExecutorService _refreshExecutorService = Executors.newScheduledThreadPool(1,
+      new ThreadFactoryBuilder().setNameFormat("recommendation-module-refresh-%d").setDaemon(true).build());
+
+  public RecommendationModuleCache(@Nonnull final List<RecommendationSource> candidateSources,
+      @Nonnull final RecommendationsCacheConfiguration config) {
+    this(candidateSources, config, System::currentTimeMillis);
+    _refreshExecutorService.scheduleAtFixedRate(this::refreshSharedModules, 0, config.getRefreshIntervalSeconds(),
+        TimeUnit.SECONDS);
+  }
+
+  /**
+   * Creates a cache which is only refreshed by calling {@link #refreshSharedModules()}.
+   */
+  @VisibleForTesting
+  RecommendationModuleCache(@Nonnull final List<RecommendationSource> candidateSources,
+      @Nonnull final RecommendationsCacheConfiguration config, @Nonnull final LongSupplier clock) {
+    _sharedSources = candidateSources.stream()
+        .filter(source -> !source.isUserSpecific())
+        .collect(Collectors.toMap(RecommendationSource::getModuleId, Function.identity()));
+    _sharedModules = CacheBuilder.newBuilder()
+        .maximumSize(config.getMaxSize())
+        .build();
+    _sharedModuleIdleMillis = TimeUnit.SECONDS.toMillis(config.getRefreshIntervalSeconds() * SHARED_MODULE_IDLE_REFRESHES);
+    _clock = clock;
+    _userModules = CacheBuilder.newBuilder()
+        .maximumSize(config.getMaxSize())
+        .expireAfterWrite(config.getUserTtlSeconds(), TimeUnit.SECONDS)
+        .build();
+  }
+
+  /**
+   * Returns the module of the source given the request context, computing it if it is not cached yet. Modules which are
+   * being computed by another request are waited for rather than computed again.
+   *
+   * @param source Source of the module
+   * @param userUrn User requesting recommendations
+   * @param requestContext Context of where the recommendations are being requested
+   * @return the module, which is empty if the source is not eligible or has no recommendations
+   */
+  @Nonnull
+  public Optional<RecommendationModule> getRecommendationModule(
+      @Nonnull RecommendationSource source,
+      @Nonnull Urn userUrn,
+      @Nonnull RecommendationRequestContext requestContext) {
+    if (!source.isEligible(userUrn, requestContext)) {
+      return Optional.empty();
+    }
+    try {
+      if (source.isUserSpecific()) {
+        return _userModules.get(new ModuleKey(source.getModuleId(), userUrn, requestContext),
+            () -> computeModule(source, userUrn, requestContext));
+      }
+      final RecommendationRequestContext scenarioContext =
+          new RecommendationRequestContext().setScenario(requestContext.getScenario());
+      final ModuleKey key = new ModuleKey(source.getModuleId(), null, scenarioContext);
+      _sharedModuleAccessTimes.put(key, _clock.getAsLong());
+      return _sharedModules.get(key, () -> computeModule(source, SYSTEM_ACTOR_URN, scenarioContext));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      throw new RuntimeException(String.format("Failed to compute recommendation module %s", source.getModuleId()),
+          e.getCause());
+    }
+  }
+
+  /**
+   * Stops refreshing the shared modules in the background.
+   */
+  @Override
+  public void close() {
+    _refreshExecutorService.shutdownNow();
+  }
+
+  /**
+   * Recomputes the shared modules of the home page and of every context they were requested in recently, and drops the
+   * others. Modules which fail to be recomputed are kept as they are.
+   */
+  @VisibleForTesting
+  void refreshSharedModules() {
+    final long idleSince = _clock.getAsLong() - _sharedModuleIdleMillis;
+    _sharedModuleAccessTimes.entrySet().removeIf(entry -> entry.getValue() < idleSince);
+
+    final Set<ModuleKey> keys = new HashSet<>(_sharedModuleAccessTimes.keySet());
+    final RecommendationRequestContext homeContext = new RecommendationRequestContext().setScenario(ScenarioType.HOME);
+    _sharedSources.keySet().forEach(moduleId -> keys.add(new ModuleKey(moduleId, null, homeContext)));
+    _sharedModules.asMap().keySet().retainAll(keys);
+
+    for (ModuleKey key : keys) {
+      final RecommendationSource source = _sharedSources.get(key.getModuleId());
+      try {
+        if (!source.isEligible(SYSTEM_ACTOR_URN, key.getRequestContext())) {
+          _sharedModules.invalidate(key);
+          continue;
+        }
+        _sharedModules.put(key, computeModule(source, SYSTEM_ACTOR_URN, key.getRequestContext()));
+      } catch (Exception e) {
+        log.error("Failed to refresh recommendation module {}", key, e);
+      }
+    }
+    log.debug("Refreshed {} shared recommendation modules", keys.size());
+  }
+
+  private static Optional<RecommendationModule> computeModule(
+      @Nonnull RecommendationSource source,
+      @Nonnull Urn userUrn,
+      @Nonnull RecommendationRequestContext requestContext) {
+    final long refreshed = System.currentTimeMillis();
+    return source.getRecommendationModule(userUrn, requestContext).map(module -> module.setLastRefreshed(refreshed));
+  }
+
+  @Value
+  private static class ModuleKey {
+    String moduleId;
+    @Nullable
+    Urn userUrn;
+    RecommendationRequestContext requestContext;
+  }
+}
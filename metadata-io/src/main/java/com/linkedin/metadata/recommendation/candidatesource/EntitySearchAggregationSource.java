@@ -77,6 +77,11 @@ public abstract class EntitySearchAggregationSource implements RecommendationSou
     return isValidCandidateValue(candidate.toString());
   }
 
+  @Override
+  public boolean isUserSpecific() {
+    return false;
+  }
+
   @Override
   @WithSpan
   public List<RecommendationContent> getRecommendations(@Nonnull Urn userUrn,
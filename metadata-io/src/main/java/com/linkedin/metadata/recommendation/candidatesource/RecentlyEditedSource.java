@@ -22,7 +22,6 @@ import com.linkedin.metadata.utils.metrics.MetricUtils;
 import io.opentelemetry.extension.annotations.WithSpan;
 import java.io.IOException;
 import java.util.List;
-import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -94,6 +93,11 @@ public class RecentlyEditedSource implements RecommendationSource {
     return requestContext.getScenario() == ScenarioType.HOME && analyticsEnabled;
   }
 
+  @Override
+  public boolean isUserSpecific() {
+    return false;
+  }
+
   @Override
   @WithSpan
   public List<RecommendationContent> getRecommendations(@Nonnull Urn userUrn,
@@ -103,11 +107,17 @@ public class RecentlyEditedSource implements RecommendationSource {
       final SearchResponse searchResponse = _searchClient.search(searchRequest, RequestOptions.DEFAULT);
       // extract results
       ParsedTerms parsedTerms = searchResponse.getAggregations().get(ENTITY_AGG_NAME);
-      return parsedTerms.getBuckets()
+      final List<Urn> entityUrns = parsedTerms.getBuckets()
           .stream()
-          .map(bucket -> buildContent(bucket.getKeyAsString()))
-          .filter(Optional::isPresent)
-          .map(Optional::get).limit(MAX_CONTENT)
+          .map(bucket -> UrnUtils.getUrn(bucket.getKeyAsString()))
+          .filter(entityUrn -> RecommendationUtils.isSupportedEntityType(entityUrn, SUPPORTED_ENTITY_TYPES))
+          .collect(Collectors.toList());
+      // Check all the buckets at once, rather than one by one
+      final Set<Urn> removedUrns = EntityUtils.getRemovedUrns(_entityService, entityUrns);
+      return entityUrns.stream()
+          .filter(entityUrn -> !removedUrns.contains(entityUrn))
+          .limit(MAX_CONTENT)
+          .map(this::buildContent)
           .collect(Collectors.toList());
     } catch (Exception e) {
       log.error("Search query to get most recently edited entities failed", e);
@@ -140,15 +150,10 @@ public class RecentlyEditedSource implements RecommendationSource {
     return request;
   }
 
-  private Optional<RecommendationContent> buildContent(@Nonnull String entityUrn) {
-    Urn entity = UrnUtils.getUrn(entityUrn);
-    if (EntityUtils.checkIfRemoved(_entityService, entity) || !RecommendationUtils.isSupportedEntityType(entity, SUPPORTED_ENTITY_TYPES)) {
-      return Optional.empty();
-    }
-
-    return Optional.of(new RecommendationContent()
+  private RecommendationContent buildContent(@Nonnull Urn entity) {
+    return new RecommendationContent()
         .setEntity(entity)
-        .setValue(entityUrn)
-        .setParams(new RecommendationParams().setEntityProfileParams(new EntityProfileParams().setUrn(entity))));
+        .setValue(entity.toString())
+        .setParams(new RecommendationParams().setEntityProfileParams(new EntityProfileParams().setUrn(entity)));
   }
 }
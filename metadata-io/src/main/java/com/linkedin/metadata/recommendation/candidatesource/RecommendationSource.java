@@ -41,6 +41,17 @@ public interface RecommendationSource {
    */
   boolean isEligible(@Nonnull Urn userUrn, @Nonnull RecommendationRequestContext requestContext);
 
+  /**
+   * Whether the recommendations depend on the user requesting them. Modules of sources which are not user specific are
+   * the same for every user, and must only depend on the scenario of the request, so they can be computed once per
+   * scenario and shared
+   *
+   * @return whether this source is user specific
+   */
+  default boolean isUserSpecific() {
+    return true;
+  }
+
   /**
    * Get recommended items (candidates / content) provided the context
    *
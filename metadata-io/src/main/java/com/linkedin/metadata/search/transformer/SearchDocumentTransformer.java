@@ -59,10 +59,24 @@ public class SearchDocumentTransformer {
       final RecordTemplate aspect,
       final AspectSpec aspectSpec,
       final Boolean forDelete) {
+    return transformAspect(urn, aspect, aspectSpec.getSearchableFieldSpecs(), aspectSpec.getSearchScoreFieldSpecs(),
+        forDelete);
+  }
+
+  /**
+   * Same as {@link #transformAspect(Urn, RecordTemplate, AspectSpec, Boolean)}, for callers that already hold the field
+   * specs of the aspect, e.g. from an {@link com.linkedin.metadata.models.registry.EntityRegistryIndex}.
+   */
+  public Optional<String> transformAspect(
+      final Urn urn,
+      final RecordTemplate aspect,
+      final List<SearchableFieldSpec> searchableFieldSpecs,
+      final List<SearchScoreFieldSpec> searchScoreFieldSpecs,
+      final Boolean forDelete) {
     final Map<SearchableFieldSpec, List<Object>> extractedSearchableFields =
-        FieldExtractor.extractFields(aspect, aspectSpec.getSearchableFieldSpecs());
+        FieldExtractor.extractFields(aspect, searchableFieldSpecs);
     final Map<SearchScoreFieldSpec, List<Object>> extractedSearchScoreFields =
-        FieldExtractor.extractFields(aspect, aspectSpec.getSearchScoreFieldSpecs());
+        FieldExtractor.extractFields(aspect, searchScoreFieldSpecs);
     if (extractedSearchableFields.isEmpty() && extractedSearchScoreFields.isEmpty()) {
       return Optional.empty();
     }
@@ -1,20 +1,26 @@
 package com.linkedin.metadata.shared;
 
 import com.linkedin.common.UrnArray;
+import com.linkedin.common.urn.Urn;
 import com.linkedin.metadata.browse.BrowseResult;
+import com.linkedin.metadata.browse.BrowseResultEntity;
 import com.linkedin.metadata.browse.BrowseResultEntityArray;
 import com.linkedin.metadata.entity.EntityService;
 import com.linkedin.metadata.graph.EntityLineageResult;
+import com.linkedin.metadata.graph.LineageRelationship;
 import com.linkedin.metadata.graph.LineageRelationshipArray;
 import com.linkedin.metadata.query.ListResult;
 import com.linkedin.metadata.search.LineageScrollResult;
+import com.linkedin.metadata.search.LineageSearchEntity;
 import com.linkedin.metadata.search.LineageSearchEntityArray;
 import com.linkedin.metadata.search.LineageSearchResult;
 import com.linkedin.metadata.search.ScrollResult;
 import lombok.extern.slf4j.Slf4j;
+import com.linkedin.metadata.search.SearchEntity;
 import com.linkedin.metadata.search.SearchEntityArray;
 import com.linkedin.metadata.search.SearchResult;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -35,9 +41,11 @@ public class ValidationUtils {
         .setPageSize(searchResult.getPageSize())
         .setNumEntities(searchResult.getNumEntities());
 
+    final Set<Urn> existingUrns = entityService.batchExists(
+        searchResult.getEntities().stream().map(SearchEntity::getEntity).collect(Collectors.toSet()));
     SearchEntityArray validatedEntities = searchResult.getEntities()
         .stream()
-        .filter(searchEntity -> entityService.exists(searchEntity.getEntity()))
+        .filter(searchEntity -> existingUrns.contains(searchEntity.getEntity()))
         .collect(Collectors.toCollection(SearchEntityArray::new));
     validatedSearchResult.setEntities(validatedEntities);
 
@@ -59,9 +67,11 @@ public class ValidationUtils {
       validatedScrollResult.setScrollId(scrollResult.getScrollId());
     }
 
+    final Set<Urn> existingUrns = entityService.batchExists(
+        scrollResult.getEntities().stream().map(SearchEntity::getEntity).collect(Collectors.toSet()));
     SearchEntityArray validatedEntities = scrollResult.getEntities()
         .stream()
-        .filter(searchEntity -> entityService.exists(searchEntity.getEntity()))
+        .filter(searchEntity -> existingUrns.contains(searchEntity.getEntity()))
         .collect(Collectors.toCollection(SearchEntityArray::new));
     validatedScrollResult.setEntities(validatedEntities);
 
@@ -83,9 +93,11 @@ public class ValidationUtils {
         .setNumEntities(browseResult.getNumEntities())
         .setNumElements(browseResult.getNumElements());
 
+    final Set<Urn> existingUrns = entityService.batchExists(
+        browseResult.getEntities().stream().map(BrowseResultEntity::getUrn).collect(Collectors.toSet()));
     BrowseResultEntityArray validatedEntities = browseResult.getEntities()
         .stream()
-        .filter(browseResultEntity -> entityService.exists(browseResultEntity.getUrn()))
+        .filter(browseResultEntity -> existingUrns.contains(browseResultEntity.getUrn()))
         .collect(Collectors.toCollection(BrowseResultEntityArray::new));
     validatedBrowseResult.setEntities(validatedEntities);
 
@@ -103,8 +115,9 @@ public class ValidationUtils {
         .setCount(listResult.getCount())
         .setTotal(listResult.getTotal());
 
+    final Set<Urn> existingUrns = entityService.batchExists(listResult.getEntities());
     UrnArray validatedEntities =
-        listResult.getEntities().stream().filter(entityService::exists).collect(Collectors.toCollection(UrnArray::new));
+        listResult.getEntities().stream().filter(existingUrns::contains).collect(Collectors.toCollection(UrnArray::new));
     validatedListResult.setEntities(validatedEntities);
 
     return validatedListResult;
@@ -123,9 +136,11 @@ public class ValidationUtils {
             .setPageSize(lineageSearchResult.getPageSize())
             .setNumEntities(lineageSearchResult.getNumEntities());
 
+    final Set<Urn> existingUrns = entityService.batchExists(
+        lineageSearchResult.getEntities().stream().map(LineageSearchEntity::getEntity).collect(Collectors.toSet()));
     LineageSearchEntityArray validatedEntities = lineageSearchResult.getEntities()
         .stream()
-        .filter(entity -> entityService.exists(entity.getEntity()))
+        .filter(entity -> existingUrns.contains(entity.getEntity()))
         .collect(Collectors.toCollection(LineageSearchEntityArray::new));
     validatedLineageSearchResult.setEntities(validatedEntities);
 
@@ -144,9 +159,12 @@ public class ValidationUtils {
         .setCount(entityLineageResult.getCount())
         .setTotal(entityLineageResult.getTotal());
 
+    final Set<Urn> validUrns = entityService.existsAndNotRemoved(entityLineageResult.getRelationships()
+        .stream()
+        .map(LineageRelationship::getEntity)
+        .collect(Collectors.toSet()));
     final LineageRelationshipArray validatedRelationships = entityLineageResult.getRelationships().stream()
-        .filter(relationship -> entityService.exists(relationship.getEntity()))
-        .filter(relationship -> !entityService.isSoftDeleted(relationship.getEntity()))
+        .filter(relationship -> validUrns.contains(relationship.getEntity()))
         .collect(Collectors.toCollection(LineageRelationshipArray::new));
 
     validatedEntityLineageResult.setFiltered(
@@ -172,9 +190,11 @@ public class ValidationUtils {
       validatedLineageScrollResult.setScrollId(lineageScrollResult.getScrollId());
     }
 
+    final Set<Urn> existingUrns = entityService.batchExists(
+        lineageScrollResult.getEntities().stream().map(LineageSearchEntity::getEntity).collect(Collectors.toSet()));
     LineageSearchEntityArray validatedEntities = lineageScrollResult.getEntities()
         .stream()
-        .filter(entity -> entityService.exists(entity.getEntity()))
+        .filter(entity -> existingUrns.contains(entity.getEntity()))
         .collect(Collectors.toCollection(LineageSearchEntityArray::new));
     validatedLineageScrollResult.setEntities(validatedEntities);
 
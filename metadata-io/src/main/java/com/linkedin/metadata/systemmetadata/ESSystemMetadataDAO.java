@@ -1,5 +1,9 @@
 package com.linkedin.metadata.systemmetadata;
 
+import com.datahub.util.exception.ESQueryException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.google.common.collect.ImmutableList;
 import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
 import com.linkedin.metadata.search.utils.ESUtils;
@@ -13,12 +17,15 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.delete.DeleteResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.client.Request;
 import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.Response;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.query.BoolQueryBuilder;
@@ -32,16 +39,22 @@ import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.sort.FieldSortBuilder;
 import org.elasticsearch.search.sort.SortOrder;
 
+import static com.linkedin.metadata.Constants.*;
 import static com.linkedin.metadata.systemmetadata.ElasticSearchSystemMetadataService.INDEX_NAME;
 
 
 @Slf4j
 @RequiredArgsConstructor
 public class ESSystemMetadataDAO {
+  private static final String DEFAULT_KEEP_ALIVE = "5m";
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
   private final RestHighLevelClient client;
   private final IndexConvention indexConvention;
   private final ESBulkProcessor bulkProcessor;
   private final int numRetries;
+  private final boolean pointInTimeCreationEnabled;
+  private final String elasticSearchImplementation;
 
   /**
    * Updates or inserts the given search document.
@@ -126,39 +139,107 @@ public class ESSystemMetadataDAO {
     return null;
   }
 
-  // TODO: Scroll impl for searches bound by 10k limit
+  /**
+   * Returns a page of the documents matching the params, sorted by urn and aspect, which identify a document. The next
+   * page starts after the sort values of the last hit of the previous one, so pages are not bound by the 10k limit of
+   * from / size pagination.
+   *
+   * @param sort the sort values of the last hit of the previous page, or null for the first page
+   * @param pitId the point in time to search, or null to search the live index
+   * @param keepAlive how long to keep the point in time alive, if any
+   */
   public SearchResponse findByParams(Map<String, String> searchParams, boolean includeSoftDeleted, @Nullable Object[] sort,
       @Nullable String pitId, @Nonnull String keepAlive, int size) {
-    SearchRequest searchRequest = new SearchRequest();
-
-    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-
     BoolQueryBuilder finalQuery = QueryBuilders.boolQuery();
 
     for (String key : searchParams.keySet()) {
       finalQuery.must(QueryBuilders.termQuery(key, searchParams.get(key)));
     }
 
+    return searchAfter(finalQuery, includeSoftDeleted, sort, pitId, keepAlive, size);
+  }
+
+  /**
+   * Returns a page of the documents of the urn, paginated like
+   * {@link #findByParams(Map, boolean, Object[], String, String, int)}.
+   */
+  public SearchResponse findByUrn(@Nonnull String urn, boolean includeSoftDeleted, @Nullable Object[] sort, int size) {
+    BoolQueryBuilder finalQuery = QueryBuilders.boolQuery();
+    finalQuery.filter(QueryBuilders.termQuery("urn", urn));
+    return searchAfter(finalQuery, includeSoftDeleted, sort, null, DEFAULT_KEEP_ALIVE, size);
+  }
+
+  private SearchResponse searchAfter(@Nonnull BoolQueryBuilder finalQuery, boolean includeSoftDeleted,
+      @Nullable Object[] sort, @Nullable String pitId, @Nonnull String keepAlive, int size) {
+    SearchRequest searchRequest = new SearchRequest();
+
+    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+
     if (!includeSoftDeleted) {
       finalQuery.mustNot(QueryBuilders.termQuery("removed", "true"));
     }
 
     searchSourceBuilder.query(finalQuery);
+    searchSourceBuilder.sort("urn", SortOrder.ASC);
+    searchSourceBuilder.sort("aspect", SortOrder.ASC);
 
     ESUtils.setSearchAfter(searchSourceBuilder, sort, pitId, keepAlive);
     searchSourceBuilder.size(size);
 
     searchRequest.source(searchSourceBuilder);
 
-    searchRequest.indices(indexConvention.getIndexName(INDEX_NAME));
+    // A point in time already specifies the indices it was created on
+    if (StringUtils.isBlank(pitId)) {
+      searchRequest.indices(indexConvention.getIndexName(INDEX_NAME));
+    }
 
     try {
-      final SearchResponse searchResponse = client.search(searchRequest, RequestOptions.DEFAULT);
-      return searchResponse;
+      return client.search(searchRequest, RequestOptions.DEFAULT);
     } catch (IOException e) {
-      log.error("Error while searching by params.", e);
+      throw new ESQueryException("Error while searching system metadata.", e);
     }
-    return null;
+  }
+
+  /**
+   * Opens a point in time on the system metadata index, so that pages searched in it are not affected by concurrent
+   * writes.
+   *
+   * @param keepAlive how long to keep the point in time alive between two searches
+   * @return the id of the point in time, or null if points in time are not supported
+   */
+  @Nullable
+  public String createPointInTime(@Nonnull String keepAlive) {
+    if (!supportsPointInTime()) {
+      return null;
+    }
+    Request request = new Request("POST", indexConvention.getIndexName(INDEX_NAME) + "/_pit");
+    request.addParameter("keep_alive", keepAlive);
+    try {
+      Response response = client.getLowLevelClient().performRequest(request);
+      Map<String, Object> mappedResponse = OBJECT_MAPPER.readValue(response.getEntity().getContent(),
+          new TypeReference<>() { });
+      return (String) mappedResponse.get("id");
+    } catch (IOException e) {
+      throw new ESQueryException("Failed to create a point in time on system metadata.", e);
+    }
+  }
+
+  /**
+   * Closes a point in time before it expires. Failures are only logged, since it expires on its own anyway.
+   */
+  public void closePointInTime(@Nonnull String pitId) {
+    Request request = new Request("DELETE", "/_pit");
+    request.setJsonEntity(JsonNodeFactory.instance.objectNode().put("id", pitId).toString());
+    try {
+      client.getLowLevelClient().performRequest(request);
+    } catch (IOException e) {
+      log.warn("Failed to close point in time on system metadata, it will expire on its own.", e);
+    }
+  }
+
+  private boolean supportsPointInTime() {
+    return pointInTimeCreationEnabled
+        && ELASTICSEARCH_IMPLEMENTATION_ELASTICSEARCH.equalsIgnoreCase(elasticSearchImplementation);
   }
 
   public SearchResponse findByRegistry(String registryName, String registryVersion, boolean includeSoftDeleted,
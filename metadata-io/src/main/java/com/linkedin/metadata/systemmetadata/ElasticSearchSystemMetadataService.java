@@ -3,13 +3,12 @@ package com.linkedin.metadata.systemmetadata;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.AbstractIterator;
 import com.linkedin.metadata.run.AspectRowSummary;
 import com.linkedin.metadata.run.IngestionRunSummary;
 import com.linkedin.metadata.search.elasticsearch.indexbuilder.ESIndexBuilder;
 import com.linkedin.metadata.search.elasticsearch.indexbuilder.ReindexConfig;
 import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
-import com.linkedin.metadata.search.utils.ESUtils;
 import com.linkedin.metadata.shared.ElasticSearchIndexed;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import com.linkedin.mxe.SystemMetadata;
@@ -22,9 +21,11 @@ import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -32,6 +33,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
 import org.elasticsearch.search.aggregations.bucket.filter.ParsedFilter;
 import org.elasticsearch.search.aggregations.bucket.terms.ParsedStringTerms;
@@ -49,6 +51,8 @@ public class ElasticSearchSystemMetadataService implements SystemMetadataService
   private final ESIndexBuilder _indexBuilder;
 
   private static final String DOC_DELIMETER = "--";
+  private static final int SCROLL_BATCH_SIZE = 1000;
+  private static final String SCROLL_KEEP_ALIVE = "5m";
   public static final String INDEX_NAME = "system_metadata_service_v1";
   private static final String FIELD_URN = "urn";
   private static final String FIELD_ASPECT = "aspect";
@@ -99,18 +103,18 @@ public class ElasticSearchSystemMetadataService implements SystemMetadataService
 
   @Override
   public void setDocStatus(String urn, boolean removed) {
-    // searchBy findByParams
     // If status.removed -> false (from removed to not removed) --> get soft deleted entities.
     // If status.removed -> true (from not removed to removed) --> do not get soft deleted entities.
-    final List<AspectRowSummary> aspectList =
-        findByParams(ImmutableMap.of("urn", urn), !removed, 0, ESUtils.MAX_RESULT_SIZE);
-    // for each -> toDocId and set removed to true for all
-    aspectList.forEach(aspect -> {
-      final String docId = toDocId(aspect.getUrn(), aspect.getAspectName());
-      final ObjectNode document = JsonNodeFactory.instance.objectNode();
-      document.put("removed", removed);
-      _esDAO.upsertDocument(docId, document.toString());
-    });
+    // An entity only has a handful of aspects, so they are not worth a point in time.
+    scroll((sort, pitId) -> _esDAO.findByUrn(urn, !removed, sort, SCROLL_BATCH_SIZE), null,
+        SCROLL_BATCH_SIZE)
+        .forEachRemaining(aspectList -> aspectList.forEach(aspect -> {
+          // for each -> toDocId and set removed for all, through the bulk processor
+          final String docId = toDocId(aspect.getUrn(), aspect.getAspectName());
+          final ObjectNode document = JsonNodeFactory.instance.objectNode();
+          document.put("removed", removed);
+          _esDAO.upsertDocument(docId, document.toString());
+        }));
   }
 
   @Override
@@ -130,6 +134,19 @@ public class ElasticSearchSystemMetadataService implements SystemMetadataService
     return findByParams(Collections.singletonMap(FIELD_RUNID, runId), includeSoftDeleted, from, size);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The pages are searched in a point in time when supported, since rolling back the run updates the rows as they
+   * are iterated over. The point in time is closed once the last page is fetched, or expires after
+   * {@value #SCROLL_KEEP_ALIVE} if the iteration is abandoned.
+   */
+  @Override
+  public Iterator<List<AspectRowSummary>> scrollByRunId(String runId, boolean includeSoftDeleted, int batchSize) {
+    return scroll((sort, pitId) -> _esDAO.findByParams(Collections.singletonMap(FIELD_RUNID, runId), includeSoftDeleted,
+        sort, pitId, SCROLL_KEEP_ALIVE, batchSize), _esDAO.createPointInTime(SCROLL_KEEP_ALIVE), batchSize);
+  }
+
   @Override
   public List<AspectRowSummary> findByUrn(String urn, boolean includeSoftDeleted, int from, int size) {
     return findByParams(Collections.singletonMap(FIELD_URN, urn), includeSoftDeleted, from, size);
@@ -141,27 +158,80 @@ public class ElasticSearchSystemMetadataService implements SystemMetadataService
     SearchResponse searchResponse = _esDAO.findByParams(systemMetaParams, includeSoftDeleted, from, size);
     if (searchResponse != null) {
       SearchHits hits = searchResponse.getHits();
-      List<AspectRowSummary> summaries = Arrays.stream(hits.getHits()).map(hit -> {
-        Map<String, Object> values = hit.getSourceAsMap();
-        AspectRowSummary summary = new AspectRowSummary();
-        summary.setRunId((String) values.get(FIELD_RUNID));
-        summary.setAspectName((String) values.get(FIELD_ASPECT));
-        summary.setUrn((String) values.get(FIELD_URN));
-        Object timestamp = values.get(FIELD_LAST_UPDATED);
-        if (timestamp instanceof Long) {
-          summary.setTimestamp((Long) timestamp);
-        } else if (timestamp instanceof Integer) {
-          summary.setTimestamp(Long.valueOf((Integer) timestamp));
-        }
-        summary.setKeyAspect(((String) values.get(FIELD_ASPECT)).endsWith("Key"));
-        return summary;
-      }).collect(Collectors.toList());
-      return summaries;
+      return Arrays.stream(hits.getHits())
+          .map(ElasticSearchSystemMetadataService::toAspectRowSummary)
+          .collect(Collectors.toList());
     } else {
       return Collections.emptyList();
     }
   }
 
+  /**
+   * Lazily fetches the pages of a search_after query, the first one without sort values. Iteration ends with the first
+   * page which is not full, which closes the point in time the pages are searched in, if any.
+   */
+  private Iterator<List<AspectRowSummary>> scroll(@Nonnull BiFunction<Object[], String, SearchResponse> pageFetcher,
+      @Nullable String pitId, int batchSize) {
+    return new AbstractIterator<List<AspectRowSummary>>() {
+      private Object[] _sort = null;
+      private String _pitId = pitId;
+      private boolean _lastPage = false;
+
+      @Override
+      protected List<AspectRowSummary> computeNext() {
+        if (_lastPage) {
+          return endOfData();
+        }
+        final SearchResponse response;
+        try {
+          response = pageFetcher.apply(_sort, _pitId);
+        } catch (RuntimeException e) {
+          closePointInTime();
+          throw e;
+        }
+        // Each search may return a new id for the point in time
+        if (_pitId != null && response.pointInTimeId() != null) {
+          _pitId = response.pointInTimeId();
+        }
+        final SearchHit[] hits = response.getHits().getHits();
+        _lastPage = hits.length < batchSize;
+        if (_lastPage) {
+          closePointInTime();
+        }
+        if (hits.length == 0) {
+          return endOfData();
+        }
+        _sort = hits[hits.length - 1].getSortValues();
+        return Arrays.stream(hits)
+            .map(ElasticSearchSystemMetadataService::toAspectRowSummary)
+            .collect(Collectors.toList());
+      }
+
+      private void closePointInTime() {
+        if (_pitId != null) {
+          _esDAO.closePointInTime(_pitId);
+          _pitId = null;
+        }
+      }
+    };
+  }
+
+  private static AspectRowSummary toAspectRowSummary(@Nonnull SearchHit hit) {
+    Map<String, Object> values = hit.getSourceAsMap();
+    AspectRowSummary summary = new AspectRowSummary();
+    summary.setRunId((String) values.get(FIELD_RUNID));
+    summary.setAspectName((String) values.get(FIELD_ASPECT));
+    summary.setUrn((String) values.get(FIELD_URN));
+    Object timestamp = values.get(FIELD_LAST_UPDATED);
+    if (timestamp instanceof Long) {
+      summary.setTimestamp((Long) timestamp);
+    } else if (timestamp instanceof Integer) {
+      summary.setTimestamp(Long.valueOf((Integer) timestamp));
+    }
+    summary.setKeyAspect(((String) values.get(FIELD_ASPECT)).endsWith("Key"));
+    return summary;
+  }
+
   @Override
   public List<AspectRowSummary> findByRegistry(String registryName, String registryVersion, boolean includeSoftDeleted,
       int from, int size) {
@@ -3,6 +3,7 @@ package com.linkedin.metadata.systemmetadata;
 import com.linkedin.metadata.run.AspectRowSummary;
 import com.linkedin.metadata.run.IngestionRunSummary;
 import com.linkedin.mxe.SystemMetadata;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.Nullable;
@@ -25,6 +26,18 @@ public interface SystemMetadataService {
 
   List<AspectRowSummary> findByRunId(String runId, boolean includeSoftDeleted, int from, int size);
 
+  /**
+   * Iterates over the aspects of an ingestion run in batches. Unlike {@link #findByRunId(String, boolean, int, int)},
+   * each batch is fetched as it is iterated to, after the last aspect of the previous batch, so runs of any size can be
+   * read without hitting pagination limits.
+   *
+   * @param runId the id of the ingestion run
+   * @param includeSoftDeleted whether to include the aspects of soft deleted entities
+   * @param batchSize the number of aspects per batch
+   * @return an iterator over the batches of aspects
+   */
+  Iterator<List<AspectRowSummary>> scrollByRunId(String runId, boolean includeSoftDeleted, int batchSize);
+
   List<AspectRowSummary> findByUrn(String urn, boolean includeSoftDeleted, int from, int size);
 
   List<AspectRowSummary> findByParams(Map<String, String> systemMetaParams, boolean includeSoftDeleted, int from, int size);
@@ -0,0 +1,226 @@
+package com.linkedin.metadata.timeline;
+
+import com.github.fge.jsonpatch.JsonPatch;
+import com.linkedin.metadata.entity.EntityAspect;
+import com.linkedin.metadata.timeline.data.ChangeCategory;
+import com.linkedin.metadata.timeline.data.ChangeEvent;
+import com.linkedin.metadata.timeline.data.ChangeTransaction;
+import com.linkedin.metadata.timeline.data.SemanticChangeType;
+import com.linkedin.metadata.timeline.eventgenerator.DatasetPropertiesChangeEventGenerator;
+import com.linkedin.metadata.timeline.eventgenerator.EditableDatasetPropertiesChangeEventGenerator;
+import com.linkedin.metadata.timeline.eventgenerator.EditableSchemaMetadataChangeEventGenerator;
+import com.linkedin.metadata.timeline.eventgenerator.EntityChangeEventGenerator;
+import com.linkedin.metadata.timeline.eventgenerator.EntityChangeEventGeneratorFactory;
+import com.linkedin.metadata.timeline.eventgenerator.GlobalTagsChangeEventGenerator;
+import com.linkedin.metadata.timeline.eventgenerator.GlossaryTermInfoChangeEventGenerator;
+import com.linkedin.metadata.timeline.eventgenerator.GlossaryTermsChangeEventGenerator;
+import com.linkedin.metadata.timeline.eventgenerator.InstitutionalMemoryChangeEventGenerator;
+import com.linkedin.metadata.timeline.eventgenerator.OwnershipChangeEventGenerator;
+import com.linkedin.metadata.timeline.eventgenerator.SchemaMetadataChangeEventGenerator;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.commons.collections.CollectionUtils;
+
+import static com.linkedin.metadata.Constants.*;
+
+
+/**
+ * Computes the semantic change transactions between two versions of an aspect, for each {@link ChangeCategory} the
+ * timeline supports for the entity type. Shared by the {@link TimelineServiceImpl}, which diffs stored versions on
+ * demand, and the hooks materializing the transactions as aspects are written.
+ */
+public class ChangeTransactionGenerator {
+
+  private final EntityChangeEventGeneratorFactory _entityChangeEventGeneratorFactory =
+      new EntityChangeEventGeneratorFactory();
+  private final HashMap<String, HashMap<ChangeCategory, Set<String>>> entityTypeElementAspectRegistry = new HashMap<>();
+
+  public ChangeTransactionGenerator() {
+    // TODO: Simplify this structure.
+    // TODO: Load up from yaml file
+    // Dataset registry
+    HashMap<ChangeCategory, Set<String>> datasetElementAspectRegistry = new HashMap<>();
+    String entityType = DATASET_ENTITY_NAME;
+    for (ChangeCategory elementName : ChangeCategory.values()) {
+      Set<String> aspects = new HashSet<>();
+      switch (elementName) {
+        case TAG: {
+          aspects.add(SCHEMA_METADATA_ASPECT_NAME);
+          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, SCHEMA_METADATA_ASPECT_NAME,
+              new SchemaMetadataChangeEventGenerator());
+          aspects.add(EDITABLE_SCHEMA_METADATA_ASPECT_NAME);
+          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, EDITABLE_SCHEMA_METADATA_ASPECT_NAME,
+              new EditableSchemaMetadataChangeEventGenerator());
+          aspects.add(GLOBAL_TAGS_ASPECT_NAME);
+          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, GLOBAL_TAGS_ASPECT_NAME,
+              new GlobalTagsChangeEventGenerator());
+        }
+          break;
+        case OWNER: {
+          aspects.add(OWNERSHIP_ASPECT_NAME);
+          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, OWNERSHIP_ASPECT_NAME,
+              new OwnershipChangeEventGenerator());
+        }
+          break;
+        case DOCUMENTATION: {
+          aspects.add(INSTITUTIONAL_MEMORY_ASPECT_NAME);
+          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, INSTITUTIONAL_MEMORY_ASPECT_NAME,
+              new InstitutionalMemoryChangeEventGenerator());
+          aspects.add(EDITABLE_DATASET_PROPERTIES_ASPECT_NAME);
+          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, EDITABLE_DATASET_PROPERTIES_ASPECT_NAME,
+              new EditableDatasetPropertiesChangeEventGenerator());
+          aspects.add(DATASET_PROPERTIES_ASPECT_NAME);
+          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, DATASET_PROPERTIES_ASPECT_NAME,
+              new DatasetPropertiesChangeEventGenerator());
+          aspects.add(EDITABLE_SCHEMA_METADATA_ASPECT_NAME);
+          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, EDITABLE_SCHEMA_METADATA_ASPECT_NAME,
+              new EditableSchemaMetadataChangeEventGenerator());
+          aspects.add(SCHEMA_METADATA_ASPECT_NAME);
+          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, SCHEMA_METADATA_ASPECT_NAME,
+              new SchemaMetadataChangeEventGenerator());
+        }
+          break;
+        case GLOSSARY_TERM: {
+          aspects.add(GLOSSARY_TERMS_ASPECT_NAME);
+          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, GLOSSARY_TERMS_ASPECT_NAME,
+              new GlossaryTermsChangeEventGenerator());
+          aspects.add(EDITABLE_SCHEMA_METADATA_ASPECT_NAME);
+          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, EDITABLE_SCHEMA_METADATA_ASPECT_NAME,
+              new EditableSchemaMetadataChangeEventGenerator());
+        }
+          break;
+        case TECHNICAL_SCHEMA: {
+          aspects.add(SCHEMA_METADATA_ASPECT_NAME);
+          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, SCHEMA_METADATA_ASPECT_NAME,
+              new SchemaMetadataChangeEventGenerator());
+        }
+          break;
+        default:
+          break;
+      }
+      datasetElementAspectRegistry.put(elementName, aspects);
+    }
+
+    // GlossaryTerm registry
+    HashMap<ChangeCategory, Set<String>> glossaryTermElementAspectRegistry = new HashMap<>();
+    String entityTypeGlossaryTerm = GLOSSARY_TERM_ENTITY_NAME;
+    for (ChangeCategory elementName : ChangeCategory.values()) {
+      Set<String> aspects = new HashSet<>();
+      switch (elementName) {
+        case OWNER: {
+          aspects.add(OWNERSHIP_ASPECT_NAME);
+          _entityChangeEventGeneratorFactory.addGenerator(entityTypeGlossaryTerm, elementName, OWNERSHIP_ASPECT_NAME,
+              new OwnershipChangeEventGenerator());
+        }
+        break;
+        case DOCUMENTATION: {
+          aspects.add(GLOSSARY_TERM_INFO_ASPECT_NAME);
+          _entityChangeEventGeneratorFactory.addGenerator(entityTypeGlossaryTerm, elementName, GLOSSARY_TERM_INFO_ASPECT_NAME,
+              new GlossaryTermInfoChangeEventGenerator());
+        }
+        break;
+        default:
+          break;
+      }
+      glossaryTermElementAspectRegistry.put(elementName, aspects);
+    }
+    entityTypeElementAspectRegistry.put(DATASET_ENTITY_NAME, datasetElementAspectRegistry);
+    entityTypeElementAspectRegistry.put(GLOSSARY_TERM_ENTITY_NAME, glossaryTermElementAspectRegistry);
+  }
+
+  /**
+   * Returns the aspects from which changes of the given categories are computed for the entity type.
+   */
+  public Set<String> getAspectsFromElements(String entityType, Set<ChangeCategory> elementNames) {
+    if (this.entityTypeElementAspectRegistry.containsKey(entityType)) {
+      return elementNames.stream()
+          .map(x -> entityTypeElementAspectRegistry.get(entityType).get(x))
+          .flatMap(Collection::stream)
+          .collect(Collectors.toSet());
+    } else {
+      throw new UnsupportedOperationException("Entity Type " + entityType + " not supported");
+    }
+  }
+
+  /**
+   * Returns the categories whose changes are computed from the aspect, which is empty if the timeline does not support
+   * the entity type or aspect.
+   */
+  public Set<ChangeCategory> getCategories(String entityType, String aspectName) {
+    return entityTypeElementAspectRegistry.getOrDefault(entityType, new HashMap<>())
+        .entrySet()
+        .stream()
+        .filter(entry -> entry.getValue().contains(aspectName))
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * Computes the non-empty change transactions of each of the categories between two versions of an aspect. The raw diff
+   * is only attached to the transactions if requested, and may be null otherwise.
+   */
+  public List<ChangeTransaction> computeDiff(@Nonnull EntityAspect previousValue, @Nonnull EntityAspect currentValue,
+      String entityType, Set<ChangeCategory> elementNames, @Nullable JsonPatch rawDiff, boolean rawDiffsRequested) {
+    String aspectName = currentValue.getAspect();
+
+    List<ChangeTransaction> semanticChangeTransactions = new ArrayList<>();
+    for (ChangeCategory element : elementNames) {
+      EntityChangeEventGenerator entityChangeEventGenerator;
+      entityChangeEventGenerator = _entityChangeEventGeneratorFactory.getGenerator(entityType, element, aspectName);
+      if (entityChangeEventGenerator != null) {
+        try {
+          ChangeTransaction changeTransaction =
+              entityChangeEventGenerator.getSemanticDiff(previousValue, currentValue, element, rawDiff,
+                  rawDiffsRequested);
+          if (CollectionUtils.isNotEmpty(changeTransaction.getChangeEvents())) {
+            semanticChangeTransactions.add(changeTransaction);
+          }
+        } catch (Exception e) {
+          semanticChangeTransactions.add(ChangeTransaction.builder()
+              .semVerChange(SemanticChangeType.EXCEPTIONAL)
+              .changeEvents(Collections.singletonList(ChangeEvent.builder()
+                  .description(String.format("%s:%s", e.getClass().getName(), e.getMessage()))
+                  .build()))
+              .build());
+        }
+      }
+    }
+    return semanticChangeTransactions;
+  }
+
+  /**
+   * Computes the change transactions of every category backed by the aspect between a version and the one preceding it,
+   * as materialized when the version is written. A null previous value stands for a version without predecessor.
+   */
+  public Map<ChangeCategory, List<ChangeTransaction>> computeChanges(@Nullable EntityAspect previousValue,
+      @Nonnull EntityAspect currentValue, String entityType) {
+    EntityAspect baseValue = previousValue != null ? previousValue : createSentinel(currentValue.getAspect());
+    Map<ChangeCategory, List<ChangeTransaction>> changes = new HashMap<>();
+    for (ChangeCategory category : getCategories(entityType, currentValue.getAspect())) {
+      changes.put(category,
+          computeDiff(baseValue, currentValue, entityType, Collections.singleton(category), null, false));
+    }
+    return changes;
+  }
+
+  /**
+   * Creates the value preceding the oldest version of an aspect.
+   */
+  static MissingEntityAspect createSentinel(String aspectName) {
+    MissingEntityAspect sentinel = new MissingEntityAspect();
+    sentinel.setAspect(aspectName);
+    sentinel.setCreatedOn(new Timestamp(0L));
+    sentinel.setVersion(-1);
+    return sentinel;
+  }
+}
@@ -5,6 +5,14 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.fge.jsonpatch.JsonPatch;
 import com.github.fge.jsonpatch.diff.JsonDiff;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.metadata.entity.AspectDao;
 import com.linkedin.metadata.entity.EntityAspect;
@@ -15,36 +23,24 @@ import com.linkedin.metadata.timeline.data.ChangeCategory;
 import com.linkedin.metadata.timeline.data.ChangeEvent;
 import com.linkedin.metadata.timeline.data.ChangeTransaction;
 import com.linkedin.metadata.timeline.data.SemanticChangeType;
-import com.linkedin.metadata.timeline.eventgenerator.DatasetPropertiesChangeEventGenerator;
-import com.linkedin.metadata.timeline.eventgenerator.EditableDatasetPropertiesChangeEventGenerator;
-import com.linkedin.metadata.timeline.eventgenerator.EditableSchemaMetadataChangeEventGenerator;
-import com.linkedin.metadata.timeline.eventgenerator.EntityChangeEventGenerator;
-import com.linkedin.metadata.timeline.eventgenerator.EntityChangeEventGeneratorFactory;
-import com.linkedin.metadata.timeline.eventgenerator.GlobalTagsChangeEventGenerator;
-import com.linkedin.metadata.timeline.eventgenerator.GlossaryTermInfoChangeEventGenerator;
-import com.linkedin.metadata.timeline.eventgenerator.GlossaryTermsChangeEventGenerator;
-import com.linkedin.metadata.timeline.eventgenerator.InstitutionalMemoryChangeEventGenerator;
-import com.linkedin.metadata.timeline.eventgenerator.OwnershipChangeEventGenerator;
-import com.linkedin.metadata.timeline.eventgenerator.SchemaMetadataChangeEventGenerator;
-import java.sql.Timestamp;
+import com.linkedin.metadata.timeline.materialized.ChangeTransactionService;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
-import org.apache.commons.collections.CollectionUtils;
+import javax.annotation.Nullable;
+import lombok.Value;
 
 import static com.linkedin.common.urn.VersionedUrnUtils.*;
-import static com.linkedin.metadata.Constants.*;
 
 public class TimelineServiceImpl implements TimelineService {
 
@@ -52,118 +48,42 @@ public class TimelineServiceImpl implements TimelineService {
   private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
   private static final long FIRST_TRANSACTION_ID = 0;
   private static final String BUILD_VALUE_COMPUTED = "computed";
+  private static final long DEFAULT_DIFF_CACHE_MAX_WEIGHT = 20_000_000;
+  // Rough number of characters taken by a cache entry or a change event besides its strings
+  private static final int ENTRY_OVERHEAD_WEIGHT = 64;
 
   private final AspectDao _aspectDao;
-  private final EntityChangeEventGeneratorFactory _entityChangeEventGeneratorFactory;
   private final EntityRegistry _entityRegistry;
-  private final HashMap<String, HashMap<ChangeCategory, Set<String>>> entityTypeElementAspectRegistry = new HashMap<>();
+  private final ChangeTransactionGenerator _changeTransactionGenerator = new ChangeTransactionGenerator();
+  // Change transactions of a category between two versions of an aspect, which are the same for every timeline that
+  // spans both versions. Weighed by the approximate number of characters they hold.
+  private final Cache<DiffKey, List<ChangeTransaction>> _diffCache;
+  @Nullable
+  private final ChangeTransactionService _changeTransactionService;
 
   public TimelineServiceImpl(@Nonnull AspectDao aspectDao, @Nonnull EntityRegistry entityRegistry) {
+    this(aspectDao, entityRegistry, DEFAULT_DIFF_CACHE_MAX_WEIGHT, null);
+  }
+
+  public TimelineServiceImpl(@Nonnull AspectDao aspectDao, @Nonnull EntityRegistry entityRegistry,
+      long diffCacheMaxWeight, @Nullable ChangeTransactionService changeTransactionService) {
     this._aspectDao = aspectDao;
     _entityRegistry = entityRegistry;
+    _diffCache = CacheBuilder.newBuilder()
+        .maximumWeight(diffCacheMaxWeight)
+        .weigher(TimelineServiceImpl::weigh)
+        .recordStats()
+        .build();
+    _changeTransactionService = changeTransactionService;
+  }
 
-    // TODO: Simplify this structure.
-    // TODO: Load up from yaml file
-    // Dataset registry
-    HashMap<ChangeCategory, Set<String>> datasetElementAspectRegistry = new HashMap<>();
-    _entityChangeEventGeneratorFactory = new EntityChangeEventGeneratorFactory();
-    String entityType = DATASET_ENTITY_NAME;
-    for (ChangeCategory elementName : ChangeCategory.values()) {
-      Set<String> aspects = new HashSet<>();
-      switch (elementName) {
-        case TAG: {
-          aspects.add(SCHEMA_METADATA_ASPECT_NAME);
-          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, SCHEMA_METADATA_ASPECT_NAME,
-              new SchemaMetadataChangeEventGenerator());
-          aspects.add(EDITABLE_SCHEMA_METADATA_ASPECT_NAME);
-          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, EDITABLE_SCHEMA_METADATA_ASPECT_NAME,
-              new EditableSchemaMetadataChangeEventGenerator());
-          aspects.add(GLOBAL_TAGS_ASPECT_NAME);
-          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, GLOBAL_TAGS_ASPECT_NAME,
-              new GlobalTagsChangeEventGenerator());
-        }
-          break;
-        case OWNER: {
-          aspects.add(OWNERSHIP_ASPECT_NAME);
-          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, OWNERSHIP_ASPECT_NAME,
-              new OwnershipChangeEventGenerator());
-        }
-          break;
-        case DOCUMENTATION: {
-          aspects.add(INSTITUTIONAL_MEMORY_ASPECT_NAME);
-          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, INSTITUTIONAL_MEMORY_ASPECT_NAME,
-              new InstitutionalMemoryChangeEventGenerator());
-          aspects.add(EDITABLE_DATASET_PROPERTIES_ASPECT_NAME);
-          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, EDITABLE_DATASET_PROPERTIES_ASPECT_NAME,
-              new EditableDatasetPropertiesChangeEventGenerator());
-          aspects.add(DATASET_PROPERTIES_ASPECT_NAME);
-          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, DATASET_PROPERTIES_ASPECT_NAME,
-              new DatasetPropertiesChangeEventGenerator());
-          aspects.add(EDITABLE_SCHEMA_METADATA_ASPECT_NAME);
-          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, EDITABLE_SCHEMA_METADATA_ASPECT_NAME,
-              new EditableSchemaMetadataChangeEventGenerator());
-          aspects.add(SCHEMA_METADATA_ASPECT_NAME);
-          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, SCHEMA_METADATA_ASPECT_NAME,
-              new SchemaMetadataChangeEventGenerator());
-        }
-          break;
-        case GLOSSARY_TERM: {
-          aspects.add(GLOSSARY_TERMS_ASPECT_NAME);
-          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, GLOSSARY_TERMS_ASPECT_NAME,
-              new GlossaryTermsChangeEventGenerator());
-          aspects.add(EDITABLE_SCHEMA_METADATA_ASPECT_NAME);
-          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, EDITABLE_SCHEMA_METADATA_ASPECT_NAME,
-              new EditableSchemaMetadataChangeEventGenerator());
-        }
-          break;
-        case TECHNICAL_SCHEMA: {
-          aspects.add(SCHEMA_METADATA_ASPECT_NAME);
-          _entityChangeEventGeneratorFactory.addGenerator(entityType, elementName, SCHEMA_METADATA_ASPECT_NAME,
-              new SchemaMetadataChangeEventGenerator());
-        }
-          break;
-        default:
-          break;
-      }
-      datasetElementAspectRegistry.put(elementName, aspects);
-    }
-
-    // GlossaryTerm registry
-    HashMap<ChangeCategory, Set<String>> glossaryTermElementAspectRegistry = new HashMap<>();
-    String entityTypeGlossaryTerm = GLOSSARY_TERM_ENTITY_NAME;
-    for (ChangeCategory elementName : ChangeCategory.values()) {
-      Set<String> aspects = new HashSet<>();
-      switch (elementName) {
-        case OWNER: {
-          aspects.add(OWNERSHIP_ASPECT_NAME);
-          _entityChangeEventGeneratorFactory.addGenerator(entityTypeGlossaryTerm, elementName, OWNERSHIP_ASPECT_NAME,
-              new OwnershipChangeEventGenerator());
-        }
-        break;
-        case DOCUMENTATION: {
-          aspects.add(GLOSSARY_TERM_INFO_ASPECT_NAME);
-          _entityChangeEventGeneratorFactory.addGenerator(entityTypeGlossaryTerm, elementName, GLOSSARY_TERM_INFO_ASPECT_NAME,
-              new GlossaryTermInfoChangeEventGenerator());
-        }
-        break;
-        default:
-          break;
-      }
-      glossaryTermElementAspectRegistry.put(elementName, aspects);
-    }
-    entityTypeElementAspectRegistry.put(DATASET_ENTITY_NAME, datasetElementAspectRegistry);
-    entityTypeElementAspectRegistry.put(GLOSSARY_TERM_ENTITY_NAME, glossaryTermElementAspectRegistry);
+  @VisibleForTesting
+  CacheStats getDiffCacheStats() {
+    return _diffCache.stats();
   }
 
   Set<String> getAspectsFromElements(String entityType, Set<ChangeCategory> elementNames) {
-    if (this.entityTypeElementAspectRegistry.containsKey(entityType)) {
-      return elementNames.stream()
-          .map(x -> entityTypeElementAspectRegistry.get(entityType).get(x))
-          .flatMap(Collection::stream)
-          .collect(Collectors.toSet());
-    } else {
-      throw new UnsupportedOperationException("Entity Type " + entityType + " not supported");
-    }
+    return _changeTransactionGenerator.getAspectsFromElements(entityType, elementNames);
   }
 
   @Nonnull
@@ -194,6 +114,18 @@ public class TimelineServiceImpl implements TimelineService {
         .filter(aspectSpec -> !aspectSpec.isTimeseries())
         .map(AspectSpec::getName)
         .collect(Collectors.toSet());
+
+    // Raw diffs are not materialized, so timelines including them are always computed from the stored versions.
+    if (!rawDiffRequested && _changeTransactionService != null && _changeTransactionService.isQueryEnabled()) {
+      Map<String, SortedMap<Long, List<ChangeTransaction>>> materializedDiffs =
+          _changeTransactionService.getChanges(urn, aspectNames, elementNames, startTimeMillis, endTimeMillis);
+      SortedMap<Long, List<ChangeTransaction>> semanticDiffs = materializedDiffs.values()
+          .stream()
+          .collect(TreeMap::new, this::combineComputedDiffsPerTransactionId, this::combineComputedDiffsPerTransactionId);
+      return toChangeTransactions(semanticDiffs, constructTimestampVersionCache(
+          constructAspectVersionSetMap(urn, fullAspectNames, startTimeMillis, endTimeMillis)));
+    }
+
     List<EntityAspect> aspectsInRange = this._aspectDao.getAspectsInRange(urn, fullAspectNames, startTimeMillis,
         endTimeMillis);
 
@@ -211,6 +143,11 @@ public class TimelineServiceImpl implements TimelineService {
         .map(Map.Entry::getValue)
         .map(value -> computeDiffs(value, urn.getEntityType(), elementNames, rawDiffRequested))
         .collect(TreeMap::new, this::combineComputedDiffsPerTransactionId, this::combineComputedDiffsPerTransactionId);
+    return toChangeTransactions(semanticDiffs, timestampVersionCache);
+  }
+
+  private List<ChangeTransaction> toChangeTransactions(SortedMap<Long, List<ChangeTransaction>> semanticDiffs,
+      Map<Long, SortedMap<String, Long>> timestampVersionCache) {
     // TODO:Move this down
     assignSemanticVersions(semanticDiffs);
     List<ChangeTransaction> changeTransactions = semanticDiffs.values().stream().collect(ArrayList::new,
@@ -243,50 +180,49 @@ public class TimelineServiceImpl implements TimelineService {
       rowList.add(row);
     });
 
-    // we need to pull previous versions of these aspects that are currently at a 0
-    Map<String, Long> nextVersions = _aspectDao.getNextVersions(urn.toString(), fullAspectNames);
+    // Pull the version preceding the oldest one in range of every aspect, or the latest version of aspects without
+    // versions in range, in one go. Aspects without such a version get a sentinel value.
+    Map<String, Long> oldestVersions = new HashMap<>();
+    aspectRowSetMap.forEach((aspectName, aspectSet) -> {
+      if (!aspectSet.isEmpty()) {
+        oldestVersions.put(aspectName, aspectSet.first().getVersion());
+      }
+    });
+    Map<String, EntityAspect> previousAspects =
+        _aspectDao.getPreviousAspects(urn.toString(), fullAspectNames, oldestVersions);
 
     for (Map.Entry<String, TreeSet<EntityAspect>> aspectMinVersion : aspectRowSetMap.entrySet()) {
-      TreeSet<EntityAspect> aspectSet = aspectMinVersion.getValue();
+      EntityAspect row = previousAspects.get(aspectMinVersion.getKey());
+      aspectMinVersion.getValue().add(row != null ? row : ChangeTransactionGenerator.createSentinel(aspectMinVersion.getKey()));
+    }
+    return aspectRowSetMap;
+  }
 
-      EntityAspect oldestAspect = null;
-      if (!aspectSet.isEmpty()) {
-        oldestAspect = aspectMinVersion.getValue().first();
+  /**
+   * Like {@link TimelineServiceImpl#constructAspectRowSetMap}, but only locates the versions in time, for timelines served
+   * from materialized change transactions. Holds the versions created in the time range, and the version preceding
+   * them.
+   */
+  private Map<String, TreeSet<EntityAspect>> constructAspectVersionSetMap(Urn urn, Set<String> fullAspectNames,
+      long startTimeMillis, long endTimeMillis) {
+    Map<String, TreeSet<EntityAspect>> aspectVersionSetMap = new HashMap<>();
+    fullAspectNames.forEach(aspectName -> aspectVersionSetMap.put(aspectName,
+        new TreeSet<>(Comparator.comparing(EntityAspect::getCreatedOn))));
+    Map<String, EntityAspect> precedingVersions = new HashMap<>();
+    for (EntityAspect version : _aspectDao.getAspectVersions(urn.toString(), fullAspectNames)) {
+      long createdOn = version.getCreatedOn().getTime();
+      if (createdOn >= endTimeMillis) {
+        continue;
       }
-      Long nextVersion = nextVersions.get(aspectMinVersion.getKey());
-      // Fill out sentinel value if the oldest value possible has been retrieved, else
-      // get previous version prior to time range
-      if (oldestAspect != null && isOldestPossible(oldestAspect, nextVersion)) {
-        aspectMinVersion.getValue().add(createSentinel(aspectMinVersion.getKey()));
+      if (createdOn >= startTimeMillis) {
+        aspectVersionSetMap.get(version.getAspect()).add(version);
       } else {
-        // get the next version
-        long versionToGet = 0;
-        if (oldestAspect != null) {
-          versionToGet = (oldestAspect.getVersion() == 0L) ? nextVersion - 1 : oldestAspect.getVersion() - 1;
-        }
-        EntityAspect row = _aspectDao.getAspect(urn.toString(), aspectMinVersion.getKey(), versionToGet);
-        if (row != null) {
-          aspectRowSetMap.get(row.getAspect()).add(row);
-        } else {
-          aspectMinVersion.getValue().add(createSentinel(aspectMinVersion.getKey()));
-        }
+        precedingVersions.merge(version.getAspect(), version,
+            (a, b) -> a.getCreatedOn().after(b.getCreatedOn()) ? a : b);
       }
     }
-    return aspectRowSetMap;
-  }
-
-  private boolean isOldestPossible(EntityAspect oldestAspect, long nextVersion) {
-    return (((oldestAspect.getVersion() == 0L)
-        && (nextVersion == 1L))
-        || (oldestAspect.getVersion() == 1L));
-  }
-
-  private MissingEntityAspect createSentinel(String aspectName) {
-    MissingEntityAspect sentinel = new MissingEntityAspect();
-    sentinel.setAspect(aspectName);
-    sentinel.setCreatedOn(new Timestamp(0L));
-    sentinel.setVersion(-1);
-    return sentinel;
+    precedingVersions.forEach((aspectName, version) -> aspectVersionSetMap.get(aspectName).add(version));
+    return aspectVersionSetMap;
   }
 
   /**
@@ -345,45 +281,68 @@ public class TimelineServiceImpl implements TimelineService {
       transactionId = currentValue.getCreatedOn().getTime();
       if (previousValue != null) {
         // we skip the first element and only compare once we have two in hand
-        changeTransactionsMap.put(transactionId,
-            computeDiff(previousValue, currentValue, entityType, elementNames, rawDiffsRequested));
+        // Raw diffs are only computed when requested and some category misses the cache.
+        final EntityAspect previous = previousValue;
+        Supplier<JsonPatch> rawDiff = Suppliers.memoize(() -> computeRawDiff(previous, currentValue));
+        List<ChangeTransaction> changeTransactions = new ArrayList<>();
+        for (ChangeCategory element : elementNames) {
+          changeTransactions.addAll(
+              getDiff(previousValue, currentValue, entityType, element, rawDiff, rawDiffsRequested));
+        }
+        changeTransactionsMap.put(transactionId, changeTransactions);
       }
       previousValue = currentValue;
     }
     return changeTransactionsMap;
   }
 
-  private List<ChangeTransaction> computeDiff(@Nonnull EntityAspect previousValue, @Nonnull EntityAspect currentValue,
-      String entityType, Set<ChangeCategory> elementNames, boolean rawDiffsRequested) {
-    String aspectName = currentValue.getAspect();
-
-    List<ChangeTransaction> semanticChangeTransactions = new ArrayList<>();
-    JsonPatch rawDiff = getRawDiff(previousValue, currentValue);
-    for (ChangeCategory element : elementNames) {
-      EntityChangeEventGenerator entityChangeEventGenerator;
-      entityChangeEventGenerator = _entityChangeEventGeneratorFactory.getGenerator(entityType, element, aspectName);
-      if (entityChangeEventGenerator != null) {
-        try {
-          ChangeTransaction changeTransaction =
-              entityChangeEventGenerator.getSemanticDiff(previousValue, currentValue, element, rawDiff,
-                  rawDiffsRequested);
-          if (CollectionUtils.isNotEmpty(changeTransaction.getChangeEvents())) {
-            semanticChangeTransactions.add(changeTransaction);
-          }
-        } catch (Exception e) {
-          semanticChangeTransactions.add(ChangeTransaction.builder()
-              .semVerChange(SemanticChangeType.EXCEPTIONAL)
-              .changeEvents(Collections.singletonList(ChangeEvent.builder()
-                  .description(String.format("%s:%s", e.getClass().getName(), e.getMessage()))
-                  .build()))
-              .build());
+  /**
+   * Returns the change transactions of a category between two versions of an aspect, from the diff cache when possible.
+   * The transactions are copied since timelines assign their versions in place.
+   */
+  private List<ChangeTransaction> getDiff(EntityAspect previousValue, EntityAspect currentValue, String entityType,
+      ChangeCategory element, Supplier<JsonPatch> rawDiff, boolean rawDiffsRequested) {
+    List<ChangeTransaction> changeTransactions;
+    try {
+      changeTransactions = _diffCache.get(new DiffKey(previousValue, currentValue, element, rawDiffsRequested),
+          () -> Collections.unmodifiableList(_changeTransactionGenerator.computeDiff(previousValue, currentValue,
+              entityType, Collections.singleton(element), rawDiffsRequested ? rawDiff.get() : null,
+              rawDiffsRequested)));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    }
+    return changeTransactions.stream()
+        .map(changeTransaction -> changeTransaction.toBuilder()
+            .changeEvents(changeTransaction.getChangeEvents() == null ? null
+                : new ArrayList<>(changeTransaction.getChangeEvents()))
+            .build())
+        .collect(Collectors.toList());
+  }
+
+  private static int weigh(DiffKey key, List<ChangeTransaction> changeTransactions) {
+    long weight = ENTRY_OVERHEAD_WEIGHT + length(key.getUrn()) + length(key.getAspect());
+    for (ChangeTransaction changeTransaction : changeTransactions) {
+      weight += ENTRY_OVERHEAD_WEIGHT;
+      if (changeTransaction.getRawDiff() != null) {
+        weight += changeTransaction.getRawDiff().toString().length();
+      }
+      if (changeTransaction.getChangeEvents() != null) {
+        for (ChangeEvent changeEvent : changeTransaction.getChangeEvents()) {
+          weight += ENTRY_OVERHEAD_WEIGHT + length(changeEvent.getEntityUrn()) + length(changeEvent.getModifier())
+              + length(changeEvent.getDescription())
+              + (changeEvent.getParameters() == null ? 0 : changeEvent.getParameters().toString().length());
         }
       }
     }
-    return semanticChangeTransactions;
+    return (int) Math.min(weight, Integer.MAX_VALUE);
   }
 
-  private JsonPatch getRawDiff(EntityAspect previousValue, EntityAspect currentValue) {
+  private static int length(@Nullable String value) {
+    return value == null ? 0 : value.length();
+  }
+
+  private JsonPatch computeRawDiff(EntityAspect previousValue, EntityAspect currentValue) {
     JsonNode prevNode = OBJECT_MAPPER.nullNode();
     try {
       if (previousValue.getVersion() != -1) {
@@ -495,4 +454,32 @@ public class TimelineServiceImpl implements TimelineService {
     }
     return combinedChangeTransactions;
   }
+
+  /**
+   * Identifies the changes of a category between two versions of an aspect, with or without the raw diff. The latest
+   * version of an aspect is overwritten in place, so versions are told apart by their creation time as well as their
+   * number.
+   */
+  @Value
+  private static class DiffKey {
+    String urn;
+    String aspect;
+    long previousVersion;
+    long previousCreatedOn;
+    long version;
+    long createdOn;
+    ChangeCategory category;
+    boolean rawDiffRequested;
+
+    DiffKey(EntityAspect previousValue, EntityAspect currentValue, ChangeCategory category, boolean rawDiffRequested) {
+      this.urn = currentValue.getUrn();
+      this.aspect = currentValue.getAspect();
+      this.previousVersion = previousValue.getVersion();
+      this.previousCreatedOn = previousValue.getCreatedOn().getTime();
+      this.version = currentValue.getVersion();
+      this.createdOn = currentValue.getCreatedOn().getTime();
+      this.category = category;
+      this.rawDiffRequested = rawDiffRequested;
+    }
+  }
 }
@@ -10,7 +10,7 @@ import lombok.Setter;
 
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 public class ChangeTransaction {
   long timestamp;
   String actor;
@@ -0,0 +1,54 @@
+package com.linkedin.metadata.timeline.materialized;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.timeline.data.ChangeCategory;
+import com.linkedin.metadata.timeline.data.ChangeTransaction;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * An append-only store of the change transactions between consecutive versions of an aspect, materialized as aspects
+ * are written, so that timelines do not need to diff every version in their window on each request.
+ */
+public interface ChangeTransactionService {
+
+  void configure();
+
+  /**
+   * Whether change transactions are materialized as aspects are written.
+   */
+  boolean isEnabled();
+
+  /**
+   * Whether timelines should be served from the materialized change transactions.
+   */
+  boolean isQueryEnabled();
+
+  /**
+   * Appends the change transactions of each category between the version of an aspect created at the given time and
+   * the version preceding it. Appending the same version again replaces its transactions, so that replaying the change
+   * log is idempotent.
+   */
+  void appendChanges(@Nonnull Urn urn, @Nonnull String aspectName, long createdOn,
+      @Nonnull Map<ChangeCategory, List<ChangeTransaction>> changes);
+
+  /**
+   * Deletes the change transactions of versions created after the given time (exclusive), of the given aspect or, when
+   * no aspect is given, of every aspect of the urn. Used when versions are rolled back or deleted.
+   */
+  void deleteChanges(@Nonnull Urn urn, @Nullable String aspectName, long createdAfterMillis);
+
+  /**
+   * Returns the change transactions of the given categories of versions of the given aspects created from the start
+   * time (inclusive) to the end time (exclusive), keyed by aspect name and then by creation time. Every materialized
+   * version in the window is present, even if it has no transactions in the given categories.
+   */
+  @Nonnull
+  Map<String, SortedMap<Long, List<ChangeTransaction>>> getChanges(@Nonnull Urn urn, @Nonnull Set<String> aspectNames,
+      @Nonnull Set<ChangeCategory> categories, long startTimeMillis, long endTimeMillis);
+}
@@ -0,0 +1,295 @@
+package com.linkedin.metadata.timeline.materialized;
+
+import com.codahale.metrics.Timer;
+import com.datahub.util.RecordUtils;
+import com.datahub.util.exception.ESQueryException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableMap;
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.config.TimelineConfiguration;
+import com.linkedin.metadata.search.elasticsearch.indexbuilder.ESIndexBuilder;
+import com.linkedin.metadata.search.elasticsearch.indexbuilder.ReindexConfig;
+import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
+import com.linkedin.metadata.shared.ElasticSearchIndexed;
+import com.linkedin.metadata.timeline.data.ChangeCategory;
+import com.linkedin.metadata.timeline.data.ChangeEvent;
+import com.linkedin.metadata.timeline.data.ChangeOperation;
+import com.linkedin.metadata.timeline.data.ChangeTransaction;
+import com.linkedin.metadata.timeline.data.SemanticChangeType;
+import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortOrder;
+
+
+/**
+ * Elasticsearch implementation of the {@link ChangeTransactionService}.
+ *
+ * Each materialized version of an aspect is a single document, identified by urn, aspect and creation time, holding
+ * the change transactions of every category the aspect backs. Documents are written through the bulk processor and
+ * never updated afterwards, other than being rewritten as is when a change log is replayed, or deleted when their
+ * versions are rolled back or deleted. The semantic versions,
+ * version stamps and raw diffs of the transactions are not stored, since they depend on the requested timeline.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ElasticSearchChangeTransactionService implements ChangeTransactionService, ElasticSearchIndexed {
+
+  public static final String INDEX_NAME = "change_transaction_v1";
+  private static final String FIELD_URN = "urn";
+  private static final String FIELD_ASPECT = "aspect";
+  private static final String FIELD_CREATED_ON = "createdOn";
+  private static final String FIELD_CHANGES = "changes";
+  private static final int PAGE_SIZE = 10000;
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private final RestHighLevelClient _searchClient;
+  private final ESBulkProcessor _bulkProcessor;
+  private final IndexConvention _indexConvention;
+  private final ESIndexBuilder _indexBuilder;
+  private final TimelineConfiguration _configuration;
+
+  @Override
+  public void configure() {
+    log.info("Setting up change transaction index");
+    try {
+      for (ReindexConfig config : getReindexConfigs()) {
+        _indexBuilder.buildIndex(config);
+      }
+    } catch (IOException ie) {
+      throw new RuntimeException("Could not configure change transaction index", ie);
+    }
+  }
+
+  @Override
+  public List<ReindexConfig> getReindexConfigs() throws IOException {
+    return List.of(_indexBuilder.buildReindexState(getIndexName(), getMappings(), Collections.emptyMap()));
+  }
+
+  @Override
+  public void reindexAll() {
+    configure();
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return _configuration.isMaterializationEnabled();
+  }
+
+  @Override
+  public boolean isQueryEnabled() {
+    return _configuration.isMaterializationEnabled() && _configuration.isQueryEnabled();
+  }
+
+  @Override
+  public void appendChanges(@Nonnull final Urn urn, @Nonnull final String aspectName, final long createdOn,
+      @Nonnull final Map<ChangeCategory, List<ChangeTransaction>> changes) {
+    final ObjectNode document = JsonNodeFactory.instance.objectNode();
+    document.put(FIELD_URN, urn.toString());
+    document.put(FIELD_ASPECT, aspectName);
+    document.put(FIELD_CREATED_ON, createdOn);
+    final ObjectNode changesNode = document.putObject(FIELD_CHANGES);
+    changes.forEach((category, transactions) -> {
+      final ArrayNode transactionsNode = changesNode.putArray(category.name());
+      transactions.forEach(transaction -> transactionsNode.add(toJson(transaction)));
+    });
+
+    _bulkProcessor.add(new IndexRequest(getIndexName())
+        .id(toDocId(urn, aspectName, createdOn))
+        .source(document.toString(), XContentType.JSON));
+  }
+
+  @Override
+  public void deleteChanges(@Nonnull final Urn urn, @Nullable final String aspectName, final long createdAfterMillis) {
+    final BoolQueryBuilder query = QueryBuilders.boolQuery()
+        .filter(QueryBuilders.termQuery(FIELD_URN, urn.toString()))
+        .filter(QueryBuilders.rangeQuery(FIELD_CREATED_ON).gt(createdAfterMillis));
+    if (aspectName != null) {
+      query.filter(QueryBuilders.termQuery(FIELD_ASPECT, aspectName));
+    }
+    _bulkProcessor.deleteByQuery(query, getIndexName());
+  }
+
+  @Nonnull
+  @Override
+  public Map<String, SortedMap<Long, List<ChangeTransaction>>> getChanges(@Nonnull final Urn urn,
+      @Nonnull final Set<String> aspectNames, @Nonnull final Set<ChangeCategory> categories, final long startTimeMillis,
+      final long endTimeMillis) {
+    final Map<String, SortedMap<Long, List<ChangeTransaction>>> changes = new HashMap<>();
+    if (aspectNames.isEmpty()) {
+      return changes;
+    }
+    final BoolQueryBuilder query = QueryBuilders.boolQuery()
+        .filter(QueryBuilders.termQuery(FIELD_URN, urn.toString()))
+        .filter(QueryBuilders.termsQuery(FIELD_ASPECT, aspectNames))
+        .filter(QueryBuilders.rangeQuery(FIELD_CREATED_ON).gte(startTimeMillis).lt(endTimeMillis));
+
+    // Pages through the versions with search_after, on creation time and aspect which identify a document together.
+    SearchHit[] hits;
+    Object[] searchAfter = null;
+    do {
+      hits = searchChanges(query, searchAfter);
+      for (SearchHit hit : hits) {
+        final JsonNode document = readDocument(hit.getSourceAsString());
+        final List<ChangeTransaction> transactions = new ArrayList<>();
+        for (ChangeCategory category : categories) {
+          final JsonNode transactionsNode = document.get(FIELD_CHANGES).get(category.name());
+          if (transactionsNode != null) {
+            transactionsNode.forEach(transactionNode -> transactions.add(toChangeTransaction(transactionNode)));
+          }
+        }
+        changes.computeIfAbsent(document.get(FIELD_ASPECT).asText(), aspectName -> new TreeMap<>())
+            .put(document.get(FIELD_CREATED_ON).asLong(), transactions);
+      }
+      searchAfter = hits.length > 0 ? hits[hits.length - 1].getSortValues() : null;
+    } while (hits.length == PAGE_SIZE);
+    return changes;
+  }
+
+  @Nonnull
+  private SearchHit[] searchChanges(@Nonnull final QueryBuilder query, @Nullable final Object[] searchAfter) {
+    final SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+        .query(query)
+        .fetchSource(new String[]{FIELD_ASPECT, FIELD_CREATED_ON, FIELD_CHANGES}, null)
+        .sort(FIELD_CREATED_ON, SortOrder.ASC)
+        .sort(FIELD_ASPECT, SortOrder.ASC)
+        .size(PAGE_SIZE);
+    if (searchAfter != null) {
+      searchSourceBuilder.searchAfter(searchAfter);
+    }
+    final SearchRequest searchRequest = new SearchRequest(getIndexName()).source(searchSourceBuilder);
+
+    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "getChanges").time()) {
+      return _searchClient.search(searchRequest, RequestOptions.DEFAULT).getHits().getHits();
+    } catch (IOException e) {
+      log.error("Search query for change transactions failed:", e);
+      throw new ESQueryException("Search query for change transactions failed:", e);
+    }
+  }
+
+  private String getIndexName() {
+    return _indexConvention.getIndexName(INDEX_NAME);
+  }
+
+  private static Map<String, Object> getMappings() {
+    final Map<String, Object> keyword = ImmutableMap.of("type", "keyword");
+    // Change transactions are only ever read back, never searched on.
+    final Map<String, Object> stored = ImmutableMap.of("type", "object", "enabled", false);
+    return ImmutableMap.of("properties", ImmutableMap.<String, Object>builder()
+        .put(FIELD_URN, keyword)
+        .put(FIELD_ASPECT, keyword)
+        .put(FIELD_CREATED_ON, ImmutableMap.of("type", "long"))
+        .put(FIELD_CHANGES, stored)
+        .build());
+  }
+
+  private static String toDocId(@Nonnull final Urn urn, @Nonnull final String aspectName, final long createdOn) {
+    return DigestUtils.md5Hex(urn.toString() + aspectName + createdOn);
+  }
+
+  private static ObjectNode toJson(@Nonnull final ChangeTransaction transaction) {
+    final ObjectNode node = JsonNodeFactory.instance.objectNode();
+    node.put("timestamp", transaction.getTimestamp());
+    node.put("actor", transaction.getActor());
+    node.put("proxy", transaction.getProxy());
+    node.put("reporter", transaction.getReporter());
+    node.put("semVerChange", nameOf(transaction.getSemVerChange()));
+    final ArrayNode eventsNode = node.putArray("changeEvents");
+    if (transaction.getChangeEvents() != null) {
+      for (ChangeEvent event : transaction.getChangeEvents()) {
+        final ObjectNode eventNode = eventsNode.addObject();
+        eventNode.put("entityUrn", event.getEntityUrn());
+        eventNode.put("category", nameOf(event.getCategory()));
+        eventNode.put("operation", nameOf(event.getOperation()));
+        eventNode.put("modifier", event.getModifier());
+        eventNode.set("parameters", OBJECT_MAPPER.valueToTree(event.getParameters()));
+        if (event.getAuditStamp() != null) {
+          eventNode.set("auditStamp", readDocument(RecordUtils.toJsonString(event.getAuditStamp())));
+        }
+        eventNode.put("semVerChange", nameOf(event.getSemVerChange()));
+        eventNode.put("description", event.getDescription());
+      }
+    }
+    return node;
+  }
+
+  private static ChangeTransaction toChangeTransaction(@Nonnull final JsonNode node) {
+    final List<ChangeEvent> changeEvents = new ArrayList<>();
+    for (JsonNode eventNode : node.get("changeEvents")) {
+      final String category = textOf(eventNode, "category");
+      final String operation = textOf(eventNode, "operation");
+      final String semVerChange = textOf(eventNode, "semVerChange");
+      changeEvents.add(ChangeEvent.builder()
+          .entityUrn(textOf(eventNode, "entityUrn"))
+          .category(category == null ? null : ChangeCategory.valueOf(category))
+          .operation(operation == null ? null : ChangeOperation.valueOf(operation))
+          .modifier(textOf(eventNode, "modifier"))
+          .parameters(eventNode.get("parameters").isNull() ? null
+              : OBJECT_MAPPER.convertValue(eventNode.get("parameters"), new TypeReference<Map<String, Object>>() { }))
+          .auditStamp(eventNode.has("auditStamp")
+              ? RecordUtils.toRecordTemplate(AuditStamp.class, eventNode.get("auditStamp").toString()) : null)
+          .semVerChange(semVerChange == null ? null : SemanticChangeType.valueOf(semVerChange))
+          .description(textOf(eventNode, "description"))
+          .build());
+    }
+    final String semVerChange = textOf(node, "semVerChange");
+    // The change events stay mutable, since transactions of the same time are merged into the first one.
+    return ChangeTransaction.builder()
+        .timestamp(node.get("timestamp").asLong())
+        .actor(textOf(node, "actor"))
+        .proxy(textOf(node, "proxy"))
+        .reporter(textOf(node, "reporter"))
+        .semVerChange(semVerChange == null ? null : SemanticChangeType.valueOf(semVerChange))
+        .changeEvents(changeEvents)
+        .build();
+  }
+
+  @Nullable
+  private static String nameOf(@Nullable final Enum<?> value) {
+    return value == null ? null : value.name();
+  }
+
+  @Nullable
+  private static String textOf(@Nonnull final JsonNode node, @Nonnull final String field) {
+    final JsonNode value = node.get(field);
+    return value == null || value.isNull() ? null : value.asText();
+  }
+
+  private static JsonNode readDocument(@Nonnull final String json) {
+    try {
+      return OBJECT_MAPPER.readTree(json);
+    } catch (JsonProcessingException e) {
+      throw new RuntimeException("Failed to parse change transaction document", e);
+    }
+  }
+}
@@ -0,0 +1,252 @@
+package com.linkedin.metadata.timeseries.rollup;
+
+import com.codahale.metrics.Timer;
+import com.datahub.util.RecordUtils;
+import com.datahub.util.exception.ESQueryException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableMap;
+import com.linkedin.common.WindowDuration;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.dataset.DatasetUsageStatistics;
+import com.linkedin.metadata.config.UsageRollupConfiguration;
+import com.linkedin.metadata.search.elasticsearch.indexbuilder.ESIndexBuilder;
+import com.linkedin.metadata.search.elasticsearch.indexbuilder.ReindexConfig;
+import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
+import com.linkedin.metadata.shared.ElasticSearchIndexed;
+import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.usage.UsageAggregation;
+import com.linkedin.usage.UsageAggregationMetrics;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.annotation.Nonnull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.script.Script;
+import org.elasticsearch.script.ScriptType;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortOrder;
+
+
+/**
+ * Elasticsearch implementation of the {@link UsageRollupService}.
+ *
+ * Each rollup is a single document per dataset, duration and bucket, holding the metrics of the usage aspects in the
+ * bucket keyed so that they sort chronologically. Upserts are scripted updates sent through the bulk processor which
+ * replace the aspect's part, so re-ingesting an aspect is idempotent and ingestion never waits on Elasticsearch. The
+ * parts are merged when the rollup is read.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ElasticSearchUsageRollupService implements UsageRollupService, ElasticSearchIndexed {
+
+  public static final String INDEX_NAME = "usage_rollup_v1";
+  private static final String FIELD_URN = "urn";
+  private static final String FIELD_DURATION = "duration";
+  private static final String FIELD_BUCKET = "bucket";
+  private static final String FIELD_LAST_UPDATED = "lastUpdated";
+  private static final String FIELD_PARTS = "parts";
+  private static final int MAX_ROLLUPS = 10000;
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final String UPSERT_PART_SCRIPT =
+      "ctx._source.parts[params.key] = params.part; ctx._source.lastUpdated = params.lastUpdated";
+
+  private final RestHighLevelClient _searchClient;
+  private final ESBulkProcessor _bulkProcessor;
+  private final IndexConvention _indexConvention;
+  private final ESIndexBuilder _indexBuilder;
+  private final UsageRollupConfiguration _configuration;
+  private final int _numRetries;
+
+  @Override
+  public void configure() {
+    log.info("Setting up usage rollup index");
+    try {
+      for (ReindexConfig config : getReindexConfigs()) {
+        _indexBuilder.buildIndex(config);
+      }
+    } catch (IOException ie) {
+      throw new RuntimeException("Could not configure usage rollup index", ie);
+    }
+  }
+
+  @Override
+  public List<ReindexConfig> getReindexConfigs() throws IOException {
+    return List.of(_indexBuilder.buildReindexState(getIndexName(), getMappings(), Collections.emptyMap()));
+  }
+
+  @Override
+  public void reindexAll() {
+    configure();
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return _configuration.isEnabled();
+  }
+
+  @Override
+  public boolean isQueryEnabled() {
+    return _configuration.isEnabled() && _configuration.isQueryEnabled();
+  }
+
+  @Override
+  public void upsertUsage(@Nonnull final Urn urn, @Nonnull final DatasetUsageStatistics usage) {
+    final long timestampMillis = usage.getTimestampMillis();
+    final String partKey = toPartKey(usage);
+    final Map<String, Object> part = toMap(toJson(UsageRollupUtils.toMetrics(usage)));
+    for (WindowDuration duration : UsageRollupUtils.ROLLUP_DURATIONS) {
+      upsertPart(urn, duration, UsageRollupUtils.getBucketStart(timestampMillis, duration), partKey, part);
+    }
+  }
+
+  @Nonnull
+  @Override
+  public List<UsageAggregation> getRollups(@Nonnull final Urn urn, @Nonnull final WindowDuration duration,
+      final long startBucket, final long endBucket) {
+    final SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+        .query(QueryBuilders.boolQuery()
+            .filter(QueryBuilders.termQuery(FIELD_URN, urn.toString()))
+            .filter(QueryBuilders.termQuery(FIELD_DURATION, duration.name()))
+            .filter(QueryBuilders.rangeQuery(FIELD_BUCKET).gte(startBucket).lte(endBucket)))
+        .fetchSource(new String[]{FIELD_BUCKET, FIELD_PARTS}, null)
+        .sort(FIELD_BUCKET, SortOrder.ASC)
+        .size(MAX_ROLLUPS);
+    final SearchRequest searchRequest = new SearchRequest(getIndexName()).source(searchSourceBuilder);
+
+    final SearchResponse searchResponse;
+    try (Timer.Context ignored = MetricUtils.timer(this.getClass(), "getRollups").time()) {
+      searchResponse = _searchClient.search(searchRequest, RequestOptions.DEFAULT);
+    } catch (IOException e) {
+      log.error("Search query for usage rollups failed:", e);
+      throw new ESQueryException("Search query for usage rollups failed:", e);
+    }
+
+    final List<UsageAggregation> rollups = new ArrayList<>();
+    for (SearchHit hit : searchResponse.getHits().getHits()) {
+      final JsonNode document = readDocument(hit.getSourceAsString());
+      // Part keys sort chronologically, which is the order the metrics are merged in
+      final Map<String, UsageAggregationMetrics> parts = new TreeMap<>();
+      document.get(FIELD_PARTS).fields().forEachRemaining(part -> parts.put(part.getKey(), toMetrics(part.getValue())));
+      rollups.add(new UsageAggregation()
+          .setResource(urn)
+          .setDuration(duration)
+          .setBucket(document.get(FIELD_BUCKET).asLong())
+          .setMetrics(UsageRollupUtils.mergeMetrics(new ArrayList<>(parts.values()))));
+    }
+    return rollups;
+  }
+
+  /**
+   * Adds or replaces a part of a rollup, creating the rollup if it does not exist yet.
+   */
+  private void upsertPart(@Nonnull final Urn urn, @Nonnull final WindowDuration duration, final long bucket,
+      @Nonnull final String partKey, @Nonnull final Map<String, Object> part) {
+    final Map<String, Object> params = new HashMap<>();
+    params.put("key", partKey);
+    params.put("part", part);
+    params.put("lastUpdated", System.currentTimeMillis());
+    final UpdateRequest updateRequest = new UpdateRequest(getIndexName(), toDocId(urn, duration, bucket))
+        .detectNoop(false)
+        .scriptedUpsert(true)
+        .upsert(toDocument(urn, duration, bucket), XContentType.JSON)
+        .script(new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, UPSERT_PART_SCRIPT, params))
+        .retryOnConflict(_numRetries);
+    _bulkProcessor.add(updateRequest);
+  }
+
+  private String getIndexName() {
+    return _indexConvention.getIndexName(INDEX_NAME);
+  }
+
+  private static Map<String, Object> getMappings() {
+    final Map<String, Object> keyword = ImmutableMap.of("type", "keyword");
+    final Map<String, Object> longType = ImmutableMap.of("type", "long");
+    // Metrics are only ever read back, never searched on.
+    final Map<String, Object> stored = ImmutableMap.of("type", "object", "enabled", false);
+    return ImmutableMap.of("properties", ImmutableMap.<String, Object>builder()
+        .put(FIELD_URN, keyword)
+        .put(FIELD_DURATION, keyword)
+        .put(FIELD_BUCKET, longType)
+        .put(FIELD_LAST_UPDATED, longType)
+        .put(FIELD_PARTS, stored)
+        .build());
+  }
+
+  private static String toDocId(@Nonnull final Urn urn, @Nonnull final WindowDuration duration, final long bucket) {
+    return DigestUtils.md5Hex(urn.toString() + duration.name() + bucket);
+  }
+
+  /**
+   * Identifies a usage aspect the same way its raw timeseries document is identified, prefixed with its timestamp so
+   * that parts sort chronologically.
+   */
+  private static String toPartKey(@Nonnull final DatasetUsageStatistics usage) {
+    final StringBuilder identity = new StringBuilder();
+    if (usage.hasEventGranularity()) {
+      identity.append(RecordUtils.toJsonString(usage.getEventGranularity()));
+    }
+    if (usage.hasMessageId()) {
+      identity.append(usage.getMessageId());
+    }
+    if (usage.hasPartitionSpec()) {
+      identity.append(RecordUtils.toJsonString(usage.getPartitionSpec()));
+    }
+    return toPartKey(usage.getTimestampMillis()) + "-" + DigestUtils.md5Hex(identity.toString());
+  }
+
+  private static String toPartKey(final long timestampMillis) {
+    return String.format("%020d", timestampMillis);
+  }
+
+  /**
+   * Returns an empty rollup, which the upsert script adds the first part to.
+   */
+  private static String toDocument(@Nonnull final Urn urn, @Nonnull final WindowDuration duration, final long bucket) {
+    final ObjectNode document = JsonNodeFactory.instance.objectNode();
+    document.put(FIELD_URN, urn.toString());
+    document.put(FIELD_DURATION, duration.name());
+    document.put(FIELD_BUCKET, bucket);
+    document.putObject(FIELD_PARTS);
+    return document.toString();
+  }
+
+  private static JsonNode toJson(@Nonnull final UsageAggregationMetrics metrics) {
+    return readDocument(RecordUtils.toJsonString(metrics));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> toMap(@Nonnull final JsonNode node) {
+    return OBJECT_MAPPER.convertValue(node, Map.class);
+  }
+
+  private static UsageAggregationMetrics toMetrics(@Nonnull final JsonNode node) {
+    return RecordUtils.toRecordTemplate(UsageAggregationMetrics.class, node.toString());
+  }
+
+  private static JsonNode readDocument(@Nonnull final String json) {
+    try {
+      return OBJECT_MAPPER.readTree(json);
+    } catch (JsonProcessingException e) {
+      throw new RuntimeException("Failed to parse usage rollup document", e);
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.linkedin.metadata.timeseries.rollup;
+
+import com.linkedin.common.WindowDuration;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.dataset.DatasetUsageStatistics;
+import com.linkedin.usage.UsageAggregation;
+import java.util.List;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Maintains pre-aggregated daily, weekly and monthly dataset usage, so that usage queries over long windows do not need
+ * to aggregate every raw datasetUsageStatistics document in the window.
+ */
+public interface UsageRollupService {
+
+  void configure();
+
+  /**
+   * Whether rollups are maintained as usage statistics are ingested.
+   */
+  boolean isEnabled();
+
+  /**
+   * Whether usage queries should be served from the rollups.
+   */
+  boolean isQueryEnabled();
+
+  /**
+   * Applies a usage statistics aspect to the rollups of every duration containing its timestamp. Re-applying an aspect
+   * with the same timestamp, granularity, partition and message id replaces its previous contribution.
+   */
+  void upsertUsage(@Nonnull Urn urn, @Nonnull DatasetUsageStatistics usage);
+
+  /**
+   * Returns the rollups of the given duration whose bucket starts between the given times (inclusive), ordered by
+   * bucket. Buckets without any usage are omitted.
+   */
+  @Nonnull
+  List<UsageAggregation> getRollups(@Nonnull Urn urn, @Nonnull WindowDuration duration, long startBucket,
+      long endBucket);
+}
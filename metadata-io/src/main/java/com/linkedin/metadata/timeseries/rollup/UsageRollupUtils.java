@@ -0,0 +1,267 @@
+package com.linkedin.metadata.timeseries.rollup;
+
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.common.WindowDuration;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.dataset.DatasetFieldUsageCounts;
+import com.linkedin.dataset.DatasetUsageStatistics;
+import com.linkedin.dataset.DatasetUserUsageCounts;
+import com.linkedin.usage.FieldUsageCounts;
+import com.linkedin.usage.FieldUsageCountsArray;
+import com.linkedin.usage.UsageAggregationMetrics;
+import com.linkedin.usage.UserUsageCounts;
+import com.linkedin.usage.UserUsageCountsArray;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+
+/**
+ * Bucketing and aggregation logic shared by the usage rollups and the queries served from them.
+ *
+ * Buckets follow the calendar intervals of the Elasticsearch date histograms used when querying the raw usage
+ * documents (UTC days, weeks starting on Monday and calendar months), and metrics are merged with the same semantics
+ * as those queries: unique user count, total and top SQL queries take the latest value, while user and field counts
+ * are summed.
+ */
+public class UsageRollupUtils {
+
+  /**
+   * The bucket durations for which usage rollups are maintained.
+   */
+  public static final Set<WindowDuration> ROLLUP_DURATIONS =
+      ImmutableSet.of(WindowDuration.DAY, WindowDuration.WEEK, WindowDuration.MONTH);
+
+  private UsageRollupUtils() { }
+
+  public static boolean isRollupDuration(@Nonnull final WindowDuration duration) {
+    return ROLLUP_DURATIONS.contains(duration);
+  }
+
+  /**
+   * Returns the start of the bucket of the given duration containing the timestamp.
+   */
+  public static long getBucketStart(final long timestampMillis, @Nonnull final WindowDuration duration) {
+    final ZonedDateTime day =
+        ZonedDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS);
+    switch (duration) {
+      case DAY:
+        return day.toInstant().toEpochMilli();
+      case WEEK:
+        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toInstant().toEpochMilli();
+      case MONTH:
+        return day.withDayOfMonth(1).toInstant().toEpochMilli();
+      default:
+        throw new IllegalArgumentException("Unsupported rollup duration " + duration);
+    }
+  }
+
+  /**
+   * Returns the start of the bucket following the one containing the timestamp.
+   */
+  public static long getNextBucketStart(final long timestampMillis, @Nonnull final WindowDuration duration) {
+    final ZonedDateTime bucketStart =
+        ZonedDateTime.ofInstant(Instant.ofEpochMilli(getBucketStart(timestampMillis, duration)), ZoneOffset.UTC);
+    switch (duration) {
+      case DAY:
+        return bucketStart.plusDays(1).toInstant().toEpochMilli();
+      case WEEK:
+        return bucketStart.plusWeeks(1).toInstant().toEpochMilli();
+      case MONTH:
+        return bucketStart.plusMonths(1).toInstant().toEpochMilli();
+      default:
+        throw new IllegalArgumentException("Unsupported rollup duration " + duration);
+    }
+  }
+
+  public static boolean isBucketStart(final long timestampMillis, @Nonnull final WindowDuration duration) {
+    return getBucketStart(timestampMillis, duration) == timestampMillis;
+  }
+
+  /**
+   * Splits a usage query window between the raw usage documents and the rollups. The partial buckets at the edges of
+   * the window are aggregated from the raw documents, and the whole buckets in between are read from the rollups. A
+   * window ending in the current bucket covers all of its usage so far, so that bucket is read from its rollup.
+   *
+   * Returns empty if the window cannot be served from the rollups, or lies within a single partial bucket, which is
+   * cheap to aggregate from the raw documents.
+   */
+  @Nonnull
+  public static Optional<WindowSplit> splitWindow(@Nullable final Long startTime, @Nullable final Long endTime,
+      @Nonnull final WindowDuration duration, final long nowMillis) {
+    if (!isRollupDuration(duration)) {
+      return Optional.empty();
+    }
+    if (startTime != null && endTime != null && !isBucketStart(startTime, duration)
+        && getBucketStart(startTime, duration) == getBucketStart(endTime, duration)) {
+      return Optional.empty();
+    }
+
+    Long headEnd = null;
+    long rollupStart = Long.MIN_VALUE;
+    if (startTime != null) {
+      rollupStart = startTime;
+      if (!isBucketStart(startTime, duration)) {
+        rollupStart = getNextBucketStart(startTime, duration);
+        headEnd = rollupStart - 1;
+      }
+    }
+
+    Long tailStart = null;
+    long rollupEnd = Long.MAX_VALUE;
+    if (endTime != null) {
+      rollupEnd = getBucketStart(endTime, duration);
+      if (!isBucketStart(endTime + 1, duration) && rollupEnd != getBucketStart(nowMillis, duration)) {
+        tailStart = rollupEnd;
+        rollupEnd = rollupEnd - 1;
+      }
+    }
+    return Optional.of(new WindowSplit(headEnd != null ? startTime : null, headEnd, rollupStart, rollupEnd, tailStart,
+        tailStart != null ? endTime : null));
+  }
+
+  /**
+   * Converts a single usage statistics aspect into the metrics of a rollup.
+   */
+  @Nonnull
+  public static UsageAggregationMetrics toMetrics(@Nonnull final DatasetUsageStatistics usage) {
+    final UsageAggregationMetrics metrics = new UsageAggregationMetrics();
+    if (usage.hasUniqueUserCount()) {
+      metrics.setUniqueUserCount(usage.getUniqueUserCount());
+    }
+    if (usage.hasTotalSqlQueries()) {
+      metrics.setTotalSqlQueries(usage.getTotalSqlQueries());
+    }
+    if (usage.hasTopSqlQueries()) {
+      metrics.setTopSqlQueries(usage.getTopSqlQueries());
+    }
+    if (usage.hasUserCounts()) {
+      final UserUsageCountsArray users = new UserUsageCountsArray();
+      for (DatasetUserUsageCounts userCounts : usage.getUserCounts()) {
+        final UserUsageCounts user = new UserUsageCounts().setUser(userCounts.getUser()).setCount(userCounts.getCount());
+        if (userCounts.hasUserEmail()) {
+          user.setUserEmail(userCounts.getUserEmail());
+        }
+        users.add(user);
+      }
+      metrics.setUsers(users);
+    }
+    if (usage.hasFieldCounts()) {
+      final FieldUsageCountsArray fields = new FieldUsageCountsArray();
+      for (DatasetFieldUsageCounts fieldCounts : usage.getFieldCounts()) {
+        fields.add(new FieldUsageCounts().setFieldName(fieldCounts.getFieldPath()).setCount(fieldCounts.getCount()));
+      }
+      metrics.setFields(fields);
+    }
+    return metrics;
+  }
+
+  /**
+   * Merges the metrics of consecutive time ranges, ordered from oldest to newest. Latest values are taken from the
+   * newest metrics defining them, and user and field counts are summed, ordered by user and field name. Missing counts
+   * are treated as zero.
+   */
+  @Nonnull
+  public static UsageAggregationMetrics mergeMetrics(@Nonnull final List<UsageAggregationMetrics> oldestFirst) {
+    final UsageAggregationMetrics merged = new UsageAggregationMetrics();
+    final Map<String, UserUsageCounts> users = new TreeMap<>();
+    final Map<String, Integer> fields = new TreeMap<>();
+    boolean hasUsers = false;
+    boolean hasFields = false;
+    for (UsageAggregationMetrics metrics : oldestFirst) {
+      if (metrics.hasUniqueUserCount()) {
+        merged.setUniqueUserCount(metrics.getUniqueUserCount());
+      }
+      if (metrics.hasTotalSqlQueries()) {
+        merged.setTotalSqlQueries(metrics.getTotalSqlQueries());
+      }
+      if (metrics.hasTopSqlQueries()) {
+        merged.setTopSqlQueries(new StringArray(metrics.getTopSqlQueries()));
+      }
+      if (metrics.hasUsers()) {
+        hasUsers = true;
+        for (UserUsageCounts user : metrics.getUsers()) {
+          mergeUser(users, user);
+        }
+      }
+      if (metrics.hasFields()) {
+        hasFields = true;
+        for (FieldUsageCounts field : metrics.getFields()) {
+          fields.merge(field.getFieldName(), field.hasCount() ? field.getCount() : 0, Integer::sum);
+        }
+      }
+    }
+    if (hasUsers) {
+      merged.setUsers(new UserUsageCountsArray(users.values()));
+    }
+    if (hasFields) {
+      final FieldUsageCountsArray fieldCounts = new FieldUsageCountsArray();
+      fields.forEach((fieldName, count) -> fieldCounts.add(new FieldUsageCounts().setFieldName(fieldName).setCount(count)));
+      merged.setFields(fieldCounts);
+    }
+    return merged;
+  }
+
+  private static void mergeUser(@Nonnull final Map<String, UserUsageCounts> users, @Nonnull final UserUsageCounts user) {
+    final Urn userUrn = user.getUser();
+    final String key = userUrn == null ? "" : userUrn.toString();
+    final int count = user.hasCount() ? user.getCount() : 0;
+    final UserUsageCounts existing = users.get(key);
+    if (existing == null) {
+      final UserUsageCounts copy = new UserUsageCounts().setCount(count);
+      if (userUrn != null) {
+        copy.setUser(userUrn);
+      }
+      if (user.hasUserEmail()) {
+        copy.setUserEmail(user.getUserEmail());
+      }
+      users.put(key, copy);
+      return;
+    }
+    existing.setCount(existing.getCount() + count);
+    if (user.hasUserEmail()) {
+      existing.setUserEmail(user.getUserEmail());
+    }
+  }
+
+  /**
+   * A usage query window split between the raw usage documents and the rollups, see {@link #splitWindow}. All bounds
+   * are inclusive, and the rollup bounds apply to the start of the buckets.
+   */
+  @Value
+  public static class WindowSplit {
+    // The partial bucket at the start of the window, if any.
+    @Nullable Long headStart;
+    @Nullable Long headEnd;
+    // The whole buckets of the window, if rollupStart <= rollupEnd.
+    long rollupStart;
+    long rollupEnd;
+    // The partial bucket at the end of the window, if any.
+    @Nullable Long tailStart;
+    @Nullable Long tailEnd;
+
+    public boolean hasHead() {
+      return headStart != null;
+    }
+
+    public boolean hasRollups() {
+      return rollupStart <= rollupEnd;
+    }
+
+    public boolean hasTail() {
+      return tailStart != null;
+    }
+  }
+}
@@ -44,6 +44,18 @@ public class TimeseriesAspectTransformer {
   public static Map<String, JsonNode> transform(@Nonnull final Urn urn, @Nonnull final RecordTemplate timeseriesAspect,
       @Nonnull final AspectSpec aspectSpec, @Nullable final SystemMetadata systemMetadata)
       throws JsonProcessingException {
+    return transform(urn, timeseriesAspect, aspectSpec.getTimeseriesFieldSpecs(),
+        aspectSpec.getTimeseriesFieldCollectionSpecs(), systemMetadata);
+  }
+
+  /**
+   * Same as {@link #transform(Urn, RecordTemplate, AspectSpec, SystemMetadata)}, for callers that already hold the
+   * timeseries field specs of the aspect.
+   */
+  public static Map<String, JsonNode> transform(@Nonnull final Urn urn, @Nonnull final RecordTemplate timeseriesAspect,
+      @Nonnull final List<TimeseriesFieldSpec> timeseriesFieldSpecs,
+      @Nonnull final List<TimeseriesFieldCollectionSpec> timeseriesFieldCollectionSpecs,
+      @Nullable final SystemMetadata systemMetadata) throws JsonProcessingException {
     ObjectNode commonDocument = getCommonDocument(urn, timeseriesAspect, systemMetadata);
     Map<String, JsonNode> finalDocuments = new HashMap<>();
 
@@ -57,13 +69,13 @@ public class TimeseriesAspectTransformer {
           OBJECT_MAPPER.readTree(RecordUtils.toJsonString(systemMetadata)));
     }
     final Map<TimeseriesFieldSpec, List<Object>> timeseriesFieldValueMap =
-        FieldExtractor.extractFields(timeseriesAspect, aspectSpec.getTimeseriesFieldSpecs());
+        FieldExtractor.extractFields(timeseriesAspect, timeseriesFieldSpecs);
     timeseriesFieldValueMap.forEach((k, v) -> setTimeseriesField(document, k, v));
     finalDocuments.put(getDocId(document, null), document);
 
     // Create new rows for the member collection fields.
     final Map<TimeseriesFieldCollectionSpec, List<Object>> timeseriesFieldCollectionValueMap =
-        FieldExtractor.extractFields(timeseriesAspect, aspectSpec.getTimeseriesFieldCollectionSpecs());
+        FieldExtractor.extractFields(timeseriesAspect, timeseriesFieldCollectionSpecs);
     timeseriesFieldCollectionValueMap.forEach(
         (key, values) -> finalDocuments.putAll(getTimeseriesFieldCollectionDocuments(key, values, commonDocument)));
     return finalDocuments;
@@ -175,6 +175,7 @@ public class ESSampleDataFixture {
 
         AspectDao mockAspectDao = mock(AspectDao.class);
         when(mockAspectDao.batchGet(anySet())).thenReturn(Map.of(mock(EntityAspectIdentifier.class), mock(EntityAspect.class)));
+        when(mockAspectDao.getExistingUrns(anySet())).thenAnswer(invocation -> invocation.getArgument(0));
 
         return new JavaEntityClient(
                 new EntityService(mockAspectDao, null, entityRegistry, true),
@@ -0,0 +1,91 @@
+package com.linkedin.metadata.entity;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class AsyncJobRegistryTest {
+
+  private static final String KEY = "key";
+
+  @Test
+  public void testRunningJobIsNotSubmittedTwice() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    try (AsyncJobRegistry<String, TestJob> registry = new AsyncJobRegistry<>("test-job", 0L)) {
+      final TestJob job = registry.submit(KEY, TestJob::new, runningJob -> {
+        awaitQuietly(release);
+        runningJob.finish();
+      });
+
+      // Running jobs are kept whatever the retention
+      assertSame(registry.submit(KEY, TestJob::new, TestJob::finish), job);
+      assertSame(registry.get(KEY).get(), job);
+      release.countDown();
+    }
+  }
+
+  @Test
+  public void testFinishedJobsAreEvictedAfterRetention() throws Exception {
+    try (AsyncJobRegistry<String, TestJob> registry = new AsyncJobRegistry<>("test-job", 0L)) {
+      final TestJob job = registry.submit(KEY, TestJob::new, TestJob::finish);
+      assertTrue(job.awaitFinished());
+
+      assertFalse(registry.get(KEY).isPresent());
+      assertNotSame(registry.submit(KEY, TestJob::new, TestJob::finish), job);
+    }
+
+    try (AsyncJobRegistry<String, TestJob> registry =
+        new AsyncJobRegistry<>("test-job", TimeUnit.HOURS.toMillis(1))) {
+      final TestJob job = registry.submit(KEY, TestJob::new, TestJob::finish);
+      assertTrue(job.awaitFinished());
+
+      assertSame(registry.get(KEY).get(), job);
+    }
+  }
+
+  @Test
+  public void testCloseInterruptsRunningJob() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final AsyncJobRegistry<String, TestJob> registry = new AsyncJobRegistry<>("test-job", 0L);
+    final TestJob job = registry.submit(KEY, TestJob::new, runningJob -> {
+      started.countDown();
+      try {
+        new CountDownLatch(1).await();
+      } catch (InterruptedException e) {
+        runningJob.fail(e);
+      }
+      runningJob.finish();
+    });
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+
+    registry.close();
+
+    assertTrue(job.awaitFinished());
+    assertTrue(job.hasFailed());
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static class TestJob extends AsyncJob {
+    private final CountDownLatch _finished = new CountDownLatch(1);
+
+    @Override
+    public void finish() {
+      super.finish();
+      _finished.countDown();
+    }
+
+    boolean awaitFinished() throws InterruptedException {
+      return _finished.await(10, TimeUnit.SECONDS);
+    }
+  }
+}
@@ -13,10 +13,12 @@ import com.linkedin.metadata.entity.ebean.EbeanAspectDao;
 import com.linkedin.metadata.event.EventProducer;
 import com.linkedin.metadata.graph.GraphService;
 import com.linkedin.metadata.graph.RelatedEntitiesResult;
+import com.linkedin.metadata.graph.RelatedEntitiesScrollResult;
 import com.linkedin.metadata.graph.RelatedEntity;
 import com.linkedin.metadata.models.registry.ConfigEntityRegistry;
 import com.linkedin.metadata.models.registry.EntityRegistry;
 import com.linkedin.metadata.query.filter.RelationshipDirection;
+import com.linkedin.metadata.run.DeleteReferencesJobStatus;
 import com.linkedin.metadata.run.DeleteReferencesResponse;
 import com.linkedin.metadata.snapshot.Snapshot;
 import com.linkedin.metadata.utils.AuditStampUtils;
@@ -88,7 +90,7 @@ public class DeleteEntityServiceTest {
 
     RollbackResult result = new RollbackResult(container, Constants.DATASET_ENTITY_NAME,
         Constants.CONTAINER_ASPECT_NAME, containerAspect, null, null, null,
-        ChangeType.DELETE, false, 1);
+        ChangeType.DELETE, false, 1, null);
 
     Mockito.when(_aspectDao.runInTransactionWithRetry(Mockito.any(), Mockito.anyInt()))
         .thenReturn(result);
@@ -97,4 +99,100 @@ public class DeleteEntityServiceTest {
     assertEquals(1, (int) response.getTotal());
     assertFalse(response.getRelatedAspects().isEmpty());
   }
-}
\ No newline at end of file
+
+  /**
+   * This test checks that the synchronous delete reports the related entities it failed to update.
+   */
+  @Test
+  public void testDeleteReferencesToThrowsOnFailedEntity() {
+    final Urn dataset = UrnUtils.toDatasetUrn("snowflake", "failing", "DEV");
+    final Urn container = UrnUtils.getUrn("urn:li:container:5c2bd0a4-8a5e-4e1b-a5a3-3f6a4e0a61b9");
+    final EbeanAspectDao aspectDao = mock(EbeanAspectDao.class);
+    final EntityService entityService = new EntityService(aspectDao, mock(EventProducer.class), _entityRegistry, true);
+    final DeleteEntityService deleteEntityService = new DeleteEntityService(entityService, _graphService);
+
+    Mockito.when(_graphService.findRelatedEntities(null, newFilter("urn", container.toString()),
+            null, EMPTY_FILTER, ImmutableList.of(),
+            newRelationshipFilter(EMPTY_FILTER, RelationshipDirection.INCOMING), 0, 10000))
+        .thenReturn(new RelatedEntitiesResult(0, 1, 1,
+            ImmutableList.of(new RelatedEntity("IsPartOf", dataset.toString()))));
+
+    final Container containerAspect = new Container();
+    containerAspect.setContainer(container);
+    Mockito.when(aspectDao.batchGet(Mockito.any())).thenReturn(Map.of(
+        new EntityAspectIdentifier(dataset.toString(), Constants.CONTAINER_ASPECT_NAME, 0),
+        createContainerAspect(dataset, containerAspect)));
+    Mockito.when(aspectDao.runInTransactionWithRetry(Mockito.any(), Mockito.anyInt()))
+        .thenThrow(new IllegalStateException("Database unavailable"));
+
+    try {
+      deleteEntityService.deleteReferencesTo(container, false);
+      fail("Expected the failed entity to be reported");
+    } catch (RuntimeException e) {
+      assertTrue(e.getMessage().contains("from 1 entities"));
+      assertTrue(e.getMessage().contains("Database unavailable"));
+    } finally {
+      deleteEntityService.close();
+    }
+  }
+
+  /**
+   * This test checks that a dry run of the background job pages through all the relationships and counts the aspects
+   * it would delete, without deleting them.
+   */
+  @Test
+  public void testDeleteReferencesJobDryRun() {
+    final Urn container = UrnUtils.getUrn("urn:li:container:0ac6a6ba-0a0b-4a4e-9f42-cb2a1b41b87e");
+    final Urn firstDataset = UrnUtils.toDatasetUrn("snowflake", "first", "DEV");
+    final Urn secondDataset = UrnUtils.toDatasetUrn("snowflake", "second", "DEV");
+    final EbeanAspectDao aspectDao = mock(EbeanAspectDao.class);
+    final EntityService entityService = new EntityService(aspectDao, mock(EventProducer.class), _entityRegistry, true);
+    final DeleteEntityService deleteEntityService = new DeleteEntityService(entityService, _graphService, 1, 2, 0L);
+
+    Mockito.when(_graphService.scrollRelatedEntities(null, newFilter("urn", container.toString()),
+            null, EMPTY_FILTER, ImmutableList.of(),
+            newRelationshipFilter(EMPTY_FILTER, RelationshipDirection.INCOMING), null, 1))
+        .thenReturn(new RelatedEntitiesScrollResult(2, 1, "1",
+            ImmutableList.of(new RelatedEntity("IsPartOf", firstDataset.toString()))));
+    Mockito.when(_graphService.scrollRelatedEntities(null, newFilter("urn", container.toString()),
+            null, EMPTY_FILTER, ImmutableList.of(),
+            newRelationshipFilter(EMPTY_FILTER, RelationshipDirection.INCOMING), "1", 1))
+        .thenReturn(new RelatedEntitiesScrollResult(2, 1, null,
+            ImmutableList.of(new RelatedEntity("IsPartOf", secondDataset.toString()))));
+
+    final Container containerAspect = new Container();
+    containerAspect.setContainer(container);
+    final Map<EntityAspectIdentifier, EntityAspect> dbEntries = Map.of(
+        new EntityAspectIdentifier(firstDataset.toString(), Constants.CONTAINER_ASPECT_NAME, 0),
+        createContainerAspect(firstDataset, containerAspect),
+        new EntityAspectIdentifier(secondDataset.toString(), Constants.CONTAINER_ASPECT_NAME, 0),
+        createContainerAspect(secondDataset, containerAspect));
+    Mockito.when(aspectDao.batchGet(Mockito.any())).thenReturn(dbEntries);
+
+    final DeleteEntityService.DeleteReferencesJob job = new DeleteEntityService.DeleteReferencesJob(container, true);
+    deleteEntityService.deleteReferences(job);
+
+    final DeleteReferencesJobStatus status = job.toStatus();
+    assertEquals(DeleteEntityService.COMPLETED_STATUS, status.getStatus());
+    assertTrue(status.isDryRun());
+    assertEquals(2L, (long) status.getRelationshipsProcessed());
+    assertEquals(2L, (long) status.getAspectsDeleted());
+    assertEquals(0L, (long) status.getAspectsUpdated());
+    assertEquals(0L, (long) status.getEntitiesFailed());
+    assertTrue(status.hasEndTimeMs());
+    Mockito.verify(aspectDao, Mockito.never()).runInTransactionWithRetry(Mockito.any(), Mockito.anyInt());
+  }
+
+  private static EntityAspect createContainerAspect(final Urn urn, final Container containerAspect) {
+    final EntityAspect dbValue = new EntityAspect();
+    dbValue.setUrn(urn.toString());
+    dbValue.setVersion(0);
+    dbValue.setAspect(Constants.CONTAINER_ASPECT_NAME);
+    dbValue.setMetadata(RecordUtils.toJsonString(containerAspect));
+    dbValue.setSystemMetadata(RecordUtils.toJsonString(SystemMetadataUtils.createDefaultSystemMetadata()));
+    final AuditStamp auditStamp = AuditStampUtils.createDefaultAuditStamp();
+    dbValue.setCreatedBy(auditStamp.getActor().toString());
+    dbValue.setCreatedOn(new Timestamp(auditStamp.getTime()));
+    return dbValue;
+  }
+}
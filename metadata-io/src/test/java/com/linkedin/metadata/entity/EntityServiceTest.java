@@ -423,6 +423,28 @@ abstract public class EntityServiceTest<T_AD extends AspectDao, T_RS extends Ret
         verifyNoMoreInteractions(_mockProducer);
     }
 
+    @Test
+    public void testExistsAndNotRemoved() throws Exception {
+        Urn activeUrn = UrnUtils.getUrn("urn:li:corpuser:active");
+        Urn removedUrn = UrnUtils.getUrn("urn:li:corpuser:removed");
+        Urn noStatusUrn = UrnUtils.getUrn("urn:li:corpuser:noStatus");
+        Urn missingUrn = UrnUtils.getUrn("urn:li:corpuser:missing");
+
+        SystemMetadata metadata1 = AspectGenerationUtils.createSystemMetadata();
+        _entityService.ingestAspects(activeUrn,
+            ImmutableList.of(getAspectRecordPair(new Status().setRemoved(false), Status.class)), TEST_AUDIT_STAMP, metadata1);
+        _entityService.ingestAspects(removedUrn,
+            ImmutableList.of(getAspectRecordPair(new Status().setRemoved(true), Status.class)), TEST_AUDIT_STAMP, metadata1);
+        _entityService.ingestAspects(noStatusUrn,
+            ImmutableList.of(getAspectRecordPair(AspectGenerationUtils.createCorpUserInfo("email@test.com"), CorpUserInfo.class)),
+            TEST_AUDIT_STAMP, metadata1);
+
+        List<Urn> urns = ImmutableList.of(activeUrn, removedUrn, noStatusUrn, missingUrn);
+        assertEquals(_entityService.batchExists(urns), ImmutableSet.of(activeUrn, removedUrn, noStatusUrn));
+        assertEquals(_entityService.existsAndNotRemoved(urns), ImmutableSet.of(activeUrn, noStatusUrn));
+        assertTrue(_entityService.existsAndNotRemoved(Collections.emptyList()).isEmpty());
+    }
+
     @Test
     public void testReingestAspectsGetLatestAspects() throws Exception {
 
@@ -724,6 +746,59 @@ abstract public class EntityServiceTest<T_AD extends AspectDao, T_RS extends Ret
         assertTrue(DataTemplateUtil.areEqual(null, readNewRecentAspect));
     }
 
+    @Test
+    public void testBatchRollback() throws AssertionError {
+        Urn entityUrn1 = UrnUtils.getUrn("urn:li:corpuser:test1");
+        Urn entityUrn2 = UrnUtils.getUrn("urn:li:corpuser:test2");
+
+        SystemMetadata metadata1 = AspectGenerationUtils.createSystemMetadata(1625792689, "run-123");
+        SystemMetadata metadata2 = AspectGenerationUtils.createSystemMetadata(1635792689, "run-456");
+
+        String aspectName = AspectGenerationUtils.getAspectName(new CorpUserInfo());
+        String keyAspectName = _entityService.getKeyAspectName(entityUrn1);
+
+        // Ingest the key and CorpUserInfo of entity #1, then overwrite its CorpUserInfo in another run
+        CorpUserInfo writeAspect1 = AspectGenerationUtils.createCorpUserInfo("email@test.com");
+        _entityService.ingestAspect(entityUrn1, aspectName, writeAspect1, TEST_AUDIT_STAMP, metadata1);
+        _entityService.ingestAspect(entityUrn1, keyAspectName, _entityService.buildKeyAspect(entityUrn1),
+            TEST_AUDIT_STAMP, metadata1);
+        CorpUserInfo writeAspect1Overwrite = AspectGenerationUtils.createCorpUserInfo("email1.overwrite@test.com");
+        _entityService.ingestAspect(entityUrn1, aspectName, writeAspect1Overwrite, TEST_AUDIT_STAMP, metadata2);
+
+        // Ingest the CorpUserInfo of entity #2
+        CorpUserInfo writeAspect2 = AspectGenerationUtils.createCorpUserInfo("email2@test.com");
+        _entityService.ingestAspect(entityUrn2, aspectName, writeAspect2, TEST_AUDIT_STAMP, metadata1);
+
+        // Key aspects are rolled back after the other aspects of the batch, whatever their order
+        AspectRowSummary rollbackKey1 = new AspectRowSummary();
+        rollbackKey1.setRunId("run-123");
+        rollbackKey1.setAspectName(keyAspectName);
+        rollbackKey1.setUrn(entityUrn1.toString());
+        rollbackKey1.setKeyAspect(true);
+
+        AspectRowSummary rollbackAspect1 = new AspectRowSummary();
+        rollbackAspect1.setRunId("run-123");
+        rollbackAspect1.setAspectName(aspectName);
+        rollbackAspect1.setUrn(entityUrn1.toString());
+        rollbackAspect1.setKeyAspect(false);
+
+        AspectRowSummary rollbackAspect2 = new AspectRowSummary();
+        rollbackAspect2.setRunId("run-123");
+        rollbackAspect2.setAspectName(aspectName);
+        rollbackAspect2.setUrn(entityUrn2.toString());
+        rollbackAspect2.setKeyAspect(false);
+
+        RollbackRunResult result = _entityService.batchRollbackWithConditions(
+            ImmutableList.of(rollbackKey1, rollbackAspect1, rollbackAspect2), Collections.singletonMap("runId", "run-123"),
+            true);
+
+        // The overwritten aspect of entity #1 is kept until its key is deleted along with the entity
+        assertEquals(result.getRowsRolledBack(), ImmutableList.of(rollbackAspect2, rollbackKey1));
+        assertNull(_entityService.getAspect(entityUrn1, aspectName, 0));
+        assertNull(_entityService.getAspect(entityUrn1, keyAspectName, 0));
+        assertNull(_entityService.getAspect(entityUrn2, aspectName, 0));
+    }
+
     @Test
     public void testRollbackUrn() throws AssertionError {
         Urn entityUrn1 = UrnUtils.getUrn("urn:li:corpuser:test1");
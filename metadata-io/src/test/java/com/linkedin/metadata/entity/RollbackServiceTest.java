@@ -0,0 +1,184 @@
+package com.linkedin.metadata.entity;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.metadata.run.AspectRowSummary;
+import com.linkedin.metadata.run.RollbackJobStatus;
+import com.linkedin.metadata.systemmetadata.SystemMetadataService;
+import com.linkedin.metadata.timeseries.TimeseriesAspectService;
+import com.linkedin.timeseries.DeleteAspectValuesResult;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import org.mockito.Mockito;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class RollbackServiceTest {
+
+  private static final String RUN_ID = "test-run";
+  private static final Map<String, String> CONDITIONS = Collections.singletonMap("runId", RUN_ID);
+
+  private EntityService _entityService;
+  private SystemMetadataService _systemMetadataService;
+  private TimeseriesAspectService _timeseriesAspectService;
+  private RollbackService _rollbackService;
+
+  @BeforeMethod
+  public void setup() {
+    _entityService = Mockito.mock(EntityService.class);
+    _systemMetadataService = Mockito.mock(SystemMetadataService.class);
+    _timeseriesAspectService = Mockito.mock(TimeseriesAspectService.class);
+    Mockito.when(_timeseriesAspectService.rollbackTimeseriesAspects(RUN_ID))
+        .thenReturn(new DeleteAspectValuesResult().setNumDocsDeleted(3L));
+    _rollbackService = new RollbackService(_entityService, _systemMetadataService, _timeseriesAspectService, 3, 2);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testRollbackKeepsEntitiesInOneBatch() {
+    // The rows of urn b span the first two pages
+    final List<List<AspectRowSummary>> pages = ImmutableList.of(
+        ImmutableList.of(row("a", "status"), row("b", "status"), row("b", "globalTags")),
+        ImmutableList.of(row("b", "ownership"), row("c", "status"), row("d", "status")),
+        ImmutableList.of(row("e", "status")));
+    Mockito.when(_systemMetadataService.scrollByRunId(RUN_ID, false, 3)).thenReturn(pages.iterator());
+    final Set<Set<String>> batches = ConcurrentHashMap.newKeySet();
+    Mockito.when(_entityService.batchRollbackWithConditions(Mockito.anyList(), Mockito.eq(CONDITIONS),
+        Mockito.eq(false))).thenAnswer(invocation -> {
+          final List<AspectRowSummary> rows = invocation.getArgument(0);
+          batches.add(rows.stream().map(AspectRowSummary::getUrn).collect(Collectors.toSet()));
+          return new RollbackRunResult(rows, 0);
+        });
+
+    final RollbackService.RollbackJob job = new RollbackService.RollbackJob(RUN_ID, false, rows -> { });
+    _rollbackService.rollback(job);
+
+    assertEquals(batches, ImmutableSet.of(ImmutableSet.of("a"), ImmutableSet.of("b", "c"), ImmutableSet.of("d", "e")));
+    final RollbackJobStatus status = job.toStatus();
+    assertEquals(status.getStatus(), RollbackService.ROLLED_BACK_STATUS);
+    assertEquals(status.getRowsProcessed().longValue(), 7L);
+    assertEquals(status.getAspectsReverted().longValue(), 10L);
+    assertEquals(status.getEntitiesAffected().longValue(), 5L);
+    assertEquals(status.getRowsFailed().longValue(), 0L);
+    assertTrue(status.hasEndTimeMs());
+    assertFalse(status.hasErrorMessage());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testRollbackRecordsFailedBatches() {
+    final List<List<AspectRowSummary>> pages = ImmutableList.of(
+        ImmutableList.of(row("a", "status"), row("b", "status"), row("c", "status")),
+        ImmutableList.of(row("d", "status")));
+    Mockito.when(_systemMetadataService.scrollByRunId(RUN_ID, true, 3)).thenReturn(pages.iterator());
+    Mockito.when(_entityService.batchRollbackWithConditions(Mockito.anyList(), Mockito.eq(CONDITIONS),
+        Mockito.eq(true))).thenAnswer(invocation -> {
+          final List<AspectRowSummary> rows = invocation.getArgument(0);
+          if (rows.stream().anyMatch(row -> row.getUrn().equals("d"))) {
+            throw new IllegalStateException("Failed to roll back");
+          }
+          return new RollbackRunResult(rows, 0);
+        });
+
+    final RollbackService.RollbackJob job = new RollbackService.RollbackJob(RUN_ID, true, rows -> { });
+    _rollbackService.rollback(job);
+
+    final RollbackJobStatus status = job.toStatus();
+    assertEquals(status.getStatus(), RollbackService.ROLLBACK_FAILED_STATUS);
+    assertEquals(status.getRowsProcessed().longValue(), 4L);
+    assertEquals(status.getRowsFailed().longValue(), 2L);
+    assertEquals(status.getAspectsReverted().longValue(), 5L);
+    assertTrue(status.getErrorMessage().contains("Failed to roll back"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testUnauthorizedBatchStopsRollback() {
+    final List<List<AspectRowSummary>> pages = ImmutableList.of(
+        ImmutableList.of(row("a", "status"), row("b", "status"), row("c", "status")),
+        ImmutableList.of(row("d", "status"), row("e", "status"), row("f", "status")),
+        ImmutableList.of(row("g", "status")));
+    Mockito.when(_systemMetadataService.scrollByRunId(RUN_ID, false, 3)).thenReturn(pages.iterator());
+    Mockito.when(_entityService.batchRollbackWithConditions(Mockito.anyList(), Mockito.eq(CONDITIONS),
+        Mockito.eq(false))).thenAnswer(invocation -> new RollbackRunResult(invocation.getArgument(0), 0));
+
+    final RollbackService.RollbackJob job = new RollbackService.RollbackJob(RUN_ID, false, rows -> {
+      if (rows.stream().anyMatch(row -> row.getUrn().equals("d"))) {
+        throw new IllegalStateException("Unauthorized to delete d");
+      }
+    });
+    _rollbackService.rollback(job);
+
+    // Only the batch before the unauthorized one is rolled back, and timeseries aspects are left alone
+    Mockito.verify(_entityService, Mockito.times(1))
+        .batchRollbackWithConditions(Mockito.anyList(), Mockito.eq(CONDITIONS), Mockito.eq(false));
+    Mockito.verify(_timeseriesAspectService, Mockito.never()).rollbackTimeseriesAspects(RUN_ID);
+    final RollbackJobStatus status = job.toStatus();
+    assertEquals(status.getStatus(), RollbackService.ROLLBACK_FAILED_STATUS);
+    assertEquals(status.getRowsProcessed().longValue(), 2L);
+    assertTrue(status.getErrorMessage().contains("Unauthorized to delete d"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testScrollFailureWaitsForSubmittedBatches() {
+    final CountDownLatch scrollFailed = new CountDownLatch(1);
+    final Iterator<List<AspectRowSummary>> pages = new Iterator<List<AspectRowSummary>>() {
+      private boolean _first = true;
+
+      @Override
+      public boolean hasNext() {
+        return true;
+      }
+
+      @Override
+      public List<AspectRowSummary> next() {
+        if (_first) {
+          _first = false;
+          return ImmutableList.of(row("a", "status"), row("b", "status"));
+        }
+        scrollFailed.countDown();
+        throw new IllegalStateException("Search failed");
+      }
+    };
+    Mockito.when(_systemMetadataService.scrollByRunId(RUN_ID, false, 3)).thenReturn(pages);
+    Mockito.when(_entityService.batchRollbackWithConditions(Mockito.anyList(), Mockito.eq(CONDITIONS),
+        Mockito.eq(false))).thenAnswer(invocation -> {
+          // The batch only completes after the scroll has failed
+          scrollFailed.await();
+          return new RollbackRunResult(invocation.getArgument(0), 0);
+        });
+
+    final RollbackService.RollbackJob job = new RollbackService.RollbackJob(RUN_ID, false, rows -> { });
+    _rollbackService.rollback(job);
+
+    final RollbackJobStatus status = job.toStatus();
+    assertEquals(status.getStatus(), RollbackService.ROLLBACK_FAILED_STATUS);
+    assertEquals(status.getRowsProcessed().longValue(), 1L);
+    assertEquals(status.getAspectsReverted().longValue(), 1L);
+    assertTrue(status.getErrorMessage().contains("Search failed"));
+  }
+
+  @Test
+  public void testStatusOfUnknownRun() {
+    assertFalse(_rollbackService.getRollbackStatus(RUN_ID).isPresent());
+  }
+
+  private static AspectRowSummary row(String urn, String aspectName) {
+    return new AspectRowSummary().setUrn(urn)
+        .setAspectName(aspectName)
+        .setRunId(RUN_ID)
+        .setKeyAspect(false)
+        .setTimestamp(0L)
+        .setVersion(0L);
+  }
+}
@@ -1,8 +1,15 @@
 package com.linkedin.metadata.graph.neo4j;
 
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.graph.Edge;
+import com.linkedin.metadata.graph.EntityLineageResult;
 import com.linkedin.metadata.graph.GraphService;
 import com.linkedin.metadata.graph.GraphServiceTestBase;
+import com.linkedin.metadata.graph.LineageDirection;
+import com.linkedin.metadata.graph.LineageRelationship;
 import com.linkedin.metadata.graph.RelatedEntitiesResult;
+import com.linkedin.metadata.graph.RelatedEntitiesScrollResult;
 import com.linkedin.metadata.graph.RelatedEntity;
 import com.linkedin.metadata.models.registry.LineageRegistry;
 import com.linkedin.metadata.models.registry.SnapshotEntityRegistry;
@@ -16,11 +23,20 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static com.linkedin.metadata.search.utils.QueryUtils.EMPTY_FILTER;
+import static com.linkedin.metadata.search.utils.QueryUtils.newFilter;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 
 
 public class Neo4jGraphServiceTest extends GraphServiceTestBase {
@@ -139,13 +155,6 @@ public class Neo4jGraphServiceTest extends GraphServiceTestBase {
     throw new SkipException("Neo4jGraphService does not support empty list of relationship types");
   }
 
-  @Test
-  @Override
-  public void testConcurrentAddEdge() {
-    // https://github.com/datahub-project/datahub/issues/3141
-    throw new SkipException("Neo4jGraphService does not manage to add all edges added concurrently");
-  }
-
   @Test
   @Override
   public void testConcurrentRemoveEdgesFromNode() {
@@ -160,4 +169,127 @@ public class Neo4jGraphServiceTest extends GraphServiceTestBase {
     throw new SkipException("Neo4jGraphService produces duplicates");
   }
 
+  @Test
+  public void testAddEdgesInBatch() {
+    _client.addEdges(Arrays.asList(
+        new Edge(datasetTwoUrn, datasetOneUrn, downstreamOf, null, null, null, null, null),
+        new Edge(datasetThreeUrn, datasetTwoUrn, downstreamOf, null, null, null, null, null),
+        new Edge(datasetOneUrn, userOneUrn, hasOwner, null, null, null, null, null),
+        new Edge(userOneUrn, userTwoUrn, knowsUser, null, null, null, null, null)));
+
+    RelatedEntitiesResult relatedEntities = _client.findRelatedEntities(null, EMPTY_FILTER, null, EMPTY_FILTER,
+        Arrays.asList(downstreamOf, hasOwner, knowsUser), outgoingRelationships, 0, 100);
+    assertEqualsAnyOrder(relatedEntities.getEntities(), Arrays.asList(
+        downstreamOfDatasetOneRelatedEntity, downstreamOfDatasetTwoRelatedEntity,
+        hasOwnerUserOneRelatedEntity, knowsUserTwoRelatedEntity), RELATED_ENTITY_COMPARATOR);
+  }
+
+  @Test
+  public void testUpsertEdge() {
+    Edge edge = new Edge(datasetTwoUrn, datasetOneUrn, downstreamOf, 1L, userOneUrn, 1L, userOneUrn, null);
+    _client.upsertEdge(edge);
+    _client.upsertEdge(new Edge(datasetTwoUrn, datasetOneUrn, downstreamOf, null, null, 2L, userTwoUrn, null));
+
+    RelatedEntitiesResult relatedEntities = _client.findRelatedEntities(null, EMPTY_FILTER, null, EMPTY_FILTER,
+        Collections.singletonList(downstreamOf), outgoingRelationships, 0, 100);
+    assertEquals(relatedEntities.getEntities(), Collections.singletonList(downstreamOfDatasetOneRelatedEntity));
+  }
+
+  @Test
+  public void testRemoveEdge() {
+    Edge removedEdge = new Edge(datasetTwoUrn, datasetOneUrn, downstreamOf, null, null, null, null, null);
+    _client.addEdges(Arrays.asList(removedEdge,
+        new Edge(datasetThreeUrn, datasetTwoUrn, downstreamOf, null, null, null, null, null)));
+
+    _client.removeEdge(removedEdge);
+    // removing an edge that does not exist is a no-op
+    _client.removeEdge(removedEdge);
+
+    RelatedEntitiesResult relatedEntities = _client.findRelatedEntities(null, EMPTY_FILTER, null, EMPTY_FILTER,
+        Collections.singletonList(downstreamOf), outgoingRelationships, 0, 100);
+    assertEquals(relatedEntities.getEntities(), Collections.singletonList(downstreamOfDatasetTwoRelatedEntity));
+  }
+
+  @Test
+  public void testScrollRelatedEntitiesWhileRemovingEdges() {
+    _client.addEdges(Arrays.asList(
+        new Edge(datasetTwoUrn, datasetOneUrn, downstreamOf, null, null, null, null, null),
+        new Edge(datasetThreeUrn, datasetOneUrn, downstreamOf, null, null, null, null, null),
+        new Edge(datasetFourUrn, datasetOneUrn, downstreamOf, null, null, null, null, null)));
+
+    // Each page's edge is removed before the next page is read, which would make offset paging skip edges
+    List<RelatedEntity> scrolled = new ArrayList<>();
+    String scrollId = null;
+    do {
+      RelatedEntitiesScrollResult page = _client.scrollRelatedEntities(null, newFilter("urn", datasetOneUrnString),
+          null, EMPTY_FILTER, Collections.singletonList(downstreamOf), incomingRelationships, scrollId, 1);
+      for (RelatedEntity entity : page.getEntities()) {
+        _client.removeEdge(new Edge(createFromString(entity.getUrn()), datasetOneUrn, downstreamOf, null, null, null,
+            null, null));
+      }
+      scrolled.addAll(page.getEntities());
+      scrollId = page.getScrollId();
+    } while (scrollId != null);
+
+    assertEquals(scrolled, Arrays.asList(downstreamOfDatasetFourRelatedEntity, downstreamOfDatasetThreeRelatedEntity,
+        downstreamOfDatasetTwoRelatedEntity));
+    assertNull(scrollId);
+  }
+
+  @Test
+  public void testGetLineagePagination() throws Exception {
+    GraphService service = getLineagePopulatedGraphService();
+
+    EntityLineageResult firstPage = service.getLineage(datasetOneUrn, LineageDirection.DOWNSTREAM, 0, 2, 1);
+    assertEquals(firstPage.getTotal().intValue(), 3);
+    assertEquals(firstPage.getRelationships().size(), 2);
+
+    EntityLineageResult secondPage = service.getLineage(datasetOneUrn, LineageDirection.DOWNSTREAM, 2, 2, 1);
+    assertEquals(secondPage.getTotal().intValue(), 3);
+    assertEquals(secondPage.getRelationships().size(), 1);
+
+    Set<Urn> pagedUrns = Stream.concat(firstPage.getRelationships().stream(), secondPage.getRelationships().stream())
+        .map(LineageRelationship::getEntity)
+        .collect(Collectors.toSet());
+    assertEquals(pagedUrns, ImmutableSet.of(datasetTwoUrn, dataJobOneUrn, dataJobTwoUrn));
+  }
+
+  @Test
+  public void testGetLineageReturnsShortestPathOnce() throws Exception {
+    GraphService service = getLineagePopulatedGraphService();
+
+    // dataset four is reachable from dataset two in one hop, and in two hops through dataset three
+    service.addEdge(new Edge(datasetFourUrn, datasetThreeUrn, downstreamOf, null, null, null, null, null));
+    EntityLineageResult lineage = service.getLineage(datasetTwoUrn, LineageDirection.DOWNSTREAM, 0, 100, 2);
+    List<LineageRelationship> datasetFourRelationships = lineage.getRelationships().stream()
+        .filter(relationship -> relationship.getEntity().equals(datasetFourUrn))
+        .collect(Collectors.toList());
+    assertEquals(datasetFourRelationships.size(), 1);
+    assertEquals(datasetFourRelationships.get(0).getDegree().intValue(), 1);
+  }
+
+  @Test
+  public void testGetHopBucket() {
+    assertEquals(Neo4jGraphService.getHopBucket(0), 1);
+    assertEquals(Neo4jGraphService.getHopBucket(1), 1);
+    assertEquals(Neo4jGraphService.getHopBucket(2), 2);
+    assertEquals(Neo4jGraphService.getHopBucket(3), 4);
+    assertEquals(Neo4jGraphService.getHopBucket(4), 4);
+    assertEquals(Neo4jGraphService.getHopBucket(1000), 1024);
+    assertEquals(Neo4jGraphService.getHopBucket(Integer.MAX_VALUE), 1024);
+  }
+
+  @Test
+  public void testGetUrnConstraintTemplate() {
+    final String legacy = "CREATE CONSTRAINT ON (n:%s) ASSERT n.urn IS UNIQUE";
+    final String ifNotExists = "CREATE CONSTRAINT IF NOT EXISTS ON (n:%s) ASSERT n.urn IS UNIQUE";
+    final String current = "CREATE CONSTRAINT IF NOT EXISTS FOR (n:%s) REQUIRE n.urn IS UNIQUE";
+    assertEquals(Neo4jGraphService.getUrnConstraintTemplate("3.5.14"), legacy);
+    assertEquals(Neo4jGraphService.getUrnConstraintTemplate("4.0.6"), legacy);
+    assertEquals(Neo4jGraphService.getUrnConstraintTemplate("4.1.0"), ifNotExists);
+    assertEquals(Neo4jGraphService.getUrnConstraintTemplate("4.3.20"), ifNotExists);
+    assertEquals(Neo4jGraphService.getUrnConstraintTemplate("4.4.9"), current);
+    assertEquals(Neo4jGraphService.getUrnConstraintTemplate("5.3.0"), current);
+    assertEquals(Neo4jGraphService.getUrnConstraintTemplate(""), current);
+  }
 }
@@ -0,0 +1,106 @@
+package com.linkedin.metadata.graph.neo4j;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.metadata.graph.Edge;
+import com.linkedin.metadata.graph.GraphFilters;
+import com.linkedin.metadata.graph.LineageDirection;
+import com.linkedin.metadata.models.registry.LineageRegistry;
+import com.linkedin.metadata.models.registry.SnapshotEntityRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.GraphDatabase;
+import org.neo4j.driver.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * Measures downstream lineage queries against an embedded Neo4j server holding a binary tree of datasets, where every
+ * dataset is downstream of its parent.
+ *
+ * {@link #literalQuery} runs the statement that {@link Neo4jGraphService} used to build for every call, with the urn
+ * and hop count formatted into the text, and dedupes nothing. {@link #getLineage} runs the parameterized statement,
+ * which Neo4j plans once per entity type, direction and hop bucket. Run with ./gradlew :metadata-io:jmh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Neo4jLineageBenchmark {
+
+  private static final int DATASETS = 1023;
+  private static final String DOWNSTREAM_OF = "DownstreamOf";
+  private static final String LITERAL_TEMPLATE =
+      "MATCH shortestPath((a {urn: '%s'})<-[r:%s*1..%d]-(b)) WHERE (b:dataset) AND b.urn <> '%s' RETURN a,r,b";
+
+  @Param({"1", "3"})
+  public int maxHops;
+
+  private Neo4jTestServerBuilder _serverBuilder;
+  private Driver _driver;
+  private Neo4jGraphService _graphService;
+  private GraphFilters _graphFilters;
+  private List<Urn> _urns;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    _serverBuilder = new Neo4jTestServerBuilder();
+    _serverBuilder.newServer();
+    _driver = GraphDatabase.driver(_serverBuilder.boltURI());
+    _graphService = new Neo4jGraphService(new LineageRegistry(SnapshotEntityRegistry.getInstance()), _driver);
+    _graphService.clear();
+    _graphFilters = new GraphFilters(Collections.singletonList("dataset"));
+
+    _urns = new ArrayList<>(DATASETS);
+    final List<Edge> edges = new ArrayList<>(DATASETS);
+    for (int i = 0; i < DATASETS; i++) {
+      _urns.add(UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:hive,benchmark.table" + i + ",PROD)"));
+      if (i > 0) {
+        edges.add(new Edge(_urns.get(i), _urns.get((i - 1) / 2), DOWNSTREAM_OF, null, null, null, null, null));
+      }
+    }
+    _graphService.addEdges(edges);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    _driver.close();
+    _serverBuilder.shutdown();
+  }
+
+  @Benchmark
+  public void literalQuery(Blackhole blackhole) {
+    final String urn = randomUrn().toString();
+    try (Session session = _driver.session()) {
+      blackhole.consume(session.run(String.format(LITERAL_TEMPLATE, urn, DOWNSTREAM_OF, maxHops, urn)).list());
+    }
+  }
+
+  @Benchmark
+  public void getLineage(Blackhole blackhole) {
+    blackhole.consume(_graphService.getLineage(randomUrn(), LineageDirection.DOWNSTREAM, _graphFilters, 0, 100, maxHops));
+  }
+
+  private Urn randomUrn() {
+    return _urns.get(ThreadLocalRandom.current().nextInt(DATASETS));
+  }
+}
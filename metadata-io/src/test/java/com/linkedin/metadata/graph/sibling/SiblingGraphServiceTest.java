@@ -2,6 +2,7 @@ package com.linkedin.metadata.graph.sibling;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.linkedin.common.Siblings;
 import com.linkedin.common.UrnArray;
 import com.linkedin.common.urn.Urn;
@@ -14,8 +15,12 @@ import com.linkedin.metadata.graph.LineageRelationship;
 import com.linkedin.metadata.graph.LineageRelationshipArray;
 import com.linkedin.metadata.graph.SiblingGraphService;
 import java.net.URISyntaxException;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.mockito.Mockito;
 import org.testng.annotations.BeforeClass;
@@ -63,7 +68,11 @@ public class SiblingGraphServiceTest {
   public void setup() {
     _mockEntityService = Mockito.mock(EntityService.class);
     when(_mockEntityService.exists(any())).thenReturn(true);
+    when(_mockEntityService.existsAndNotRemoved(any())).thenAnswer(
+        invocation -> new HashSet<>(invocation.<Collection<Urn>>getArgument(0)));
     _graphService = Mockito.mock(GraphService.class);
+    // Levels of multi hop lineage are fetched through the default implementation, from the mocked one hop lineage
+    when(_graphService.getOneHopLineage(any(), any(), Mockito.anyInt(), any(), any())).thenCallRealMethod();
     _client = new SiblingGraphService(_mockEntityService, _graphService);
   }
 
@@ -565,6 +574,98 @@ public class SiblingGraphServiceTest {
     assertEquals(upstreamLineage, expectedResult);
   }
 
+  // dataset1 has sibling dataset2. dataset1 has upstream dataset3, which has upstream dataset5, and dataset2 has upstream
+  // dataset4. requesting two hops of upstream for dataset1 should traverse both siblings.
+  @Test
+  public void testMultiHopLineageTraversesSiblings() {
+    mockOneHopLineage(datasetOneUrn, datasetThreeUrn);
+    mockOneHopLineage(datasetTwoUrn, datasetFourUrn);
+    mockOneHopLineage(datasetThreeUrn, datasetFiveUrn);
+    mockOneHopLineage(datasetFourUrn);
+    mockOneHopLineage(datasetFiveUrn, datasetOneUrn);
+
+    Siblings dataset1Siblings = new Siblings();
+    dataset1Siblings.setPrimary(true);
+    dataset1Siblings.setSiblings(new UrnArray(ImmutableList.of(datasetTwoUrn)));
+
+    Siblings dataset2Siblings = new Siblings();
+    dataset2Siblings.setPrimary(false);
+    dataset2Siblings.setSiblings(new UrnArray(ImmutableList.of(datasetOneUrn)));
+
+    when(_mockEntityService.getLatestAspects(any(), any())).thenReturn(ImmutableMap.of(
+        datasetOneUrn, ImmutableList.of(dataset1Siblings),
+        datasetTwoUrn, ImmutableList.of(dataset2Siblings)
+    ));
+
+    Mockito.clearInvocations(_graphService);
+    EntityLineageResult upstreamLineage = _client.getLineage(datasetOneUrn, LineageDirection.UPSTREAM, 0, 100, 2);
+
+    // One batched call per hop, for the whole sibling group and then for both of its upstreams
+    Mockito.verify(_graphService).getOneHopLineage(Mockito.eq(ImmutableSet.of(datasetOneUrn, datasetTwoUrn)),
+        Mockito.eq(LineageDirection.UPSTREAM), Mockito.anyInt(), Mockito.isNull(), Mockito.isNull());
+    Mockito.verify(_graphService).getOneHopLineage(Mockito.eq(ImmutableSet.of(datasetThreeUrn, datasetFourUrn)),
+        Mockito.eq(LineageDirection.UPSTREAM), Mockito.anyInt(), Mockito.isNull(), Mockito.isNull());
+    Mockito.verify(_graphService, Mockito.times(2))
+        .getOneHopLineage(any(), any(), Mockito.anyInt(), any(), any());
+
+    assertEquals(upstreamLineage.getTotal().intValue(), 3);
+    assertEquals(upstreamLineage.getCount().intValue(), 3);
+    Map<Urn, Integer> degrees = upstreamLineage.getRelationships().stream()
+        .collect(Collectors.toMap(LineageRelationship::getEntity, LineageRelationship::getDegree));
+    assertEquals(degrees, ImmutableMap.of(datasetThreeUrn, 1, datasetFourUrn, 1, datasetFiveUrn, 2));
+
+    EntityLineageResult secondPage = _client.getLineage(datasetOneUrn, LineageDirection.UPSTREAM, 2, 100, 2);
+    assertEquals(secondPage.getTotal().intValue(), 3);
+    assertEquals(secondPage.getRelationships().size(), 1);
+  }
+
+  // dataset1 has upstreams dataset3 and dataset5, which are siblings, dataset5 being primary
+  @Test
+  public void testMultiHopLineageCollapsesSiblings() {
+    mockOneHopLineage(datasetOneUrn, datasetThreeUrn, datasetFiveUrn);
+    mockOneHopLineage(datasetThreeUrn);
+    mockOneHopLineage(datasetFiveUrn, datasetFourUrn);
+    mockOneHopLineage(datasetFourUrn);
+
+    Siblings dataset3Siblings = new Siblings();
+    dataset3Siblings.setPrimary(false);
+    dataset3Siblings.setSiblings(new UrnArray(ImmutableList.of(datasetFiveUrn)));
+
+    Siblings dataset5Siblings = new Siblings();
+    dataset5Siblings.setPrimary(true);
+    dataset5Siblings.setSiblings(new UrnArray(ImmutableList.of(datasetThreeUrn)));
+
+    when(_mockEntityService.getLatestAspects(any(), any())).thenReturn(ImmutableMap.of(
+        datasetThreeUrn, ImmutableList.of(dataset3Siblings),
+        datasetFiveUrn, ImmutableList.of(dataset5Siblings)
+    ));
+
+    EntityLineageResult upstreamLineage = _client.getLineage(datasetOneUrn, LineageDirection.UPSTREAM, 0, 100, 3);
+
+    Set<Urn> upstreamUrns = upstreamLineage.getRelationships().stream()
+        .map(LineageRelationship::getEntity)
+        .collect(Collectors.toSet());
+    assertEquals(upstreamUrns, ImmutableSet.of(datasetFiveUrn, datasetFourUrn));
+    assertEquals(upstreamLineage.getTotal().intValue(), 2);
+  }
+
+  private void mockOneHopLineage(@Nonnull Urn urn, @Nonnull Urn... upstreamUrns) {
+    LineageRelationshipArray relationships = new LineageRelationshipArray();
+    for (Urn upstreamUrn : upstreamUrns) {
+      relationships.add(new LineageRelationship().setDegree(1).setType(downstreamOf).setEntity(upstreamUrn));
+    }
+    EntityLineageResult result = new EntityLineageResult()
+        .setStart(0)
+        .setTotal(relationships.size())
+        .setCount(relationships.size())
+        .setRelationships(relationships);
+
+    when(_graphService.getLineage(
+        Mockito.eq(urn), Mockito.eq(LineageDirection.UPSTREAM), Mockito.anyInt(), Mockito.anyInt(),
+        Mockito.eq(1), Mockito.eq(null), Mockito.eq(null)
+    )).thenReturn(result);
+  }
+
   static Urn createFromString(@Nonnull String rawUrn) {
     try {
       return Urn.createFromString(rawUrn);
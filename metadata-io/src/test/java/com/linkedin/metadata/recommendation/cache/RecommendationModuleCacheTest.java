@@ -0,0 +1,160 @@
+package com.linkedin.metadata.recommendation.cache;
+
+import com.google.common.collect.ImmutableList;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.metadata.config.cache.RecommendationsCacheConfiguration;
+import com.linkedin.metadata.recommendation.RecommendationContent;
+import com.linkedin.metadata.recommendation.RecommendationModule;
+import com.linkedin.metadata.recommendation.RecommendationRenderType;
+import com.linkedin.metadata.recommendation.RecommendationRequestContext;
+import com.linkedin.metadata.recommendation.ScenarioType;
+import com.linkedin.metadata.recommendation.SearchRequestContext;
+import com.linkedin.metadata.recommendation.candidatesource.TestSource;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.mockito.Mockito;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class RecommendationModuleCacheTest {
+
+  private static final Urn USER = UrnUtils.getUrn("urn:li:corpuser:me");
+  private static final Urn OTHER_USER = UrnUtils.getUrn("urn:li:corpuser:other");
+  private static final RecommendationRequestContext CONTEXT =
+      new RecommendationRequestContext().setScenario(ScenarioType.HOME);
+  private static final RecommendationRequestContext SEARCH_CONTEXT =
+      new RecommendationRequestContext().setScenario(ScenarioType.SEARCH_BAR);
+  private static final long REFRESH_INTERVAL_SECONDS = 3600;
+
+  private TestSource _userSource;
+  private TestSource _sharedSource;
+  private TestSource _nonEligibleSource;
+  private TestSource _nonEligibleSharedSource;
+  private AtomicLong _time;
+  private RecommendationModuleCache _moduleCache;
+
+  @BeforeMethod
+  public void setup() {
+    _userSource = Mockito.spy(new TestSource("user", "user", RecommendationRenderType.ENTITY_NAME_LIST, true,
+        ImmutableList.of(new RecommendationContent().setValue("user"))));
+    _sharedSource = Mockito.spy(new TestSource("shared", "shared", RecommendationRenderType.ENTITY_NAME_LIST, true,
+        ImmutableList.of(new RecommendationContent().setValue("shared"))) {
+      @Override
+      public boolean isUserSpecific() {
+        return false;
+      }
+    });
+    _nonEligibleSource = new TestSource("nonEligible", "nonEligible", RecommendationRenderType.ENTITY_NAME_LIST, false,
+        ImmutableList.of(new RecommendationContent().setValue("nonEligible")));
+    _nonEligibleSharedSource = Mockito.spy(new TestSource("nonEligibleShared", "nonEligibleShared",
+        RecommendationRenderType.ENTITY_NAME_LIST, false,
+        ImmutableList.of(new RecommendationContent().setValue("nonEligibleShared"))) {
+      @Override
+      public boolean isUserSpecific() {
+        return false;
+      }
+    });
+
+    RecommendationsCacheConfiguration config = new RecommendationsCacheConfiguration();
+    config.setEnabled(true);
+    config.setRefreshIntervalSeconds(REFRESH_INTERVAL_SECONDS);
+    config.setUserTtlSeconds(3600);
+    config.setMaxSize(100);
+    _time = new AtomicLong(0L);
+    _moduleCache = new RecommendationModuleCache(
+        ImmutableList.of(_userSource, _sharedSource, _nonEligibleSource, _nonEligibleSharedSource), config, _time::get);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    _moduleCache.close();
+  }
+
+  @Test
+  public void testUserSpecificModules() {
+    Optional<RecommendationModule> module = _moduleCache.getRecommendationModule(_userSource, USER, CONTEXT);
+    assertTrue(module.isPresent());
+    assertEquals(module.get().getContent(), _userSource.getContents());
+    assertTrue(module.get().hasLastRefreshed());
+
+    // Served from the cache for the same user, computed again for another user
+    assertEquals(_moduleCache.getRecommendationModule(_userSource, USER, CONTEXT), module);
+    Mockito.verify(_userSource, Mockito.times(1)).getRecommendations(USER, CONTEXT);
+    assertTrue(_moduleCache.getRecommendationModule(_userSource, OTHER_USER, CONTEXT).isPresent());
+    Mockito.verify(_userSource, Mockito.times(1)).getRecommendations(OTHER_USER, CONTEXT);
+  }
+
+  @Test
+  public void testSharedModules() {
+    Optional<RecommendationModule> module = _moduleCache.getRecommendationModule(_sharedSource, USER, CONTEXT);
+    assertTrue(module.isPresent());
+    assertEquals(module.get().getContent(), _sharedSource.getContents());
+    assertTrue(module.get().hasLastRefreshed());
+    assertEquals(_moduleCache.getRecommendationModule(_sharedSource, OTHER_USER, CONTEXT), module);
+
+    _moduleCache.refreshSharedModules();
+    Optional<RecommendationModule> refreshedModule =
+        _moduleCache.getRecommendationModule(_sharedSource, USER, CONTEXT);
+    assertTrue(refreshedModule.isPresent());
+    assertEquals(refreshedModule.get().getContent(), _sharedSource.getContents());
+    assertTrue(refreshedModule.get().getLastRefreshed() >= module.get().getLastRefreshed());
+  }
+
+  @Test
+  public void testSharedModulesKeyedByScenario() {
+    RecommendationRequestContext firstSearch = new RecommendationRequestContext()
+        .setScenario(ScenarioType.SEARCH_RESULTS)
+        .setSearchRequestContext(new SearchRequestContext().setQuery("first"));
+    RecommendationRequestContext secondSearch = new RecommendationRequestContext()
+        .setScenario(ScenarioType.SEARCH_RESULTS)
+        .setSearchRequestContext(new SearchRequestContext().setQuery("second"));
+    RecommendationRequestContext scenarioContext =
+        new RecommendationRequestContext().setScenario(ScenarioType.SEARCH_RESULTS);
+
+    Optional<RecommendationModule> module = _moduleCache.getRecommendationModule(_sharedSource, USER, firstSearch);
+    assertTrue(module.isPresent());
+    assertEquals(_moduleCache.getRecommendationModule(_sharedSource, OTHER_USER, secondSearch), module);
+    Mockito.verify(_sharedSource, Mockito.times(1)).getRecommendationModule(Mockito.any(), Mockito.eq(scenarioContext));
+    Mockito.verify(_sharedSource, Mockito.never()).getRecommendationModule(Mockito.any(), Mockito.eq(firstSearch));
+
+    // Refreshed once for the scenario, not once per query
+    _moduleCache.refreshSharedModules();
+    Mockito.verify(_sharedSource, Mockito.times(2)).getRecommendationModule(Mockito.any(), Mockito.eq(scenarioContext));
+  }
+
+  @Test
+  public void testNonEligibleModules() {
+    assertFalse(_moduleCache.getRecommendationModule(_nonEligibleSource, USER, CONTEXT).isPresent());
+
+    // Not computed, nor cached and refreshed, for contexts the source is not eligible for
+    assertFalse(_moduleCache.getRecommendationModule(_nonEligibleSharedSource, USER, SEARCH_CONTEXT).isPresent());
+    _moduleCache.refreshSharedModules();
+    Mockito.verify(_nonEligibleSharedSource, Mockito.never())
+        .getRecommendationModule(Mockito.any(), Mockito.eq(SEARCH_CONTEXT));
+  }
+
+  @Test
+  public void testIdleSharedModulesDropped() {
+    assertTrue(_moduleCache.getRecommendationModule(_sharedSource, USER, SEARCH_CONTEXT).isPresent());
+    Mockito.verify(_sharedSource, Mockito.times(1)).getRecommendationModule(Mockito.any(), Mockito.eq(SEARCH_CONTEXT));
+
+    // Refreshing the module does not count as a request, so it is dropped once idle for three refreshes
+    for (int refresh = 1; refresh <= 3; refresh++) {
+      _time.addAndGet(TimeUnit.SECONDS.toMillis(REFRESH_INTERVAL_SECONDS));
+      _moduleCache.refreshSharedModules();
+    }
+    Mockito.verify(_sharedSource, Mockito.times(4)).getRecommendationModule(Mockito.any(), Mockito.eq(SEARCH_CONTEXT));
+    _time.incrementAndGet();
+    _moduleCache.refreshSharedModules();
+    Mockito.verify(_sharedSource, Mockito.times(4)).getRecommendationModule(Mockito.any(), Mockito.eq(SEARCH_CONTEXT));
+
+    assertTrue(_moduleCache.getRecommendationModule(_sharedSource, USER, SEARCH_CONTEXT).isPresent());
+    Mockito.verify(_sharedSource, Mockito.times(5)).getRecommendationModule(Mockito.any(), Mockito.eq(SEARCH_CONTEXT));
+  }
+}
@@ -18,8 +18,11 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
+import static com.linkedin.metadata.Constants.ELASTICSEARCH_IMPLEMENTATION_ELASTICSEARCH;
 import static com.linkedin.metadata.ESTestConfiguration.syncAfterWrite;
 import static org.testng.Assert.assertEquals;
 
@@ -49,7 +52,8 @@ public class ElasticSearchSystemMetadataServiceTest extends AbstractTestNGSpring
 
   @Nonnull
   private ElasticSearchSystemMetadataService buildService() {
-    ESSystemMetadataDAO dao = new ESSystemMetadataDAO(_searchClient, _indexConvention, _bulkProcessor, 1);
+    ESSystemMetadataDAO dao = new ESSystemMetadataDAO(_searchClient, _indexConvention, _bulkProcessor, 1, true,
+        ELASTICSEARCH_IMPLEMENTATION_ELASTICSEARCH);
     return new ElasticSearchSystemMetadataService(_bulkProcessor, _indexConvention, dao, _esIndexBuilder);
   }
 
@@ -136,6 +140,80 @@ public class ElasticSearchSystemMetadataServiceTest extends AbstractTestNGSpring
     rows.forEach(row -> assertEquals(row.getRunId(), "abc-456"));
   }
 
+  @Test
+  public void testScrollByRunId() throws Exception {
+    SystemMetadata metadata1 = new SystemMetadata();
+    metadata1.setRunId("abc-123");
+    metadata1.setLastObserved(Long.valueOf(120L));
+
+    SystemMetadata metadata2 = new SystemMetadata();
+    metadata2.setRunId("abc-456");
+    metadata2.setLastObserved(Long.valueOf(240L));
+
+    _client.insert(metadata1, "urn:li:chart:1", "chartKey");
+    _client.insert(metadata2, "urn:li:chart:1", "ChartInfo");
+    _client.insert(metadata2, "urn:li:chart:1", "Ownership");
+    _client.insert(metadata2, "urn:li:chart:2", "chartKey");
+    _client.insert(metadata2, "urn:li:chart:2", "Ownership");
+    _client.insert(metadata2, "urn:li:chart:3", "chartKey");
+
+    syncAfterWrite(_bulkProcessor);
+
+    List<List<AspectRowSummary>> batches = new ArrayList<>();
+    _client.scrollByRunId("abc-456", false, 2).forEachRemaining(batches::add);
+
+    assertEquals(batches.size(), 3);
+    assertEquals(batches.stream().mapToInt(List::size).sum(), 5);
+    batches.stream().flatMap(List::stream).forEach(row -> assertEquals(row.getRunId(), "abc-456"));
+    assertEquals(batches.stream()
+        .flatMap(List::stream)
+        .map(row -> row.getUrn() + row.getAspectName())
+        .distinct()
+        .count(), 5);
+
+    // Rows soft deleted while iterating are still returned, since the pages are searched in a point in time
+    Iterator<List<AspectRowSummary>> pages = _client.scrollByRunId("abc-456", false, 2);
+    assertEquals(pages.next().size(), 2);
+    _client.setDocStatus("urn:li:chart:2", true);
+    _client.setDocStatus("urn:li:chart:3", true);
+    syncAfterWrite(_bulkProcessor);
+    int remainingRows = 0;
+    while (pages.hasNext()) {
+      remainingRows += pages.next().size();
+    }
+    assertEquals(remainingRows, 3);
+  }
+
+  @Test
+  public void testSetDocStatus() throws Exception {
+    SystemMetadata metadata1 = new SystemMetadata();
+    metadata1.setRunId("abc-123");
+    metadata1.setLastObserved(Long.valueOf(120L));
+
+    _client.insert(metadata1, "urn:li:chart:1", "chartKey");
+    _client.insert(metadata1, "urn:li:chart:1", "ChartInfo");
+    _client.insert(metadata1, "urn:li:chart:2", "chartKey");
+    _client.insert(metadata1, "urn:li:chart:3", "chartKey");
+
+    syncAfterWrite(_bulkProcessor);
+
+    _client.setDocStatus("urn:li:chart:1", true);
+    _client.setDocStatus("urn:li:chart:2", true);
+
+    syncAfterWrite(_bulkProcessor);
+
+    List<AspectRowSummary> rows = _client.findByRunId("abc-123", false, 0, ESUtils.MAX_RESULT_SIZE);
+    assertEquals(rows.size(), 1);
+    assertEquals(rows.get(0).getUrn(), "urn:li:chart:3");
+
+    _client.setDocStatus("urn:li:chart:1", false);
+
+    syncAfterWrite(_bulkProcessor);
+
+    rows = _client.findByRunId("abc-123", false, 0, ESUtils.MAX_RESULT_SIZE);
+    assertEquals(rows.size(), 3);
+  }
+
   @Test
   public void testDelete() throws Exception {
     SystemMetadata metadata1 = new SystemMetadata();
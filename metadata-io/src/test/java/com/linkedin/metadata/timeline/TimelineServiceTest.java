@@ -1,5 +1,7 @@
 package com.linkedin.metadata.timeline;
 
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableMap;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.FabricType;
 import com.linkedin.common.urn.DataPlatformUrn;
@@ -7,6 +9,7 @@ import com.linkedin.common.urn.DatasetUrn;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.metadata.entity.AspectDao;
+import com.linkedin.metadata.entity.EntityAspect;
 import com.linkedin.metadata.entity.EntityService;
 import com.linkedin.metadata.entity.TestEntityRegistry;
 import com.linkedin.metadata.event.EventProducer;
@@ -25,6 +28,7 @@ import com.linkedin.schema.SchemaFieldDataType;
 import com.linkedin.schema.SchemaMetadata;
 import com.linkedin.schema.StringType;
 import com.linkedin.util.Pair;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
@@ -106,6 +110,67 @@ abstract public class TimelineServiceTest<T_AD extends AspectDao> {
     //Assert.assertEquals(changes.get(1).getTimestamp(), timestamps.get(5).getTime().longValue());
   }
 
+  @Test
+  public void testGetPreviousAspects() throws Exception {
+    Urn entityUrn = Urn.createFromString(
+        "urn:li:dataset:(urn:li:dataPlatform:hive,fooDb.fooTable" + System.currentTimeMillis() + ",PROD)");
+    String aspectName = "schemaMetadata";
+    for (int i = 3; i > 0; i--) {
+      AuditStamp daysAgo = createTestAuditStamp(i);
+      _entityService.ingestAspects(entityUrn,
+          Collections.singletonList(new Pair<>(aspectName, getSchemaMetadata("Description for day " + i))), daysAgo,
+          getSystemMetadata(daysAgo, "run-" + i));
+    }
+    String urn = entityUrn.toString();
+    Set<String> aspectNames = new HashSet<>(Arrays.asList(aspectName, "status"));
+
+    // The latest version is read when no version is given, and versions 1 and 2 precede 0 and 2 respectively.
+    Map<String, EntityAspect> previousAspects = _aspectDao.getPreviousAspects(urn, aspectNames, Collections.emptyMap());
+    Assert.assertEquals(previousAspects.keySet(), Collections.singleton(aspectName));
+    Assert.assertEquals(previousAspects.get(aspectName).getVersion(), 0L);
+    Assert.assertEquals(
+        _aspectDao.getPreviousAspects(urn, aspectNames, ImmutableMap.of(aspectName, 0L)).get(aspectName).getVersion(),
+        2L);
+    Assert.assertEquals(
+        _aspectDao.getPreviousAspects(urn, aspectNames, ImmutableMap.of(aspectName, 2L)).get(aspectName).getVersion(),
+        1L);
+    Assert.assertTrue(_aspectDao.getPreviousAspects(urn, aspectNames, ImmutableMap.of(aspectName, 1L)).isEmpty());
+
+    // Repeated requests for raw diffs are served from the diff cache and yield the same changes.
+    Set<ChangeCategory> elements = Collections.singleton(ChangeCategory.TECHNICAL_SCHEMA);
+    long startTime = createTestAuditStamp(10).getTime();
+    List<ChangeTransaction> changes =
+        _entityTimelineService.getTimeline(entityUrn, elements, startTime, 0, null, null, true);
+    CacheStats firstStats = _entityTimelineService.getDiffCacheStats();
+    Assert.assertTrue(firstStats.missCount() > 0);
+    Assert.assertEquals(_entityTimelineService.getTimeline(entityUrn, elements, startTime, 0, null, null, true).size(),
+        changes.size());
+    CacheStats secondStats = _entityTimelineService.getDiffCacheStats();
+    Assert.assertEquals(secondStats.missCount(), firstStats.missCount());
+    Assert.assertTrue(secondStats.hitCount() > firstStats.hitCount());
+
+    // So are the semantic changes, which are cached apart from those carrying raw diffs.
+    List<ChangeTransaction> semanticChanges =
+        _entityTimelineService.getTimeline(entityUrn, elements, startTime, 0, null, null, false);
+    CacheStats thirdStats = _entityTimelineService.getDiffCacheStats();
+    Assert.assertTrue(thirdStats.missCount() > secondStats.missCount());
+    Assert.assertEquals(semanticChanges.size(), changes.size());
+    semanticChanges.forEach(change -> Assert.assertNull(change.getRawDiff()));
+    List<ChangeTransaction> cachedSemanticChanges =
+        _entityTimelineService.getTimeline(entityUrn, elements, startTime, 0, null, null, false);
+    CacheStats fourthStats = _entityTimelineService.getDiffCacheStats();
+    Assert.assertEquals(fourthStats.missCount(), thirdStats.missCount());
+    Assert.assertTrue(fourthStats.hitCount() > thirdStats.hitCount());
+    // Timelines version the cached changes in place, so each one gets its own copies.
+    Assert.assertEquals(cachedSemanticChanges.size(), semanticChanges.size());
+    for (int i = 0; i < semanticChanges.size(); i++) {
+      Assert.assertNotSame(cachedSemanticChanges.get(i), semanticChanges.get(i));
+      Assert.assertEquals(cachedSemanticChanges.get(i).getSemVer(), semanticChanges.get(i).getSemVer());
+      Assert.assertEquals(cachedSemanticChanges.get(i).getChangeEvents().size(),
+          semanticChanges.get(i).getChangeEvents().size());
+    }
+  }
+
   private static AuditStamp createTestAuditStamp(int daysAgo) {
     try {
       Long timestamp = System.currentTimeMillis() - (daysAgo * 24 * 60 * 60 * 1000L);
@@ -0,0 +1,184 @@
+package com.linkedin.metadata.timeline.materialized;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.metadata.ESTestConfiguration;
+import com.linkedin.metadata.config.TimelineConfiguration;
+import com.linkedin.metadata.entity.AspectDao;
+import com.linkedin.metadata.entity.EntityAspect;
+import com.linkedin.metadata.entity.TestEntityRegistry;
+import com.linkedin.metadata.models.registry.ConfigEntityRegistry;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.models.registry.EntityRegistryException;
+import com.linkedin.metadata.models.registry.MergedEntityRegistry;
+import com.linkedin.metadata.search.elasticsearch.indexbuilder.ESIndexBuilder;
+import com.linkedin.metadata.search.elasticsearch.update.ESBulkProcessor;
+import com.linkedin.metadata.snapshot.Snapshot;
+import com.linkedin.metadata.timeline.TimelineServiceImpl;
+import com.linkedin.metadata.timeline.data.ChangeCategory;
+import com.linkedin.metadata.timeline.data.ChangeEvent;
+import com.linkedin.metadata.timeline.data.ChangeOperation;
+import com.linkedin.metadata.timeline.data.ChangeTransaction;
+import com.linkedin.metadata.timeline.data.SemanticChangeType;
+import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
+import com.linkedin.metadata.utils.elasticsearch.IndexConventionImpl;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import javax.annotation.Nonnull;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.testng.AbstractTestNGSpringContextTests;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static com.linkedin.metadata.Constants.*;
+import static com.linkedin.metadata.ESTestConfiguration.syncAfterWrite;
+import static org.testng.Assert.*;
+
+
+@Import(ESTestConfiguration.class)
+public class ElasticSearchChangeTransactionServiceTest extends AbstractTestNGSpringContextTests {
+
+  private static final Set<ChangeCategory> TAG = Collections.singleton(ChangeCategory.TAG);
+
+  @Autowired
+  private RestHighLevelClient _searchClient;
+  @Autowired
+  private ESBulkProcessor _bulkProcessor;
+  @Autowired
+  private ESIndexBuilder _esIndexBuilder;
+  private final IndexConvention _indexConvention = new IndexConventionImpl("es_change_transaction_service_test");
+  private final EntityRegistry _entityRegistry = new MergedEntityRegistry(new TestEntityRegistry()).apply(
+      new ConfigEntityRegistry(Snapshot.class.getClassLoader().getResourceAsStream("entity-registry.yml")));
+
+  private ElasticSearchChangeTransactionService _service;
+
+  public ElasticSearchChangeTransactionServiceTest() throws EntityRegistryException {
+  }
+
+  @BeforeClass
+  public void setup() {
+    TimelineConfiguration configuration = new TimelineConfiguration();
+    configuration.setMaterializationEnabled(true);
+    configuration.setQueryEnabled(true);
+    _service = new ElasticSearchChangeTransactionService(_searchClient, _bulkProcessor, _indexConvention,
+        _esIndexBuilder, configuration);
+    _service.configure();
+  }
+
+  @Test
+  public void testGetChangesRoundTrip() throws Exception {
+    Urn urn = createUrn();
+    ChangeTransaction transaction = createTransaction(urn, 1000L);
+    _service.appendChanges(urn, GLOBAL_TAGS_ASPECT_NAME, 1000L, ImmutableMap.of(ChangeCategory.TAG,
+        Collections.singletonList(transaction)));
+    _service.appendChanges(urn, GLOBAL_TAGS_ASPECT_NAME, 2000L, Collections.emptyMap());
+    syncAfterWrite(_bulkProcessor);
+
+    Map<String, SortedMap<Long, List<ChangeTransaction>>> changes =
+        _service.getChanges(urn, Collections.singleton(GLOBAL_TAGS_ASPECT_NAME), TAG, 0L, 3000L);
+    assertEquals(changes.keySet(), Collections.singleton(GLOBAL_TAGS_ASPECT_NAME));
+    // Versions without transactions in the requested categories are present too
+    assertEquals(changes.get(GLOBAL_TAGS_ASPECT_NAME).keySet(), ImmutableList.of(1000L, 2000L));
+    assertTrue(changes.get(GLOBAL_TAGS_ASPECT_NAME).get(2000L).isEmpty());
+
+    ChangeTransaction read = changes.get(GLOBAL_TAGS_ASPECT_NAME).get(1000L).get(0);
+    assertEquals(read.getTimestamp(), transaction.getTimestamp());
+    assertEquals(read.getActor(), transaction.getActor());
+    assertNull(read.getProxy());
+    assertEquals(read.getSemVerChange(), transaction.getSemVerChange());
+    assertEquals(read.getChangeEvents(), transaction.getChangeEvents());
+  }
+
+  @Test
+  public void testDeleteChanges() throws Exception {
+    Urn urn = createUrn();
+    for (long createdOn = 1000L; createdOn <= 3000L; createdOn += 1000L) {
+      _service.appendChanges(urn, GLOBAL_TAGS_ASPECT_NAME, createdOn, Collections.emptyMap());
+    }
+    _service.appendChanges(urn, SCHEMA_METADATA_ASPECT_NAME, 3000L, Collections.emptyMap());
+    syncAfterWrite(_bulkProcessor);
+    Set<String> aspectNames = ImmutableMap.of(GLOBAL_TAGS_ASPECT_NAME, 0, SCHEMA_METADATA_ASPECT_NAME, 0).keySet();
+
+    // Rolled back to the version created at 1000
+    _service.deleteChanges(urn, GLOBAL_TAGS_ASPECT_NAME, 1000L);
+    syncAfterWrite(_bulkProcessor);
+    Map<String, SortedMap<Long, List<ChangeTransaction>>> changes =
+        _service.getChanges(urn, aspectNames, TAG, 0L, 4000L);
+    assertEquals(changes.get(GLOBAL_TAGS_ASPECT_NAME).keySet(), Collections.singleton(1000L));
+    assertEquals(changes.get(SCHEMA_METADATA_ASPECT_NAME).keySet(), Collections.singleton(3000L));
+
+    // Entity deleted
+    _service.deleteChanges(urn, null, Long.MIN_VALUE);
+    syncAfterWrite(_bulkProcessor);
+    assertTrue(_service.getChanges(urn, aspectNames, TAG, 0L, 4000L).isEmpty());
+  }
+
+  @Test
+  public void testGetTimelineFromMaterializedChanges() throws Exception {
+    Urn urn = createUrn();
+    _service.appendChanges(urn, GLOBAL_TAGS_ASPECT_NAME, 1000L, ImmutableMap.of(ChangeCategory.TAG,
+        Collections.singletonList(createTransaction(urn, 1000L))));
+    _service.appendChanges(urn, GLOBAL_TAGS_ASPECT_NAME, 2000L, ImmutableMap.of(ChangeCategory.TAG,
+        Collections.singletonList(createTransaction(urn, 2000L))));
+    syncAfterWrite(_bulkProcessor);
+
+    // Only the versions are read from the aspect store, never the aspects themselves
+    AspectDao aspectDao = Mockito.mock(AspectDao.class);
+    Mockito.when(aspectDao.getAspectVersions(Mockito.eq(urn.toString()), Mockito.anySet()))
+        .thenReturn(ImmutableList.of(createVersion(urn, 1L, 1000L), createVersion(urn, 0L, 2000L)));
+    TimelineServiceImpl timelineService = new TimelineServiceImpl(aspectDao, _entityRegistry, 10, _service);
+
+    List<ChangeTransaction> timeline = timelineService.getTimeline(urn, TAG, 500L, 3000L, null, null, false);
+    assertEquals(timeline.size(), 2);
+    assertEquals(timeline.get(0).getTimestamp(), 1000L);
+    assertEquals(timeline.get(1).getTimestamp(), 2000L);
+    assertEquals(timeline.get(1).getVersionStamp(), GLOBAL_TAGS_ASPECT_NAME + ":0");
+    Mockito.verify(aspectDao, Mockito.never())
+        .getAspectsInRange(Mockito.any(), Mockito.anySet(), Mockito.anyLong(), Mockito.anyLong());
+  }
+
+  @Nonnull
+  private static Urn createUrn() {
+    return UrnUtils.getUrn(
+        "urn:li:dataset:(urn:li:dataPlatform:hive,fooDb.fooTable" + System.nanoTime() + ",PROD)");
+  }
+
+  @Nonnull
+  private static ChangeTransaction createTransaction(@Nonnull Urn urn, long timestamp) {
+    AuditStamp auditStamp = new AuditStamp().setActor(UrnUtils.getUrn(SYSTEM_ACTOR)).setTime(timestamp);
+    List<ChangeEvent> changeEvents = new ArrayList<>();
+    changeEvents.add(ChangeEvent.builder()
+        .entityUrn(urn.toString())
+        .category(ChangeCategory.TAG)
+        .operation(ChangeOperation.ADD)
+        .modifier("urn:li:tag:pii")
+        .parameters(ImmutableMap.of("tagUrn", "urn:li:tag:pii"))
+        .auditStamp(auditStamp)
+        .semVerChange(SemanticChangeType.MINOR)
+        .description("Tag pii added")
+        .build());
+    return ChangeTransaction.builder()
+        .timestamp(timestamp)
+        .actor(SYSTEM_ACTOR)
+        .semVerChange(SemanticChangeType.MINOR)
+        .changeEvents(changeEvents)
+        .build();
+  }
+
+  @Nonnull
+  private static EntityAspect createVersion(@Nonnull Urn urn, long version, long createdOn) {
+    return new EntityAspect(urn.toString(), GLOBAL_TAGS_ASPECT_NAME, version, null, null, new Timestamp(createdOn), null,
+        null);
+  }
+}
@@ -0,0 +1,155 @@
+package com.linkedin.metadata.timeseries.rollup;
+
+import com.google.common.collect.ImmutableList;
+import com.linkedin.common.WindowDuration;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.dataset.DatasetFieldUsageCounts;
+import com.linkedin.dataset.DatasetFieldUsageCountsArray;
+import com.linkedin.dataset.DatasetUsageStatistics;
+import com.linkedin.dataset.DatasetUserUsageCounts;
+import com.linkedin.dataset.DatasetUserUsageCountsArray;
+import com.linkedin.usage.UsageAggregationMetrics;
+import java.time.Instant;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class UsageRollupUtilsTest {
+
+  private static final Urn USER_A = UrnUtils.getUrn("urn:li:corpuser:a");
+  private static final Urn USER_B = UrnUtils.getUrn("urn:li:corpuser:b");
+
+  @Test
+  public void testBucketStart() {
+    // Wednesday.
+    final long timestamp = Instant.parse("2022-06-15T13:45:00Z").toEpochMilli();
+    assertEquals(UsageRollupUtils.getBucketStart(timestamp, WindowDuration.DAY),
+        Instant.parse("2022-06-15T00:00:00Z").toEpochMilli());
+    assertEquals(UsageRollupUtils.getBucketStart(timestamp, WindowDuration.WEEK),
+        Instant.parse("2022-06-13T00:00:00Z").toEpochMilli());
+    assertEquals(UsageRollupUtils.getBucketStart(timestamp, WindowDuration.MONTH),
+        Instant.parse("2022-06-01T00:00:00Z").toEpochMilli());
+
+    assertEquals(UsageRollupUtils.getNextBucketStart(timestamp, WindowDuration.DAY),
+        Instant.parse("2022-06-16T00:00:00Z").toEpochMilli());
+    assertEquals(UsageRollupUtils.getNextBucketStart(timestamp, WindowDuration.WEEK),
+        Instant.parse("2022-06-20T00:00:00Z").toEpochMilli());
+    assertEquals(UsageRollupUtils.getNextBucketStart(timestamp, WindowDuration.MONTH),
+        Instant.parse("2022-07-01T00:00:00Z").toEpochMilli());
+
+    assertTrue(UsageRollupUtils.isBucketStart(Instant.parse("2022-06-13T00:00:00Z").toEpochMilli(), WindowDuration.WEEK));
+    assertFalse(UsageRollupUtils.isBucketStart(timestamp, WindowDuration.DAY));
+    assertThrows(IllegalArgumentException.class, () -> UsageRollupUtils.getBucketStart(timestamp, WindowDuration.HOUR));
+  }
+
+  @Test
+  public void testMergeMetrics() {
+    final UsageAggregationMetrics older = UsageRollupUtils.toMetrics(createUsage(1L, 2, 10, "select 1",
+        new DatasetUserUsageCounts().setUser(USER_B).setCount(3).setUserEmail("b@old.com"),
+        new DatasetUserUsageCounts().setUser(USER_A).setCount(1)));
+    final UsageAggregationMetrics newer = UsageRollupUtils.toMetrics(createUsage(2L, 1, 5, "select 2",
+        new DatasetUserUsageCounts().setUser(USER_B).setCount(4).setUserEmail("b@new.com")));
+
+    final UsageAggregationMetrics merged = UsageRollupUtils.mergeMetrics(ImmutableList.of(older, newer));
+
+    // Latest values are taken from the newest metrics.
+    assertEquals(merged.getUniqueUserCount().intValue(), 1);
+    assertEquals(merged.getTotalSqlQueries().intValue(), 5);
+    assertEquals(merged.getTopSqlQueries(), new StringArray(ImmutableList.of("select 2")));
+
+    // Counts are summed, ordered by user and field.
+    assertEquals(merged.getUsers().size(), 2);
+    assertEquals(merged.getUsers().get(0).getUser(), USER_A);
+    assertEquals(merged.getUsers().get(0).getCount().intValue(), 1);
+    assertEquals(merged.getUsers().get(1).getUser(), USER_B);
+    assertEquals(merged.getUsers().get(1).getCount().intValue(), 7);
+    assertEquals(merged.getUsers().get(1).getUserEmail(), "b@new.com");
+    assertEquals(merged.getFields().size(), 1);
+    assertEquals(merged.getFields().get(0).getFieldName(), "col");
+    assertEquals(merged.getFields().get(0).getCount().intValue(), 2);
+
+    assertFalse(UsageRollupUtils.mergeMetrics(ImmutableList.of()).hasUsers());
+  }
+
+  @Test
+  public void testSplitUnalignedWindow() {
+    final long startTime = Instant.parse("2022-06-15T13:45:00Z").toEpochMilli();
+    final long endTime = Instant.parse("2022-06-18T09:00:00Z").toEpochMilli();
+    final long now = Instant.parse("2022-07-01T00:00:00Z").toEpochMilli();
+
+    final UsageRollupUtils.WindowSplit window =
+        UsageRollupUtils.splitWindow(startTime, endTime, WindowDuration.DAY, now).get();
+
+    // The partial days at both edges are read from the raw documents, the whole days in between from the rollups.
+    assertTrue(window.hasHead());
+    assertEquals(window.getHeadStart().longValue(), startTime);
+    assertEquals(window.getHeadEnd().longValue(), Instant.parse("2022-06-16T00:00:00Z").toEpochMilli() - 1);
+    assertTrue(window.hasRollups());
+    assertEquals(window.getRollupStart(), Instant.parse("2022-06-16T00:00:00Z").toEpochMilli());
+    assertEquals(window.getRollupEnd(), Instant.parse("2022-06-18T00:00:00Z").toEpochMilli() - 1);
+    assertTrue(window.hasTail());
+    assertEquals(window.getTailStart().longValue(), Instant.parse("2022-06-18T00:00:00Z").toEpochMilli());
+    assertEquals(window.getTailEnd().longValue(), endTime);
+
+    // The parts combine in order, so the raw usage at the edges adds to the rollups and the latest values come from
+    // the end of the window.
+    final UsageAggregationMetrics head = UsageRollupUtils.toMetrics(createUsage(startTime, 1, 1, "select head",
+        new DatasetUserUsageCounts().setUser(USER_A).setCount(1)));
+    final UsageAggregationMetrics rollup = UsageRollupUtils.mergeMetrics(ImmutableList.of(
+        UsageRollupUtils.toMetrics(createUsage(window.getRollupStart(), 2, 3, "select day 1",
+            new DatasetUserUsageCounts().setUser(USER_A).setCount(2),
+            new DatasetUserUsageCounts().setUser(USER_B).setCount(3)))));
+    final UsageAggregationMetrics tail = UsageRollupUtils.toMetrics(createUsage(window.getTailStart(), 1, 4,
+        "select tail", new DatasetUserUsageCounts().setUser(USER_B).setCount(4)));
+    final UsageAggregationMetrics merged = UsageRollupUtils.mergeMetrics(ImmutableList.of(head, rollup, tail));
+    assertEquals(merged.getUsers().get(0).getUser(), USER_A);
+    assertEquals(merged.getUsers().get(0).getCount().intValue(), 3);
+    assertEquals(merged.getUsers().get(1).getUser(), USER_B);
+    assertEquals(merged.getUsers().get(1).getCount().intValue(), 7);
+    assertEquals(merged.getFields().get(0).getCount().intValue(), 3);
+    assertEquals(merged.getTotalSqlQueries().intValue(), 4);
+    assertEquals(merged.getTopSqlQueries(), new StringArray(ImmutableList.of("select tail")));
+  }
+
+  @Test
+  public void testSplitWindowEdgeCases() {
+    final long startTime = Instant.parse("2022-06-15T13:45:00Z").toEpochMilli();
+    final long now = Instant.parse("2022-06-24T12:00:00Z").toEpochMilli();
+
+    // A window ending in the current week reads that week from its rollup, which covers all of its usage so far.
+    final UsageRollupUtils.WindowSplit currentWeek =
+        UsageRollupUtils.splitWindow(startTime, now, WindowDuration.WEEK, now).get();
+    assertTrue(currentWeek.hasHead());
+    assertEquals(currentWeek.getHeadEnd().longValue(), Instant.parse("2022-06-20T00:00:00Z").toEpochMilli() - 1);
+    assertEquals(currentWeek.getRollupStart(), Instant.parse("2022-06-20T00:00:00Z").toEpochMilli());
+    assertEquals(currentWeek.getRollupEnd(), Instant.parse("2022-06-20T00:00:00Z").toEpochMilli());
+    assertFalse(currentWeek.hasTail());
+
+    // A window aligned on buckets is read from the rollups only.
+    final UsageRollupUtils.WindowSplit aligned = UsageRollupUtils.splitWindow(
+        Instant.parse("2022-06-01T00:00:00Z").toEpochMilli(), Instant.parse("2022-06-03T00:00:00Z").toEpochMilli() - 1,
+        WindowDuration.DAY, now).get();
+    assertFalse(aligned.hasHead());
+    assertTrue(aligned.hasRollups());
+    assertFalse(aligned.hasTail());
+
+    // A window within a single partial bucket, or with an unsupported duration, is aggregated from the raw documents.
+    assertFalse(UsageRollupUtils.splitWindow(startTime, startTime + 1000, WindowDuration.DAY, now).isPresent());
+    assertFalse(UsageRollupUtils.splitWindow(startTime, now, WindowDuration.HOUR, now).isPresent());
+  }
+
+  private DatasetUsageStatistics createUsage(long timestamp, int uniqueUserCount, int totalSqlQueries,
+      String topSqlQuery, DatasetUserUsageCounts... userCounts) {
+    return new DatasetUsageStatistics()
+        .setTimestampMillis(timestamp)
+        .setUniqueUserCount(uniqueUserCount)
+        .setTotalSqlQueries(totalSqlQueries)
+        .setTopSqlQueries(new StringArray(ImmutableList.of(topSqlQuery)))
+        .setUserCounts(new DatasetUserUsageCountsArray(ImmutableList.copyOf(userCounts)))
+        .setFieldCounts(new DatasetFieldUsageCountsArray(ImmutableList.of(
+            new DatasetFieldUsageCounts().setFieldPath("col").setCount(1))));
+  }
+}
@@ -12,14 +12,20 @@ import com.linkedin.metadata.kafka.hook.UpdateIndicesHook;
 import com.linkedin.metadata.kafka.hook.event.EntityChangeEventGeneratorHook;
 import com.linkedin.metadata.kafka.hook.ingestion.IngestionSchedulerHook;
 import com.linkedin.metadata.kafka.hook.siblings.SiblingAssociationHook;
+import com.linkedin.metadata.kafka.hook.timeline.ChangeTransactionHook;
+import com.linkedin.metadata.kafka.hook.usage.UsageRollupHook;
 import com.linkedin.metadata.utils.metrics.MetricUtils;
 import com.linkedin.mxe.MetadataChangeLog;
 import com.linkedin.mxe.Topics;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import javax.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Import;
@@ -36,7 +42,9 @@ import org.springframework.stereotype.Component;
     IngestionSchedulerHook.class,
     EntityChangeEventGeneratorHook.class,
     KafkaEventConsumerFactory.class,
-    SiblingAssociationHook.class
+    SiblingAssociationHook.class,
+    UsageRollupHook.class,
+    ChangeTransactionHook.class
 })
 @EnableKafka
 public class MetadataChangeLogProcessor {
@@ -49,9 +57,12 @@ public class MetadataChangeLogProcessor {
       @Nonnull final UpdateIndicesHook updateIndicesHook,
       @Nonnull final IngestionSchedulerHook ingestionSchedulerHook,
       @Nonnull final EntityChangeEventGeneratorHook entityChangeEventHook,
-      @Nonnull final SiblingAssociationHook siblingAssociationHook
+      @Nonnull final SiblingAssociationHook siblingAssociationHook,
+      @Nonnull final UsageRollupHook usageRollupHook,
+      @Nonnull final ChangeTransactionHook changeTransactionHook
   ) {
-    this.hooks = ImmutableList.of(updateIndicesHook, ingestionSchedulerHook, entityChangeEventHook, siblingAssociationHook);
+    this.hooks = ImmutableList.of(updateIndicesHook, ingestionSchedulerHook, entityChangeEventHook, siblingAssociationHook,
+        usageRollupHook, changeTransactionHook);
     this.hooks.forEach(MetadataChangeLogHook::init);
   }
 
@@ -77,6 +88,11 @@ public class MetadataChangeLogProcessor {
       return;
     }
 
+    final Map<String, String> headers = new HashMap<>();
+    for (Header header : consumerRecord.headers()) {
+      headers.put(header.key(), header.value() == null ? null : new String(header.value(), StandardCharsets.UTF_8));
+    }
+
     log.debug("Invoking MCL hooks for urn: {}, key: {}", event.getEntityUrn(), event.getEntityKeyAspect());
 
     // Here - plug in additional "custom processor hooks"
@@ -86,7 +102,7 @@ public class MetadataChangeLogProcessor {
       }
       try (Timer.Context ignored = MetricUtils.timer(this.getClass(), hook.getClass().getSimpleName() + "_latency")
           .time()) {
-        hook.invoke(event);
+        hook.invoke(event, headers);
       } catch (Exception e) {
         // Just skip this hook and continue. - Note that this represents "at most once" processing.
         MetricUtils.counter(this.getClass(), hook.getClass().getSimpleName() + "_failure").inc();
@@ -1,6 +1,7 @@
 package com.linkedin.metadata.kafka.hook;
 
 import com.linkedin.mxe.MetadataChangeLog;
+import java.util.Map;
 import javax.annotation.Nonnull;
 
 
@@ -29,4 +30,12 @@ public interface MetadataChangeLogHook {
    * Invoke the hook when a MetadataChangeLog is received
    */
   void invoke(@Nonnull MetadataChangeLog log) throws Exception;
+
+  /**
+   * Invoke the hook when a MetadataChangeLog is received along with the headers of its Kafka record, which only carry
+   * what DataHub's own hooks need to know about the change log. Ignores the headers unless overridden.
+   */
+  default void invoke(@Nonnull MetadataChangeLog log, @Nonnull Map<String, String> headers) throws Exception {
+    invoke(log);
+  }
 }
@@ -28,6 +28,8 @@ import com.linkedin.metadata.models.EntitySpec;
 import com.linkedin.metadata.models.RelationshipFieldSpec;
 import com.linkedin.metadata.models.extractor.FieldExtractor;
 import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.models.registry.EntityRegistryIndex;
+import com.linkedin.metadata.models.registry.EntityRegistryIndex.IndexedAspect;
 import com.linkedin.metadata.query.filter.ConjunctiveCriterionArray;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.query.filter.RelationshipDirection;
@@ -124,7 +126,9 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
    */
   private void handleUpdateChangeEvent(@Nonnull final MetadataChangeLog event) {
 
-    final EntitySpec entitySpec = getEventEntitySpec(event);
+    final EntityRegistryIndex index = _entityRegistry.getIndex();
+    final int entityId = getEventEntityId(index, event);
+    final EntitySpec entitySpec = index.getEntitySpec(entityId);
     final Urn urn = EntityKeyUtils.getUrnFromLog(event, entitySpec.getKeyAspectSpec());
 
     if (!event.hasAspectName() || !event.hasAspect()) {
@@ -132,13 +136,8 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
       return;
     }
 
-    AspectSpec aspectSpec = entitySpec.getAspectSpec(event.getAspectName());
-    if (aspectSpec == null) {
-      throw new RuntimeException(
-          String.format("Failed to retrieve Aspect Spec for entity with name %s, aspect with name %s. Cannot update indices for MCL.",
-              event.getEntityType(),
-              event.getAspectName()));
-    }
+    final IndexedAspect indexedAspect = getEventAspect(index, entityId, event);
+    final AspectSpec aspectSpec = indexedAspect.getAspectSpec();
 
     RecordTemplate aspect = GenericRecordUtils.deserializeAspect(
         event.getAspect().getValue(),
@@ -151,7 +150,7 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
 
     // Step 0. If the aspect is timeseries, add to its timeseries index.
     if (aspectSpec.isTimeseries()) {
-      updateTimeseriesFields(event.getEntityType(), event.getAspectName(), urn, aspect, aspectSpec,
+      updateTimeseriesFields(event.getEntityType(), event.getAspectName(), urn, aspect, indexedAspect,
           event.getSystemMetadata());
     } else {
       // Inject into the System Metadata Index when an aspect is non-timeseries only.
@@ -161,14 +160,14 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
     }
 
     // Step 1. For all aspects, attempt to update Search
-    updateSearchService(entitySpec.getName(), urn, aspectSpec, aspect,
+    updateSearchService(entitySpec.getName(), urn, indexedAspect, aspect,
         event.hasSystemMetadata() ? event.getSystemMetadata().getRunId() : null);
 
     // Step 2. For all aspects, attempt to update Graph
     if (_diffMode && _graphService instanceof ElasticSearchGraphService) {
-      updateGraphServiceDiff(urn, aspectSpec, previousAspect, aspect, event);
+      updateGraphServiceDiff(urn, indexedAspect, previousAspect, aspect, event);
     } else {
-      updateGraphService(urn, aspectSpec, aspect, event);
+      updateGraphService(urn, indexedAspect, aspect, event);
     }
   }
 
@@ -186,7 +185,9 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
    */
   private void handleDeleteChangeEvent(@Nonnull final MetadataChangeLog event) {
 
-    final EntitySpec entitySpec = getEventEntitySpec(event);
+    final EntityRegistryIndex index = _entityRegistry.getIndex();
+    final int entityId = getEventEntityId(index, event);
+    final EntitySpec entitySpec = index.getEntitySpec(entityId);
     final Urn urn = EntityKeyUtils.getUrnFromLog(event, entitySpec.getKeyAspectSpec());
 
     if (!event.hasAspectName() || !event.hasPreviousAspectValue()) {
@@ -194,13 +195,8 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
       return;
     }
 
-    AspectSpec aspectSpec = entitySpec.getAspectSpec(event.getAspectName());
-    if (aspectSpec == null) {
-      throw new RuntimeException(
-          String.format("Failed to retrieve Aspect Spec for entity with name %s, aspect with name %s. Cannot update indices for MCL.",
-              event.getEntityType(),
-              event.getAspectName()));
-    }
+    final IndexedAspect indexedAspect = getEventAspect(index, entityId, event);
+    final AspectSpec aspectSpec = indexedAspect.getAspectSpec();
 
     RecordTemplate aspect = GenericRecordUtils.deserializeAspect(event.getPreviousAspectValue().getValue(),
         event.getPreviousAspectValue().getContentType(), aspectSpec);
@@ -208,8 +204,8 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
 
     if (!aspectSpec.isTimeseries()) {
       deleteSystemMetadata(urn, aspectSpec, isDeletingKey);
-      deleteGraphData(urn, aspectSpec, aspect, isDeletingKey, event);
-      deleteSearchData(urn, entitySpec.getName(), aspectSpec, aspect, isDeletingKey);
+      deleteGraphData(urn, indexedAspect, aspect, isDeletingKey, event);
+      deleteSearchData(urn, entitySpec.getName(), indexedAspect, aspect, isDeletingKey);
     }
   }
 
@@ -269,7 +265,7 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
 
   private Pair<List<Edge>, HashMap<Urn, Set<String>>> getEdgesAndRelationshipTypesFromAspect(
       @Nonnull final Urn urn,
-      @Nonnull final AspectSpec aspectSpec,
+      @Nonnull final IndexedAspect indexedAspect,
       @Nonnull final RecordTemplate aspect,
       @Nonnull final MetadataChangeLog event,
       final boolean isNewAspectVersion
@@ -279,16 +275,16 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
 
     // we need to manually set schemaField <-> schemaField edges for fineGrainedLineage and inputFields
     // since @Relationship only links between the parent entity urn and something else.
-    if (aspectSpec.getName().equals(Constants.UPSTREAM_LINEAGE_ASPECT_NAME)) {
+    if (indexedAspect.getAspectName().equals(Constants.UPSTREAM_LINEAGE_ASPECT_NAME)) {
       updateFineGrainedEdgesAndRelationships(aspect, edgesToAdd, urnToRelationshipTypesBeingAdded);
     }
-    if (aspectSpec.getName().equals(Constants.INPUT_FIELDS_ASPECT_NAME)) {
+    if (indexedAspect.getAspectName().equals(Constants.INPUT_FIELDS_ASPECT_NAME)) {
       final InputFields inputFields = new InputFields(aspect.data());
       updateInputFieldEdgesAndRelationships(urn, inputFields, edgesToAdd, urnToRelationshipTypesBeingAdded);
     }
 
     Map<RelationshipFieldSpec, List<Object>> extractedFields =
-        FieldExtractor.extractFields(aspect, aspectSpec.getRelationshipFieldSpecs());
+        FieldExtractor.extractFields(aspect, indexedAspect.getRelationshipFieldSpecs());
 
     for (Map.Entry<RelationshipFieldSpec, List<Object>> entry : extractedFields.entrySet()) {
       Set<String> relationshipTypes = urnToRelationshipTypesBeingAdded.getOrDefault(urn, new HashSet<>());
@@ -305,12 +301,12 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
    */
   private void updateGraphService(
       @Nonnull final Urn urn,
-      @Nonnull final AspectSpec aspectSpec,
+      @Nonnull final IndexedAspect indexedAspect,
       @Nonnull final RecordTemplate aspect,
       @Nonnull final MetadataChangeLog event
   ) {
     Pair<List<Edge>, HashMap<Urn, Set<String>>> edgeAndRelationTypes =
-        getEdgesAndRelationshipTypesFromAspect(urn, aspectSpec, aspect, event, true);
+        getEdgesAndRelationshipTypesFromAspect(urn, indexedAspect, aspect, event, true);
 
     final List<Edge> edgesToAdd = edgeAndRelationTypes.getFirst();
     final HashMap<Urn, Set<String>> urnToRelationshipTypesBeingAdded = edgeAndRelationTypes.getSecond();
@@ -321,20 +317,20 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
         _graphService.removeEdgesFromNode(entry.getKey(), new ArrayList<>(entry.getValue()),
             newRelationshipFilter(new Filter().setOr(new ConjunctiveCriterionArray()), RelationshipDirection.OUTGOING));
       }
-      edgesToAdd.forEach(_graphService::addEdge);
+      _graphService.addEdges(edgesToAdd);
     }
   }
 
   private void updateGraphServiceDiff(
       @Nonnull final Urn urn,
-      @Nonnull final AspectSpec aspectSpec,
+      @Nonnull final IndexedAspect indexedAspect,
       @Nullable final RecordTemplate oldAspect,
       @Nonnull final RecordTemplate newAspect,
       @Nonnull final MetadataChangeLog event
   ) {
     Pair<List<Edge>, HashMap<Urn, Set<String>>> oldEdgeAndRelationTypes = null;
     if (oldAspect != null) {
-      oldEdgeAndRelationTypes = getEdgesAndRelationshipTypesFromAspect(urn, aspectSpec, oldAspect, event, false);
+      oldEdgeAndRelationTypes = getEdgesAndRelationshipTypesFromAspect(urn, indexedAspect, oldAspect, event, false);
     }
 
     final List<Edge> oldEdges =
@@ -342,7 +338,7 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
     final Set<Edge> oldEdgeSet = new HashSet<>(oldEdges);
 
     Pair<List<Edge>, HashMap<Urn, Set<String>>> newEdgeAndRelationTypes =
-        getEdgesAndRelationshipTypesFromAspect(urn, aspectSpec, newAspect, event, true);
+        getEdgesAndRelationshipTypesFromAspect(urn, indexedAspect, newAspect, event, true);
 
     final List<Edge> newEdges = newEdgeAndRelationTypes.getFirst();
     final Set<Edge> newEdgeSet = new HashSet<>(newEdges);
@@ -363,19 +359,19 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
     // Remove any old edges that no longer exist first
     if (subtractiveDifference.size() > 0) {
       log.debug("Removing edges: {}", subtractiveDifference);
-      subtractiveDifference.forEach(_graphService::removeEdge);
+      _graphService.removeEdges(subtractiveDifference);
     }
 
     // Then add new edges
     if (additiveDifference.size() > 0) {
       log.debug("Adding edges: {}", additiveDifference);
-      additiveDifference.forEach(_graphService::addEdge);
+      _graphService.addEdges(additiveDifference);
     }
 
     // Then update existing edges
     if (mergedEdges.size() > 0) {
       log.debug("Updating edges: {}", mergedEdges);
-      mergedEdges.forEach(_graphService::upsertEdge);
+      _graphService.upsertEdges(mergedEdges);
     }
   }
 
@@ -402,13 +398,14 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
   /**
    * Process snapshot and update search index
    */
-  private void updateSearchService(String entityName, Urn urn, AspectSpec aspectSpec, RecordTemplate aspect,
+  private void updateSearchService(String entityName, Urn urn, IndexedAspect indexedAspect, RecordTemplate aspect,
       @Nullable String runId) {
     Optional<String> searchDocument;
     try {
-      searchDocument = _searchDocumentTransformer.transformAspect(urn, aspect, aspectSpec, false);
+      searchDocument = _searchDocumentTransformer.transformAspect(urn, aspect, indexedAspect.getSearchableFieldSpecs(),
+          indexedAspect.getSearchScoreFieldSpecs(), false);
     } catch (Exception e) {
-      log.error("Error in getting documents from aspect: {} for aspect {}", e, aspectSpec.getName());
+      log.error("Error in getting documents from aspect: {} for aspect {}", e, indexedAspect.getAspectName());
       return;
     }
 
@@ -429,10 +426,11 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
    * Process snapshot and update time-series index
    */
   private void updateTimeseriesFields(String entityType, String aspectName, Urn urn, RecordTemplate aspect,
-      AspectSpec aspectSpec, SystemMetadata systemMetadata) {
+      IndexedAspect indexedAspect, SystemMetadata systemMetadata) {
     Map<String, JsonNode> documents;
     try {
-      documents = TimeseriesAspectTransformer.transform(urn, aspect, aspectSpec, systemMetadata);
+      documents = TimeseriesAspectTransformer.transform(urn, aspect, indexedAspect.getTimeseriesFieldSpecs(),
+          indexedAspect.getTimeseriesFieldCollectionSpecs(), systemMetadata);
     } catch (JsonProcessingException e) {
       log.error("Failed to generate timeseries document from aspect: {}", e.toString());
       return;
@@ -465,7 +463,7 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
 
   private void deleteGraphData(
       @Nonnull final Urn urn,
-      @Nonnull final AspectSpec aspectSpec,
+      @Nonnull final IndexedAspect indexedAspect,
       @Nonnull final RecordTemplate aspect,
       @Nonnull final Boolean isKeyAspect,
       @Nonnull final MetadataChangeLog event
@@ -476,7 +474,7 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
     }
 
     Pair<List<Edge>, HashMap<Urn, Set<String>>> edgeAndRelationTypes =
-        getEdgesAndRelationshipTypesFromAspect(urn, aspectSpec, aspect, event, true);
+        getEdgesAndRelationshipTypesFromAspect(urn, indexedAspect, aspect, event, true);
 
     final HashMap<Urn, Set<String>> urnToRelationshipTypesBeingAdded = edgeAndRelationTypes.getSecond();
     if (urnToRelationshipTypesBeingAdded.size() > 0) {
@@ -487,7 +485,8 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
     }
   }
 
-  private void deleteSearchData(Urn urn, String entityName, AspectSpec aspectSpec, RecordTemplate aspect, Boolean isKeyAspect) {
+  private void deleteSearchData(Urn urn, String entityName, IndexedAspect indexedAspect, RecordTemplate aspect,
+      Boolean isKeyAspect) {
     String docId;
     try {
       docId = URLEncoder.encode(urn.toString(), "UTF-8");
@@ -503,9 +502,10 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
 
     Optional<String> searchDocument;
     try {
-      searchDocument = _searchDocumentTransformer.transformAspect(urn, aspect, aspectSpec, true); // TODO
+      searchDocument = _searchDocumentTransformer.transformAspect(urn, aspect, indexedAspect.getSearchableFieldSpecs(),
+          indexedAspect.getSearchScoreFieldSpecs(), true); // TODO
     } catch (Exception e) {
-      log.error("Error in getting documents from aspect: {} for aspect {}", e, aspectSpec.getName());
+      log.error("Error in getting documents from aspect: {} for aspect {}", e, indexedAspect.getAspectName());
       return;
     }
 
@@ -516,13 +516,25 @@ public class UpdateIndicesHook implements MetadataChangeLogHook {
     _entitySearchService.upsertDocument(entityName, searchDocument.get(), docId);
   }
 
-  private EntitySpec getEventEntitySpec(@Nonnull final MetadataChangeLog event) {
-    try {
-      return _entityRegistry.getEntitySpec(event.getEntityType());
-    } catch (IllegalArgumentException e) {
+  private int getEventEntityId(@Nonnull final EntityRegistryIndex index, @Nonnull final MetadataChangeLog event) {
+    final int entityId = index.getEntityId(event.getEntityType());
+    if (entityId == EntityRegistryIndex.NOT_FOUND) {
       throw new RuntimeException(
           String.format("Failed to retrieve Entity Spec for entity with name %s. Cannot update indices for MCL.",
               event.getEntityType()));
     }
+    return entityId;
+  }
+
+  private IndexedAspect getEventAspect(@Nonnull final EntityRegistryIndex index, final int entityId,
+      @Nonnull final MetadataChangeLog event) {
+    final int aspectId = index.getAspectId(entityId, event.getAspectName());
+    if (aspectId == EntityRegistryIndex.NOT_FOUND) {
+      throw new RuntimeException(
+          String.format("Failed to retrieve Aspect Spec for entity with name %s, aspect with name %s. Cannot update indices for MCL.",
+              event.getEntityType(),
+              event.getAspectName()));
+    }
+    return index.getAspect(entityId, aspectId);
   }
 }
\ No newline at end of file
@@ -0,0 +1,165 @@
+package com.linkedin.metadata.kafka.hook.timeline;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.common.AuditStamp;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.gms.factory.entityregistry.EntityRegistryFactory;
+import com.linkedin.gms.factory.timeline.ChangeTransactionServiceFactory;
+import com.linkedin.metadata.entity.EntityAspect;
+import com.linkedin.metadata.kafka.hook.MetadataChangeLogHook;
+import com.linkedin.metadata.models.EntitySpec;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.timeline.ChangeTransactionGenerator;
+import com.linkedin.metadata.timeline.data.ChangeCategory;
+import com.linkedin.metadata.timeline.data.ChangeTransaction;
+import com.linkedin.metadata.timeline.materialized.ChangeTransactionService;
+import com.linkedin.mxe.GenericAspect;
+import com.linkedin.mxe.MetadataChangeLog;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Import;
+import org.springframework.stereotype.Component;
+
+import static com.linkedin.metadata.Constants.*;
+
+
+/**
+ * A {@link MetadataChangeLogHook} responsible for materializing the timeline's change transactions between the
+ * previous and new value of an aspect as it is written, so that timelines can be served without diffing every version.
+ *
+ * Restated aspects are skipped, since they carry no previous value and would otherwise be materialized as created.
+ * Versions restored by a rollback are not materialized either: the change transactions of the versions rolled back are
+ * deleted instead, and those of every version of a deleted aspect, or of every aspect of a deleted entity.
+ */
+@Slf4j
+@Component
+@Import({ChangeTransactionServiceFactory.class, EntityRegistryFactory.class})
+public class ChangeTransactionHook implements MetadataChangeLogHook {
+
+  private static final Set<ChangeType> SUPPORTED_CHANGE_TYPES = ImmutableSet.of(ChangeType.UPSERT, ChangeType.CREATE);
+
+  private final ChangeTransactionService _changeTransactionService;
+  private final EntityRegistry _entityRegistry;
+  private final ChangeTransactionGenerator _changeTransactionGenerator = new ChangeTransactionGenerator();
+
+  @Autowired
+  public ChangeTransactionHook(
+      @Nonnull @Qualifier("changeTransactionService") final ChangeTransactionService changeTransactionService,
+      @Nonnull final EntityRegistry entityRegistry) {
+    _changeTransactionService = Objects.requireNonNull(changeTransactionService);
+    _entityRegistry = Objects.requireNonNull(entityRegistry);
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return _changeTransactionService.isEnabled();
+  }
+
+  @Override
+  public void invoke(@Nonnull final MetadataChangeLog event) {
+    invoke(event, Collections.emptyMap());
+  }
+
+  @Override
+  public void invoke(@Nonnull final MetadataChangeLog event, @Nonnull final Map<String, String> headers) {
+    if (ChangeType.DELETE.equals(event.getChangeType())) {
+      handleDelete(event);
+      return;
+    }
+    final Long restoredCreatedOn = getRestoredCreatedOn(headers);
+    if (restoredCreatedOn != null) {
+      handleRollback(event, restoredCreatedOn);
+      return;
+    }
+    if (!isEligibleForProcessing(event)) {
+      return;
+    }
+    final AuditStamp created = event.getCreated();
+    final EntityAspect currentValue = toEntityAspect(event, event.getAspect(), created);
+    final EntityAspect previousValue = event.getPreviousAspectValue() != null
+        ? toEntityAspect(event, event.getPreviousAspectValue(), created)
+        : null;
+    final Map<ChangeCategory, List<ChangeTransaction>> changes =
+        _changeTransactionGenerator.computeChanges(previousValue, currentValue, event.getEntityType());
+    if (changes.values().stream().allMatch(List::isEmpty)) {
+      return;
+    }
+    log.debug("Materializing change transactions for urn: {}, aspect: {}, timestamp: {}", event.getEntityUrn(),
+        event.getAspectName(), created.getTime());
+    _changeTransactionService.appendChanges(event.getEntityUrn(), event.getAspectName(), created.getTime(), changes);
+  }
+
+  private void handleDelete(@Nonnull final MetadataChangeLog event) {
+    if (event.getEntityUrn() == null || event.getAspectName() == null) {
+      return;
+    }
+    final EntitySpec entitySpec = _entityRegistry.getEntitySpec(event.getEntityUrn().getEntityType());
+    if (event.getAspectName().equals(entitySpec.getKeyAspectName())) {
+      log.debug("Deleting change transactions of deleted entity {}", event.getEntityUrn());
+      _changeTransactionService.deleteChanges(event.getEntityUrn(), null, Long.MIN_VALUE);
+    } else if (hasCategories(event)) {
+      log.debug("Deleting change transactions of deleted aspect {} of {}", event.getAspectName(), event.getEntityUrn());
+      _changeTransactionService.deleteChanges(event.getEntityUrn(), event.getAspectName(), Long.MIN_VALUE);
+    }
+  }
+
+  private void handleRollback(@Nonnull final MetadataChangeLog event, final long restoredCreatedOn) {
+    if (event.getEntityUrn() == null || event.getAspectName() == null || !hasCategories(event)) {
+      return;
+    }
+    log.debug("Deleting change transactions of versions of aspect {} of {} rolled back to {}", event.getAspectName(),
+        event.getEntityUrn(), restoredCreatedOn);
+    _changeTransactionService.deleteChanges(event.getEntityUrn(), event.getAspectName(), restoredCreatedOn);
+  }
+
+  /**
+   * Returns the creation time of the version restored by a rollback, or null if the event is not a rollback.
+   */
+  @Nullable
+  private static Long getRestoredCreatedOn(@Nonnull final Map<String, String> headers) {
+    final String restoredCreatedOn = headers.get(ROLLBACK_RESTORED_CREATED_ON);
+    return restoredCreatedOn == null ? null : Long.valueOf(restoredCreatedOn);
+  }
+
+  private boolean hasCategories(@Nonnull final MetadataChangeLog event) {
+    return !_changeTransactionGenerator.getCategories(event.getEntityType(), event.getAspectName()).isEmpty();
+  }
+
+  @VisibleForTesting
+  boolean isEligibleForProcessing(@Nonnull final MetadataChangeLog event) {
+    return SUPPORTED_CHANGE_TYPES.contains(event.getChangeType())
+        && event.getEntityUrn() != null
+        && event.getAspectName() != null
+        && event.getAspect() != null
+        && event.getCreated() != null
+        && hasCategories(event);
+  }
+
+  /**
+   * Builds the aspect the way it is stored, which is all the change event generators read. The previous value is
+   * stamped with the new value's audit stamp, as the change log does not carry its own.
+   */
+  private static EntityAspect toEntityAspect(@Nonnull final MetadataChangeLog event, @Nonnull final GenericAspect aspect,
+      @Nonnull final AuditStamp created) {
+    return new EntityAspect(
+        event.getEntityUrn().toString(),
+        event.getAspectName(),
+        ASPECT_LATEST_VERSION,
+        aspect.getValue().asString(StandardCharsets.UTF_8),
+        null,
+        new Timestamp(created.getTime()),
+        created.getActor().toString(),
+        null);
+  }
+}
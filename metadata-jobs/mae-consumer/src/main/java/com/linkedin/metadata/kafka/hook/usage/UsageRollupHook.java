@@ -0,0 +1,61 @@
+package com.linkedin.metadata.kafka.hook.usage;
+
+import com.linkedin.dataset.DatasetUsageStatistics;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.gms.factory.timeseries.UsageRollupServiceFactory;
+import com.linkedin.metadata.Constants;
+import com.linkedin.metadata.kafka.hook.MetadataChangeLogHook;
+import com.linkedin.metadata.timeseries.rollup.UsageRollupService;
+import com.linkedin.metadata.utils.GenericRecordUtils;
+import com.linkedin.mxe.MetadataChangeLog;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Import;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * A {@link MetadataChangeLogHook} responsible for maintaining the daily, weekly and monthly usage rollups as dataset
+ * usage statistics are ingested.
+ */
+@Slf4j
+@Component
+@Import({UsageRollupServiceFactory.class})
+public class UsageRollupHook implements MetadataChangeLogHook {
+
+  private final UsageRollupService _usageRollupService;
+
+  @Autowired
+  public UsageRollupHook(@Nonnull @Qualifier("usageRollupService") final UsageRollupService usageRollupService) {
+    _usageRollupService = Objects.requireNonNull(usageRollupService);
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return _usageRollupService.isEnabled();
+  }
+
+  @Override
+  public void invoke(@Nonnull final MetadataChangeLog event) {
+    if (!isEligibleForProcessing(event)) {
+      return;
+    }
+    final DatasetUsageStatistics usage = GenericRecordUtils.deserializeAspect(
+        event.getAspect().getValue(),
+        event.getAspect().getContentType(),
+        DatasetUsageStatistics.class);
+    log.debug("Updating usage rollups for urn: {}, timestamp: {}", event.getEntityUrn(), usage.getTimestampMillis());
+    _usageRollupService.upsertUsage(event.getEntityUrn(), usage);
+  }
+
+  private boolean isEligibleForProcessing(@Nonnull final MetadataChangeLog event) {
+    return Constants.DATASET_ENTITY_NAME.equals(event.getEntityType())
+        && Constants.DATASET_USAGE_STATISTICS_ASPECT_NAME.equals(event.getAspectName())
+        && ChangeType.UPSERT.equals(event.getChangeType())
+        && event.getEntityUrn() != null
+        && event.getAspect() != null;
+  }
+}
@@ -29,6 +29,7 @@ import com.linkedin.metadata.models.AspectSpec;
 import com.linkedin.metadata.models.EntitySpec;
 import com.linkedin.metadata.models.registry.ConfigEntityRegistry;
 import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.models.registry.EntityRegistryIndex;
 import com.linkedin.metadata.query.filter.ConjunctiveCriterionArray;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.query.filter.RelationshipDirection;
@@ -102,7 +103,7 @@ public class UpdateIndicesHookTest {
     _updateIndicesHook.invoke(event);
 
     Edge edge = new Edge(downstreamUrn, upstreamUrn, DOWNSTREAM_OF, null, null, null, null, null);
-    Mockito.verify(_mockGraphService, Mockito.times(1)).addEdge(Mockito.eq(edge));
+    Mockito.verify(_mockGraphService, Mockito.times(1)).addEdges(Mockito.eq(Collections.singletonList(edge)));
     Mockito.verify(_mockGraphService, Mockito.times(1)).removeEdgesFromNode(
         Mockito.eq(downstreamUrn),
         Mockito.eq(new ArrayList<>(Collections.singleton(DOWNSTREAM_OF))),
@@ -118,7 +119,7 @@ public class UpdateIndicesHookTest {
     _updateIndicesHook.invoke(event);
 
     Edge edge = new Edge(downstreamUrn, upstreamUrn, DOWNSTREAM_OF, null, null, null, null, null);
-    Mockito.verify(_mockGraphService, Mockito.times(1)).addEdge(Mockito.eq(edge));
+    Mockito.verify(_mockGraphService, Mockito.times(1)).addEdges(Mockito.eq(Collections.singletonList(edge)));
     Mockito.verify(_mockGraphService, Mockito.times(1)).removeEdgesFromNode(
         Mockito.eq(downstreamUrn),
         Mockito.eq(new ArrayList<>(Collections.singleton(DOWNSTREAM_OF))),
@@ -146,7 +147,7 @@ public class UpdateIndicesHookTest {
     Urn downstreamUrn = UrnUtils.getUrn(String.format("urn:li:schemaField:(%s,%s)", TEST_CHART_URN, downstreamFieldPath));
 
     Edge edge = new Edge(downstreamUrn, upstreamUrn, DOWNSTREAM_OF, null, null, null, null, null);
-    Mockito.verify(_mockGraphService, Mockito.times(1)).addEdge(Mockito.eq(edge));
+    Mockito.verify(_mockGraphService, Mockito.times(1)).addEdges(Mockito.eq(Collections.singletonList(edge)));
     Mockito.verify(_mockGraphService, Mockito.times(1)).removeEdgesFromNode(
         Mockito.eq(downstreamUrn),
         Mockito.eq(new ArrayList<>(Collections.singleton(DOWNSTREAM_OF))),
@@ -165,6 +166,13 @@ public class UpdateIndicesHookTest {
     Mockito.when(aspectSpec.getName()).thenReturn(Constants.INPUT_FIELDS_ASPECT_NAME);
     AspectSpec chartKeyAspectSpec = createMockAspectSpec(ChartKey.class, ChartKey.dataSchema());
     Mockito.when(entitySpec.getKeyAspectSpec()).thenReturn(chartKeyAspectSpec);
+    Mockito.when(entitySpec.getName()).thenReturn(Constants.CHART_ENTITY_NAME);
+    Mockito.when(entitySpec.getAspectSpecMap())
+        .thenReturn(Collections.singletonMap(Constants.INPUT_FIELDS_ASPECT_NAME, aspectSpec));
+    Mockito.when(mockEntityRegistry.getEntitySpecs())
+        .thenReturn(Collections.singletonMap(Constants.CHART_ENTITY_NAME, entitySpec));
+    EntityRegistryIndex index = new EntityRegistryIndex(mockEntityRegistry);
+    Mockito.when(mockEntityRegistry.getIndex()).thenReturn(index);
     return mockEntityRegistry;
   }
 
@@ -0,0 +1,134 @@
+package com.linkedin.metadata.kafka.hook.timeline;
+
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.GlobalTags;
+import com.linkedin.common.TagAssociation;
+import com.linkedin.common.TagAssociationArray;
+import com.linkedin.common.urn.TagUrn;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.metadata.models.EntitySpec;
+import com.linkedin.metadata.models.registry.EntityRegistry;
+import com.linkedin.metadata.timeline.data.ChangeCategory;
+import com.linkedin.metadata.timeline.data.ChangeTransaction;
+import com.linkedin.metadata.timeline.materialized.ChangeTransactionService;
+import com.linkedin.metadata.utils.GenericRecordUtils;
+import com.linkedin.mxe.MetadataChangeLog;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static com.linkedin.metadata.Constants.*;
+import static org.testng.Assert.*;
+
+
+public class ChangeTransactionHookTest {
+  private static final Urn TEST_DATASET_URN =
+      UrnUtils.getUrn("urn:li:dataset:(urn:li:dataPlatform:hive,SampleHiveDataset,PROD)");
+  private static final long TEST_TIME = 1000L;
+
+  private ChangeTransactionService _mockService;
+  private ChangeTransactionHook _changeTransactionHook;
+
+  @BeforeMethod
+  public void setupTest() {
+    _mockService = Mockito.mock(ChangeTransactionService.class);
+    EntitySpec entitySpec = Mockito.mock(EntitySpec.class);
+    Mockito.when(entitySpec.getKeyAspectName()).thenReturn(DATASET_KEY_ASPECT_NAME);
+    EntityRegistry entityRegistry = Mockito.mock(EntityRegistry.class);
+    Mockito.when(entityRegistry.getEntitySpec(DATASET_ENTITY_NAME)).thenReturn(entitySpec);
+    _changeTransactionHook = new ChangeTransactionHook(_mockService, entityRegistry);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testInvokeAddedTag() throws Exception {
+    MetadataChangeLog event = createEvent(ChangeType.UPSERT);
+    event.setPreviousAspectValue(GenericRecordUtils.serializeAspect(createTags()));
+    event.setAspect(GenericRecordUtils.serializeAspect(createTags("pii")));
+    _changeTransactionHook.invoke(event);
+
+    ArgumentCaptor<Map<ChangeCategory, List<ChangeTransaction>>> changesCaptor = ArgumentCaptor.forClass(Map.class);
+    Mockito.verify(_mockService, Mockito.times(1))
+        .appendChanges(Mockito.eq(TEST_DATASET_URN), Mockito.eq(GLOBAL_TAGS_ASPECT_NAME), Mockito.eq(TEST_TIME),
+            changesCaptor.capture());
+    List<ChangeTransaction> tagTransactions = changesCaptor.getValue().get(ChangeCategory.TAG);
+    assertEquals(tagTransactions.size(), 1);
+    assertEquals(tagTransactions.get(0).getChangeEvents().size(), 1);
+  }
+
+  @Test
+  public void testInvokeUnchangedTagsSkipped() throws Exception {
+    MetadataChangeLog event = createEvent(ChangeType.UPSERT);
+    event.setPreviousAspectValue(GenericRecordUtils.serializeAspect(createTags("pii")));
+    event.setAspect(GenericRecordUtils.serializeAspect(createTags("pii")));
+    _changeTransactionHook.invoke(event);
+    Mockito.verifyZeroInteractions(_mockService);
+  }
+
+  @Test
+  public void testInvokeRestateSkipped() throws Exception {
+    MetadataChangeLog event = createEvent(ChangeType.RESTATE);
+    event.setAspect(GenericRecordUtils.serializeAspect(createTags("pii")));
+    _changeTransactionHook.invoke(event);
+    Mockito.verifyZeroInteractions(_mockService);
+  }
+
+  @Test
+  public void testInvokeUnsupportedAspectSkipped() throws Exception {
+    MetadataChangeLog event = createEvent(ChangeType.UPSERT);
+    event.setAspectName(STATUS_ASPECT_NAME);
+    event.setAspect(GenericRecordUtils.serializeAspect(createTags("pii")));
+    _changeTransactionHook.invoke(event);
+    Mockito.verifyZeroInteractions(_mockService);
+  }
+
+  @Test
+  public void testInvokeRollbackDeletesRolledBackChanges() throws Exception {
+    MetadataChangeLog event = createEvent(ChangeType.UPSERT);
+    event.setPreviousAspectValue(GenericRecordUtils.serializeAspect(createTags("pii")));
+    event.setAspect(GenericRecordUtils.serializeAspect(createTags()));
+    _changeTransactionHook.invoke(event, Collections.singletonMap(ROLLBACK_RESTORED_CREATED_ON, "500"));
+
+    Mockito.verify(_mockService, Mockito.times(1)).deleteChanges(TEST_DATASET_URN, GLOBAL_TAGS_ASPECT_NAME, 500L);
+    Mockito.verify(_mockService, Mockito.never())
+        .appendChanges(Mockito.any(), Mockito.any(), Mockito.anyLong(), Mockito.any());
+  }
+
+  @Test
+  public void testInvokeDeleteDeletesChanges() throws Exception {
+    MetadataChangeLog event = createEvent(ChangeType.DELETE);
+    event.setPreviousAspectValue(GenericRecordUtils.serializeAspect(createTags("pii")));
+    _changeTransactionHook.invoke(event);
+    Mockito.verify(_mockService, Mockito.times(1))
+        .deleteChanges(TEST_DATASET_URN, GLOBAL_TAGS_ASPECT_NAME, Long.MIN_VALUE);
+
+    MetadataChangeLog keyEvent = createEvent(ChangeType.DELETE);
+    keyEvent.setAspectName(DATASET_KEY_ASPECT_NAME);
+    _changeTransactionHook.invoke(keyEvent);
+    Mockito.verify(_mockService, Mockito.times(1)).deleteChanges(TEST_DATASET_URN, null, Long.MIN_VALUE);
+  }
+
+  private static MetadataChangeLog createEvent(ChangeType changeType) {
+    MetadataChangeLog event = new MetadataChangeLog();
+    event.setEntityType(DATASET_ENTITY_NAME);
+    event.setEntityUrn(TEST_DATASET_URN);
+    event.setAspectName(GLOBAL_TAGS_ASPECT_NAME);
+    event.setChangeType(changeType);
+    event.setCreated(new AuditStamp().setActor(UrnUtils.getUrn(SYSTEM_ACTOR)).setTime(TEST_TIME));
+    return event;
+  }
+
+  private static GlobalTags createTags(String... tags) {
+    TagAssociationArray associations = new TagAssociationArray();
+    for (String tag : tags) {
+      associations.add(new TagAssociation().setTag(new TagUrn(tag)));
+    }
+    return new GlobalTags().setTags(associations);
+  }
+}
@@ -13,4 +13,28 @@ public class DefaultAuthorizerConfiguration {
    * The duration between policies cache refreshes.
    */
   private int cacheRefreshIntervalSecs;
+  /**
+   * How long the group and role membership of an actor is cached for.
+   */
+  private int actorCacheTtlSecs;
+  /**
+   * The maximum number of actors whose group and role membership is cached.
+   */
+  private int actorCacheMaxSize;
+  /**
+   * How long resolved resource fields (owners, domains) are cached for.
+   */
+  private int resourceCacheTtlSecs;
+  /**
+   * The maximum number of resolved resource fields cached.
+   */
+  private int resourceCacheMaxSize;
+  /**
+   * Whether cached authorization state is invalidated by consuming the MetadataChangeLog.
+   */
+  private boolean cacheInvalidationEnabled;
+  /**
+   * The duration between full policies cache refreshes when cache invalidation is enabled.
+   */
+  private int cacheFullRefreshIntervalSecs;
 }
@@ -0,0 +1,141 @@
+package com.datahub.authorization;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.datahub.authentication.Authentication;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.entity.EntityResponse;
+import com.linkedin.entity.EnvelopedAspectMap;
+import com.linkedin.entity.client.EntityClient;
+import com.linkedin.identity.GroupMembership;
+import com.linkedin.identity.NativeGroupMembership;
+import com.linkedin.identity.RoleMembership;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import static com.linkedin.metadata.Constants.*;
+
+
+/**
+ * A bounded cache of the groups and roles that an actor is a member of, shared across authorization requests.
+ *
+ * Entries are loaded with a single batch get of the actor's membership aspects, expire after a fixed TTL, and are
+ * invalidated eagerly when a change to one of the membership aspects is observed (see
+ * {@link DataHubAuthorizer#invalidate(com.linkedin.mxe.MetadataChangeLog)}).
+ */
+@Slf4j
+public class ActorMembershipCache {
+
+  /**
+   * The corpUser aspects from which group and role membership is derived.
+   */
+  public static final Set<String> MEMBERSHIP_ASPECTS = ImmutableSet.of(
+      GROUP_MEMBERSHIP_ASPECT_NAME,
+      NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME,
+      ROLE_MEMBERSHIP_ASPECT_NAME);
+
+  private final Authentication _systemAuthentication;
+  private final EntityClient _entityClient;
+  private final Cache<Urn, ActorMembership> _cache;
+
+  public ActorMembershipCache(
+      @Nonnull final Authentication systemAuthentication,
+      @Nonnull final EntityClient entityClient,
+      final long ttlSeconds,
+      final long maxSize) {
+    _systemAuthentication = systemAuthentication;
+    _entityClient = entityClient;
+    _cache = CacheBuilder.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+        .recordStats()
+        .build();
+    MetricUtils.get().gauge(MetricRegistry.name(ActorMembershipCache.class, "hitRate"),
+        () -> (Gauge<Double>) () -> _cache.stats().hitRate());
+  }
+
+  /**
+   * Returns the groups and roles of an actor, fetching them if they are not cached.
+   *
+   * @throws RuntimeException if the membership aspects could not be fetched. Failures are not cached.
+   */
+  @Nonnull
+  public ActorMembership getMembership(@Nonnull final Urn actor) {
+    final ActorMembership cached = _cache.getIfPresent(actor);
+    if (cached != null) {
+      MetricUtils.counter(this.getClass(), "hit").inc();
+      return cached;
+    }
+    MetricUtils.counter(this.getClass(), "miss").inc();
+    try {
+      return _cache.get(actor, () -> fetchMembership(actor));
+    } catch (ExecutionException e) {
+      throw new RuntimeException(String.format("Failed to fetch %s for urn %s", MEMBERSHIP_ASPECTS, actor), e.getCause());
+    }
+  }
+
+  /**
+   * Removes the cached membership of an actor, e.g. because one of its membership aspects changed.
+   */
+  public void invalidate(@Nonnull final Urn actor) {
+    MetricUtils.counter(this.getClass(), "invalidate").inc();
+    _cache.invalidate(actor);
+  }
+
+  public void invalidateAll() {
+    _cache.invalidateAll();
+  }
+
+  @VisibleForTesting
+  long size() {
+    return _cache.size();
+  }
+
+  private ActorMembership fetchMembership(final Urn actor) throws Exception {
+    final EntityResponse corpUser = _entityClient.batchGetV2(CORP_USER_ENTITY_NAME, Collections.singleton(actor),
+        MEMBERSHIP_ASPECTS, _systemAuthentication).get(actor);
+    if (corpUser == null || !corpUser.hasAspects()) {
+      return new ActorMembership(Collections.emptySet(), Collections.emptySet());
+    }
+    final EnvelopedAspectMap aspectMap = corpUser.getAspects();
+
+    final Set<Urn> groups = new HashSet<>();
+    if (aspectMap.containsKey(GROUP_MEMBERSHIP_ASPECT_NAME)) {
+      groups.addAll(new GroupMembership(aspectMap.get(GROUP_MEMBERSHIP_ASPECT_NAME).getValue().data()).getGroups());
+    }
+    if (aspectMap.containsKey(NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME)) {
+      groups.addAll(new NativeGroupMembership(aspectMap.get(NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME).getValue().data())
+          .getNativeGroups());
+    }
+
+    final Set<Urn> roles = new HashSet<>();
+    if (aspectMap.containsKey(ROLE_MEMBERSHIP_ASPECT_NAME)) {
+      final RoleMembership roleMembership =
+          new RoleMembership(aspectMap.get(ROLE_MEMBERSHIP_ASPECT_NAME).getValue().data());
+      if (roleMembership.hasRoles()) {
+        roles.addAll(roleMembership.getRoles());
+      }
+    }
+    return new ActorMembership(Collections.unmodifiableSet(groups), Collections.unmodifiableSet(roles));
+  }
+
+  /**
+   * The groups (including native groups) and roles an actor belongs to.
+   */
+  @Value
+  public static class ActorMembership {
+    Set<Urn> groups;
+    Set<Urn> roles;
+  }
+}
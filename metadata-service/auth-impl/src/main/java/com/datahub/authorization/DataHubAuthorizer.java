@@ -6,8 +6,12 @@ import com.google.common.annotations.VisibleForTesting;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.entity.client.EntityClient;
+import com.linkedin.events.metadata.ChangeType;
 import com.linkedin.metadata.authorization.PoliciesConfig;
+import com.linkedin.metadata.utils.GenericRecordUtils;
+import com.linkedin.mxe.MetadataChangeLog;
 import com.linkedin.policy.DataHubPolicyInfo;
+import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -18,9 +22,12 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import static com.linkedin.metadata.Constants.*;
+
 
 /**
  * The Authorizer is a singleton class responsible for authorizing
@@ -48,13 +55,14 @@ public class DataHubAuthorizer implements Authorizer {
   // Credentials used to make / authorize requests as the internal system actor.
   private final Authentication _systemAuthentication;
 
-  // Maps privilege name to the associated set of policies for fast access.
-  // Not concurrent data structure because writes are always against the entire thing.
-  private final Map<String, List<DataHubPolicyInfo>> _policyCache = new HashMap<>(); // Shared Policy Cache.
+  // Immutable index of the policies for fast access. Replaced copy-on-write on each change.
+  private final PolicyCache _policyCache = new PolicyCache(); // Shared Policy Cache.
 
   private final ScheduledExecutorService _refreshExecutorService = Executors.newScheduledThreadPool(1);
   private final PolicyRefreshRunnable _policyRefreshRunnable;
   private final PolicyEngine _policyEngine;
+  @Nullable
+  private final ActorMembershipCache _actorMembershipCache;
   private ResourceSpecResolver _resourceSpecResolver;
   private AuthorizationMode _mode;
 
@@ -66,9 +74,20 @@ public class DataHubAuthorizer implements Authorizer {
       final int delayIntervalSeconds,
       final int refreshIntervalSeconds,
       final AuthorizationMode mode) {
+    this(systemAuthentication, entityClient, delayIntervalSeconds, refreshIntervalSeconds, mode, null);
+  }
+
+  public DataHubAuthorizer(
+      final Authentication systemAuthentication,
+      final EntityClient entityClient,
+      final int delayIntervalSeconds,
+      final int refreshIntervalSeconds,
+      final AuthorizationMode mode,
+      @Nullable final ActorMembershipCache actorMembershipCache) {
     _systemAuthentication = Objects.requireNonNull(systemAuthentication);
     _mode = Objects.requireNonNull(mode);
-    _policyEngine = new PolicyEngine(systemAuthentication, Objects.requireNonNull(entityClient));
+    _actorMembershipCache = actorMembershipCache;
+    _policyEngine = new PolicyEngine(systemAuthentication, Objects.requireNonNull(entityClient), actorMembershipCache);
     _policyRefreshRunnable = new PolicyRefreshRunnable(systemAuthentication, new PolicyFetcher(entityClient), _policyCache);
     _refreshExecutorService.scheduleAtFixedRate(_policyRefreshRunnable, delayIntervalSeconds, refreshIntervalSeconds, TimeUnit.SECONDS);
   }
@@ -86,17 +105,36 @@ public class DataHubAuthorizer implements Authorizer {
       return new AuthorizationResult(request, AuthorizationResult.Type.ALLOW, null);
     }
 
-    Optional<ResolvedResourceSpec> resolvedResourceSpec = request.getResourceSpec().map(_resourceSpecResolver::resolve);
+    if (AuthorizationMode.ALLOW_ALL.equals(mode())) {
+      return new AuthorizationResult(request, AuthorizationResult.Type.ALLOW, null);
+    }
+
+    final Urn actor;
+    try {
+      // Currently Actor must be an urn. Consider whether this contract should be pushed up.
+      actor = Urn.createFromString(request.getActorUrn());
+    } catch (URISyntaxException e) {
+      log.error(String.format("Failed to bind actor %s to an URN. Actors must be URNs. Denying the authorization request",
+          request.getActorUrn()));
+      return new AuthorizationResult(request, AuthorizationResult.Type.DENY, null);
+    }
+
+    // 1. Fetch the candidate policies relevant to the requested privilege, actor and resource.
+    final List<IndexedPolicy> policiesToEvaluate =
+        _policyCache.get().getCandidatePolicies(request.getPrivilege(), actor, request.getResourceSpec());
+    if (policiesToEvaluate.isEmpty()) {
+      return new AuthorizationResult(request, AuthorizationResult.Type.DENY, null);
+    }
 
-    // 1. Fetch the policies relevant to the requested privilege.
-    final List<DataHubPolicyInfo> policiesToEvaluate = _policyCache.getOrDefault(request.getPrivilege(), new ArrayList<>());
+    Optional<ResolvedResourceSpec> resolvedResourceSpec = request.getResourceSpec().map(_resourceSpecResolver::resolve);
 
-    // 2. Evaluate each policy.
-    for (DataHubPolicyInfo policy : policiesToEvaluate) {
-      if (isRequestGranted(policy, request, resolvedResourceSpec)) {
+    // 2. Evaluate each policy, sharing resolved group and role memberships across policies.
+    final PolicyEngine.PolicyEvaluationContext context = new PolicyEngine.PolicyEvaluationContext();
+    for (IndexedPolicy policy : policiesToEvaluate) {
+      if (isRequestGranted(policy, actor, request, resolvedResourceSpec, context)) {
         // Short circuit if policy has granted privileges to this actor.
         return new AuthorizationResult(request, AuthorizationResult.Type.ALLOW,
-            String.format("Granted by policy with type: %s", policy.getType()));
+            String.format("Granted by policy with type: %s", policy.getPolicy().getType()));
       }
     }
     return new AuthorizationResult(request, AuthorizationResult.Type.DENY,  null);
@@ -105,7 +143,7 @@ public class DataHubAuthorizer implements Authorizer {
   public List<String> getGrantedPrivileges(final String actorUrn, final Optional<ResourceSpec> resourceSpec) {
 
     // 1. Fetch all policies
-    final List<DataHubPolicyInfo> policiesToEvaluate = _policyCache.getOrDefault(ALL, new ArrayList<>());
+    final PolicyIndex policiesToEvaluate = _policyCache.get();
 
     Optional<ResolvedResourceSpec> resolvedResourceSpec = resourceSpec.map(_resourceSpecResolver::resolve);
 
@@ -120,7 +158,7 @@ public class DataHubAuthorizer implements Authorizer {
       final String privilege,
       final Optional<ResourceSpec> resourceSpec) {
     // Step 1: Find policies granting the privilege.
-    final List<DataHubPolicyInfo> policiesToEvaluate = _policyCache.getOrDefault(privilege, new ArrayList<>());
+    final List<IndexedPolicy> policiesToEvaluate = _policyCache.get().getPolicies(privilege);
 
     Optional<ResolvedResourceSpec> resolvedResourceSpec = resourceSpec.map(_resourceSpecResolver::resolve);
 
@@ -130,8 +168,8 @@ public class DataHubAuthorizer implements Authorizer {
     boolean allGroups = false;
 
     // Step 2: For each policy, determine whether the resource is a match.
-    for (DataHubPolicyInfo policy : policiesToEvaluate) {
-      if (!PoliciesConfig.ACTIVE_POLICY_STATE.equals(policy.getState())) {
+    for (IndexedPolicy policy : policiesToEvaluate) {
+      if (!PoliciesConfig.ACTIVE_POLICY_STATE.equals(policy.getPolicy().getState())) {
         // Policy is not active, skip.
         continue;
       }
@@ -154,13 +192,77 @@ public class DataHubAuthorizer implements Authorizer {
   }
 
   /**
-   * Invalidates the policy cache and fires off a refresh thread. Should be invoked
-   * when a policy is created, modified, or deleted.
+   * Invalidates the policy cache and fires off a refresh thread, which reloads all policies.
+   * Prefer {@link #updatePolicy} or {@link #removePolicy} when the changed policy is known.
    */
   public void invalidateCache() {
     _refreshExecutorService.execute(_policyRefreshRunnable);
   }
 
+  /**
+   * Adds or replaces a single policy in the policy cache, without reloading the other policies. Should be invoked
+   * when a policy is created or modified.
+   */
+  public void updatePolicy(@Nonnull final Urn policyUrn, @Nonnull final DataHubPolicyInfo policyInfo) {
+    _policyCache.upsertPolicy(policyUrn, policyInfo);
+  }
+
+  /**
+   * Removes a single policy from the policy cache. Should be invoked when a policy is deleted.
+   */
+  public void removePolicy(@Nonnull final Urn policyUrn) {
+    _policyCache.removePolicy(policyUrn);
+  }
+
+  /**
+   * Invalidates any cached authorization state derived from the aspect changed by a {@link MetadataChangeLog}.
+   * Should be invoked for every change log observed by this instance.
+   */
+  public void invalidate(@Nonnull final MetadataChangeLog event) {
+    if (!event.hasEntityUrn() || !event.hasAspectName()) {
+      return;
+    }
+    if (POLICY_ENTITY_NAME.equals(event.getEntityType())) {
+      applyPolicyChange(event);
+      return;
+    }
+    if (_actorMembershipCache != null
+        && CORP_USER_ENTITY_NAME.equals(event.getEntityType())
+        && (ActorMembershipCache.MEMBERSHIP_ASPECTS.contains(event.getAspectName())
+            || CORP_USER_KEY_ASPECT_NAME.equals(event.getAspectName()))) {
+      _actorMembershipCache.invalidate(event.getEntityUrn());
+    }
+  }
+
+  /**
+   * Applies a change to a policy's info or key aspect to the policy cache.
+   */
+  private void applyPolicyChange(@Nonnull final MetadataChangeLog event) {
+    final String aspectName = event.getAspectName();
+    if (!DATAHUB_POLICY_INFO_ASPECT_NAME.equals(aspectName) && !DATAHUB_POLICY_KEY_ASPECT_NAME.equals(aspectName)) {
+      return;
+    }
+    if (ChangeType.DELETE.equals(event.getChangeType())) {
+      removePolicy(event.getEntityUrn());
+      return;
+    }
+    if (!DATAHUB_POLICY_INFO_ASPECT_NAME.equals(aspectName)) {
+      // Creating the key alone does not grant anything; the policy is added once its info is written.
+      return;
+    }
+    if (!event.hasAspect()) {
+      // Should not happen, but fall back to reloading all policies rather than missing the change.
+      log.warn("Received policy change log for {} without an aspect. Reloading all policies.", event.getEntityUrn());
+      invalidateCache();
+      return;
+    }
+    final DataHubPolicyInfo policyInfo = GenericRecordUtils.deserializeAspect(
+        event.getAspect().getValue(),
+        event.getAspect().getContentType(),
+        DataHubPolicyInfo.class);
+    updatePolicy(event.getEntityUrn(), policyInfo);
+  }
+
   public AuthorizationMode mode() {
     return _mode;
   }
@@ -180,24 +282,29 @@ public class DataHubAuthorizer implements Authorizer {
   /**
    * Returns true if a policy grants the requested privilege for a given actor and resource.
    */
-  private boolean isRequestGranted(final DataHubPolicyInfo policy, final AuthorizationRequest request, final Optional<ResolvedResourceSpec> resourceSpec) {
-    if (AuthorizationMode.ALLOW_ALL.equals(mode())) {
-      return true;
-    }
+  private boolean isRequestGranted(final IndexedPolicy policy, final Urn actor, final AuthorizationRequest request,
+      final Optional<ResolvedResourceSpec> resourceSpec, final PolicyEngine.PolicyEvaluationContext context) {
     final PolicyEngine.PolicyEvaluationResult result = _policyEngine.evaluatePolicy(
         policy,
-        request.getActorUrn(),
+        actor,
         request.getPrivilege(),
-        resourceSpec
+        resourceSpec,
+        context
     );
     return result.isGranted();
   }
 
+  @VisibleForTesting
+  PolicyIndex getPolicyIndex() {
+    return _policyCache.get();
+  }
+
   /**
    * A {@link Runnable} used to periodically fetch a new instance of the policies Cache.
    *
-   * Currently, the refresh logic is not very smart. When the cache is invalidated, we simply re-fetch the
-   * entire cache using Policies stored in the backend.
+   * This re-fetches every policy stored in the backend, indexes them and swaps the new index in atomically. Individual
+   * policy changes are normally applied incrementally via {@link #invalidate(MetadataChangeLog)}, so the periodic
+   * reload only acts as a safety net for missed changes.
    */
   @VisibleForTesting
   @RequiredArgsConstructor
@@ -205,13 +312,14 @@ public class DataHubAuthorizer implements Authorizer {
 
     private final Authentication _systemAuthentication;
     private final PolicyFetcher _policyFetcher;
-    private final Map<String, List<DataHubPolicyInfo>> _policyCache;
+    private final PolicyCache _policyCache;
 
     @Override
     public void run() {
+      _policyCache.beginReload();
       try {
         // Populate new cache and swap.
-        Map<String, List<DataHubPolicyInfo>> newCache = new HashMap<>();
+        final Map<Urn, DataHubPolicyInfo> policies = new HashMap<>();
 
         int start = 0;
         int count = 30;
@@ -222,41 +330,23 @@ public class DataHubAuthorizer implements Authorizer {
             final PolicyFetcher.PolicyFetchResult
                 policyFetchResult = _policyFetcher.fetchPolicies(start, count, _systemAuthentication);
 
-            addPoliciesToCache(newCache, policyFetchResult.getPolicies());
+            policyFetchResult.getPolicies().forEach(policy -> policies.put(policy.getUrn(), policy.getPolicyInfo()));
 
             total = policyFetchResult.getTotal();
             start = start + count;
           } catch (Exception e) {
             log.error(
                 "Failed to retrieve policy urns! Skipping updating policy cache until next refresh. start: {}, count: {}", start, count, e);
+            _policyCache.abortReload();
             return;
           }
-          synchronized (_policyCache) {
-            _policyCache.clear();
-            _policyCache.putAll(newCache);
-          }
         }
+        _policyCache.completeReload(policies);
         log.debug(String.format("Successfully fetched %s policies.", total));
       } catch (Exception e) {
+        _policyCache.abortReload();
         log.error("Caught exception while loading Policy cache. Will retry on next scheduled attempt.", e);
       }
     }
-
-    private void addPoliciesToCache(final Map<String, List<DataHubPolicyInfo>> cache,
-        final List<PolicyFetcher.Policy> policies) {
-      policies.forEach(policy -> addPolicyToCache(cache, policy.getPolicyInfo()));
-    }
-
-    private void addPolicyToCache(final Map<String, List<DataHubPolicyInfo>> cache, final DataHubPolicyInfo policy) {
-      final List<String> privileges = policy.getPrivileges();
-      for (String privilege : privileges) {
-        List<DataHubPolicyInfo> existingPolicies = cache.getOrDefault(privilege, new ArrayList<>());
-        existingPolicies.add(policy);
-        cache.put(privilege, existingPolicies);
-      }
-      List<DataHubPolicyInfo> existingPolicies = cache.getOrDefault(ALL, new ArrayList<>());
-      existingPolicies.add(policy);
-      cache.put(ALL, existingPolicies);
-    }
   }
 }
@@ -8,19 +8,32 @@ import com.datahub.authorization.fieldresolverprovider.EntityUrnFieldResolverPro
 import com.datahub.authorization.fieldresolverprovider.ResourceFieldResolverProvider;
 import com.google.common.collect.ImmutableList;
 import com.linkedin.entity.client.EntityClient;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 
 public class DefaultResourceSpecResolver implements ResourceSpecResolver {
+  // Providers whose values are derived from the resource spec itself, and are therefore never cached.
   private final List<ResourceFieldResolverProvider> _resourceFieldResolverProviders;
+  // Providers which fetch values from the entity client.
+  private final List<ResourceFieldResolverProvider> _remoteFieldResolverProviders;
+  @Nullable
+  private final ResourceFieldCache _resourceFieldCache;
 
   public DefaultResourceSpecResolver(Authentication systemAuthentication, EntityClient entityClient) {
+    this(systemAuthentication, entityClient, null);
+  }
+
+  public DefaultResourceSpecResolver(Authentication systemAuthentication, EntityClient entityClient,
+      @Nullable ResourceFieldCache resourceFieldCache) {
     _resourceFieldResolverProviders =
-        ImmutableList.of(new EntityTypeFieldResolverProvider(), new EntityUrnFieldResolverProvider(),
-            new DomainFieldResolverProvider(entityClient, systemAuthentication),
+        ImmutableList.of(new EntityTypeFieldResolverProvider(), new EntityUrnFieldResolverProvider());
+    _remoteFieldResolverProviders =
+        ImmutableList.of(new DomainFieldResolverProvider(entityClient, systemAuthentication),
             new OwnerFieldResolverProvider(entityClient, systemAuthentication));
+    _resourceFieldCache = resourceFieldCache;
   }
 
   @Override
@@ -29,8 +42,13 @@ public class DefaultResourceSpecResolver implements ResourceSpecResolver {
   }
 
   private Map<ResourceFieldType, FieldResolver> getFieldResolvers(ResourceSpec resourceSpec) {
-    return _resourceFieldResolverProviders.stream()
-        .collect(Collectors.toMap(ResourceFieldResolverProvider::getFieldType,
-            hydrator -> hydrator.getFieldResolver(resourceSpec)));
+    final Map<ResourceFieldType, FieldResolver> fieldResolvers = new HashMap<>();
+    _resourceFieldResolverProviders.forEach(
+        hydrator -> fieldResolvers.put(hydrator.getFieldType(), hydrator.getFieldResolver(resourceSpec)));
+    _remoteFieldResolverProviders.forEach(hydrator -> fieldResolvers.put(hydrator.getFieldType(),
+        _resourceFieldCache != null
+            ? _resourceFieldCache.getFieldResolver(hydrator, resourceSpec)
+            : hydrator.getFieldResolver(resourceSpec)));
+    return fieldResolvers;
   }
 }
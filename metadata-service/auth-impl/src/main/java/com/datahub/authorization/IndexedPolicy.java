@@ -0,0 +1,167 @@
+package com.datahub.authorization;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.metadata.authorization.PoliciesConfig;
+import com.linkedin.policy.DataHubActorFilter;
+import com.linkedin.policy.DataHubPolicyInfo;
+import com.linkedin.policy.DataHubResourceFilter;
+import com.linkedin.policy.PolicyMatchCondition;
+import com.linkedin.policy.PolicyMatchCriterion;
+import com.linkedin.policy.PolicyMatchCriterionArray;
+import com.linkedin.policy.PolicyMatchFilter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Getter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * A {@link DataHubPolicyInfo} that has been pre-processed for repeated evaluation.
+ *
+ * The resource filter is normalized into a {@link PolicyMatchFilter} once (including the legacy type / resources
+ * fields), criteria field names are parsed into {@link ResourceFieldType}s, and actor urns are placed in hash sets so
+ * that evaluating the policy does not need to re-parse or linearly scan the raw policy.
+ */
+@Slf4j
+@Getter
+public class IndexedPolicy {
+
+  private final DataHubPolicyInfo policy;
+  private final boolean active;
+  private final boolean platformPolicy;
+  private final Set<String> privileges;
+
+  // Null if the policy has no resource filter.
+  @Nullable
+  private final List<IndexedCriterion> criteria;
+
+  private final boolean allUsers;
+  private final boolean allGroups;
+  private final boolean resourceOwners;
+  private final Set<Urn> users;
+  private final Set<Urn> groups;
+  private final Set<Urn> roles;
+
+  private IndexedPolicy(@Nonnull final DataHubPolicyInfo policy) {
+    this.policy = policy;
+    this.active = !PoliciesConfig.INACTIVE_POLICY_STATE.equals(policy.getState());
+    this.platformPolicy = PoliciesConfig.PLATFORM_POLICY_TYPE.equals(policy.getType());
+    this.privileges = ImmutableSet.copyOf(policy.getPrivileges());
+    this.criteria = policy.getResources() == null ? null : indexCriteria(getFilter(policy.getResources()));
+
+    final DataHubActorFilter actorFilter = policy.getActors();
+    this.allUsers = actorFilter.isAllUsers();
+    this.allGroups = actorFilter.isAllGroups();
+    this.resourceOwners = actorFilter.isResourceOwners();
+    this.users = actorFilter.hasUsers() ? ImmutableSet.copyOf(actorFilter.getUsers()) : Collections.emptySet();
+    this.groups = actorFilter.hasGroups() ? ImmutableSet.copyOf(actorFilter.getGroups()) : Collections.emptySet();
+    this.roles = actorFilter.hasRoles() ? ImmutableSet.copyOf(actorFilter.getRoles()) : Collections.emptySet();
+  }
+
+  public static IndexedPolicy of(@Nonnull final DataHubPolicyInfo policy) {
+    return new IndexedPolicy(policy);
+  }
+
+  /**
+   * Returns true if the policy only grants access to actors listed explicitly by urn, meaning that group, role and
+   * ownership resolution can never make it match.
+   */
+  public boolean isUsersOnly() {
+    return !allUsers && !allGroups && !resourceOwners && groups.isEmpty() && roles.isEmpty();
+  }
+
+  /**
+   * Returns the values of the EQUALS criterion on the given field, or null if the filter does not constrain the field.
+   * Because all criteria of a filter must match, a resource can only match the policy if its value for the field is one
+   * of the returned values.
+   */
+  @Nullable
+  Set<String> getRequiredValues(@Nonnull final ResourceFieldType fieldType) {
+    if (criteria == null) {
+      return null;
+    }
+    for (IndexedCriterion criterion : criteria) {
+      if (criterion.getFieldType() == fieldType && criterion.getCondition() == PolicyMatchCondition.EQUALS) {
+        return criterion.getValues();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Get filter object from policy resource filter. Make sure it is backward compatible by constructing PolicyMatchFilter object
+   * from other fields if the filter field is not set
+   */
+  static PolicyMatchFilter getFilter(DataHubResourceFilter policyResourceFilter) {
+    if (policyResourceFilter.hasFilter()) {
+      return policyResourceFilter.getFilter();
+    }
+    PolicyMatchCriterionArray criteria = new PolicyMatchCriterionArray();
+    if (policyResourceFilter.hasType()) {
+      criteria.add(new PolicyMatchCriterion().setField(ResourceFieldType.RESOURCE_TYPE.name())
+          .setValues(new StringArray(Collections.singletonList(policyResourceFilter.getType()))));
+    }
+    if (policyResourceFilter.hasType() && policyResourceFilter.hasResources()
+        && !policyResourceFilter.isAllResources()) {
+      criteria.add(
+          new PolicyMatchCriterion().setField(ResourceFieldType.RESOURCE_URN.name()).setValues(policyResourceFilter.getResources()));
+    }
+    return new PolicyMatchFilter().setCriteria(criteria);
+  }
+
+  /**
+   * Parses the criteria of a filter, ordering them so that criteria which can be checked against the resource spec
+   * alone (type, urn) are evaluated before those requiring a fetch (owners, domains). Since all criteria must match,
+   * this avoids fetching fields for resources that are already excluded by a cheaper criterion.
+   */
+  private static List<IndexedCriterion> indexCriteria(final PolicyMatchFilter filter) {
+    final List<IndexedCriterion> criteria = new ArrayList<>();
+    for (PolicyMatchCriterion criterion : filter.getCriteria()) {
+      ResourceFieldType fieldType;
+      try {
+        fieldType = ResourceFieldType.valueOf(criterion.getField().toUpperCase());
+      } catch (IllegalArgumentException e) {
+        log.error("Unsupported field type {}", criterion.getField());
+        fieldType = null;
+      }
+      criteria.add(new IndexedCriterion(fieldType, criterion.getCondition(), ImmutableSet.copyOf(criterion.getValues())));
+    }
+    criteria.sort(Comparator.comparingInt(criterion -> evaluationCost(criterion.getFieldType())));
+    return ImmutableList.copyOf(criteria);
+  }
+
+  private static int evaluationCost(@Nullable final ResourceFieldType fieldType) {
+    if (fieldType == null) {
+      // Unsupported fields never match, so they are the cheapest to evaluate.
+      return 0;
+    }
+    switch (fieldType) {
+      case RESOURCE_TYPE:
+      case RESOURCE_URN:
+        return 1;
+      default:
+        return 2;
+    }
+  }
+
+  /**
+   * A single resource filter criterion with its field type pre-parsed. A null field type marks an unsupported field,
+   * which never matches.
+   */
+  @Value
+  static class IndexedCriterion {
+    @Nullable
+    ResourceFieldType fieldType;
+    PolicyMatchCondition condition;
+    Set<String> values;
+  }
+}
@@ -0,0 +1,146 @@
+package com.datahub.authorization;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.policy.DataHubPolicyInfo;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import javax.annotation.Nonnull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Holds the {@link PolicyIndex} used by the {@link DataHubAuthorizer}.
+ *
+ * Readers always see a complete, immutable index. Writers replace it copy-on-write, either with the result of a full
+ * reload of all policies, or by applying the change to a single policy (typically observed via a MetadataChangeLog).
+ *
+ * A full reload reads policies from the search index, which may lag behind the single policy changes, both the ones
+ * applied while it is in flight and the ones applied shortly before it began. Single policy changes are therefore kept
+ * in a timestamped changelog, and the ones received since the reload began, minus the lag the index may have, are
+ * replayed on top of the reloaded policies before swapping them in, so that a reload never reverts a newer change.
+ */
+@Slf4j
+class PolicyCache {
+
+  // How long a change may take to reach the search index read by full reloads.
+  private static final long DEFAULT_INDEX_LAG_MS = TimeUnit.MINUTES.toMillis(5);
+
+  private final AtomicReference<PolicyIndex> _policyIndex = new AtomicReference<>(PolicyIndex.EMPTY);
+  private final Object _writeLock = new Object();
+  private final long _indexLagMs;
+  private final LongSupplier _clock;
+
+  // The last change to each policy received within the index lag, in order of arrival. An empty policy marks a removed
+  // policy.
+  private final LinkedHashMap<Urn, PolicyChange> _changeLog = new LinkedHashMap<>();
+  // When the in-flight full reload began, or null if no reload is in flight.
+  private Long _reloadStartMs;
+
+  PolicyCache() {
+    this(DEFAULT_INDEX_LAG_MS, System::currentTimeMillis);
+  }
+
+  @VisibleForTesting
+  PolicyCache(final long indexLagMs, @Nonnull final LongSupplier clock) {
+    _indexLagMs = indexLagMs;
+    _clock = clock;
+  }
+
+  @Nonnull
+  PolicyIndex get() {
+    return _policyIndex.get();
+  }
+
+  /**
+   * Marks the start of a full reload. Must be followed by either {@link #completeReload} or {@link #abortReload}.
+   */
+  void beginReload() {
+    synchronized (_writeLock) {
+      _reloadStartMs = _clock.getAsLong();
+    }
+  }
+
+  /**
+   * Replaces all policies with the reloaded ones, preserving any single policy changes the reload may have missed.
+   */
+  void completeReload(@Nonnull final Map<Urn, DataHubPolicyInfo> policies) {
+    synchronized (_writeLock) {
+      if (_reloadStartMs != null) {
+        pruneChangeLog(_reloadStartMs - _indexLagMs);
+      }
+      final Map<Urn, DataHubPolicyInfo> merged = new LinkedHashMap<>(policies);
+      _changeLog.forEach((urn, change) -> {
+        if (change.getPolicy().isPresent()) {
+          merged.put(urn, change.getPolicy().get());
+        } else {
+          merged.remove(urn);
+        }
+      });
+      _reloadStartMs = null;
+      _policyIndex.set(new PolicyIndex(merged));
+    }
+  }
+
+  /**
+   * Marks a failed full reload, leaving the current policies in place.
+   */
+  void abortReload() {
+    synchronized (_writeLock) {
+      _reloadStartMs = null;
+    }
+  }
+
+  /**
+   * Adds or replaces a single policy.
+   */
+  void upsertPolicy(@Nonnull final Urn urn, @Nonnull final DataHubPolicyInfo policy) {
+    synchronized (_writeLock) {
+      _policyIndex.set(_policyIndex.get().withPolicy(urn, policy));
+      recordChange(urn, Optional.of(policy));
+    }
+    MetricUtils.counter(this.getClass(), "upsert").inc();
+    log.debug("Updated policy {} in the policy cache.", urn);
+  }
+
+  /**
+   * Removes a single policy.
+   */
+  void removePolicy(@Nonnull final Urn urn) {
+    synchronized (_writeLock) {
+      _policyIndex.set(_policyIndex.get().withoutPolicy(urn));
+      recordChange(urn, Optional.empty());
+    }
+    MetricUtils.counter(this.getClass(), "remove").inc();
+    log.debug("Removed policy {} from the policy cache.", urn);
+  }
+
+  private void recordChange(@Nonnull final Urn urn, @Nonnull final Optional<DataHubPolicyInfo> policy) {
+    final long now = _clock.getAsLong();
+    // Re-inserted so that the changelog stays in order of arrival
+    _changeLog.remove(urn);
+    _changeLog.put(urn, new PolicyChange(now, policy));
+    // Changes an in-flight reload may have missed are kept until it completes
+    pruneChangeLog((_reloadStartMs != null ? Math.min(_reloadStartMs, now) : now) - _indexLagMs);
+  }
+
+  private void pruneChangeLog(final long minTimeMs) {
+    final Iterator<PolicyChange> changes = _changeLog.values().iterator();
+    while (changes.hasNext() && changes.next().getTimeMs() < minTimeMs) {
+      changes.remove();
+    }
+  }
+
+  @Value
+  private static class PolicyChange {
+    long timeMs;
+    Optional<DataHubPolicyInfo> policy;
+  }
+}
@@ -4,43 +4,50 @@ import com.datahub.authentication.Authentication;
 import com.google.common.collect.ImmutableSet;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
-import com.linkedin.data.template.StringArray;
 import com.linkedin.entity.EntityResponse;
 import com.linkedin.entity.EnvelopedAspectMap;
 import com.linkedin.entity.client.EntityClient;
 import com.linkedin.identity.GroupMembership;
 import com.linkedin.identity.NativeGroupMembership;
 import com.linkedin.identity.RoleMembership;
-import com.linkedin.metadata.authorization.PoliciesConfig;
 import com.linkedin.policy.DataHubActorFilter;
 import com.linkedin.policy.DataHubPolicyInfo;
-import com.linkedin.policy.DataHubResourceFilter;
 import com.linkedin.policy.PolicyMatchCondition;
-import com.linkedin.policy.PolicyMatchCriterion;
-import com.linkedin.policy.PolicyMatchCriterionArray;
-import com.linkedin.policy.PolicyMatchFilter;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import static com.linkedin.metadata.Constants.*;
 
 
 @Slf4j
-@RequiredArgsConstructor
 public class PolicyEngine {
 
   private final Authentication _systemAuthentication;
   private final EntityClient _entityClient;
+  // Optional cache of actor group and role membership shared across requests.
+  @Nullable
+  private final ActorMembershipCache _actorMembershipCache;
+
+  public PolicyEngine(final Authentication systemAuthentication, final EntityClient entityClient) {
+    this(systemAuthentication, entityClient, null);
+  }
+
+  public PolicyEngine(
+      final Authentication systemAuthentication,
+      final EntityClient entityClient,
+      @Nullable final ActorMembershipCache actorMembershipCache) {
+    _systemAuthentication = systemAuthentication;
+    _entityClient = entityClient;
+    _actorMembershipCache = actorMembershipCache;
+  }
 
   public PolicyEvaluationResult evaluatePolicy(
       final DataHubPolicyInfo policy,
@@ -62,8 +69,19 @@ public class PolicyEngine {
       final Urn actor,
       final String privilege,
       final Optional<ResolvedResourceSpec> resource) {
+    return evaluatePolicy(IndexedPolicy.of(policy), actor, privilege, resource, new PolicyEvaluationContext());
+  }
 
-    final PolicyEvaluationContext context = new PolicyEvaluationContext();
+  /**
+   * Evaluates a pre-indexed policy. The provided context may be shared across the evaluation of multiple policies
+   * for the same actor, so that group and role membership is only resolved once per request.
+   */
+  PolicyEvaluationResult evaluatePolicy(
+      final IndexedPolicy policy,
+      final Urn actor,
+      final String privilege,
+      final Optional<ResolvedResourceSpec> resource,
+      final PolicyEvaluationContext context) {
 
     // If the privilege is not in scope, deny the request.
     if (!isPrivilegeMatch(privilege, policy.getPrivileges(), context)) {
@@ -82,13 +100,19 @@ public class PolicyEngine {
   public PolicyActors getMatchingActors(
       final DataHubPolicyInfo policy,
       final Optional<ResolvedResourceSpec> resource) {
+    return getMatchingActors(IndexedPolicy.of(policy), resource);
+  }
+
+  PolicyActors getMatchingActors(
+      final IndexedPolicy policy,
+      final Optional<ResolvedResourceSpec> resource) {
     final List<Urn> users = new ArrayList<>();
     final List<Urn> groups = new ArrayList<>();
     boolean allUsers = false;
     boolean allGroups = false;
     if (policyMatchesResource(policy, resource)) {
       // Step 3: For each matching policy, find actors that are authorized.
-      final DataHubActorFilter actorFilter = policy.getActors();
+      final DataHubActorFilter actorFilter = policy.getPolicy().getActors();
 
       // 0. Determine if we have a wildcard policy.
       if (actorFilter.isAllUsers()) {
@@ -117,24 +141,24 @@ public class PolicyEngine {
   }
 
   private boolean isPolicyApplicable(
-      final DataHubPolicyInfo policy,
+      final IndexedPolicy policy,
       final Urn actor,
       final Optional<ResolvedResourceSpec> resource,
       final PolicyEvaluationContext context
   ) {
 
     // If policy is inactive, simply return DENY.
-    if (PoliciesConfig.INACTIVE_POLICY_STATE.equals(policy.getState())) {
+    if (!policy.isActive()) {
       return false;
     }
 
     // If the resource is not in scope, deny the request.
-    if (!isResourceMatch(policy.getType(), policy.getResources(), resource, context)) {
+    if (!isResourceMatch(policy, resource, context)) {
       return false;
     }
 
     // If the actor does not match, deny the request.
-    if (!isActorMatch(actor, policy.getActors(), resource, context)) {
+    if (!isActorMatch(actor, policy, resource, context)) {
       return false;
     }
 
@@ -145,10 +169,25 @@ public class PolicyEngine {
       final List<DataHubPolicyInfo> policies,
       final Urn actor,
       final Optional<ResolvedResourceSpec> resource) {
-    PolicyEvaluationContext context = new PolicyEvaluationContext();
+    return getGrantedPrivileges(policies.stream().map(IndexedPolicy::of).collect(Collectors.toList()), actor,
+        resource, new PolicyEvaluationContext());
+  }
+
+  public List<String> getGrantedPrivileges(
+      final PolicyIndex policyIndex,
+      final Urn actor,
+      final Optional<ResolvedResourceSpec> resource) {
+    return getGrantedPrivileges(policyIndex.getAllPolicies(), actor, resource, new PolicyEvaluationContext());
+  }
+
+  private List<String> getGrantedPrivileges(
+      final List<IndexedPolicy> policies,
+      final Urn actor,
+      final Optional<ResolvedResourceSpec> resource,
+      final PolicyEvaluationContext context) {
     return policies.stream()
         .filter(policy -> isPolicyApplicable(policy, actor, resource, context))
-        .flatMap(policy -> policy.getPrivileges().stream())
+        .flatMap(policy -> policy.getPolicy().getPrivileges().stream())
         .distinct()
         .collect(Collectors.toList());
   }
@@ -161,8 +200,11 @@ public class PolicyEngine {
    * resource filter defined on the policy.
    */
   public Boolean policyMatchesResource(final DataHubPolicyInfo policy, final Optional<ResolvedResourceSpec> resourceSpec) {
-    return isResourceMatch(policy.getType(), policy.getResources(), resourceSpec,
-        new PolicyEvaluationContext());
+    return policyMatchesResource(IndexedPolicy.of(policy), resourceSpec);
+  }
+
+  Boolean policyMatchesResource(final IndexedPolicy policy, final Optional<ResolvedResourceSpec> resourceSpec) {
+    return isResourceMatch(policy, resourceSpec, new PolicyEvaluationContext());
   }
 
   /**
@@ -170,7 +212,7 @@ public class PolicyEngine {
    */
   private boolean isPrivilegeMatch(
       final String requestPrivilege,
-      final List<String> policyPrivileges,
+      final Set<String> policyPrivileges,
       final PolicyEvaluationContext context) {
     return policyPrivileges.contains(requestPrivilege);
   }
@@ -179,15 +221,14 @@ public class PolicyEngine {
    * Returns true if the resource portion of a DataHub policy matches a the resource being evaluated, false otherwise.
    */
   private boolean isResourceMatch(
-      final String policyType,
-      final @Nullable DataHubResourceFilter policyResourceFilter,
+      final IndexedPolicy policy,
       final Optional<ResolvedResourceSpec> requestResource,
       final PolicyEvaluationContext context) {
-    if (PoliciesConfig.PLATFORM_POLICY_TYPE.equals(policyType)) {
+    if (policy.isPlatformPolicy()) {
       // Currently, platform policies have no associated resource.
       return true;
     }
-    if (policyResourceFilter == null) {
+    if (policy.getCriteria() == null) {
       // No resource defined on the policy.
       return true;
     }
@@ -195,56 +236,20 @@ public class PolicyEngine {
       // Resource filter present in policy, but no resource spec provided.
       return false;
     }
-    final PolicyMatchFilter filter = getFilter(policyResourceFilter);
-    return checkFilter(filter, requestResource.get());
+    return policy.getCriteria().stream().allMatch(criterion -> checkCriterion(criterion, requestResource.get()));
   }
 
-  /**
-   * Get filter object from policy resource filter. Make sure it is backward compatible by constructing PolicyMatchFilter object
-   * from other fields if the filter field is not set
-   */
-  private PolicyMatchFilter getFilter(DataHubResourceFilter policyResourceFilter) {
-    if (policyResourceFilter.hasFilter()) {
-      return policyResourceFilter.getFilter();
-    }
-    PolicyMatchCriterionArray criteria = new PolicyMatchCriterionArray();
-    if (policyResourceFilter.hasType()) {
-      criteria.add(new PolicyMatchCriterion().setField(ResourceFieldType.RESOURCE_TYPE.name())
-          .setValues(new StringArray(Collections.singletonList(policyResourceFilter.getType()))));
-    }
-    if (policyResourceFilter.hasType() && policyResourceFilter.hasResources()
-        && !policyResourceFilter.isAllResources()) {
-      criteria.add(
-          new PolicyMatchCriterion().setField(ResourceFieldType.RESOURCE_URN.name()).setValues(policyResourceFilter.getResources()));
+  private boolean checkCriterion(final IndexedPolicy.IndexedCriterion criterion, final ResolvedResourceSpec resource) {
+    if (criterion.getFieldType() == null) {
+      // Unsupported field types are logged when the policy is indexed.
+      return false;
     }
-    return new PolicyMatchFilter().setCriteria(criteria);
-  }
-
-  private boolean checkFilter(final PolicyMatchFilter filter, final ResolvedResourceSpec resource) {
-    return filter.getCriteria().stream().allMatch(criterion -> checkCriterion(criterion, resource));
-  }
-
-  private boolean checkCriterion(final PolicyMatchCriterion criterion, final ResolvedResourceSpec resource) {
-    ResourceFieldType resourceFieldType;
-    try {
-      resourceFieldType = ResourceFieldType.valueOf(criterion.getField().toUpperCase());
-    } catch (IllegalArgumentException e) {
-      log.error("Unsupported field type {}", criterion.getField());
+    if (criterion.getCondition() != PolicyMatchCondition.EQUALS) {
+      log.error("Unsupported condition {}", criterion.getCondition());
       return false;
     }
-
-    Set<String> fieldValues = resource.getFieldValues(resourceFieldType);
-    return criterion.getValues()
-        .stream()
-        .anyMatch(filterValue -> checkCondition(fieldValues, filterValue, criterion.getCondition()));
-  }
-
-  private boolean checkCondition(Set<String> fieldValues, String filterValue, PolicyMatchCondition condition) {
-    if (condition == PolicyMatchCondition.EQUALS) {
-      return fieldValues.contains(filterValue);
-    }
-    log.error("Unsupported condition {}", condition);
-    return false;
+    Set<String> fieldValues = resource.getFieldValues(criterion.getFieldType());
+    return criterion.getValues().stream().anyMatch(fieldValues::contains);
   }
 
   /**
@@ -252,43 +257,39 @@ public class PolicyEngine {
    */
   private boolean isActorMatch(
       final Urn actor,
-      final DataHubActorFilter actorFilter,
+      final IndexedPolicy policy,
       final Optional<ResolvedResourceSpec> resourceSpec,
       final PolicyEvaluationContext context) {
 
     // 1. If the actor is a matching "User" in the actor filter, return true immediately.
-    if (isUserMatch(actor, actorFilter)) {
+    if (isUserMatch(actor, policy)) {
       return true;
     }
 
     // 2. If the actor is in a matching "Group" in the actor filter, return true immediately.
-    if (isGroupMatch(actor, actorFilter, context)) {
+    if (isGroupMatch(actor, policy, context)) {
       return true;
     }
 
     // 3. If the actor is the owner, either directly or indirectly via a group, return true immediately.
-    if (isOwnerMatch(actor, actorFilter, resourceSpec, context)) {
+    if (isOwnerMatch(actor, policy, resourceSpec, context)) {
       return true;
     }
 
     // 4. If the actor is in a matching "Role" in the actor filter, return true immediately.
-    return isRoleMatch(actor, actorFilter, context);
+    return isRoleMatch(actor, policy, context);
   }
 
-  private boolean isUserMatch(final Urn actor, final DataHubActorFilter actorFilter) {
+  private boolean isUserMatch(final Urn actor, final IndexedPolicy policy) {
     // If the actor is a matching "User" in the actor filter, return true immediately.
-    return actorFilter.isAllUsers() || (actorFilter.hasUsers() && Objects.requireNonNull(actorFilter.getUsers())
-        .stream()
-        .anyMatch(user -> user.equals(actor)));
+    return policy.isAllUsers() || policy.getUsers().contains(actor);
   }
 
-  private boolean isGroupMatch(final Urn actor, final DataHubActorFilter actorFilter, final PolicyEvaluationContext context) {
+  private boolean isGroupMatch(final Urn actor, final IndexedPolicy policy, final PolicyEvaluationContext context) {
     // If the actor is in a matching "Group" in the actor filter, return true immediately.
-    if (actorFilter.isAllGroups() || actorFilter.hasGroups()) {
+    if (policy.isAllGroups() || !policy.getGroups().isEmpty()) {
       final Set<Urn> groups = resolveGroups(actor, context);
-      return actorFilter.isAllGroups() || (actorFilter.hasGroups() && Objects.requireNonNull(actorFilter.getGroups())
-          .stream()
-          .anyMatch(groups::contains));
+      return policy.isAllGroups() || groups.stream().anyMatch(policy.getGroups()::contains);
     }
     // If there are no groups on the policy, return false for the group match.
     return false;
@@ -296,11 +297,11 @@ public class PolicyEngine {
 
   private boolean isOwnerMatch(
       final Urn actor,
-      final DataHubActorFilter actorFilter,
+      final IndexedPolicy policy,
       final Optional<ResolvedResourceSpec> requestResource,
       final PolicyEvaluationContext context) {
     // If the policy does not apply to owners, or there is no resource to own, return false immediately.
-    if (!actorFilter.isResourceOwners() || !requestResource.isPresent()) {
+    if (!policy.isResourceOwners() || !requestResource.isPresent()) {
       return false;
     }
     return isActorOwner(actor, requestResource.get(), context);
@@ -326,17 +327,15 @@ public class PolicyEngine {
     return groups.stream().anyMatch(group -> owners.contains(group.toString()));
   }
 
-  private boolean isRoleMatch(final Urn actor, final DataHubActorFilter actorFilter,
+  private boolean isRoleMatch(final Urn actor, final IndexedPolicy policy,
       final PolicyEvaluationContext context) {
     // Can immediately return false if the actor filter does not have any roles
-    if (!actorFilter.hasRoles()) {
+    if (policy.getRoles().isEmpty()) {
       return false;
     }
     // If the actor has a matching "Role" in the actor filter, return true immediately.
     Set<Urn> actorRoles = resolveRoles(actor, context);
-    return Objects.requireNonNull(actorFilter.getRoles())
-        .stream()
-        .anyMatch(actorRoles::contains);
+    return actorRoles.stream().anyMatch(policy.getRoles()::contains);
   }
 
   private Set<Urn> resolveRoles(Urn actor, PolicyEvaluationContext context) {
@@ -344,6 +343,17 @@ public class PolicyEngine {
       return context.roles;
     }
 
+    if (_actorMembershipCache != null) {
+      try {
+        final Set<Urn> roles = _actorMembershipCache.getMembership(actor).getRoles();
+        context.setRoles(roles);
+        return roles;
+      } catch (Exception e) {
+        log.error(String.format("Failed to fetch %s for urn %s", ROLE_MEMBERSHIP_ASPECT_NAME, actor), e);
+        return Collections.emptySet();
+      }
+    }
+
     Set<Urn> roles = new HashSet<>();
     final EnvelopedAspectMap aspectMap;
 
@@ -359,15 +369,13 @@ public class PolicyEngine {
       return roles;
     }
 
-    if (!aspectMap.containsKey(ROLE_MEMBERSHIP_ASPECT_NAME)) {
-      return roles;
-    }
-
-    RoleMembership roleMembership = new RoleMembership(aspectMap.get(ROLE_MEMBERSHIP_ASPECT_NAME).getValue().data());
-    if (roleMembership.hasRoles()) {
-      roles.addAll(roleMembership.getRoles());
-      context.setRoles(roles);
+    if (aspectMap.containsKey(ROLE_MEMBERSHIP_ASPECT_NAME)) {
+      RoleMembership roleMembership = new RoleMembership(aspectMap.get(ROLE_MEMBERSHIP_ASPECT_NAME).getValue().data());
+      if (roleMembership.hasRoles()) {
+        roles.addAll(roleMembership.getRoles());
+      }
     }
+    context.setRoles(roles); // Cache the roles, even if there are none.
     return roles;
   }
 
@@ -376,6 +384,18 @@ public class PolicyEngine {
       return context.groups;
     }
 
+    if (_actorMembershipCache != null) {
+      try {
+        final Set<Urn> groups = _actorMembershipCache.getMembership(actor).getGroups();
+        context.setGroups(groups); // Cache the groups.
+        return groups;
+      } catch (Exception e) {
+        log.error(String.format("Failed to fetch %s and %s for urn %s", GROUP_MEMBERSHIP_ASPECT_NAME,
+            NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME, actor), e);
+        return Collections.emptySet();
+      }
+    }
+
     Set<Urn> groups = new HashSet<>();
     final EnvelopedAspectMap aspectMap;
 
@@ -403,7 +423,6 @@ public class PolicyEngine {
     return groups;
   }
 
-  // TODO: Optimization - Cache the group membership. Refresh periodically.
   private Optional<GroupMembership> resolveGroupMembership(final EnvelopedAspectMap aspectMap) {
     if (aspectMap.containsKey(GROUP_MEMBERSHIP_ASPECT_NAME)) {
       return Optional.of(new GroupMembership(aspectMap.get(GROUP_MEMBERSHIP_ASPECT_NAME).getValue().data()));
@@ -0,0 +1,235 @@
+package com.datahub.authorization;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.policy.DataHubPolicyInfo;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+
+
+/**
+ * An immutable index of the active DataHub policies, used by the {@link DataHubAuthorizer} to narrow down the set of
+ * policies that need to be evaluated for a given authorization request.
+ *
+ * Policies are grouped by privilege, and within each privilege they are bucketed by the most selective resource
+ * criterion they declare:
+ *
+ *  - policies constraining the resource urn are keyed by each allowed urn,
+ *  - policies constraining only the resource type are keyed by each allowed type,
+ *  - all remaining policies (platform policies, policies without a resource filter or filtering on other fields) are
+ *    always candidates.
+ *
+ * Within each bucket, policies that only grant to explicitly listed users are further keyed by user urn, so that they
+ * are skipped entirely for other actors. The index is never mutated after construction: a full refresh builds a new
+ * index, and single policy changes are applied copy-on-write via {@link #withPolicy} and {@link #withoutPolicy}.
+ */
+public class PolicyIndex {
+
+  public static final PolicyIndex EMPTY = new PolicyIndex(Collections.emptyMap());
+
+  // All known policies keyed by urn, including inactive ones, from which the index is derived.
+  private final Map<Urn, DataHubPolicyInfo> _policyInfos;
+  private final List<IndexedPolicy> _allPolicies;
+  private final Map<String, List<IndexedPolicy>> _policiesByPrivilege;
+  private final Map<String, PrivilegeIndex> _privilegeIndices;
+
+  public PolicyIndex(@Nonnull final Map<Urn, DataHubPolicyInfo> policies) {
+    _policyInfos = ImmutableMap.copyOf(policies);
+    final List<IndexedPolicy> allPolicies = new ArrayList<>();
+    final Map<String, List<IndexedPolicy>> policiesByPrivilege = new HashMap<>();
+    final Map<String, PrivilegeIndex.Builder> builders = new HashMap<>();
+    for (DataHubPolicyInfo policy : _policyInfos.values()) {
+      final IndexedPolicy indexedPolicy = IndexedPolicy.of(policy);
+      if (!indexedPolicy.isActive()) {
+        // Inactive policies can never grant anything, so we keep them out of the index altogether.
+        continue;
+      }
+      allPolicies.add(indexedPolicy);
+      for (String privilege : indexedPolicy.getPrivileges()) {
+        policiesByPrivilege.computeIfAbsent(privilege, p -> new ArrayList<>()).add(indexedPolicy);
+        builders.computeIfAbsent(privilege, p -> new PrivilegeIndex.Builder()).add(indexedPolicy);
+      }
+    }
+    _allPolicies = ImmutableList.copyOf(allPolicies);
+    final ImmutableMap.Builder<String, List<IndexedPolicy>> byPrivilegeBuilder = ImmutableMap.builder();
+    policiesByPrivilege.forEach((privilege, list) -> byPrivilegeBuilder.put(privilege, ImmutableList.copyOf(list)));
+    _policiesByPrivilege = byPrivilegeBuilder.build();
+    final ImmutableMap.Builder<String, PrivilegeIndex> indicesBuilder = ImmutableMap.builder();
+    builders.forEach((privilege, builder) -> indicesBuilder.put(privilege, builder.build()));
+    _privilegeIndices = indicesBuilder.build();
+  }
+
+  /**
+   * Returns a new index with the given policy added or replaced. This index is left untouched.
+   */
+  public PolicyIndex withPolicy(@Nonnull final Urn urn, @Nonnull final DataHubPolicyInfo policy) {
+    final Map<Urn, DataHubPolicyInfo> policies = new HashMap<>(_policyInfos);
+    policies.put(urn, policy);
+    return new PolicyIndex(policies);
+  }
+
+  /**
+   * Returns a new index without the given policy, or this index if the policy is unknown.
+   */
+  public PolicyIndex withoutPolicy(@Nonnull final Urn urn) {
+    if (!_policyInfos.containsKey(urn)) {
+      return this;
+    }
+    final Map<Urn, DataHubPolicyInfo> policies = new HashMap<>(_policyInfos);
+    policies.remove(urn);
+    return new PolicyIndex(policies);
+  }
+
+  /**
+   * Returns all known policies keyed by urn, including inactive ones.
+   */
+  public Map<Urn, DataHubPolicyInfo> getPolicyInfos() {
+    return _policyInfos;
+  }
+
+  /**
+   * Returns all active policies.
+   */
+  public List<IndexedPolicy> getAllPolicies() {
+    return _allPolicies;
+  }
+
+  /**
+   * Returns all active policies granting the given privilege.
+   */
+  public List<IndexedPolicy> getPolicies(@Nonnull final String privilege) {
+    return _policiesByPrivilege.getOrDefault(privilege, Collections.emptyList());
+  }
+
+  /**
+   * Returns the active policies granting the given privilege which could possibly match the given actor and resource.
+   * Every policy that is not returned is guaranteed to deny the request; the returned policies still need to be fully
+   * evaluated.
+   */
+  public List<IndexedPolicy> getCandidatePolicies(
+      @Nonnull final String privilege,
+      @Nonnull final Urn actor,
+      @Nonnull final Optional<ResourceSpec> resourceSpec) {
+    final PrivilegeIndex index = _privilegeIndices.get(privilege);
+    if (index == null) {
+      return Collections.emptyList();
+    }
+    final List<IndexedPolicy> candidates = new ArrayList<>();
+    index._unrestricted.addCandidates(actor, candidates);
+    if (resourceSpec.isPresent()) {
+      // Resource-restricted policies can only ever match if a resource is provided.
+      addCandidates(index._byResourceUrn.get(resourceSpec.get().getResource()), actor, candidates);
+      addCandidates(index._byResourceType.get(resourceSpec.get().getType()), actor, candidates);
+    }
+    return candidates;
+  }
+
+  public int size() {
+    return _allPolicies.size();
+  }
+
+  private static void addCandidates(final ActorBucket bucket, final Urn actor, final List<IndexedPolicy> candidates) {
+    if (bucket != null) {
+      bucket.addCandidates(actor, candidates);
+    }
+  }
+
+  /**
+   * Candidate policies for a single privilege, bucketed by resource criteria.
+   */
+  private static class PrivilegeIndex {
+    private final ActorBucket _unrestricted;
+    private final Map<String, ActorBucket> _byResourceUrn;
+    private final Map<String, ActorBucket> _byResourceType;
+
+    private PrivilegeIndex(ActorBucket unrestricted, Map<String, ActorBucket> byResourceUrn,
+        Map<String, ActorBucket> byResourceType) {
+      _unrestricted = unrestricted;
+      _byResourceUrn = byResourceUrn;
+      _byResourceType = byResourceType;
+    }
+
+    private static class Builder {
+      private final ActorBucket.Builder _unrestricted = new ActorBucket.Builder();
+      private final Map<String, ActorBucket.Builder> _byResourceUrn = new HashMap<>();
+      private final Map<String, ActorBucket.Builder> _byResourceType = new HashMap<>();
+
+      void add(final IndexedPolicy policy) {
+        if (policy.isPlatformPolicy()) {
+          // Platform policies match regardless of the resource.
+          _unrestricted.add(policy);
+          return;
+        }
+        final Set<String> urns = policy.getRequiredValues(ResourceFieldType.RESOURCE_URN);
+        if (urns != null) {
+          urns.forEach(urn -> _byResourceUrn.computeIfAbsent(urn, u -> new ActorBucket.Builder()).add(policy));
+          return;
+        }
+        final Set<String> types = policy.getRequiredValues(ResourceFieldType.RESOURCE_TYPE);
+        if (types != null) {
+          types.forEach(type -> _byResourceType.computeIfAbsent(type, t -> new ActorBucket.Builder()).add(policy));
+          return;
+        }
+        _unrestricted.add(policy);
+      }
+
+      PrivilegeIndex build() {
+        return new PrivilegeIndex(_unrestricted.build(), buildAll(_byResourceUrn), buildAll(_byResourceType));
+      }
+
+      private static Map<String, ActorBucket> buildAll(final Map<String, ActorBucket.Builder> builders) {
+        final ImmutableMap.Builder<String, ActorBucket> result = ImmutableMap.builder();
+        builders.forEach((key, builder) -> result.put(key, builder.build()));
+        return result.build();
+      }
+    }
+  }
+
+  /**
+   * A set of policies split into those that only apply to explicitly listed users (keyed by user urn) and those that
+   * need to be evaluated for any actor.
+   */
+  private static class ActorBucket {
+    private final List<IndexedPolicy> _anyActor;
+    private final Map<Urn, List<IndexedPolicy>> _byUser;
+
+    private ActorBucket(List<IndexedPolicy> anyActor, Map<Urn, List<IndexedPolicy>> byUser) {
+      _anyActor = anyActor;
+      _byUser = byUser;
+    }
+
+    void addCandidates(final Urn actor, final List<IndexedPolicy> candidates) {
+      candidates.addAll(_anyActor);
+      final List<IndexedPolicy> userPolicies = _byUser.get(actor);
+      if (userPolicies != null) {
+        candidates.addAll(userPolicies);
+      }
+    }
+
+    private static class Builder {
+      private final List<IndexedPolicy> _anyActor = new ArrayList<>();
+      private final Map<Urn, List<IndexedPolicy>> _byUser = new HashMap<>();
+
+      void add(final IndexedPolicy policy) {
+        if (policy.isUsersOnly()) {
+          policy.getUsers().forEach(user -> _byUser.computeIfAbsent(user, u -> new ArrayList<>()).add(policy));
+        } else {
+          _anyActor.add(policy);
+        }
+      }
+
+      ActorBucket build() {
+        final ImmutableMap.Builder<Urn, List<IndexedPolicy>> byUser = ImmutableMap.builder();
+        _byUser.forEach((user, list) -> byUser.put(user, ImmutableList.copyOf(list)));
+        return new ActorBucket(ImmutableList.copyOf(_anyActor), byUser.build());
+      }
+    }
+  }
+}
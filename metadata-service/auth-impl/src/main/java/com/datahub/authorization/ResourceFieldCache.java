@@ -0,0 +1,103 @@
+package com.datahub.authorization;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.datahub.authorization.fieldresolverprovider.ResourceFieldResolverProvider;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.mxe.MetadataChangeLog;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import lombok.Value;
+
+import static com.linkedin.metadata.Constants.*;
+
+
+/**
+ * A short-lived cache of resolved resource field values (e.g. owners, domains) keyed by resource urn and field type.
+ *
+ * The same resource is typically authorized many times in quick succession (e.g. once per field resolver of a
+ * GraphQL response), so caching the values fetched by the {@link ResourceFieldResolverProvider}s avoids repeated
+ * entity client round-trips. Values are still only fetched when a policy actually needs them, and are invalidated when
+ * a change to the aspect they are derived from is observed.
+ */
+public class ResourceFieldCache {
+
+  /**
+   * Maps the aspects from which cached fields are derived to the field type they back.
+   */
+  private static final Map<String, ResourceFieldType> ASPECT_TO_FIELD_TYPE = ImmutableMap.of(
+      OWNERSHIP_ASPECT_NAME, ResourceFieldType.OWNER,
+      DOMAINS_ASPECT_NAME, ResourceFieldType.DOMAIN);
+
+  private final Cache<FieldKey, FieldResolver.FieldValue> _cache;
+  // Bumped on every invalidation, so that values fetched concurrently with an invalidation are not cached.
+  private final AtomicLong _invalidations = new AtomicLong();
+
+  public ResourceFieldCache(final long ttlSeconds, final long maxSize) {
+    _cache = CacheBuilder.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+        .recordStats()
+        .build();
+    MetricUtils.get().gauge(MetricRegistry.name(ResourceFieldCache.class, "hitRate"),
+        () -> (Gauge<Double>) () -> _cache.stats().hitRate());
+  }
+
+  /**
+   * Returns a lazy {@link FieldResolver} which serves the field from the cache if present, and otherwise delegates to
+   * the provider and caches the result.
+   */
+  public FieldResolver getFieldResolver(
+      @Nonnull final ResourceFieldResolverProvider provider,
+      @Nonnull final ResourceSpec resourceSpec) {
+    final FieldKey key = new FieldKey(resourceSpec.getResource(), provider.getFieldType());
+    return new FieldResolver(() -> {
+      final FieldResolver.FieldValue cached = _cache.getIfPresent(key);
+      if (cached != null) {
+        MetricUtils.counter(this.getClass(), "hit").inc();
+        return CompletableFuture.completedFuture(cached);
+      }
+      MetricUtils.counter(this.getClass(), "miss").inc();
+      final long invalidations = _invalidations.get();
+      return provider.getFieldResolver(resourceSpec).getFieldValuesFuture().thenApply(value -> {
+        if (invalidations == _invalidations.get()) {
+          _cache.put(key, value);
+        }
+        return value;
+      });
+    });
+  }
+
+  /**
+   * Invalidates the cached field backed by the aspect changed by a {@link MetadataChangeLog}, if any.
+   */
+  public void invalidate(@Nonnull final MetadataChangeLog event) {
+    if (!event.hasEntityUrn() || !event.hasAspectName()) {
+      return;
+    }
+    final ResourceFieldType fieldType = ASPECT_TO_FIELD_TYPE.get(event.getAspectName());
+    if (fieldType != null) {
+      _invalidations.incrementAndGet();
+      _cache.invalidate(new FieldKey(event.getEntityUrn().toString(), fieldType));
+      MetricUtils.counter(this.getClass(), "invalidate").inc();
+    }
+  }
+
+  @VisibleForTesting
+  long size() {
+    return _cache.size();
+  }
+
+  @Value
+  private static class FieldKey {
+    String resource;
+    ResourceFieldType fieldType;
+  }
+}
@@ -0,0 +1,87 @@
+package com.datahub.authorization;
+
+import com.datahub.authentication.Authentication;
+import com.google.common.collect.ImmutableList;
+import com.linkedin.common.UrnArray;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.entity.Aspect;
+import com.linkedin.entity.EntityResponse;
+import com.linkedin.entity.EnvelopedAspect;
+import com.linkedin.entity.EnvelopedAspectMap;
+import com.linkedin.entity.client.EntityClient;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.identity.GroupMembership;
+import com.linkedin.identity.RoleMembership;
+import com.linkedin.mxe.MetadataChangeLog;
+import java.util.Collections;
+import org.mockito.Mockito;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static com.linkedin.metadata.Constants.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class ActorMembershipCacheTest {
+
+  private static final Urn ACTOR = UrnUtils.getUrn("urn:li:corpuser:datahub");
+  private static final Urn GROUP = UrnUtils.getUrn("urn:li:corpGroup:group");
+  private static final Urn ROLE = UrnUtils.getUrn("urn:li:dataHubRole:Admin");
+
+  private EntityClient _entityClient;
+  private ActorMembershipCache _cache;
+
+  @BeforeMethod
+  public void setupTest() throws Exception {
+    _entityClient = Mockito.mock(EntityClient.class);
+    _cache = new ActorMembershipCache(Mockito.mock(Authentication.class), _entityClient, 60, 100);
+
+    final EnvelopedAspectMap aspectMap = new EnvelopedAspectMap();
+    aspectMap.put(GROUP_MEMBERSHIP_ASPECT_NAME, new EnvelopedAspect().setValue(
+        new Aspect(new GroupMembership().setGroups(new UrnArray(ImmutableList.of(GROUP))).data())));
+    aspectMap.put(ROLE_MEMBERSHIP_ASPECT_NAME, new EnvelopedAspect().setValue(
+        new Aspect(new RoleMembership().setRoles(new UrnArray(ImmutableList.of(ROLE))).data())));
+    when(_entityClient.batchGetV2(eq(CORP_USER_ENTITY_NAME), eq(Collections.singleton(ACTOR)),
+        eq(ActorMembershipCache.MEMBERSHIP_ASPECTS), any())).thenReturn(
+        Collections.singletonMap(ACTOR, new EntityResponse().setUrn(ACTOR).setAspects(aspectMap)));
+  }
+
+  @Test
+  public void testMembershipIsCached() throws Exception {
+    assertEquals(_cache.getMembership(ACTOR).getGroups(), Collections.singleton(GROUP));
+    assertEquals(_cache.getMembership(ACTOR).getRoles(), Collections.singleton(ROLE));
+
+    verify(_entityClient, times(1)).batchGetV2(eq(CORP_USER_ENTITY_NAME), eq(Collections.singleton(ACTOR)),
+        eq(ActorMembershipCache.MEMBERSHIP_ASPECTS), any());
+  }
+
+  @Test
+  public void testInvalidateOnMembershipChange() throws Exception {
+    final DataHubAuthorizer authorizer = new DataHubAuthorizer(Mockito.mock(Authentication.class), _entityClient,
+        3600, 3600, DataHubAuthorizer.AuthorizationMode.DEFAULT, _cache);
+
+    _cache.getMembership(ACTOR);
+    assertEquals(_cache.size(), 1);
+
+    // Changes to unrelated aspects do not invalidate the cached membership.
+    authorizer.invalidate(createChangeLog(CORP_USER_INFO_ASPECT_NAME));
+    assertEquals(_cache.size(), 1);
+
+    authorizer.invalidate(createChangeLog(NATIVE_GROUP_MEMBERSHIP_ASPECT_NAME));
+    assertEquals(_cache.size(), 0);
+
+    _cache.getMembership(ACTOR);
+    verify(_entityClient, times(2)).batchGetV2(eq(CORP_USER_ENTITY_NAME), eq(Collections.singleton(ACTOR)),
+        eq(ActorMembershipCache.MEMBERSHIP_ASPECTS), any());
+  }
+
+  private MetadataChangeLog createChangeLog(String aspectName) {
+    return new MetadataChangeLog()
+        .setEntityType(CORP_USER_ENTITY_NAME)
+        .setEntityUrn(ACTOR)
+        .setAspectName(aspectName)
+        .setChangeType(ChangeType.UPSERT);
+  }
+}
@@ -18,10 +18,13 @@ import com.linkedin.entity.EntityResponse;
 import com.linkedin.entity.EnvelopedAspect;
 import com.linkedin.entity.EnvelopedAspectMap;
 import com.linkedin.entity.client.EntityClient;
+import com.linkedin.events.metadata.ChangeType;
 import com.linkedin.metadata.query.SearchFlags;
 import com.linkedin.metadata.search.SearchEntity;
 import com.linkedin.metadata.search.SearchEntityArray;
 import com.linkedin.metadata.search.SearchResult;
+import com.linkedin.metadata.utils.GenericRecordUtils;
+import com.linkedin.mxe.MetadataChangeLog;
 import com.linkedin.policy.DataHubActorFilter;
 import com.linkedin.policy.DataHubPolicyInfo;
 import com.linkedin.policy.DataHubResourceFilter;
@@ -33,6 +36,7 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import static com.linkedin.metadata.Constants.DATAHUB_POLICY_INFO_ASPECT_NAME;
+import static com.linkedin.metadata.Constants.DATAHUB_POLICY_KEY_ASPECT_NAME;
 import static com.linkedin.metadata.Constants.OWNERSHIP_ASPECT_NAME;
 import static com.linkedin.metadata.Constants.POLICY_ENTITY_NAME;
 import static com.linkedin.metadata.authorization.PoliciesConfig.ACTIVE_POLICY_STATE;
@@ -43,6 +47,8 @@ import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
@@ -205,6 +211,37 @@ public class DataHubAuthorizerTest {
     assertEquals(_dataHubAuthorizer.authorize(request).getType(), AuthorizationResult.Type.DENY);
   }
 
+  @Test
+  public void testIncrementalPolicyUpdate() throws Exception {
+    final Urn inactivePolicyUrn = Urn.createFromString("urn:li:dataHubPolicy:1");
+    final ResourceSpec resourceSpec = new ResourceSpec("dataset", "urn:li:dataset:test");
+    final AuthorizationRequest request = new AuthorizationRequest(
+        "urn:li:corpuser:test",
+        "EDIT_ENTITY_OWNERS",
+        Optional.of(resourceSpec)
+    );
+    assertEquals(_dataHubAuthorizer.authorize(request).getType(), AuthorizationResult.Type.DENY);
+
+    // Activating the policy takes effect as soon as its change log is observed, without a reload.
+    final DataHubPolicyInfo activatedPolicy = createDataHubPolicyInfo(true, ImmutableList.of("EDIT_ENTITY_OWNERS"));
+    _dataHubAuthorizer.invalidate(new MetadataChangeLog()
+        .setEntityType(POLICY_ENTITY_NAME)
+        .setEntityUrn(inactivePolicyUrn)
+        .setAspectName(DATAHUB_POLICY_INFO_ASPECT_NAME)
+        .setAspect(GenericRecordUtils.serializeAspect(activatedPolicy))
+        .setChangeType(ChangeType.UPSERT));
+    assertEquals(_dataHubAuthorizer.authorize(request).getType(), AuthorizationResult.Type.ALLOW);
+
+    _dataHubAuthorizer.invalidate(new MetadataChangeLog()
+        .setEntityType(POLICY_ENTITY_NAME)
+        .setEntityUrn(inactivePolicyUrn)
+        .setAspectName(DATAHUB_POLICY_KEY_ASPECT_NAME)
+        .setChangeType(ChangeType.DELETE));
+    assertEquals(_dataHubAuthorizer.authorize(request).getType(), AuthorizationResult.Type.DENY);
+    verify(_entityClient, times(1)).search(eq("dataHubPolicy"), eq(""), isNull(), any(), anyInt(), anyInt(), any(),
+        eq(new SearchFlags().setFulltext(true)));
+  }
+
   @Test
   public void testAuthorizedActorsActivePolicy() throws Exception {
     final AuthorizedActors actors =
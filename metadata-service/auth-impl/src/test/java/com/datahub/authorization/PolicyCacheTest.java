@@ -0,0 +1,68 @@
+package com.datahub.authorization;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.policy.DataHubActorFilter;
+import com.linkedin.policy.DataHubPolicyInfo;
+import java.util.concurrent.atomic.AtomicLong;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static com.linkedin.metadata.authorization.PoliciesConfig.*;
+import static org.testng.Assert.*;
+
+
+public class PolicyCacheTest {
+
+  private static final long INDEX_LAG_MS = 1000L;
+  private static final Urn NEW_POLICY = UrnUtils.getUrn("urn:li:dataHubPolicy:new");
+  private static final Urn OLD_POLICY = UrnUtils.getUrn("urn:li:dataHubPolicy:old");
+  private static final Urn REMOVED_POLICY = UrnUtils.getUrn("urn:li:dataHubPolicy:removed");
+
+  private AtomicLong _time;
+  private PolicyCache _policyCache;
+
+  @BeforeMethod
+  public void setupTest() {
+    _time = new AtomicLong(10000L);
+    _policyCache = new PolicyCache(INDEX_LAG_MS, _time::get);
+  }
+
+  @Test
+  public void testReloadKeepsChangesMissingFromLaggingIndex() {
+    _policyCache.upsertPolicy(OLD_POLICY, createPolicy("old"));
+    _time.addAndGet(2 * INDEX_LAG_MS);
+    // Received shortly before the reload, so the index it reads may not have it yet
+    _policyCache.upsertPolicy(NEW_POLICY, createPolicy("new"));
+    _time.addAndGet(INDEX_LAG_MS / 2);
+
+    _policyCache.beginReload();
+    _policyCache.removePolicy(REMOVED_POLICY);
+    _policyCache.completeReload(ImmutableMap.of(REMOVED_POLICY, createPolicy("removed")));
+
+    // The old change is past the index lag, so the reload is trusted to reflect it
+    assertEquals(_policyCache.get().getPolicyInfos().keySet(), ImmutableSet.of(NEW_POLICY));
+  }
+
+  @Test
+  public void testAbortedReloadKeepsCurrentPolicies() {
+    _policyCache.upsertPolicy(NEW_POLICY, createPolicy("new"));
+    _policyCache.beginReload();
+    _policyCache.abortReload();
+    assertEquals(_policyCache.get().size(), 1);
+  }
+
+  private static DataHubPolicyInfo createPolicy(String name) {
+    return new DataHubPolicyInfo().setDisplayName(name)
+        .setDescription(name)
+        .setType(PLATFORM_POLICY_TYPE)
+        .setState(ACTIVE_POLICY_STATE)
+        .setPrivileges(new StringArray(ImmutableList.of("MANAGE_POLICIES")))
+        .setEditable(true)
+        .setActors(new DataHubActorFilter().setAllUsers(true).setAllGroups(false).setResourceOwners(false));
+  }
+}
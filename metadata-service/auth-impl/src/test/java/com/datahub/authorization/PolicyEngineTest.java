@@ -289,6 +289,43 @@ public class PolicyEngineTest {
         any(), any());
   }
 
+  @Test
+  public void testEvaluatePolicyActorFilterGroupLookupFailure() throws Exception {
+    final ActorMembershipCache actorMembershipCache = Mockito.mock(ActorMembershipCache.class);
+    when(actorMembershipCache.getMembership(any())).thenThrow(new RuntimeException("Lookup failed"));
+    final PolicyEngine policyEngine =
+        new PolicyEngine(Mockito.mock(Authentication.class), _entityClient, actorMembershipCache);
+
+    final DataHubPolicyInfo dataHubPolicyInfo = new DataHubPolicyInfo();
+    dataHubPolicyInfo.setType(METADATA_POLICY_TYPE);
+    dataHubPolicyInfo.setState(ACTIVE_POLICY_STATE);
+    dataHubPolicyInfo.setPrivileges(new StringArray("EDIT_ENTITY_TAGS"));
+    dataHubPolicyInfo.setDisplayName("My Test Display");
+    dataHubPolicyInfo.setDescription("My test display!");
+    dataHubPolicyInfo.setEditable(true);
+
+    final DataHubActorFilter actorFilter = new DataHubActorFilter();
+    final UrnArray groupsUrnArray = new UrnArray();
+    groupsUrnArray.add(Urn.createFromString(AUTHORIZED_GROUP));
+    actorFilter.setGroups(groupsUrnArray);
+    actorFilter.setResourceOwners(false);
+    actorFilter.setAllUsers(false);
+    actorFilter.setAllGroups(false);
+    dataHubPolicyInfo.setActors(actorFilter);
+
+    final DataHubResourceFilter resourceFilter = new DataHubResourceFilter();
+    resourceFilter.setAllResources(true);
+    resourceFilter.setType("dataset");
+    dataHubPolicyInfo.setResources(resourceFilter);
+
+    ResolvedResourceSpec resourceSpec = buildResourceResolvers("dataset", RESOURCE_URN);
+    // A failed group lookup denies the group based policy instead of failing the authorization request
+    PolicyEngine.PolicyEvaluationResult result =
+        policyEngine.evaluatePolicy(dataHubPolicyInfo, AUTHORIZED_PRINCIPAL, "EDIT_ENTITY_TAGS",
+            Optional.of(resourceSpec));
+    assertFalse(result.isGranted());
+  }
+
   @Test
   public void testEvaluatePolicyActorFilterGroupNoMatch() throws Exception {
 
@@ -0,0 +1,141 @@
+package com.datahub.authorization;
+
+import com.datahub.authentication.Authentication;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.linkedin.common.UrnArray;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.entity.client.EntityClient;
+import com.linkedin.policy.DataHubActorFilter;
+import com.linkedin.policy.DataHubPolicyInfo;
+import com.linkedin.policy.DataHubResourceFilter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.linkedin.metadata.authorization.PoliciesConfig.*;
+
+
+/**
+ * Compares evaluating every policy for a privilege (the previous behavior of the {@link DataHubAuthorizer}) against
+ * evaluating only the candidates returned by the {@link PolicyIndex}, over a synthetic policy set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PolicyIndexBenchmark {
+
+  private static final String PRIVILEGE = "EDIT_ENTITY_TAGS";
+  private static final String[] TYPES = {"dataset", "chart", "dashboard", "dataJob", "dataFlow", "glossaryTerm"};
+
+  @Param({"200", "2000"})
+  public int numPolicies;
+
+  private PolicyEngine _policyEngine;
+  private List<DataHubPolicyInfo> _policies;
+  private PolicyIndex _policyIndex;
+  private Urn _actor;
+  private ResourceSpec _resourceSpec;
+  private Optional<ResolvedResourceSpec> _resolvedResourceSpec;
+
+  @Setup
+  public void setup() {
+    _policyEngine = new PolicyEngine(Mockito.mock(Authentication.class), Mockito.mock(EntityClient.class));
+    _policies = new ArrayList<>();
+    for (int i = 0; i < numPolicies; i++) {
+      _policies.add(createPolicy(i));
+    }
+    final Map<Urn, DataHubPolicyInfo> policiesByUrn = new HashMap<>();
+    for (int i = 0; i < numPolicies; i++) {
+      policiesByUrn.put(UrnUtils.getUrn("urn:li:dataHubPolicy:" + i), _policies.get(i));
+    }
+    _policyIndex = new PolicyIndex(policiesByUrn);
+    // An actor that is not granted the privilege, forcing a full evaluation of all candidates.
+    _actor = UrnUtils.getUrn("urn:li:corpuser:unauthorized");
+    _resourceSpec = new ResourceSpec("dataset", "urn:li:dataset:(urn:li:dataPlatform:hive,db.table7,PROD)");
+    _resolvedResourceSpec = Optional.of(new ResolvedResourceSpec(_resourceSpec, ImmutableMap.of(
+        ResourceFieldType.RESOURCE_TYPE, FieldResolver.getResolverFromValues(Collections.singleton(_resourceSpec.getType())),
+        ResourceFieldType.RESOURCE_URN, FieldResolver.getResolverFromValues(Collections.singleton(_resourceSpec.getResource())),
+        ResourceFieldType.OWNER, FieldResolver.getResolverFromValues(Collections.singleton("urn:li:corpuser:owner")),
+        ResourceFieldType.DOMAIN, FieldResolver.getResolverFromValues(Collections.emptySet()))));
+  }
+
+  @Benchmark
+  public boolean linearScan() {
+    for (DataHubPolicyInfo policy : _policies) {
+      if (_policyEngine.evaluatePolicy(policy, _actor, PRIVILEGE, _resolvedResourceSpec).isGranted()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Benchmark
+  public boolean indexed() {
+    final PolicyEngine.PolicyEvaluationContext context = new PolicyEngine.PolicyEvaluationContext();
+    for (IndexedPolicy policy : _policyIndex.getCandidatePolicies(PRIVILEGE, _actor, Optional.of(_resourceSpec))) {
+      if (_policyEngine.evaluatePolicy(policy, _actor, PRIVILEGE, _resolvedResourceSpec, context).isGranted()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static DataHubPolicyInfo createPolicy(int i) {
+    final DataHubPolicyInfo policy = new DataHubPolicyInfo();
+    policy.setDisplayName("Policy " + i);
+    policy.setDescription("Synthetic policy " + i);
+    policy.setState(i % 10 == 0 ? INACTIVE_POLICY_STATE : ACTIVE_POLICY_STATE);
+    policy.setEditable(true);
+    policy.setPrivileges(new StringArray(ImmutableList.of(PRIVILEGE, "EDIT_ENTITY_DOCS")));
+
+    final DataHubActorFilter actorFilter = new DataHubActorFilter();
+    actorFilter.setResourceOwners(false);
+    actorFilter.setAllUsers(false);
+    actorFilter.setAllGroups(false);
+    actorFilter.setUsers(new UrnArray(ImmutableList.of(UrnUtils.getUrn("urn:li:corpuser:user" + i),
+        UrnUtils.getUrn("urn:li:corpuser:user" + (i + 1)))));
+    if (i % 50 == 0) {
+      actorFilter.setResourceOwners(true);
+    }
+    policy.setActors(actorFilter);
+
+    if (i % 100 == 0) {
+      policy.setType(PLATFORM_POLICY_TYPE);
+      return policy;
+    }
+    policy.setType(METADATA_POLICY_TYPE);
+    final DataHubResourceFilter resourceFilter = new DataHubResourceFilter();
+    resourceFilter.setType(TYPES[i % TYPES.length]);
+    if (i % 3 == 0) {
+      resourceFilter.setAllResources(true);
+    } else {
+      resourceFilter.setAllResources(false);
+      resourceFilter.setResources(new StringArray(ImmutableList.of(
+          String.format("urn:li:%s:(urn:li:dataPlatform:hive,db.table%s,PROD)", TYPES[i % TYPES.length], i))));
+    }
+    policy.setResources(resourceFilter);
+    return policy;
+  }
+}
@@ -0,0 +1,125 @@
+package com.datahub.authorization;
+
+import com.google.common.collect.ImmutableList;
+import com.linkedin.common.UrnArray;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.policy.DataHubActorFilter;
+import com.linkedin.policy.DataHubPolicyInfo;
+import com.linkedin.policy.DataHubResourceFilter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.testng.annotations.Test;
+
+import static com.linkedin.metadata.authorization.PoliciesConfig.*;
+import static org.testng.Assert.*;
+
+
+public class PolicyIndexTest {
+
+  private static final String PRIVILEGE = "EDIT_ENTITY_TAGS";
+  private static final Urn USER = UrnUtils.getUrn("urn:li:corpuser:user");
+  private static final Urn OTHER_USER = UrnUtils.getUrn("urn:li:corpuser:other");
+  private static final String DATASET_URN = "urn:li:dataset:(urn:li:dataPlatform:hive,db.table,PROD)";
+  private static final String OTHER_DATASET_URN = "urn:li:dataset:(urn:li:dataPlatform:hive,db.other,PROD)";
+
+  @Test
+  public void testCandidatePolicies() {
+    final DataHubPolicyInfo platformPolicy = createPolicy("platform", PLATFORM_POLICY_TYPE, null, null, true);
+    final DataHubPolicyInfo allDatasetsPolicy = createPolicy("allDatasets", METADATA_POLICY_TYPE, "dataset", null, true);
+    final DataHubPolicyInfo datasetPolicy = createPolicy("dataset", METADATA_POLICY_TYPE, "dataset", DATASET_URN, true);
+    final DataHubPolicyInfo chartsPolicy = createPolicy("charts", METADATA_POLICY_TYPE, "chart", null, true);
+    final DataHubPolicyInfo inactivePolicy = createPolicy("inactive", METADATA_POLICY_TYPE, "dataset", null, false);
+    final DataHubPolicyInfo userPolicy = createPolicy("user", METADATA_POLICY_TYPE, "dataset", null, true);
+    userPolicy.getActors().setAllUsers(false).setUsers(new UrnArray(ImmutableList.of(USER)));
+
+    final PolicyIndex index = createIndex(
+        platformPolicy, allDatasetsPolicy, datasetPolicy, chartsPolicy, inactivePolicy, userPolicy);
+
+    assertEquals(index.size(), 5);
+    assertEquals(index.getPolicies(PRIVILEGE).size(), 5);
+    assertTrue(index.getPolicies("UNKNOWN").isEmpty());
+
+    assertEquals(candidateNames(index, USER, Optional.of(new ResourceSpec("dataset", DATASET_URN))),
+        ImmutableList.of("platform", "allDatasets", "dataset", "user").stream().sorted().collect(Collectors.toList()));
+    assertEquals(candidateNames(index, OTHER_USER, Optional.of(new ResourceSpec("dataset", OTHER_DATASET_URN))),
+        ImmutableList.of("allDatasets", "platform"));
+    assertEquals(candidateNames(index, USER, Optional.of(new ResourceSpec("chart", "urn:li:chart:(looker,1)"))),
+        ImmutableList.of("charts", "platform"));
+    assertEquals(candidateNames(index, USER, Optional.empty()), ImmutableList.of("platform"));
+    assertTrue(index.getCandidatePolicies("UNKNOWN", USER, Optional.empty()).isEmpty());
+  }
+
+  @Test
+  public void testCopyOnWriteUpdates() {
+    final DataHubPolicyInfo allDatasetsPolicy = createPolicy("allDatasets", METADATA_POLICY_TYPE, "dataset", null, true);
+    final PolicyIndex index = createIndex(allDatasetsPolicy);
+    final Urn policyUrn = policyUrn(allDatasetsPolicy);
+    final Optional<ResourceSpec> dataset = Optional.of(new ResourceSpec("dataset", DATASET_URN));
+
+    // Deactivating a policy removes it from the candidates of the new index only.
+    final DataHubPolicyInfo deactivated = createPolicy("allDatasets", METADATA_POLICY_TYPE, "dataset", null, false);
+    final PolicyIndex deactivatedIndex = index.withPolicy(policyUrn, deactivated);
+    assertEquals(deactivatedIndex.size(), 0);
+    assertEquals(deactivatedIndex.getPolicyInfos().size(), 1);
+    assertEquals(candidateNames(index, USER, dataset), ImmutableList.of("allDatasets"));
+
+    final DataHubPolicyInfo chartsPolicy = createPolicy("charts", METADATA_POLICY_TYPE, "chart", null, true);
+    final PolicyIndex updatedIndex = index.withPolicy(policyUrn(chartsPolicy), chartsPolicy);
+    assertEquals(updatedIndex.size(), 2);
+    assertEquals(candidateNames(updatedIndex, USER, Optional.of(new ResourceSpec("chart", "urn:li:chart:(looker,1)"))),
+        ImmutableList.of("charts"));
+
+    final PolicyIndex removedIndex = updatedIndex.withoutPolicy(policyUrn);
+    assertEquals(removedIndex.size(), 1);
+    assertTrue(candidateNames(removedIndex, USER, dataset).isEmpty());
+    assertSame(removedIndex.withoutPolicy(policyUrn), removedIndex);
+  }
+
+  private PolicyIndex createIndex(DataHubPolicyInfo... policies) {
+    final Map<Urn, DataHubPolicyInfo> policiesByUrn = new HashMap<>();
+    for (DataHubPolicyInfo policy : policies) {
+      policiesByUrn.put(policyUrn(policy), policy);
+    }
+    return new PolicyIndex(policiesByUrn);
+  }
+
+  private Urn policyUrn(DataHubPolicyInfo policy) {
+    return UrnUtils.getUrn("urn:li:dataHubPolicy:" + policy.getDisplayName());
+  }
+
+  private List<String> candidateNames(PolicyIndex index, Urn actor, Optional<ResourceSpec> resourceSpec) {
+    return index.getCandidatePolicies(PRIVILEGE, actor, resourceSpec)
+        .stream()
+        .map(policy -> policy.getPolicy().getDisplayName())
+        .sorted()
+        .collect(Collectors.toList());
+  }
+
+  private DataHubPolicyInfo createPolicy(String name, String type, @Nullable String resourceType,
+      @Nullable String resourceUrn, boolean active) {
+    final DataHubPolicyInfo policy = new DataHubPolicyInfo();
+    policy.setDisplayName(name);
+    policy.setDescription(name);
+    policy.setType(type);
+    policy.setState(active ? ACTIVE_POLICY_STATE : INACTIVE_POLICY_STATE);
+    policy.setPrivileges(new StringArray(ImmutableList.of(PRIVILEGE)));
+    policy.setEditable(true);
+    policy.setActors(new DataHubActorFilter().setAllUsers(true).setAllGroups(false).setResourceOwners(false));
+    if (resourceType != null) {
+      final DataHubResourceFilter resourceFilter = new DataHubResourceFilter().setType(resourceType);
+      if (resourceUrn != null) {
+        resourceFilter.setAllResources(false).setResources(new StringArray(ImmutableList.of(resourceUrn)));
+      } else {
+        resourceFilter.setAllResources(true);
+      }
+      policy.setResources(resourceFilter);
+    }
+    return policy;
+  }
+}
@@ -0,0 +1,81 @@
+package com.datahub.authorization;
+
+import com.datahub.authorization.fieldresolverprovider.ResourceFieldResolverProvider;
+import com.google.common.collect.ImmutableSet;
+import com.linkedin.common.urn.UrnUtils;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.mxe.MetadataChangeLog;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static com.linkedin.metadata.Constants.*;
+import static org.testng.Assert.*;
+
+
+public class ResourceFieldCacheTest {
+
+  private static final String DATASET_URN = "urn:li:dataset:(urn:li:dataPlatform:hive,db.table,PROD)";
+  private static final Set<String> OWNERS = ImmutableSet.of("urn:li:corpuser:owner");
+
+  private ResourceFieldCache _cache;
+  private AtomicInteger _fetches;
+  private ResourceFieldResolverProvider _ownerProvider;
+
+  @BeforeMethod
+  public void setupTest() {
+    _cache = new ResourceFieldCache(60, 100);
+    _fetches = new AtomicInteger();
+    _ownerProvider = new ResourceFieldResolverProvider() {
+      @Override
+      public ResourceFieldType getFieldType() {
+        return ResourceFieldType.OWNER;
+      }
+
+      @Override
+      public FieldResolver getFieldResolver(ResourceSpec resourceSpec) {
+        return FieldResolver.getResolverFromFunction(resourceSpec, spec -> {
+          _fetches.incrementAndGet();
+          return FieldResolver.FieldValue.builder().values(OWNERS).build();
+        });
+      }
+    };
+  }
+
+  @Test
+  public void testFieldsAreFetchedLazilyAndCached() {
+    final ResourceSpec resourceSpec = new ResourceSpec("dataset", DATASET_URN);
+
+    final FieldResolver resolver = _cache.getFieldResolver(_ownerProvider, resourceSpec);
+    assertEquals(_fetches.get(), 0);
+
+    assertEquals(resolver.getFieldValuesFuture().join().getValues(), OWNERS);
+    assertEquals(_cache.getFieldResolver(_ownerProvider, resourceSpec).getFieldValuesFuture().join().getValues(), OWNERS);
+    assertEquals(_fetches.get(), 1);
+  }
+
+  @Test
+  public void testInvalidateOnOwnershipChange() {
+    final ResourceSpec resourceSpec = new ResourceSpec("dataset", DATASET_URN);
+    _cache.getFieldResolver(_ownerProvider, resourceSpec).getFieldValuesFuture().join();
+    assertEquals(_cache.size(), 1);
+
+    _cache.invalidate(createChangeLog(GLOBAL_TAGS_ASPECT_NAME));
+    assertEquals(_cache.size(), 1);
+
+    _cache.invalidate(createChangeLog(OWNERSHIP_ASPECT_NAME));
+    assertEquals(_cache.size(), 0);
+
+    _cache.getFieldResolver(_ownerProvider, resourceSpec).getFieldValuesFuture().join();
+    assertEquals(_fetches.get(), 2);
+  }
+
+  private MetadataChangeLog createChangeLog(String aspectName) {
+    return new MetadataChangeLog()
+        .setEntityType("dataset")
+        .setEntityUrn(UrnUtils.getUrn(DATASET_URN))
+        .setAspectName(aspectName)
+        .setChangeType(ChangeType.UPSERT);
+  }
+}
@@ -0,0 +1,79 @@
+package com.linkedin.gms.factory.auth;
+
+import com.datahub.authorization.DataHubAuthorizer;
+import com.datahub.authorization.ResourceFieldCache;
+import com.linkedin.gms.factory.kafka.KafkaEventConsumerFactory;
+import com.linkedin.metadata.EventUtils;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.mxe.MetadataChangeLog;
+import com.linkedin.mxe.Topics;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Consumes the versioned MetadataChangeLog on every instance hosting a {@link DataHubAuthorizer}, so that cached
+ * authorization state (policies, actor membership, resource fields) is invalidated shortly after the underlying
+ * aspects change.
+ *
+ * Each instance joins its own consumer group, named after its host, and starts at the latest offset, since every
+ * replica needs to see every change but none of them needs history. Only the group prefix is configurable: a group
+ * shared by several replicas would deliver each change to just one of them. Keeping the group stable across restarts
+ * stops every restart from leaving an orphaned group behind.
+ *
+ * Only GMS hosts the authorizer whose caches this invalidates, so the other applications scanning the factories exclude
+ * this listener.
+ */
+@Slf4j
+@Component
+@EnableKafka
+@Import({DataHubAuthorizerFactory.class, KafkaEventConsumerFactory.class})
+@ConditionalOnProperty(name = "authorization.defaultAuthorizer.cacheInvalidationEnabled", havingValue = "true")
+public class AuthorizationCacheInvalidationListener {
+
+  private static final String CONSUMER_GROUP_ID =
+      "#{'${AUTHORIZATION_CACHE_KAFKA_CONSUMER_GROUP_PREFIX:datahub-authorization-cache}-'"
+      + " + T(java.net.InetAddress).getLocalHost().getHostName()}";
+
+  private final DataHubAuthorizer _dataHubAuthorizer;
+  private final ResourceFieldCache _resourceFieldCache;
+
+  public AuthorizationCacheInvalidationListener(
+      @Qualifier("dataHubAuthorizer") final DataHubAuthorizer dataHubAuthorizer,
+      @Qualifier("resourceFieldCache") final ResourceFieldCache resourceFieldCache) {
+    _dataHubAuthorizer = dataHubAuthorizer;
+    _resourceFieldCache = resourceFieldCache;
+  }
+
+  @KafkaListener(id = "authorizationCacheInvalidation",
+      groupId = CONSUMER_GROUP_ID,
+      topics = {"${METADATA_CHANGE_LOG_VERSIONED_TOPIC_NAME:" + Topics.METADATA_CHANGE_LOG_VERSIONED + "}"},
+      containerFactory = "kafkaEventConsumer",
+      properties = {"auto.offset.reset=latest"},
+      concurrency = "1")
+  public void consume(final ConsumerRecord<String, GenericRecord> consumerRecord) {
+    final MetadataChangeLog event;
+    try {
+      event = EventUtils.avroToPegasusMCL(consumerRecord.value());
+    } catch (Exception e) {
+      MetricUtils.counter(this.getClass(), "avro_to_pegasus_conversion_failure").inc();
+      log.error("Error deserializing message due to: ", e);
+      return;
+    }
+    try {
+      _dataHubAuthorizer.invalidate(event);
+      _resourceFieldCache.invalidate(event);
+    } catch (Exception e) {
+      MetricUtils.counter(this.getClass(), "invalidation_failure").inc();
+      log.error("Failed to invalidate authorization caches for urn: {}, aspect: {}", event.getEntityUrn(),
+          event.getAspectName(), e);
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.linkedin.gms.factory.auth;
 import com.datahub.authorization.AuthorizerChain;
 import com.datahub.authorization.DataHubAuthorizer;
 import com.datahub.authorization.DefaultResourceSpecResolver;
+import com.datahub.authorization.ResourceFieldCache;
 import com.datahub.plugins.PluginConstant;
 import com.datahub.authentication.Authentication;
 import com.datahub.plugins.auth.authorization.Authorizer;
@@ -51,6 +52,10 @@ public class AuthorizerChainFactory {
   @Qualifier("dataHubAuthorizer")
   private DataHubAuthorizer dataHubAuthorizer;
 
+  @Autowired
+  @Qualifier("resourceFieldCache")
+  private ResourceFieldCache resourceFieldCache;
+
   @Autowired
   @Qualifier("systemAuthentication")
   private Authentication systemAuthentication;
@@ -79,7 +84,7 @@ public class AuthorizerChainFactory {
   }
 
   private ResourceSpecResolver initResolver() {
-    return new DefaultResourceSpecResolver(systemAuthentication, entityClient);
+    return new DefaultResourceSpecResolver(systemAuthentication, entityClient, resourceFieldCache);
   }
 
   private List<Authorizer> initCustomAuthorizers(ResourceSpecResolver resolver) {
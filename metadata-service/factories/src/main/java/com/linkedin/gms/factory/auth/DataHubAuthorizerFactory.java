@@ -1,7 +1,9 @@
 package com.linkedin.gms.factory.auth;
 
 import com.datahub.authentication.Authentication;
+import com.datahub.authorization.ActorMembershipCache;
 import com.datahub.authorization.DataHubAuthorizer;
+import com.datahub.authorization.ResourceFieldCache;
 import com.linkedin.metadata.client.JavaEntityClient;
 import com.linkedin.gms.factory.entity.RestliEntityClientFactory;
 import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
@@ -32,9 +34,27 @@ public class DataHubAuthorizerFactory {
   @Value("${authorization.defaultAuthorizer.cacheRefreshIntervalSecs}")
   private Integer policyCacheRefreshIntervalSeconds;
 
+  @Value("${authorization.defaultAuthorizer.cacheFullRefreshIntervalSecs:600}")
+  private Integer policyCacheFullRefreshIntervalSeconds;
+
+  @Value("${authorization.defaultAuthorizer.cacheInvalidationEnabled:false}")
+  private Boolean cacheInvalidationEnabled;
+
   @Value("${authorization.defaultAuthorizer.enabled:true}")
   private Boolean policiesEnabled;
 
+  @Value("${authorization.defaultAuthorizer.actorCacheTtlSecs:60}")
+  private Integer actorCacheTtlSeconds;
+
+  @Value("${authorization.defaultAuthorizer.actorCacheMaxSize:10000}")
+  private Integer actorCacheMaxSize;
+
+  @Value("${authorization.defaultAuthorizer.resourceCacheTtlSecs:10}")
+  private Integer resourceCacheTtlSeconds;
+
+  @Value("${authorization.defaultAuthorizer.resourceCacheMaxSize:10000}")
+  private Integer resourceCacheMaxSize;
+
   @Bean(name = "dataHubAuthorizer")
   @Scope("singleton")
   @Nonnull
@@ -43,7 +63,21 @@ public class DataHubAuthorizerFactory {
     final DataHubAuthorizer.AuthorizationMode mode = policiesEnabled ? DataHubAuthorizer.AuthorizationMode.DEFAULT
         : DataHubAuthorizer.AuthorizationMode.ALLOW_ALL;
 
+    final ActorMembershipCache actorMembershipCache =
+        new ActorMembershipCache(systemAuthentication, entityClient, actorCacheTtlSeconds, actorCacheMaxSize);
+
+    // Policy changes are applied incrementally when invalidation is enabled, so full reloads are only a safety net.
+    final int refreshIntervalSeconds = cacheInvalidationEnabled ? policyCacheFullRefreshIntervalSeconds
+        : policyCacheRefreshIntervalSeconds;
+
     return new DataHubAuthorizer(systemAuthentication, entityClient, 10,
-        policyCacheRefreshIntervalSeconds, mode);
+        refreshIntervalSeconds, mode, actorMembershipCache);
+  }
+
+  @Bean(name = "resourceFieldCache")
+  @Scope("singleton")
+  @Nonnull
+  protected ResourceFieldCache getResourceFieldCache() {
+    return new ResourceFieldCache(resourceCacheTtlSeconds, resourceCacheMaxSize);
   }
 }
@@ -1,5 +1,6 @@
 package com.linkedin.gms.factory.common;
 
+import com.linkedin.gms.factory.config.ConfigurationProvider;
 import com.linkedin.gms.factory.search.BaseElasticSearchComponentsFactory;
 import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
 import com.linkedin.metadata.systemmetadata.ESSystemMetadataDAO;
@@ -15,7 +16,7 @@ import org.springframework.context.annotation.PropertySource;
 
 @Configuration
 @PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
-@Import({BaseElasticSearchComponentsFactory.class})
+@Import({BaseElasticSearchComponentsFactory.class, ConfigurationProvider.class})
 public class ElasticSearchSystemMetadataServiceFactory {
   @Autowired
   @Qualifier("baseElasticSearchComponents")
@@ -23,9 +24,11 @@ public class ElasticSearchSystemMetadataServiceFactory {
 
   @Bean(name = "elasticSearchSystemMetadataService")
   @Nonnull
-  protected ElasticSearchSystemMetadataService getInstance() {
+  protected ElasticSearchSystemMetadataService getInstance(ConfigurationProvider configurationProvider) {
     return new ElasticSearchSystemMetadataService(components.getBulkProcessor(), components.getIndexConvention(),
         new ESSystemMetadataDAO(components.getSearchClient(), components.getIndexConvention(),
-            components.getBulkProcessor(), components.getNumRetries()), components.getIndexBuilder());
+            components.getBulkProcessor(), components.getNumRetries(),
+            configurationProvider.getFeatureFlags().isPointInTimeCreationEnabled(),
+            configurationProvider.getElasticSearch().getImplementation()), components.getIndexBuilder());
   }
 }
@@ -1,5 +1,6 @@
 package com.linkedin.gms.factory.common;
 
+import com.linkedin.gms.factory.config.ConfigurationProvider;
 import com.linkedin.gms.factory.entity.EntityServiceFactory;
 import com.linkedin.metadata.entity.EntityService;
 import com.linkedin.metadata.graph.GraphService;
@@ -25,10 +26,15 @@ public class SiblingGraphServiceFactory {
   @Qualifier("graphService")
   private GraphService graphService;
 
+  @Autowired
+  private ConfigurationProvider configurationProvider;
+
   @Bean(name = "siblingGraphService")
   @Primary
   @Nonnull
   protected SiblingGraphService getInstance() {
-    return new SiblingGraphService(_entityService, graphService);
+    return new SiblingGraphService(_entityService, graphService,
+        configurationProvider.getElasticSearch().getSearch().getGraph().getTimeoutSeconds(),
+        configurationProvider.getElasticSearch().getSearch().getGraph().getMaxResult());
   }
 }
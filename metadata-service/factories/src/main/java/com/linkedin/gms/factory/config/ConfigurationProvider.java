@@ -9,6 +9,8 @@ import com.linkedin.metadata.config.search.ElasticSearchConfiguration;
 import com.linkedin.metadata.config.IngestionConfiguration;
 import com.linkedin.metadata.config.SystemUpdateConfiguration;
 import com.linkedin.metadata.config.TestsConfiguration;
+import com.linkedin.metadata.config.TimelineConfiguration;
+import com.linkedin.metadata.config.UsageRollupConfiguration;
 import com.linkedin.metadata.config.ViewsConfiguration;
 import com.linkedin.metadata.config.VisualConfiguration;
 import com.linkedin.metadata.telemetry.TelemetryConfiguration;
@@ -75,4 +77,14 @@ public class ConfigurationProvider {
    * Configuration for caching
    */
   private CacheConfiguration cache;
+
+  /**
+   * Usage rollup configurations
+   */
+  private UsageRollupConfiguration usageRollups;
+
+  /**
+   * Timeline configurations
+   */
+  private TimelineConfiguration timeline;
 }
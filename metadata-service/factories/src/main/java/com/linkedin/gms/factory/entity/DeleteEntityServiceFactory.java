@@ -1,17 +1,22 @@
 package com.linkedin.gms.factory.entity;
 
+import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
 import com.linkedin.metadata.entity.DeleteEntityService;
 import com.linkedin.metadata.entity.EntityService;
 import com.linkedin.metadata.graph.GraphService;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.PropertySource;
 
 @Configuration
+@PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
 @Import({EntityServiceFactory.class})
 public class DeleteEntityServiceFactory {
   @Autowired
@@ -22,10 +27,20 @@ public class DeleteEntityServiceFactory {
   @Qualifier("graphService")
   private GraphService _graphService;
 
-  @Bean(name = "deleteEntityService")
+  @Value("${entityService.deleteReferences.batchSize:1000}")
+  private int _batchSize;
+
+  @Value("${entityService.deleteReferences.concurrency:4}")
+  private int _concurrency;
+
+  @Value("${entityService.deleteReferences.jobRetentionSeconds:86400}")
+  private long _jobRetentionSeconds;
+
+  @Bean(name = "deleteEntityService", destroyMethod = "close")
   @DependsOn({"entityService"})
   @Nonnull
   protected DeleteEntityService createDeleteEntityService() {
-    return new DeleteEntityService(_entityService, _graphService);
+    return new DeleteEntityService(_entityService, _graphService, _batchSize, _concurrency,
+        TimeUnit.SECONDS.toMillis(_jobRetentionSeconds));
   }
 }
@@ -0,0 +1,54 @@
+package com.linkedin.gms.factory.entity;
+
+import com.linkedin.gms.factory.common.SystemMetadataServiceFactory;
+import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
+import com.linkedin.gms.factory.timeseries.TimeseriesAspectServiceFactory;
+import com.linkedin.metadata.entity.EntityService;
+import com.linkedin.metadata.entity.RollbackService;
+import com.linkedin.metadata.systemmetadata.SystemMetadataService;
+import com.linkedin.metadata.timeseries.TimeseriesAspectService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.PropertySource;
+
+
+@Configuration
+@PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
+@Import({EntityServiceFactory.class, SystemMetadataServiceFactory.class, TimeseriesAspectServiceFactory.class})
+public class RollbackServiceFactory {
+  @Autowired
+  @Qualifier("entityService")
+  private EntityService _entityService;
+
+  @Autowired
+  @Qualifier("systemMetadataService")
+  private SystemMetadataService _systemMetadataService;
+
+  @Autowired
+  @Qualifier("timeseriesAspectService")
+  private TimeseriesAspectService _timeseriesAspectService;
+
+  @Value("${entityService.rollback.batchSize:500}")
+  private int _batchSize;
+
+  @Value("${entityService.rollback.parallelism:4}")
+  private int _parallelism;
+
+  @Value("${entityService.rollback.jobRetentionSeconds:86400}")
+  private long _jobRetentionSeconds;
+
+  @Bean(name = "rollbackService", destroyMethod = "close")
+  @DependsOn({"entityService"})
+  @Nonnull
+  protected RollbackService createRollbackService() {
+    return new RollbackService(_entityService, _systemMetadataService, _timeseriesAspectService, _batchSize,
+        _parallelism, TimeUnit.SECONDS.toMillis(_jobRetentionSeconds));
+  }
+}
@@ -1,13 +1,16 @@
 package com.linkedin.gms.factory.recommendation;
 
 import com.google.common.collect.ImmutableList;
+import com.linkedin.gms.factory.config.ConfigurationProvider;
 import com.linkedin.gms.factory.recommendation.candidatesource.DomainsCandidateSourceFactory;
 import com.linkedin.gms.factory.recommendation.candidatesource.MostPopularCandidateSourceFactory;
 import com.linkedin.gms.factory.recommendation.candidatesource.RecentlyEditedCandidateSourceFactory;
 import com.linkedin.gms.factory.recommendation.candidatesource.TopPlatformsCandidateSourceFactory;
 import com.linkedin.gms.factory.recommendation.candidatesource.TopTagsCandidateSourceFactory;
 import com.linkedin.gms.factory.recommendation.candidatesource.TopTermsCandidateSourceFactory;
+import com.linkedin.metadata.config.cache.RecommendationsCacheConfiguration;
 import com.linkedin.metadata.recommendation.RecommendationsService;
+import com.linkedin.metadata.recommendation.cache.RecommendationModuleCache;
 import com.linkedin.metadata.recommendation.candidatesource.DomainsCandidateSource;
 import com.linkedin.metadata.recommendation.candidatesource.MostPopularSource;
 import com.linkedin.metadata.recommendation.candidatesource.RecentlySearchedSource;
@@ -64,9 +67,9 @@ public class RecommendationServiceFactory {
   @Qualifier("recentlySearchedCandidateSource")
   private RecentlySearchedSource recentlySearchedCandidateSource;
 
-  @Bean
+  @Bean(destroyMethod = "close")
   @Nonnull
-  protected RecommendationsService getInstance() {
+  protected RecommendationsService getInstance(ConfigurationProvider configurationProvider) {
     // TODO: Make this class-name pluggable to minimize merge conflict potential.
     // This is where you can add new recommendation modules.
     final List<RecommendationSource> candidateSources = ImmutableList.of(
@@ -74,6 +77,9 @@ public class RecommendationServiceFactory {
         domainsCandidateSource,
         recentlyViewedCandidateSource, recentlyEditedCandidateSource, _mostPopularCandidateSource,
         topTagsCandidateSource, topTermsCandidateSource, recentlySearchedCandidateSource);
-    return new RecommendationsService(candidateSources, new SimpleRecommendationRanker());
+    final RecommendationsCacheConfiguration cacheConfiguration = configurationProvider.getCache().getRecommendations();
+    final RecommendationModuleCache moduleCache =
+        cacheConfiguration.isEnabled() ? new RecommendationModuleCache(candidateSources, cacheConfiguration) : null;
+    return new RecommendationsService(candidateSources, new SimpleRecommendationRanker(), moduleCache);
   }
 }
@@ -0,0 +1,33 @@
+package com.linkedin.gms.factory.timeline;
+
+import com.linkedin.gms.factory.config.ConfigurationProvider;
+import com.linkedin.gms.factory.search.BaseElasticSearchComponentsFactory;
+import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
+import com.linkedin.metadata.timeline.materialized.ElasticSearchChangeTransactionService;
+import javax.annotation.Nonnull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.PropertySource;
+
+
+@Configuration
+@PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
+@Import({BaseElasticSearchComponentsFactory.class, ConfigurationProvider.class})
+public class ChangeTransactionServiceFactory {
+  @Autowired
+  @Qualifier("baseElasticSearchComponents")
+  private BaseElasticSearchComponentsFactory.BaseElasticSearchComponents components;
+
+  @Autowired
+  private ConfigurationProvider configurationProvider;
+
+  @Bean(name = "changeTransactionService")
+  @Nonnull
+  protected ElasticSearchChangeTransactionService getInstance() {
+    return new ElasticSearchChangeTransactionService(components.getSearchClient(), components.getBulkProcessor(),
+        components.getIndexConvention(), components.getIndexBuilder(), configurationProvider.getTimeline());
+  }
+}
@@ -0,0 +1,34 @@
+package com.linkedin.gms.factory.timeseries;
+
+import com.linkedin.gms.factory.config.ConfigurationProvider;
+import com.linkedin.gms.factory.search.BaseElasticSearchComponentsFactory;
+import com.linkedin.gms.factory.spring.YamlPropertySourceFactory;
+import com.linkedin.metadata.timeseries.rollup.ElasticSearchUsageRollupService;
+import javax.annotation.Nonnull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.PropertySource;
+
+
+@Configuration
+@PropertySource(value = "classpath:/application.yml", factory = YamlPropertySourceFactory.class)
+@Import({BaseElasticSearchComponentsFactory.class, ConfigurationProvider.class})
+public class UsageRollupServiceFactory {
+  @Autowired
+  @Qualifier("baseElasticSearchComponents")
+  private BaseElasticSearchComponentsFactory.BaseElasticSearchComponents components;
+
+  @Autowired
+  private ConfigurationProvider configurationProvider;
+
+  @Bean(name = "usageRollupService")
+  @Nonnull
+  protected ElasticSearchUsageRollupService getInstance() {
+    return new ElasticSearchUsageRollupService(components.getSearchClient(), components.getBulkProcessor(),
+        components.getIndexConvention(), components.getIndexBuilder(), configurationProvider.getUsageRollups(),
+        components.getNumRetries());
+  }
+}
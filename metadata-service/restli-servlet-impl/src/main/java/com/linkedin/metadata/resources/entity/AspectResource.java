@@ -9,6 +9,7 @@ import com.google.common.collect.ImmutableList;
 import com.linkedin.aspect.GetTimeseriesAspectValuesResponse;
 import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.StringArray;
 import com.linkedin.metadata.aspect.EnvelopedAspectArray;
 import com.linkedin.metadata.aspect.VersionedAspect;
 import com.linkedin.metadata.authorization.PoliciesConfig;
@@ -38,7 +39,9 @@ import com.linkedin.restli.server.resources.CollectionResourceTaskTemplate;
 import io.opentelemetry.extension.annotations.WithSpan;
 import java.net.URISyntaxException;
 import java.time.Clock;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -60,12 +63,14 @@ public class AspectResource extends CollectionResourceTaskTemplate<String, Versi
 
   private static final String ACTION_GET_TIMESERIES_ASPECT = "getTimeseriesAspectValues";
   private static final String ACTION_INGEST_PROPOSAL = "ingestProposal";
+  private static final String ACTION_BATCH_INGEST_PROPOSAL = "batchIngestProposal";
   private static final String ACTION_GET_COUNT = "getCount";
   private static final String ACTION_RESTORE_INDICES = "restoreIndices";
 
   private static final String PARAM_ENTITY = "entity";
   private static final String PARAM_ASPECT = "aspect";
   private static final String PARAM_PROPOSAL = "proposal";
+  private static final String PARAM_PROPOSALS = "proposals";
   private static final String PARAM_START_TIME_MILLIS = "startTimeMillis";
   private static final String PARAM_END_TIME_MILLIS = "endTimeMillis";
   private static final String PARAM_LATEST_VALUE = "latestValue";
@@ -165,12 +170,7 @@ public class AspectResource extends CollectionResourceTaskTemplate<String, Versi
       @ActionParam(PARAM_ASYNC) @Optional(UNSET) String async) throws URISyntaxException {
     log.info("INGEST PROPOSAL proposal: {}", metadataChangeProposal);
 
-    boolean asyncBool;
-    if (UNSET.equals(async)) {
-      asyncBool = Boolean.parseBoolean(System.getenv(ASYNC_INGEST_DEFAULT_NAME));
-    } else {
-      asyncBool = Boolean.parseBoolean(async);
-    }
+    final boolean asyncBool = isAsync(async);
 
     Authentication authentication = AuthenticationContext.getAuthentication();
     EntitySpec entitySpec = _entityService.getEntityRegistry().getEntitySpec(metadataChangeProposal.getEntityType());
@@ -185,21 +185,81 @@ public class AspectResource extends CollectionResourceTaskTemplate<String, Versi
 
     return RestliUtil.toTask(() -> {
       log.debug("Proposal: {}", metadataChangeProposal);
-      try {
-        EntityService.IngestProposalResult result = _entityService.ingestProposal(metadataChangeProposal, auditStamp, asyncBool);
-        Urn responseUrn = result.getUrn();
+      return doIngestProposal(metadataChangeProposal, auditStamp, asyncBool);
+    }, MetricRegistry.name(this.getClass(), "ingestProposal"));
+  }
 
-        AspectUtils.getAdditionalChanges(metadataChangeProposal, _entityService)
-                .forEach(proposal -> _entityService.ingestProposal(proposal, auditStamp, asyncBool));
+  /**
+   * Ingests a batch of proposals in a single request, and returns the urn of each proposal in request order. Every
+   * proposal is validated before any is ingested, so a proposal failing validation fails the request without writing
+   * anything. Proposals are then ingested one by one, so a failure past validation, such as a patch that does not
+   * apply, leaves the proposals ingested before it in place.
+   */
+  @Action(name = ACTION_BATCH_INGEST_PROPOSAL)
+  @Nonnull
+  @WithSpan
+  public Task<StringArray> batchIngestProposal(
+      @ActionParam(PARAM_PROPOSALS) @Nonnull MetadataChangeProposal[] metadataChangeProposals,
+      @ActionParam(PARAM_ASYNC) @Optional(UNSET) String async) throws URISyntaxException {
+    log.info("BATCH INGEST PROPOSAL count: {}", metadataChangeProposals.length);
+
+    final boolean asyncBool = isAsync(async);
+
+    Authentication authentication = AuthenticationContext.getAuthentication();
+    List<java.util.Optional<ResourceSpec>> resourceSpecs = new ArrayList<>(metadataChangeProposals.length);
+    for (MetadataChangeProposal metadataChangeProposal : metadataChangeProposals) {
+      EntitySpec entitySpec = _entityService.getEntityRegistry().getEntitySpec(metadataChangeProposal.getEntityType());
+      Urn urn = EntityKeyUtils.getUrnFromProposal(metadataChangeProposal, entitySpec.getKeyAspectSpec());
+      resourceSpecs.add(java.util.Optional.of(new ResourceSpec(urn.getEntityType(), urn.toString())));
+    }
+    if (Boolean.parseBoolean(System.getenv(REST_API_AUTHORIZATION_ENABLED_ENV))
+        && !isAuthorized(authentication, _authorizer, ImmutableList.of(PoliciesConfig.EDIT_ENTITY_PRIVILEGE), resourceSpecs)) {
+      throw new RestLiServiceException(HttpStatus.S_401_UNAUTHORIZED, "User is unauthorized to modify entities.");
+    }
+    String actorUrnStr = authentication.getActor().toUrnStr();
+    final AuditStamp auditStamp = new AuditStamp().setTime(_clock.millis()).setActor(Urn.createFromString(actorUrnStr));
 
-        if (!result.isQueued()) {
-          tryIndexRunId(responseUrn, metadataChangeProposal.getSystemMetadata(), _entitySearchService);
+    return RestliUtil.toTask(() -> {
+      for (int i = 0; i < metadataChangeProposals.length; i++) {
+        try {
+          _entityService.validateProposal(metadataChangeProposals[i]);
+        } catch (ValidationException e) {
+          throw new RestLiServiceException(HttpStatus.S_422_UNPROCESSABLE_ENTITY,
+              String.format("Proposal %d of the batch is invalid: %s", i, e.getMessage()));
         }
-        return responseUrn.toString();
-      } catch (ValidationException e) {
-        throw new RestLiServiceException(HttpStatus.S_422_UNPROCESSABLE_ENTITY, e.getMessage());
       }
-    }, MetricRegistry.name(this.getClass(), "ingestProposal"));
+      StringArray urns = new StringArray(metadataChangeProposals.length);
+      for (MetadataChangeProposal metadataChangeProposal : metadataChangeProposals) {
+        log.debug("Proposal: {}", metadataChangeProposal);
+        urns.add(doIngestProposal(metadataChangeProposal, auditStamp, asyncBool));
+      }
+      return urns;
+    }, MetricRegistry.name(this.getClass(), "batchIngestProposal"));
+  }
+
+  private boolean isAsync(String async) {
+    if (UNSET.equals(async)) {
+      return Boolean.parseBoolean(System.getenv(ASYNC_INGEST_DEFAULT_NAME));
+    }
+    return Boolean.parseBoolean(async);
+  }
+
+  private String doIngestProposal(@Nonnull MetadataChangeProposal metadataChangeProposal, @Nonnull AuditStamp auditStamp,
+      boolean asyncBool) {
+    try {
+      EntityService.IngestProposalResult result = _entityService.ingestProposal(metadataChangeProposal, auditStamp, asyncBool);
+      Urn responseUrn = result.getUrn();
+
+      AspectUtils.getAdditionalChanges(metadataChangeProposal, _entityService)
+              .forEach(proposal -> _entityService.ingestProposal(proposal, auditStamp, asyncBool));
+
+      if (!result.isQueued()) {
+        tryIndexRunId(responseUrn, metadataChangeProposal.getSystemMetadata(), _entitySearchService);
+      }
+      return responseUrn.toString();
+    } catch (ValidationException e) {
+      throw new RestLiServiceException(HttpStatus.S_422_UNPROCESSABLE_ENTITY, e.getMessage());
+    }
   }
 
   @Action(name = ACTION_GET_COUNT)
@@ -6,32 +6,27 @@ import com.datahub.authentication.AuthenticationContext;
 import com.datahub.plugins.auth.authorization.Authorizer;
 import com.datahub.authorization.ResourceSpec;
 import com.google.common.collect.ImmutableList;
-import com.linkedin.common.AuditStamp;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.entity.EnvelopedAspect;
-import com.linkedin.events.metadata.ChangeType;
-import com.linkedin.execution.ExecutionRequestResult;
 import com.linkedin.metadata.Constants;
 import com.linkedin.metadata.aspect.VersionedAspect;
 import com.linkedin.metadata.authorization.PoliciesConfig;
 import com.linkedin.metadata.entity.EntityService;
+import com.linkedin.metadata.entity.RollbackService;
 import com.linkedin.metadata.entity.RollbackRunResult;
-import com.linkedin.metadata.key.ExecutionRequestKey;
 import com.linkedin.metadata.restli.RestliUtil;
 import com.linkedin.metadata.run.AspectRowSummary;
 import com.linkedin.metadata.run.AspectRowSummaryArray;
 import com.linkedin.metadata.run.IngestionRunSummary;
 import com.linkedin.metadata.run.IngestionRunSummaryArray;
+import com.linkedin.metadata.run.RollbackJobStatus;
 import com.linkedin.metadata.run.RollbackResponse;
 import com.linkedin.metadata.run.UnsafeEntityInfo;
 import com.linkedin.metadata.run.UnsafeEntityInfoArray;
 import com.linkedin.metadata.search.utils.ESUtils;
 import com.linkedin.metadata.systemmetadata.SystemMetadataService;
 import com.linkedin.metadata.timeseries.TimeseriesAspectService;
-import com.linkedin.metadata.utils.EntityKeyUtils;
-import com.linkedin.metadata.utils.GenericRecordUtils;
-import com.linkedin.mxe.MetadataChangeProposal;
 import com.linkedin.parseq.Task;
 import com.linkedin.restli.common.HttpStatus;
 import com.linkedin.restli.server.RestLiServiceException;
@@ -71,9 +66,6 @@ public class BatchIngestionRunResource extends CollectionResourceTaskTemplate<St
   private static final boolean DEFAULT_HARD_DELETE = false;
   private static final Integer ELASTIC_MAX_PAGE_SIZE = 10000;
   private static final Integer ELASTIC_BATCH_DELETE_SLEEP_SEC = 5;
-  private static final String ROLLING_BACK_STATUS = "ROLLING_BACK";
-  private static final String ROLLED_BACK_STATUS = "ROLLED_BACK";
-  private static final String ROLLBACK_FAILED_STATUS = "ROLLBACK_FAILED";
 
   @Inject
   @Named("systemMetadataService")
@@ -91,6 +83,10 @@ public class BatchIngestionRunResource extends CollectionResourceTaskTemplate<St
   @Named("authorizerChain")
   private Authorizer _authorizer;
 
+  @Inject
+  @Named("rollbackService")
+  private RollbackService _rollbackService;
+
   /**
    * Rolls back an ingestion run
    */
@@ -103,36 +99,18 @@ public class BatchIngestionRunResource extends CollectionResourceTaskTemplate<St
       @ActionParam("safe") @Optional Boolean safe) throws Exception {
     log.info("ROLLBACK RUN runId: {} dry run: {}", runId, dryRun);
 
-    boolean doHardDelete = safe != null ? !safe : hardDelete != null ? hardDelete : DEFAULT_HARD_DELETE;
-
-    if (safe != null && hardDelete != null) {
-      log.warn("Both Safe & hardDelete flags were defined, honouring safe flag as hardDelete is deprecated");
-    }
+    boolean doHardDelete = isHardDelete(hardDelete, safe);
     try {
       return RestliUtil.toTask(() -> {
-        if (runId.equals(EntityService.DEFAULT_RUN_ID)) {
-          throw new IllegalArgumentException(String.format(
-              "%s is a default run-id provided for non labeled ingestion runs. You cannot delete using this reserved run-id",
-              runId));
-        }
+        validateRunId(runId);
         if (!dryRun) {
-          updateExecutionRequestStatus(runId, ROLLING_BACK_STATUS);
+          _rollbackService.updateExecutionRequestStatus(runId, RollbackService.ROLLING_BACK_STATUS);
         }
 
         RollbackResponse response = new RollbackResponse();
         List<AspectRowSummary> aspectRowsToDelete;
         aspectRowsToDelete = _systemMetadataService.findByRunId(runId, doHardDelete, 0, ESUtils.MAX_RESULT_SIZE);
-        Set<String> urns = aspectRowsToDelete.stream().collect(Collectors.groupingBy(AspectRowSummary::getUrn)).keySet();
-        List<java.util.Optional<ResourceSpec>> resourceSpecs = urns.stream()
-            .map(UrnUtils::getUrn)
-            .map(urn -> java.util.Optional.of(new ResourceSpec(urn.getEntityType(), urn.toString())))
-            .collect(Collectors.toList());
-        Authentication auth = AuthenticationContext.getAuthentication();
-        if (Boolean.parseBoolean(System.getenv(REST_API_AUTHORIZATION_ENABLED_ENV))
-            && !isAuthorized(auth, _authorizer, ImmutableList.of(PoliciesConfig.DELETE_ENTITY_PRIVILEGE), resourceSpecs)) {
-          throw new RestLiServiceException(HttpStatus.S_401_UNAUTHORIZED,
-              "User is unauthorized to delete entities.");
-        }
+        authorizeDelete(AuthenticationContext.getAuthentication(), aspectRowsToDelete);
         log.info("found {} rows to delete...", stringifyRowCount(aspectRowsToDelete.size()));
         if (dryRun) {
 
@@ -245,7 +223,7 @@ public class BatchIngestionRunResource extends CollectionResourceTaskTemplate<St
 
         log.info("calculation done.");
 
-        updateExecutionRequestStatus(runId, ROLLED_BACK_STATUS);
+        _rollbackService.updateExecutionRequestStatus(runId, RollbackService.ROLLED_BACK_STATUS);
 
         return response.setAspectsAffected(affectedAspects)
             .setAspectsReverted(aspectsReverted)
@@ -256,11 +234,83 @@ public class BatchIngestionRunResource extends CollectionResourceTaskTemplate<St
             .setAspectRowSummaries(rowSummaries);
       }, MetricRegistry.name(this.getClass(), "rollback"));
     } catch (Exception e) {
-      updateExecutionRequestStatus(runId, ROLLBACK_FAILED_STATUS);
+      _rollbackService.updateExecutionRequestStatus(runId, RollbackService.ROLLBACK_FAILED_STATUS);
       throw new RuntimeException(String.format("There was an issue rolling back ingestion run with runId %s", runId), e);
     }
   }
 
+  /**
+   * Starts rolling back an ingestion run in the background, streaming its aspects in batches rather than loading them
+   * all at once. Each batch is authorized as the caller before it is rolled back. Use rollbackStatus to follow its
+   * progress.
+   */
+  @Action(name = "rollbackAsync")
+  @Nonnull
+  @WithSpan
+  public Task<RollbackJobStatus> rollbackAsync(@ActionParam("runId") @Nonnull String runId,
+      @ActionParam("safe") @Optional Boolean safe) {
+    log.info("ASYNC ROLLBACK RUN runId: {}", runId);
+
+    boolean doHardDelete = isHardDelete(null, safe);
+    return RestliUtil.toTask(() -> {
+      validateRunId(runId);
+      // The job runs outside of the request, so it checks its batches against the authentication of the caller
+      final Authentication auth = AuthenticationContext.getAuthentication();
+      return _rollbackService.submitRollback(runId, doHardDelete, rows -> authorizeDelete(auth, rows));
+    }, MetricRegistry.name(this.getClass(), "rollbackAsync"));
+  }
+
+  /**
+   * Returns the progress of the last asynchronous rollback of an ingestion run. Progress is only kept by the instance
+   * that runs the rollback, until the job retention after it finishes, so other instances answer with a 404. The
+   * status of the run's execution request is shared by all of them.
+   */
+  @Action(name = "rollbackStatus")
+  @Nonnull
+  @WithSpan
+  public Task<RollbackJobStatus> rollbackStatus(@ActionParam("runId") @Nonnull String runId) {
+    return RestliUtil.toTask(() -> {
+      Authentication auth = AuthenticationContext.getAuthentication();
+      if (Boolean.parseBoolean(System.getenv(REST_API_AUTHORIZATION_ENABLED_ENV))
+          && !isAuthorized(auth, _authorizer, ImmutableList.of(PoliciesConfig.DELETE_ENTITY_PRIVILEGE),
+          (ResourceSpec) null)) {
+        throw new RestLiServiceException(HttpStatus.S_401_UNAUTHORIZED,
+            "User is unauthorized to get the status of rollbacks.");
+      }
+      return _rollbackService.getRollbackStatus(runId)
+          .orElseThrow(() -> new RestLiServiceException(HttpStatus.S_404_NOT_FOUND,
+              String.format("No recent rollback of run %s was started on this instance", runId)));
+    }, MetricRegistry.name(this.getClass(), "rollbackStatus"));
+  }
+
+  private boolean isHardDelete(@Nullable Boolean hardDelete, @Nullable Boolean safe) {
+    if (safe != null && hardDelete != null) {
+      log.warn("Both Safe & hardDelete flags were defined, honouring safe flag as hardDelete is deprecated");
+    }
+    return safe != null ? !safe : hardDelete != null ? hardDelete : DEFAULT_HARD_DELETE;
+  }
+
+  private void validateRunId(String runId) {
+    if (runId.equals(EntityService.DEFAULT_RUN_ID)) {
+      throw new IllegalArgumentException(String.format(
+          "%s is a default run-id provided for non labeled ingestion runs. You cannot delete using this reserved run-id",
+          runId));
+    }
+  }
+
+  private void authorizeDelete(Authentication auth, List<AspectRowSummary> aspectRows) {
+    Set<String> urns = aspectRows.stream().collect(Collectors.groupingBy(AspectRowSummary::getUrn)).keySet();
+    List<java.util.Optional<ResourceSpec>> resourceSpecs = urns.stream()
+        .map(UrnUtils::getUrn)
+        .map(urn -> java.util.Optional.of(new ResourceSpec(urn.getEntityType(), urn.toString())))
+        .collect(Collectors.toList());
+    if (Boolean.parseBoolean(System.getenv(REST_API_AUTHORIZATION_ENABLED_ENV))
+        && !isAuthorized(auth, _authorizer, ImmutableList.of(PoliciesConfig.DELETE_ENTITY_PRIVILEGE), resourceSpecs)) {
+      throw new RestLiServiceException(HttpStatus.S_401_UNAUTHORIZED,
+          "User is unauthorized to delete entities.");
+    }
+  }
+
   private String stringifyRowCount(int size) {
     if (size < ELASTIC_MAX_PAGE_SIZE) {
       return String.valueOf(size);
@@ -277,31 +327,6 @@ public class BatchIngestionRunResource extends CollectionResourceTaskTemplate<St
     }
   }
 
-  private void updateExecutionRequestStatus(String runId, String status) {
-    try {
-      final Urn executionRequestUrn = EntityKeyUtils.convertEntityKeyToUrn(new ExecutionRequestKey().setId(runId), Constants.EXECUTION_REQUEST_ENTITY_NAME);
-      EnvelopedAspect aspect =
-          _entityService.getLatestEnvelopedAspect(executionRequestUrn.getEntityType(), executionRequestUrn, Constants.EXECUTION_REQUEST_RESULT_ASPECT_NAME);
-      if (aspect == null) {
-        log.warn("Aspect for execution request with runId {} not found", runId);
-      } else {
-        final MetadataChangeProposal proposal = new MetadataChangeProposal();
-        ExecutionRequestResult requestResult = new ExecutionRequestResult(aspect.getValue().data());
-        requestResult.setStatus(status);
-        proposal.setEntityUrn(executionRequestUrn);
-        proposal.setEntityType(Constants.EXECUTION_REQUEST_ENTITY_NAME);
-        proposal.setAspectName(Constants.EXECUTION_REQUEST_RESULT_ASPECT_NAME);
-        proposal.setAspect(GenericRecordUtils.serializeAspect(requestResult));
-        proposal.setChangeType(ChangeType.UPSERT);
-
-        _entityService.ingestProposal(proposal,
-            new AuditStamp().setActor(UrnUtils.getUrn(Constants.SYSTEM_ACTOR)).setTime(System.currentTimeMillis()), false);
-      }
-    } catch (Exception e) {
-      log.error(String.format("Not able to update execution result aspect with runId %s and new status %s.", runId, status), e);
-    }
-  }
-
   /**
    * Retrieves the value for an entity that is made up of latest versions of specified aspects.
    */
@@ -34,6 +34,7 @@ import com.linkedin.metadata.restli.RestliUtil;
 import com.linkedin.metadata.run.AspectRowSummary;
 import com.linkedin.metadata.run.AspectRowSummaryArray;
 import com.linkedin.metadata.run.DeleteEntityResponse;
+import com.linkedin.metadata.run.DeleteReferencesJobStatus;
 import com.linkedin.metadata.run.DeleteReferencesResponse;
 import com.linkedin.metadata.run.RollbackResponse;
 import com.linkedin.metadata.search.EntitySearchService;
@@ -673,15 +674,53 @@ public class EntityResource extends CollectionResourceTaskTemplate<String, Entit
     boolean dryRun = dry != null ? dry : false;
 
     Urn urn = Urn.createFromString(urnStr);
+    authorizeDeleteReferences(urn);
+    return RestliUtil.toTask(() -> _deleteEntityService.deleteReferencesTo(urn, dryRun),
+        MetricRegistry.name(this.getClass(), "deleteReferences"));
+  }
+
+  /**
+   * Starts deleting the references to an urn in the background, paging through its relationships in batches rather
+   * than all at once. Use deleteReferencesStatus to follow its progress.
+   */
+  @Action(name = "deleteReferencesAsync")
+  @Nonnull
+  @WithSpan
+  public Task<DeleteReferencesJobStatus> deleteReferencesAsync(@ActionParam(PARAM_URN) @Nonnull String urnStr,
+      @ActionParam("dryRun") @Optional Boolean dry) throws URISyntaxException {
+    boolean dryRun = dry != null ? dry : false;
+
+    Urn urn = Urn.createFromString(urnStr);
+    authorizeDeleteReferences(urn);
+    return RestliUtil.toTask(() -> _deleteEntityService.submitDeleteReferences(urn, dryRun),
+        MetricRegistry.name(this.getClass(), "deleteReferencesAsync"));
+  }
+
+  /**
+   * Returns the progress of the last asynchronous deletion of the references to an urn. Progress is only kept by the
+   * instance that runs the deletion, until the job retention after it finishes, so other instances answer with a 404.
+   */
+  @Action(name = "deleteReferencesStatus")
+  @Nonnull
+  @WithSpan
+  public Task<DeleteReferencesJobStatus> deleteReferencesStatus(@ActionParam(PARAM_URN) @Nonnull String urnStr)
+      throws URISyntaxException {
+    Urn urn = Urn.createFromString(urnStr);
+    authorizeDeleteReferences(urn);
+    return RestliUtil.toTask(() -> _deleteEntityService.getDeleteReferencesStatus(urn)
+        .orElseThrow(() -> new RestLiServiceException(HttpStatus.S_404_NOT_FOUND,
+            String.format("No recent deletion of the references to %s was started on this instance", urnStr))),
+        MetricRegistry.name(this.getClass(), "deleteReferencesStatus"));
+  }
+
+  private void authorizeDeleteReferences(Urn urn) {
     Authentication auth = AuthenticationContext.getAuthentication();
     if (Boolean.parseBoolean(System.getenv(REST_API_AUTHORIZATION_ENABLED_ENV))
         && !isAuthorized(auth, _authorizer, ImmutableList.of(PoliciesConfig.DELETE_ENTITY_PRIVILEGE),
-        new ResourceSpec(urn.getEntityType(), urnStr))) {
+        new ResourceSpec(urn.getEntityType(), urn.toString()))) {
       throw new RestLiServiceException(HttpStatus.S_401_UNAUTHORIZED,
-          "User is unauthorized to delete entity " + urnStr);
+          "User is unauthorized to delete entity " + urn);
     }
-    return RestliUtil.toTask(() -> _deleteEntityService.deleteReferencesTo(urn, dryRun),
-        MetricRegistry.name(this.getClass(), "deleteReferences"));
   }
 
   /*
@@ -11,6 +11,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
 import com.linkedin.common.WindowDuration;
 import com.linkedin.common.urn.Urn;
+import com.linkedin.common.urn.UrnUtils;
 import com.linkedin.data.template.StringArray;
 import com.linkedin.dataset.DatasetFieldUsageCounts;
 import com.linkedin.dataset.DatasetFieldUsageCountsArray;
@@ -28,7 +29,10 @@ import com.linkedin.metadata.query.filter.CriterionArray;
 import com.linkedin.metadata.query.filter.Filter;
 import com.linkedin.metadata.restli.RestliUtil;
 import com.linkedin.metadata.timeseries.TimeseriesAspectService;
+import com.linkedin.metadata.timeseries.rollup.UsageRollupService;
+import com.linkedin.metadata.timeseries.rollup.UsageRollupUtils;
 import com.linkedin.metadata.timeseries.transformer.TimeseriesAspectTransformer;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
 import com.linkedin.parseq.Task;
 import com.linkedin.restli.common.HttpStatus;
 import com.linkedin.restli.server.RestLiServiceException;
@@ -59,7 +63,9 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Named;
 import lombok.Getter;
@@ -105,6 +111,10 @@ public class UsageStats extends SimpleResourceTemplate<UsageAggregation> {
   @Named("authorizerChain")
   private Authorizer _authorizer;
 
+  @Inject
+  @Named("usageRollupService")
+  private UsageRollupService _usageRollupService;
+
   @Getter(lazy = true)
   private final AspectSpec usageStatsAspectSpec =
       _entityRegistry.getEntitySpec(USAGE_STATS_ENTITY_NAME).getAspectSpec(USAGE_STATS_ASPECT_NAME);
@@ -289,6 +299,28 @@ public class UsageStats extends SimpleResourceTemplate<UsageAggregation> {
     return fieldUsageCounts;
   }
 
+  private Filter buildFilter(@Nonnull String resource, @Nullable Long startTime, @Nullable Long endTime) {
+    Filter filter = new Filter();
+    ArrayList<Criterion> criteria = new ArrayList<>();
+    Criterion hasUrnCriterion = new Criterion().setField("urn").setCondition(Condition.EQUAL).setValue(resource);
+    criteria.add(hasUrnCriterion);
+    if (startTime != null) {
+      Criterion startTimeCriterion = new Criterion().setField(ES_FIELD_TIMESTAMP)
+          .setCondition(Condition.GREATER_THAN_OR_EQUAL_TO)
+          .setValue(startTime.toString());
+      criteria.add(startTimeCriterion);
+    }
+    if (endTime != null) {
+      Criterion endTimeCriterion = new Criterion().setField(ES_FIELD_TIMESTAMP)
+          .setCondition(Condition.LESS_THAN_OR_EQUAL_TO)
+          .setValue(endTime.toString());
+      criteria.add(endTimeCriterion);
+    }
+
+    filter.setOr(new ConjunctiveCriterionArray(new ConjunctiveCriterion().setAnd(new CriterionArray(criteria))));
+    return filter;
+  }
+
   private UsageQueryResultAggregations getAggregations(Filter filter) {
     UsageQueryResultAggregations aggregations = new UsageQueryResultAggregations();
     List<UserUsageCounts> userUsageCounts = getUserUsageCounts(filter);
@@ -301,6 +333,126 @@ public class UsageStats extends SimpleResourceTemplate<UsageAggregation> {
     return aggregations;
   }
 
+  private void setTotalSqlQueries(@Nonnull UsageQueryResultAggregations aggregations,
+      @Nonnull List<UsageAggregation> buckets) {
+    // Compute totalSqlQuery count from the buckets itself.
+    // We want to avoid issuing an additional query with a sum aggregation.
+    Integer totalQueryCount = null;
+    for (UsageAggregation bucket : buckets) {
+      if (bucket.getMetrics().getTotalSqlQueries() != null) {
+        if (totalQueryCount == null) {
+          totalQueryCount = 0;
+        }
+        totalQueryCount += bucket.getMetrics().getTotalSqlQueries();
+      }
+    }
+
+    if (totalQueryCount != null) {
+      aggregations.setTotalSqlQueries(totalQueryCount);
+    }
+  }
+
+  /**
+   * Serves a usage query from the daily, weekly or monthly usage rollups. Only the partial buckets at the edges of the
+   * window are aggregated from the raw usage statistics, so the cost of the query no longer grows with the number of
+   * raw documents in the window. Returns empty if the query cannot be served from the rollups.
+   */
+  private Optional<UsageQueryResult> queryRollups(@Nonnull String resource, @Nonnull WindowDuration duration,
+      @Nullable Long startTime, @Nullable Long endTime) {
+    final Optional<UsageRollupUtils.WindowSplit> maybeWindow =
+        UsageRollupUtils.splitWindow(startTime, endTime, duration, Instant.now().toEpochMilli());
+    if (!maybeWindow.isPresent()) {
+      return Optional.empty();
+    }
+    final UsageRollupUtils.WindowSplit window = maybeWindow.get();
+
+    final Urn urn = UrnUtils.getUrn(resource);
+    final List<UsageAggregation> buckets = new ArrayList<>();
+    final List<UsageAggregationMetrics> metrics = new ArrayList<>();
+
+    // 1. Aggregate the partial bucket at the start of the window from the raw documents.
+    if (window.hasHead()) {
+      addRawUsage(resource, duration, window.getHeadStart(), window.getHeadEnd(), buckets, metrics);
+    }
+
+    // 2. Read the whole buckets from the rollups.
+    if (window.hasRollups()) {
+      for (UsageAggregation rollup : _usageRollupService.getRollups(urn, duration, window.getRollupStart(),
+          window.getRollupEnd())) {
+        metrics.add(rollup.getMetrics());
+        buckets.add(toQueryBucket(rollup));
+      }
+    }
+
+    // 3. Aggregate the partial bucket at the end of the window from the raw documents.
+    if (window.hasTail()) {
+      addRawUsage(resource, duration, window.getTailStart(), window.getTailEnd(), buckets, metrics);
+    }
+
+    // 4. Merge the user and field counts of every part of the window.
+    final UsageAggregationMetrics merged = UsageRollupUtils.mergeMetrics(metrics);
+    final UsageQueryResultAggregations aggregations = new UsageQueryResultAggregations();
+    final UserUsageCountsArray users = merged.hasUsers() ? merged.getUsers() : new UserUsageCountsArray();
+    aggregations.setUsers(users);
+    aggregations.setUniqueUserCount(users.size());
+    aggregations.setFields(merged.hasFields() ? merged.getFields() : new FieldUsageCountsArray());
+
+    final UsageAggregationArray resultBuckets = fillEmptyBuckets(buckets, duration);
+    setTotalSqlQueries(aggregations, resultBuckets);
+    return Optional.of(new UsageQueryResult().setBuckets(resultBuckets).setAggregations(aggregations));
+  }
+
+  private void addRawUsage(@Nonnull String resource, @Nonnull WindowDuration duration, long startTime, long endTime,
+      @Nonnull List<UsageAggregation> buckets, @Nonnull List<UsageAggregationMetrics> metrics) {
+    Filter filter = buildFilter(resource, startTime, endTime);
+    buckets.addAll(getBuckets(filter, resource, duration));
+    metrics.add(new UsageAggregationMetrics()
+        .setUsers(new UserUsageCountsArray(getUserUsageCounts(filter)))
+        .setFields(new FieldUsageCountsArray(getFieldUsageCounts(filter))));
+  }
+
+  private UsageAggregation toQueryBucket(@Nonnull UsageAggregation rollup) {
+    // Like the raw buckets, only the latest values are returned per bucket (see getBuckets).
+    UsageAggregationMetrics rollupMetrics = rollup.getMetrics();
+    UsageAggregationMetrics bucketMetrics = new UsageAggregationMetrics();
+    if (rollupMetrics.hasUniqueUserCount()) {
+      bucketMetrics.setUniqueUserCount(rollupMetrics.getUniqueUserCount());
+    }
+    if (rollupMetrics.hasTotalSqlQueries()) {
+      bucketMetrics.setTotalSqlQueries(rollupMetrics.getTotalSqlQueries());
+    }
+    if (rollupMetrics.hasTopSqlQueries()) {
+      bucketMetrics.setTopSqlQueries(rollupMetrics.getTopSqlQueries());
+    }
+    return new UsageAggregation()
+        .setBucket(rollup.getBucket())
+        .setDuration(rollup.getDuration())
+        .setResource(rollup.getResource())
+        .setMetrics(bucketMetrics);
+  }
+
+  private UsageAggregationArray fillEmptyBuckets(@Nonnull List<UsageAggregation> buckets,
+      @Nonnull WindowDuration duration) {
+    // Rollups only exist for buckets with usage, whereas the date histogram of the raw query also returns the empty
+    // buckets between the first and the last one.
+    UsageAggregationArray result = new UsageAggregationArray();
+    for (UsageAggregation bucket : buckets) {
+      if (!result.isEmpty()) {
+        UsageAggregation previous = result.get(result.size() - 1);
+        for (long emptyBucket = UsageRollupUtils.getNextBucketStart(previous.getBucket(), duration);
+            emptyBucket < bucket.getBucket(); emptyBucket = UsageRollupUtils.getNextBucketStart(emptyBucket, duration)) {
+          result.add(new UsageAggregation()
+              .setBucket(emptyBucket)
+              .setDuration(duration)
+              .setResource(bucket.getResource())
+              .setMetrics(new UsageAggregationMetrics()));
+        }
+      }
+      result.add(bucket);
+    }
+    return result;
+  }
+
   @Action(name = ACTION_QUERY)
   @Nonnull
   @WithSpan
@@ -317,25 +469,17 @@ public class UsageStats extends SimpleResourceTemplate<UsageAggregation> {
         throw new RestLiServiceException(HttpStatus.S_401_UNAUTHORIZED,
             "User is unauthorized to query usage.");
       }
-      // 1. Populate the filter. This is common for all queries.
-      Filter filter = new Filter();
-      ArrayList<Criterion> criteria = new ArrayList<>();
-      Criterion hasUrnCriterion = new Criterion().setField("urn").setCondition(Condition.EQUAL).setValue(resource);
-      criteria.add(hasUrnCriterion);
-      if (startTime != null) {
-        Criterion startTimeCriterion = new Criterion().setField(ES_FIELD_TIMESTAMP)
-            .setCondition(Condition.GREATER_THAN_OR_EQUAL_TO)
-            .setValue(startTime.toString());
-        criteria.add(startTimeCriterion);
-      }
-      if (endTime != null) {
-        Criterion endTimeCriterion = new Criterion().setField(ES_FIELD_TIMESTAMP)
-            .setCondition(Condition.LESS_THAN_OR_EQUAL_TO)
-            .setValue(endTime.toString());
-        criteria.add(endTimeCriterion);
+      // 0. Serve the query from the usage rollups when enabled.
+      if (_usageRollupService.isQueryEnabled()) {
+        Optional<UsageQueryResult> rollupResult = queryRollups(resource, duration, startTime, endTime);
+        if (rollupResult.isPresent()) {
+          MetricUtils.counter(this.getClass(), "rollup_query").inc();
+          return rollupResult.get();
+        }
       }
-      
-      filter.setOr(new ConjunctiveCriterionArray(new ConjunctiveCriterion().setAnd(new CriterionArray(criteria))));
+
+      // 1. Populate the filter. This is common for all queries.
+      Filter filter = buildFilter(resource, startTime, endTime);
 
       // 2. Get buckets.
       UsageAggregationArray buckets = getBuckets(filter, resource, duration);
@@ -344,20 +488,7 @@ public class UsageStats extends SimpleResourceTemplate<UsageAggregation> {
       UsageQueryResultAggregations aggregations = getAggregations(filter);
 
       // 4. Compute totalSqlQuery count from the buckets itself.
-      // We want to avoid issuing an additional query with a sum aggregation.
-      Integer totalQueryCount = null;
-      for (UsageAggregation bucket : buckets) {
-        if (bucket.getMetrics().getTotalSqlQueries() != null) {
-          if (totalQueryCount == null) {
-            totalQueryCount = 0;
-          }
-          totalQueryCount += bucket.getMetrics().getTotalSqlQueries();
-        }
-      }
-
-      if (totalQueryCount != null) {
-        aggregations.setTotalSqlQueries(totalQueryCount);
-      }
+      setTotalSqlQueries(aggregations, buckets);
 
       // 5. Populate and return the result.
       return new UsageQueryResult().setBuckets(buckets).setAggregations(aggregations);
@@ -430,6 +561,10 @@ public class UsageStats extends SimpleResourceTemplate<UsageAggregation> {
       _timeseriesAspectService.upsertDocument(USAGE_STATS_ENTITY_NAME, USAGE_STATS_ASPECT_NAME, document.getKey(),
           document.getValue());
     });
+    // 4. Update the usage rollups. Usage ingested through this endpoint does not produce a MetadataChangeLog.
+    if (_usageRollupService.isEnabled()) {
+      _usageRollupService.upsertUsage(bucket.getResource(), datasetUsageStatistics);
+    }
   }
 
   @Nonnull
@@ -0,0 +1,87 @@
+package com.linkedin.metadata.resources.entity;
+
+import com.datahub.authentication.Actor;
+import com.datahub.authentication.ActorType;
+import com.datahub.authentication.Authentication;
+import com.datahub.authentication.AuthenticationContext;
+import com.datahub.plugins.auth.authorization.Authorizer;
+import com.linkedin.common.FabricType;
+import com.linkedin.common.urn.DataPlatformUrn;
+import com.linkedin.common.urn.DatasetUrn;
+import com.linkedin.dataset.DatasetProperties;
+import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.metadata.entity.EntityService;
+import com.linkedin.metadata.entity.validation.ValidationException;
+import com.linkedin.metadata.models.registry.SnapshotEntityRegistry;
+import com.linkedin.metadata.search.EntitySearchService;
+import com.linkedin.metadata.timeseries.TimeseriesAspectService;
+import com.linkedin.metadata.utils.GenericRecordUtils;
+import com.linkedin.mxe.MetadataChangeProposal;
+import com.linkedin.restli.common.HttpStatus;
+import com.linkedin.restli.server.RestLiServiceException;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static com.linkedin.metadata.Constants.*;
+import static org.testng.Assert.*;
+
+
+public class AspectResourceTest {
+
+  @Mock
+  private EntityService _entityService;
+  @Mock
+  private EntitySearchService _entitySearchService;
+  @Mock
+  private TimeseriesAspectService _timeseriesAspectService;
+  @Mock
+  private Authorizer _authorizer;
+  @InjectMocks
+  private AspectResource _aspectResource;
+
+  @BeforeMethod
+  public void setup() {
+    MockitoAnnotations.initMocks(this);
+    Mockito.when(_entityService.getEntityRegistry()).thenReturn(SnapshotEntityRegistry.getInstance());
+    AuthenticationContext.setAuthentication(new Authentication(new Actor(ActorType.USER, "datahub"), ""));
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    AuthenticationContext.remove();
+  }
+
+  @Test
+  public void testBatchIngestProposalWithInvalidProposalWritesNothing() throws Exception {
+    final MetadataChangeProposal valid = createProposal("valid");
+    final MetadataChangeProposal invalid = createProposal("invalid");
+    Mockito.doThrow(new ValidationException("Invalid aspect")).when(_entityService).validateProposal(invalid);
+
+    try {
+      _aspectResource.batchIngestProposal(new MetadataChangeProposal[]{valid, invalid}, "false");
+      fail("Expected the batch to be rejected");
+    } catch (RestLiServiceException e) {
+      assertEquals(e.getStatus(), HttpStatus.S_422_UNPROCESSABLE_ENTITY);
+      assertTrue(e.getMessage().contains("Proposal 1"));
+    }
+    // The valid proposal comes first, but nothing is ingested once any proposal fails validation
+    Mockito.verify(_entityService).validateProposal(valid);
+    Mockito.verify(_entityService, Mockito.never())
+        .ingestProposal(Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+  }
+
+  private static MetadataChangeProposal createProposal(String name) {
+    final MetadataChangeProposal proposal = new MetadataChangeProposal();
+    proposal.setEntityType(DATASET_ENTITY_NAME);
+    proposal.setEntityUrn(new DatasetUrn(new DataPlatformUrn("platform"), name, FabricType.PROD));
+    proposal.setAspectName(DATASET_PROPERTIES_ASPECT_NAME);
+    proposal.setAspect(GenericRecordUtils.serializeAspect(new DatasetProperties().setDescription(name)));
+    proposal.setChangeType(ChangeType.UPSERT);
+    return proposal;
+  }
+}